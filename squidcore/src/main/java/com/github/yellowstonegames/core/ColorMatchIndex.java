@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.core;
+
+import java.util.Arrays;
+
+/**
+ * A k-d tree of packed Oklab int colors, each with an int code, that finds the code of the color nearest to any other
+ * color. This is used by {@link DescriptiveColor#bestMatch(int, int)} and
+ * {@link DescriptiveColorRgb#bestMatch(int, int)}, where each code identifies a color description. Distance is measured
+ * the same way those methods always have, as the squared Euclidean distance between the {@link DescriptiveColor#channelL(int)},
+ * {@link DescriptiveColor#channelA(int)}, and {@link DescriptiveColor#channelB(int)} values of two colors. If more than
+ * one color is equally near, or the same color was given with more than one code, the lowest code is found.
+ * <br>
+ * A ColorMatchIndex can't be changed after it is constructed, so it can be searched by multiple threads at once.
+ */
+final class ColorMatchIndex {
+    /**
+     * The coordinates of each point, in tree order. The point at the middle of any range is the node for that range,
+     * and the halves of the range before and after it are its children.
+     */
+    private final float[] ls, as, bs;
+    private final int[] codes;
+
+    /**
+     * Builds a ColorMatchIndex from the first {@code size} items of {@code colors} and {@code codes}.
+     * @param colors packed Oklab int colors; will not be modified
+     * @param codes non-negative int codes, one for each color in {@code colors}; will not be modified
+     * @param size how many colors and codes to use
+     */
+    ColorMatchIndex(int[] colors, int[] codes, int size) {
+        // sorting by color and then code puts repeated colors together, with their lowest code first
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) (colors[i] & 0xFFFFFF) << 32 | codes[i];
+        }
+        Arrays.sort(keys);
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (n == 0 || (keys[i] ^ keys[n - 1]) >>> 32 != 0L)
+                keys[n++] = keys[i];
+        }
+        ls = new float[n];
+        as = new float[n];
+        bs = new float[n];
+        this.codes = new int[n];
+        build(keys, new long[n], 0, n, 0);
+    }
+
+    private void build(long[] keys, long[] sorting, int lo, int hi, int axis) {
+        if (lo >= hi)
+            return;
+        // each key's color is in its upper 32 bits; the byte for an axis goes in front so sorting orders by that axis
+        final int shift = 32 + (axis << 3);
+        for (int i = lo; i < hi; i++) {
+            sorting[i] = (keys[i] >>> shift & 255L) << 32 | i;
+        }
+        Arrays.sort(sorting, lo, hi);
+        final int mid = lo + hi >>> 1;
+        final long[] reordered = new long[hi - lo];
+        for (int i = lo; i < hi; i++) {
+            reordered[i - lo] = keys[(int) sorting[i]];
+        }
+        System.arraycopy(reordered, 0, keys, lo, hi - lo);
+        final int color = (int) (keys[mid] >>> 32);
+        ls[mid] = DescriptiveColor.channelL(color);
+        as[mid] = DescriptiveColor.channelA(color);
+        bs[mid] = DescriptiveColor.channelB(color);
+        codes[mid] = (int) keys[mid];
+        final int next = axis == 2 ? 0 : axis + 1;
+        build(keys, sorting, lo, mid, next);
+        build(keys, sorting, mid + 1, hi, next);
+    }
+
+    /**
+     * Gets the code of the color nearest to the given packed Oklab int color.
+     * @param oklab a packed Oklab int color
+     * @return the code given with the nearest color, or -1 if this is empty
+     */
+    int nearest(int oklab) {
+        final Search search = new Search(DescriptiveColor.channelL(oklab), DescriptiveColor.channelA(oklab),
+                DescriptiveColor.channelB(oklab));
+        search(search, 0, codes.length, 0);
+        return search.bestCode;
+    }
+
+    /**
+     * Gets how many different colors this can find.
+     * @return the number of distinct colors in this index
+     */
+    int size() {
+        return codes.length;
+    }
+
+    private void search(Search search, int lo, int hi, int axis) {
+        if (lo >= hi)
+            return;
+        final int mid = lo + hi >>> 1;
+        final float dL = ls[mid] - search.l, dA = as[mid] - search.a, dB = bs[mid] - search.b,
+                distance = dL * dL + dA * dA + dB * dB;
+        if (distance < search.bestDistance || (distance == search.bestDistance && codes[mid] < search.bestCode)) {
+            search.bestDistance = distance;
+            search.bestCode = codes[mid];
+        }
+        final float diff = axis == 0 ? dL : axis == 1 ? dA : dB;
+        final int next = axis == 2 ? 0 : axis + 1;
+        // the far side is searched even if it is exactly as far as the best so far, so ties go to the lowest code
+        if (diff > 0f) {
+            search(search, lo, mid, next);
+            if (diff * diff <= search.bestDistance)
+                search(search, mid + 1, hi, next);
+        } else {
+            search(search, mid + 1, hi, next);
+            if (diff * diff <= search.bestDistance)
+                search(search, lo, mid, next);
+        }
+    }
+
+    /**
+     * The state of one call to {@link #nearest(int)}, kept separate so calls can happen at the same time.
+     */
+    private static final class Search {
+        final float l, a, b;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        int bestCode = -1;
+
+        Search(float l, float a, float b) {
+            this.l = l;
+            this.a = a;
+            this.b = b;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size cache of color descriptions and the packed Oklab int colors that
+ * {@link DescriptiveColor#describeOklab(String, int, int)} produces for them. {@link DescriptiveColor#describe(String)},
+ * {@link DescriptiveColor#describeOklab(String)}, and {@link DescriptiveColor#processColorMarkup(CharSequence)} all
+ * use the cache in {@link DescriptiveColor#DESCRIPTIONS}, so parsing the same few hundred descriptions over and over
+ * only has to split them into words and mix their colors once each.
+ * <br>
+ * A description can be looked up from part of any CharSequence, and looking up a description that is already cached
+ * doesn't allocate anything. The cache never holds more than its capacity; when a new description needs room, it
+ * replaces one of two places that description could go, keeping whichever was added more recently. This can be used
+ * by multiple threads at once; each cached item is immutable, so the worst that can happen if two threads add
+ * descriptions at the same time is that one of those descriptions has to be parsed again later.
+ * <br>
+ * If you change {@link DescriptiveColor#NAMED}, you should call {@link #clear()}, since cached colors won't change on
+ * their own.
+ */
+public class DescriptionCache {
+    private final Entry[] entries;
+    private final int shift;
+    private final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+
+    /**
+     * Creates a DescriptionCache that can hold at least {@code capacity} descriptions.
+     * @param capacity how many descriptions this should be able to hold; will be rounded up to a power of two, at least 2
+     */
+    public DescriptionCache(int capacity) {
+        final int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 2) - 1));
+        entries = new Entry[1 << bits];
+        shift = 32 - bits;
+    }
+
+    /**
+     * Gets the packed Oklab int color for the given color description, parsing it with
+     * {@link DescriptiveColor#describeOklab(String, int, int)} and caching it if it hasn't already been cached.
+     * @param description a color description, as described in {@link DescriptiveColor#describeOklab(String)}
+     * @return a packed Oklab int color as described
+     */
+    public int describeOklab(CharSequence description) {
+        return describeOklab(description, 0, description.length());
+    }
+
+    /**
+     * Gets the packed Oklab int color for the color description in {@code description} from {@code start} (inclusive)
+     * to {@code end} (exclusive), parsing it with {@link DescriptiveColor#describeOklab(String, int, int)} and
+     * caching it if it hasn't already been cached. Only parsing a description allocates anything.
+     * @param description a CharSequence containing a color description
+     * @param start the first char index of the color description, inclusive
+     * @param end the last char index of the color description, exclusive
+     * @return a packed Oklab int color as described
+     */
+    public int describeOklab(CharSequence description, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + description.charAt(i);
+        }
+        final int slot = (h * 0x9E3779B9) >>> shift;
+        Entry entry = entries[slot];
+        if (entry != null && entry.matches(description, start, end)) {
+            hits.incrementAndGet();
+            return entry.color;
+        }
+        final Entry other = entries[slot ^ 1];
+        if (other != null && other.matches(description, start, end)) {
+            hits.incrementAndGet();
+            return other.color;
+        }
+        misses.incrementAndGet();
+        final String key = description.subSequence(start, end).toString();
+        entry = new Entry(key, DescriptiveColor.describeOklab(key, 0, key.length()));
+        // whatever was at slot moves over to slot ^ 1, replacing what was there before
+        if (entries[slot] != null)
+            entries[slot ^ 1] = entries[slot];
+        entries[slot] = entry;
+        return entry.color;
+    }
+
+    /**
+     * Removes every cached description, and resets the counts of hits and misses.
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+        hits.set(0L);
+        misses.set(0L);
+    }
+
+    /**
+     * Gets how many descriptions this can hold at most.
+     * @return the maximum number of descriptions this can hold
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Gets how many lookups found their description already cached, since this was created or last cleared.
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets how many lookups had to parse their description, since this was created or last cleared.
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Entry {
+        final String key;
+        final int color;
+
+        Entry(String key, int color) {
+            this.key = key;
+            this.color = color;
+        }
+
+        boolean matches(CharSequence text, int start, int end) {
+            if (key.length() != end - start)
+                return false;
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != text.charAt(start + i))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
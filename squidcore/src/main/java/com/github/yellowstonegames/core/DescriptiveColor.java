@@ -23,11 +23,8 @@ import com.github.tommyettinger.ds.IntList;
 import com.github.tommyettinger.ds.ObjectIntOrderedMap;
 import com.github.tommyettinger.ds.ObjectList;
 import com.github.tommyettinger.function.FloatToFloatFunction;
-import regexodus.MatchResult;
-import regexodus.Pattern;
-import regexodus.Replacer;
-import regexodus.Substitution;
-import regexodus.TextBuffer;
+
+import java.io.IOException;
 
 import static com.github.tommyettinger.digital.MathTools.fastFloor;
 import static com.github.yellowstonegames.core.Gamut.GAMUT_DATA;
@@ -2009,7 +2006,14 @@ public final class DescriptiveColor {
         NAMES_BY_LIGHTNESS.sort((o1, o2) -> (NAMED.get(o1) + 0x80000000 & 0x800000FF) - (NAMED.get(o2) + 0x80000000 & 0x800000FF));
     }
 
-    private static final IntList mixing = new IntList(4);
+    /**
+     * Caches the colors that {@link #describe(String)}, {@link #describeOklab(String)}, and
+     * {@link #processColorMarkup(CharSequence)} get from color descriptions, so each description only has to be
+     * parsed once. This also counts how many lookups found a cached color, and how many had to parse a description.
+     * If you change {@link #NAMED}, such as by adding colors from another palette, you should call
+     * {@link DescriptionCache#clear()} on this.
+     */
+    public static final DescriptionCache DESCRIPTIONS = new DescriptionCache(1024);
 
     /**
      * Parses a color description and returns the approximate color it describes, as a packed RGBA8888 int color.
@@ -2052,7 +2056,8 @@ public final class DescriptiveColor {
      * remaining, it parses 8 of those characters as an RGBA8888 hex color. If the first char is {@code |}, that char is
      * ignored and the rest of the CharSequence is treated as a color description (this is to ease parsing markup for
      * {@link #processColorMarkup(CharSequence)}). Otherwise, the whole CharSequence is parsed as a color description,
-     * and the result is converted to an RGBA int.
+     * and the result is converted to an RGBA int. Color descriptions are cached in {@link #DESCRIPTIONS}, so calling
+     * this again with the same description doesn't need to parse it again.
      *
      * @param description a color description, as a String or other CharSequence matching the above format, or a {@code #}-prefixed hex color
      * @return a packed RGBA int color as described
@@ -2067,7 +2072,7 @@ public final class DescriptiveColor {
                 return DigitTools.intFromHex(description, 1, 9);
             return 0;
         }
-        return toRGBA8888(describeOklab(description, initial == '|' ? 1 : 0, description.length()));
+        return toRGBA8888(DESCRIPTIONS.describeOklab(description, initial == '|' ? 1 : 0, description.length()));
     }
 
     /**
@@ -2106,13 +2111,14 @@ public final class DescriptiveColor {
      * "red 3 orange", and "dark deep blue 7 cyan 3".
      * <br>
      * This overload always considers its input a color description, and won't parse hex colors. It only handles the
-     * simplest case, where the full provided {@code description} is only a color description.
+     * simplest case, where the full provided {@code description} is only a color description. The result is cached in
+     * {@link #DESCRIPTIONS}, so calling this again with the same description doesn't need to parse it again.
      *
      * @param description a color description, as a String or other CharSequence matching the above format
      * @return a packed Oklab int color as described
      */
     public static int describeOklab(final String description) {
-        return describeOklab(description, 0, description.length());
+        return DESCRIPTIONS.describeOklab(description, 0, description.length());
     }
     /**
      * Parses a color description and returns the approximate color it describes, as a packed Oklab int color.
@@ -2151,7 +2157,8 @@ public final class DescriptiveColor {
      * <br>
      * This overload always considers its input a color description, and won't parse hex colors. You can specify a
      * starting index in {@code description} to read from and a maximum {@code length} to read before stopping. If
-     * {@code length} is negative, this reads the rest of {@code description} after {@code start}.
+     * {@code length} is negative, this reads the rest of {@code description} after {@code start}. This overload always
+     * parses the description, and doesn't use or change {@link #DESCRIPTIONS}.
      *
      * @param description a color description, as a String or other CharSequence matching the above format
      * @param start the first character index of the description to read from
@@ -2163,7 +2170,7 @@ public final class DescriptiveColor {
         final String[] terms = description.substring(start,
                 length < 0 ? description.length() - start : Math.min(description.length(), start + length))
                 .split("[^a-zA-Z0-9_]+");
-        mixing.clear();
+        final IntList mixing = new IntList(4);
         for (int i = 0; i < terms.length; i++) {
             String term = terms[i];
             if (term == null || term.isEmpty()) continue;
@@ -2362,45 +2369,119 @@ public final class DescriptiveColor {
         NAMED.putAll(ALIASES);
     }
 
+    private static final String[] lightAdjectives = {"darkmost ", "darkest ", "darker ", "dark ", "", "light ", "lighter ", "lightest ", "lightmost "};
+    private static final String[] satAdjectives = {"dullmost ", "dullest ", "duller ", "dull ", "", "rich ", "richer ", "richest ", "richmost "};
+    /**
+     * Holds the {@link ColorMatchIndex} for each mixCount from 1 to 3, each made the first time it is needed.
+     */
+    private static final ColorMatchIndex[] matchIndices = new ColorMatchIndex[3];
+
+    /**
+     * Gets the color that {@link #bestMatch(int, int)} would describe with the given code, as a packed Oklab int.
+     * The code stores, from least to most significant, the index in {@link #namesByHue} of each color to mix, then the
+     * lightness adjective, then the saturation adjective.
+     * @param code a code for a description, as used by bestMatch
+     * @param mixCount how many colors are mixed in the description
+     * @param mixing an int array with at least {@code mixCount} items; will be modified
+     * @return the color the code describes, as a packed Oklab int
+     */
+    private static int matchColor(int code, int mixCount, int[] mixing) {
+        final int paletteSize = colorsByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount);
+        for (int i = 0, e = 1; i < mixCount; i++, e *= paletteSize) {
+            mixing[i] = colorsByHue.get((code / e) % paletteSize);
+        }
+        int idxI = ((code / colorTries) % 9 - 4), idxS = (code / (colorTries * 9) - 4);
+
+        int result = mix(mixing, 0, mixCount);
+        if(idxI > 0) result = lighten(result, 0.125f * idxI);
+        else if(idxI < 0) result = darken(result, -0.15f * idxI);
+
+        if(idxS > 0) result = limitToGamut(enrich(result, 0.2f * idxS));
+        else if(idxS < 0) result = dullen(result, -0.2f * idxS);
+        else result = limitToGamut(result);
+        return result;
+    }
+
+    /**
+     * Gets the ColorMatchIndex of every description {@link #bestMatch(int, int)} can produce with the given mixCount,
+     * from 1 to 3, making it if it hasn't been made yet. Only one order is used for each group of colors to mix,
+     * because mixing the same colors in a different order only changes the result by rounding error.
+     * @param mixCount from 1 to 3, inclusive
+     * @return the ColorMatchIndex for mixCount
+     */
+    private static ColorMatchIndex matchIndex(int mixCount) {
+        // a ColorMatchIndex only has final fields, so it is safe to read without synchronization once it is assigned
+        ColorMatchIndex index = matchIndices[mixCount - 1];
+        if (index != null)
+            return index;
+        synchronized (matchIndices) {
+            index = matchIndices[mixCount - 1];
+            if (index != null)
+                return index;
+            final int paletteSize = colorsByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount);
+            final int[] digits = new int[mixCount], mixing = new int[mixCount];
+            int groups = 1;
+            for (int i = 0; i < mixCount; i++) {
+                groups = groups * (paletteSize + i) / (i + 1);
+            }
+            final int[] colors = new int[groups * 81], codes = new int[groups * 81];
+            int count = 0;
+            while (true) {
+                // digits are kept in descending order, which gives the lowest code for each group of colors
+                int tuple = 0;
+                for (int i = mixCount - 1; i >= 0; i--) {
+                    tuple = tuple * paletteSize + digits[i];
+                }
+                for (int adjectives = 0; adjectives < 81; adjectives++) {
+                    final int code = tuple + colorTries * adjectives;
+                    colors[count] = matchColor(code, mixCount, mixing);
+                    codes[count++] = code;
+                }
+                int d = mixCount - 1;
+                while (d >= 0 && digits[d] == (d == 0 ? paletteSize - 1 : digits[d - 1]))
+                    d--;
+                if (d < 0)
+                    break;
+                digits[d]++;
+                for (int i = d + 1; i < mixCount; i++) {
+                    digits[i] = 0;
+                }
+            }
+            index = new ColorMatchIndex(colors, codes, count);
+            matchIndices[mixCount - 1] = index;
+            return index;
+        }
+    }
+
     /**
      * Given a color as a packed Oklab int, this finds the closest description it can to match the given color while
-     * using at most {@code mixCount} colors to mix in. You should only use small numbers for mixCount, like 1 to 3;
-     * this can take quite a while to run otherwise. This returns a String description that can be passed to
-     * {@link #describe(String)}. It is likely that this will use very contrasting colors if mixCount is 2 or
-     * greater and the color to match is desaturated or brownish.
+     * using at most {@code mixCount} colors to mix in. You should only use small numbers for mixCount, like 1 to 3.
+     * For those, the first call with a given mixCount builds an index of every description it can produce (which can
+     * take a moment for 3), and later calls only need to search that index. Higher mixCount values try every
+     * possible description each time, which can take quite a while. This returns a String description that can be
+     * passed to {@link #describe(String)}. It is likely that this will use very contrasting colors if mixCount is 2 or
+     * greater and the color to match is desaturated or brownish. This can be called from multiple threads at once.
      * @param oklab a packed Oklab int color to attempt to match
      * @param mixCount how many color names this will use in the returned description
      * @return a description that can be fed to {@link #describe(String)} to get a similar color
      */
     public static String bestMatch(final int oklab, int mixCount) {
         mixCount = Math.max(1, mixCount);
-        float bestDistance = Float.POSITIVE_INFINITY;
-        final int paletteSize = namesByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount), totalTries = colorTries * 81;
-        final float targetL = channelL(oklab), targetA = channelA(oklab), targetB = channelB(oklab);
-        final String[] lightAdjectives = {"darkmost ", "darkest ", "darker ", "dark ", "", "light ", "lighter ", "lightest ", "lightmost "};
-        final String[] satAdjectives = {"dullmost ", "dullest ", "duller ", "dull ", "", "rich ", "richer ", "richest ", "richmost "};
-        mixing.clear();
-        for (int i = 0; i < mixCount; i++) {
-            mixing.add(colorsByHue.get(0));
-        }
+        final int paletteSize = namesByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount);
         int bestCode = 0;
-        for (int c = 0; c < totalTries; c++) {
-            for (int i = 0, e = 1; i < mixCount; i++, e *= paletteSize) {
-                mixing.set(i, colorsByHue.get((c / e) % paletteSize));
+        if (mixCount <= 3) {
+            bestCode = matchIndex(mixCount).nearest(oklab);
+        } else {
+            final int totalTries = colorTries * 81;
+            final float targetL = channelL(oklab), targetA = channelA(oklab), targetB = channelB(oklab);
+            final int[] mixing = new int[mixCount];
+            float bestDistance = Float.POSITIVE_INFINITY;
+            for (int c = 0; c < totalTries; c++) {
+                int result = matchColor(c, mixCount, mixing);
+                float dL = channelL(result) - targetL, dA = channelA(result) - targetA, dB = channelB(result) - targetB;
+                if(bestDistance > (bestDistance = Math.min(dL * dL + dA * dA + dB * dB, bestDistance)))
+                    bestCode = c;
             }
-            int idxI = ((c / colorTries) % 9 - 4), idxS = (c / (colorTries * 9) - 4);
-
-            int result = mix(mixing.items, 0, mixCount);
-            if(idxI > 0) result = lighten(result, 0.125f * idxI);
-            else if(idxI < 0) result = darken(result, -0.15f * idxI);
-
-            if(idxS > 0) result = limitToGamut(enrich(result, 0.2f * idxS));
-            else if(idxS < 0) result = dullen(result, -0.2f * idxS);
-            else result = limitToGamut(result);
-
-            float dL = channelL(result) - targetL, dA = channelA(result) - targetA, dB = channelB(result) - targetB;
-            if(bestDistance > (bestDistance = Math.min(dL * dL + dA * dA + dB * dB, bestDistance)))
-                bestCode = c;
         }
 
         StringBuilder description = new StringBuilder(lightAdjectives[(bestCode / colorTries) % 9] + satAdjectives[bestCode / (colorTries * 9)]);
@@ -2412,29 +2493,75 @@ public final class DescriptiveColor {
         return description.toString();
     }
 
-    private static final StringBuilder builder = new StringBuilder(80);
-    private static final Substitution sub = (MatchResult matchResult, TextBuffer textBuffer) -> {
-        builder.setLength(0);
-        matchResult.getGroup(1, builder);
-        textBuffer.append('[');
-        textBuffer.append('#');
-        textBuffer.append(DigitTools.hex(describe(builder.toString())));
-        textBuffer.append(']');
-    };
-    private static final Replacer rep = new Replacer(Pattern.compile("(?<!\\[)\\[(\\|[^\\]]*)(?:\\]|$)"), sub);
-
     /**
      * Processes color markup of the form {@code [|description]}, where {@code description} is in the format that
      * {@link #describe(String)} understands (such as "light dullest green cyan"), and changes the markup
      * to a format libGDX can use, {@code [#FF7F00FF]}. The only addition this makes to libGDX markup is the {@code [|}
      * starting character combination, which here marks a color description rather than a named color from libGDX's
-     * Colors class (which are all upper-case, so they wouldn't conflict anyway).
+     * Colors class (which are all upper-case, so they wouldn't conflict anyway). A {@code [|} that comes right after
+     * another {@code [} is left as it is, since {@code [[} is an escaped square bracket in libGDX markup.
+     * <br>
+     * This can be called from multiple threads at once. If you are processing a lot of markup, you can use
+     * {@link #appendColorMarkup(StringBuilder, CharSequence)} to reuse a StringBuilder.
      * @param markupString a CharSequence, most commonly a String, that may contain color markup starting with {@code [|}
      * @return a String that has the {@code [|} markup changed to libGDX-compatible {@code [#}
      */
     public static String processColorMarkup(CharSequence markupString) {
-        builder.setLength(0);
-        return rep.replace(markupString);
+        return appendColorMarkup(new StringBuilder(markupString.length() + 16), markupString).toString();
+    }
+
+    /**
+     * Processes color markup of the form {@code [|description]} in {@code markupString} the same way
+     * {@link #processColorMarkup(CharSequence)} does, but appends the result to {@code builder} instead of making a new
+     * String. Color descriptions are read directly from markupString and looked up in {@link #DESCRIPTIONS}, so
+     * this doesn't allocate anything unless builder needs to grow or a description hasn't been cached yet.
+     * @param builder a StringBuilder that will have the processed markup appended to it
+     * @param markupString a CharSequence, most commonly a String, that may contain color markup starting with {@code [|}
+     * @return builder, for chaining
+     */
+    public static StringBuilder appendColorMarkup(StringBuilder builder, CharSequence markupString) {
+        try {
+            appendColorMarkup((Appendable) builder, markupString);
+        } catch (IOException ignored) {
+            // StringBuilder never throws IOException
+        }
+        return builder;
+    }
+
+    /**
+     * Processes color markup of the form {@code [|description]} in {@code markupString} the same way
+     * {@link #processColorMarkup(CharSequence)} does, but appends the result to {@code appendable} instead of making a
+     * new String. Color descriptions are read directly from markupString and looked up in {@link #DESCRIPTIONS}, and
+     * unchanged text is appended in as few calls as possible, so this doesn't make any intermediate Strings unless a
+     * description hasn't been cached yet.
+     * @param appendable an Appendable, such as a StringBuilder or a Writer, that will have the processed markup appended
+     * @param markupString a CharSequence, most commonly a String, that may contain color markup starting with {@code [|}
+     * @return appendable, for chaining
+     * @param <T> any type of Appendable
+     * @throws IOException if appendable throws an IOException
+     */
+    public static <T extends Appendable> T appendColorMarkup(T appendable, CharSequence markupString) throws IOException {
+        final int length = markupString.length();
+        int written = 0;
+        for (int i = 0; i < length - 1; i++) {
+            if (markupString.charAt(i) != '[' || markupString.charAt(i + 1) != '|' || (i > 0 && markupString.charAt(i - 1) == '['))
+                continue;
+            int end = i + 2;
+            while (end < length && markupString.charAt(end) != ']') {
+                end++;
+            }
+            final int color = toRGBA8888(DESCRIPTIONS.describeOklab(markupString, i + 2, end));
+            appendable.append(markupString, written, i).append('[').append('#');
+            for (int shift = 28; shift >= 0; shift -= 4) {
+                appendable.append("0123456789ABCDEF".charAt(color >>> shift & 15));
+            }
+            appendable.append(']');
+            // the closing bracket, if there is one, was replaced too
+            written = Math.min(end + 1, length);
+            i = written - 1;
+        }
+        appendable.append(markupString, written, length);
+        return appendable;
     }
 
     /**
@@ -2279,6 +2279,133 @@ public final class DescriptiveColorRgb {
         return result;
     }
 
+    private static final String[] lightAdjectives = {"darkmost ", "darkest ", "darker ", "dark ", "", "light ", "lighter ", "lightest ", "lightmost "};
+    private static final String[] satAdjectives = {"dullmost ", "dullest ", "duller ", "dull ", "", "rich ", "richer ", "richest ", "richmost "};
+    /**
+     * Holds the {@link ColorMatchIndex} for each mixCount from 1 to 3, each made the first time it is needed.
+     */
+    private static final ColorMatchIndex[] matchIndices = new ColorMatchIndex[3];
+
+    /**
+     * Gets the color that {@link #bestMatch(int, int)} would describe with the given code, as an RGBA8888 int.
+     * The code stores, from least to most significant, the index in {@link #namesByHue} of each color to mix, then the
+     * lightness adjective, then the saturation adjective. This changes lightness and saturation by the same amounts
+     * {@link #describe(String)} does for each adjective.
+     * @param code a code for a description, as used by bestMatch
+     * @param mixCount how many colors are mixed in the description
+     * @param mixing an int array with at least {@code mixCount} items; will be modified
+     * @return the color the code describes, as an RGBA8888 int
+     */
+    private static int matchColor(int code, int mixCount, int[] mixing) {
+        final int paletteSize = colorsByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount);
+        for (int i = 0, e = 1; i < mixCount; i++, e *= paletteSize) {
+            mixing[i] = colorsByHue.get((code / e) % paletteSize);
+        }
+        int idxI = ((code / colorTries) % 9 - 4), idxS = (code / (colorTries * 9) - 4);
+
+        int result = mix(mixing, 0, mixCount);
+        if(idxI > 0) result = lighten(result, 0.15f * idxI);
+        else if(idxI < 0) result = darken(result, -0.15f * idxI);
+
+        if(idxS > 0) result = enrich(result, 0.2f * idxS);
+        else if(idxS < 0) result = dullen(result, -0.2f * idxS);
+        return result;
+    }
+
+    /**
+     * Gets the ColorMatchIndex of every description {@link #bestMatch(int, int)} can produce with the given mixCount,
+     * from 1 to 3, making it if it hasn't been made yet. Only one order is used for each group of colors to mix,
+     * because mixing the same colors in a different order only changes the result by rounding error.
+     * @param mixCount from 1 to 3, inclusive
+     * @return the ColorMatchIndex for mixCount
+     */
+    private static ColorMatchIndex matchIndex(int mixCount) {
+        // a ColorMatchIndex only has final fields, so it is safe to read without synchronization once it is assigned
+        ColorMatchIndex index = matchIndices[mixCount - 1];
+        if (index != null)
+            return index;
+        synchronized (matchIndices) {
+            index = matchIndices[mixCount - 1];
+            if (index != null)
+                return index;
+            final int paletteSize = colorsByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount);
+            final int[] digits = new int[mixCount], mixing = new int[mixCount];
+            int groups = 1;
+            for (int i = 0; i < mixCount; i++) {
+                groups = groups * (paletteSize + i) / (i + 1);
+            }
+            final int[] colors = new int[groups * 81], codes = new int[groups * 81];
+            int count = 0;
+            while (true) {
+                // digits are kept in descending order, which gives the lowest code for each group of colors
+                int tuple = 0;
+                for (int i = mixCount - 1; i >= 0; i--) {
+                    tuple = tuple * paletteSize + digits[i];
+                }
+                for (int adjectives = 0; adjectives < 81; adjectives++) {
+                    final int code = tuple + colorTries * adjectives;
+                    colors[count] = DescriptiveColor.fromRGBA8888(matchColor(code, mixCount, mixing));
+                    codes[count++] = code;
+                }
+                int d = mixCount - 1;
+                while (d >= 0 && digits[d] == (d == 0 ? paletteSize - 1 : digits[d - 1]))
+                    d--;
+                if (d < 0)
+                    break;
+                digits[d]++;
+                for (int i = d + 1; i < mixCount; i++) {
+                    digits[i] = 0;
+                }
+            }
+            index = new ColorMatchIndex(colors, codes, count);
+            matchIndices[mixCount - 1] = index;
+            return index;
+        }
+    }
+
+    /**
+     * Given a color as an RGBA8888 int, this finds the closest description it can to match the given color while
+     * using at most {@code mixCount} colors to mix in. Colors are compared in the Oklab color space, using
+     * {@link DescriptiveColor#fromRGBA8888(int)}. You should only use small numbers for mixCount, like 1 to 3.
+     * For those, the first call with a given mixCount builds an index of every description it can produce (which can
+     * take a moment for 3), and later calls only need to search that index. Higher mixCount values try every
+     * possible description each time, which can take quite a while. This returns a String description that can be
+     * passed to {@link #describe(String)}. It is likely that this will use very contrasting colors if mixCount is 2 or
+     * greater and the color to match is desaturated or brownish. This can be called from multiple threads at once.
+     * @param rgba an RGBA8888 int color to attempt to match
+     * @param mixCount how many color names this will use in the returned description
+     * @return a description that can be fed to {@link #describe(String)} to get a similar color
+     */
+    public static String bestMatch(final int rgba, int mixCount) {
+        mixCount = Math.max(1, mixCount);
+        final int paletteSize = namesByHue.size(), colorTries = (int)Math.pow(paletteSize, mixCount);
+        final int oklab = DescriptiveColor.fromRGBA8888(rgba);
+        int bestCode = 0;
+        if (mixCount <= 3) {
+            bestCode = matchIndex(mixCount).nearest(oklab);
+        } else {
+            final int totalTries = colorTries * 81;
+            final int[] mixing = new int[mixCount];
+            float bestDistance = Float.POSITIVE_INFINITY;
+            for (int c = 0; c < totalTries; c++) {
+                int result = DescriptiveColor.fromRGBA8888(matchColor(c, mixCount, mixing));
+                float dL = DescriptiveColor.channelL(result) - DescriptiveColor.channelL(oklab),
+                        dA = DescriptiveColor.channelA(result) - DescriptiveColor.channelA(oklab),
+                        dB = DescriptiveColor.channelB(result) - DescriptiveColor.channelB(oklab);
+                if(bestDistance > (bestDistance = Math.min(dL * dL + dA * dA + dB * dB, bestDistance)))
+                    bestCode = c;
+            }
+        }
+
+        StringBuilder description = new StringBuilder(lightAdjectives[(bestCode / colorTries) % 9] + satAdjectives[bestCode / (colorTries * 9)]);
+        for (int i = 0, e = 1; i < mixCount; e *= paletteSize) {
+            description.append(namesByHue.get((bestCode / e) % paletteSize));
+            if(++i < mixCount)
+                description.append(' ');
+        }
+        return description.toString();
+    }
+
     /**
      * Given an RGBA8888 int color {@code mainColor} and another RGBA8888 int color that it should be made to contrast
      * with, gets an RGBA8888 int color with lightness that should be quite different from {@code contrastingColor}'s,
@@ -2750,4 +2877,15 @@ public final class DescriptiveColorRgb {
         ALIASES.put("sapphire", COBALT);
         NAMED.putAll(ALIASES);
     }
+
+    /**
+     * The same as {@link #NAMES_BY_HUE} without "transparent"; these must be assigned after NAMES_BY_HUE is sorted.
+     */
+    private static final ObjectList<String> namesByHue = new ObjectList<>(NAMES_BY_HUE);
+    private static final IntList colorsByHue = new IntList(COLORS_BY_HUE);
+    static {
+        int trn = namesByHue.indexOf("transparent");
+        namesByHue.removeAt(trn);
+        colorsByHue.removeAt(trn);
+    }
 }
@@ -29,6 +29,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 
 /**
  * Class for emulating various traditional RPG-style dice rolls.
@@ -536,84 +537,176 @@ public class Dice {
     public int runRollRule(Rule rule) {
         if(rule == null || rule.instructions.isEmpty()) return 0;
         IntList rollRule = rule.instructions;
-        int currentResult, previousTotal = 0;
+        int previousTotal = 0;
         for (int i = 0; i < rollRule.size(); i+=6) {
-            int currentMode = rollRule.get(i);
-            currentResult = 0;
-
-
-            int startN = rollRule.get(i+1); // number constant
-            int midMode = rollRule.get(i+2); // between notation
-            int midN = rollRule.get(i+3); // number constant
-            int mainMode = rollRule.get(i+4); // dice, range, or explode
-            int endN = rollRule.get(i+5); // number constant
+            previousTotal = applyOperator(rollRule.get(i), previousTotal,
+                    rollTerm(rollRule.get(i+1), rollRule.get(i+2), rollRule.get(i+3), rollRule.get(i+4), rollRule.get(i+5)));
+        }
+        return previousTotal;
+    }
 
-            if (mainMode != 0) {
-                if (midMode != 0) {
-                    if ('>' == midMode) {
-                        if ('d' == (mainMode)) {
-                            currentResult = bestOf(startN, midN, endN);
-                        }
-                        else if('!' == (mainMode))
-                        {
-                            currentResult = bestOfExploding(startN, midN, endN);
-                        }
+    /**
+     * Rolls one term of a Rule, without applying its operator.
+     *
+     * @param startN a number constant
+     * @param midMode between, best, or worst notation, or 0
+     * @param midN a number constant
+     * @param mainMode dice, range, or explode notation, or 0
+     * @param endN a number constant
+     * @return the result of this term
+     */
+    private int rollTerm(int startN, int midMode, int midN, int mainMode, int endN) {
+        int currentResult = 0;
+        if (mainMode != 0) {
+            if (midMode != 0) {
+                if ('>' == midMode) {
+                    if ('d' == (mainMode)) {
+                        currentResult = bestOf(startN, midN, endN);
                     }
-                    else if('<' == midMode)
+                    else if('!' == (mainMode))
                     {
-                        if ('d' == (mainMode)) {
-                            currentResult = worstOf(startN, midN, endN);
-                        }
-                        else if('!' == (mainMode))
-                        {
-                            currentResult = worstOfExploding(startN, midN, endN);
-                        }
+                        currentResult = bestOfExploding(startN, midN, endN);
                     }
-                    else
-                    // Here, midMode is ":", there is a constant lower bound for the range, and the upper bound is some
-                    // dice roll or other range. This can be negative, easily, if the random upper bound is negative
+                }
+                else if('<' == midMode)
+                {
+                    if ('d' == (mainMode)) {
+                        currentResult = worstOf(startN, midN, endN);
+                    }
+                    else if('!' == (mainMode))
                     {
-                        if ('d' == (mainMode)) {
-                            currentResult = startN + rng.nextSignedInt(rollDice(midN, endN) + 1 - startN);
-                        } else if ('!' == (mainMode)) {
-                            currentResult = startN + rng.nextSignedInt(rollExplodingDice(midN, endN) + 1 - startN);
-                        } else if (':' == (mainMode)) {
-                            currentResult = startN + rng.nextSignedInt(midN + rng.nextSignedInt(endN + 1 - midN) + 1 - startN);
-                        }
+                        currentResult = worstOfExploding(startN, midN, endN);
                     }
-                } else if ('d' == (mainMode)) {
-                    currentResult = rollDice(startN, endN);
-                } else if ('!' == (mainMode)) {
-                    currentResult = rollExplodingDice(startN, endN);
-                } else if (':' == (mainMode)) {
-                    currentResult = startN + rng.nextSignedInt(endN + 1 - startN);
                 }
-            } else {
-                if (':' == (midMode)) {
-                    currentResult = startN + rng.nextSignedInt(midN + 1 - startN);
-                } else {
-                    currentResult = startN;
+                else
+                // Here, midMode is ":", there is a constant lower bound for the range, and the upper bound is some
+                // dice roll or other range. This can be negative, easily, if the random upper bound is negative
+                {
+                    if ('d' == (mainMode)) {
+                        currentResult = startN + rng.nextSignedInt(rollDice(midN, endN) + 1 - startN);
+                    } else if ('!' == (mainMode)) {
+                        currentResult = startN + rng.nextSignedInt(rollExplodingDice(midN, endN) + 1 - startN);
+                    } else if (':' == (mainMode)) {
+                        currentResult = startN + rng.nextSignedInt(midN + rng.nextSignedInt(endN + 1 - midN) + 1 - startN);
+                    }
                 }
+            } else if ('d' == (mainMode)) {
+                currentResult = rollDice(startN, endN);
+            } else if ('!' == (mainMode)) {
+                currentResult = rollExplodingDice(startN, endN);
+            } else if (':' == (mainMode)) {
+                currentResult = startN + rng.nextSignedInt(endN + 1 - startN);
             }
-            switch (currentMode)
-            {
-                case '-':
-                    previousTotal -= currentResult;
-                    break;
-                case '*':
-                    previousTotal *= currentResult;
-                    break;
-                case '/':
-                    previousTotal /= currentResult;
-                    break;
-                default:
-                    previousTotal += currentResult;
-                    break;
+        } else {
+            if (':' == (midMode)) {
+                currentResult = startN + rng.nextSignedInt(midN + 1 - startN);
+            } else {
+                currentResult = startN;
             }
         }
+        return currentResult;
+    }
+
+    private static int applyOperator(int operator, int previousTotal, int currentResult) {
+        switch (operator)
+        {
+            case '-':
+                return previousTotal - currentResult;
+            case '*':
+                return previousTotal * currentResult;
+            case '/':
+                return previousTotal / currentResult;
+            default:
+                return previousTotal + currentResult;
+        }
+    }
+
+    /**
+     * Turns the given Rule into a {@link CompiledRule}, which can be rolled with {@link #runCompiledRule(CompiledRule)}
+     * or rolled many times at once with {@link #runCompiledRule(CompiledRule, int[], int, int)}. Compiling a Rule
+     * works out the exact distribution of results for each pool of 4 or more plain dice, such as {@code 200d6} or
+     * {@code 10>20d8}, so rolling that pool only takes one random number instead of one per die. Exploding dice and
+     * small pools are still rolled one die at a time. A CompiledRule doesn't depend on the Rule it was made from, and
+     * doesn't depend on any Dice, so it can be shared and reused.
+     * @param rule a Rule generated by {@link #parseRollRule(String)} or {@link #parseRollRuleInto(Rule, String)}
+     * @return a new CompiledRule that produces results with the same distribution as {@code rule}
+     */
+    public static CompiledRule compileRollRule(Rule rule) {
+        return new CompiledRule(rule);
+    }
+
+    /**
+     * Parses the String {@code rollCode} as dice roll notation, as {@link #parseRollRule(String)} does, and compiles it
+     * as {@link #compileRollRule(Rule)} does.
+     * @param rollCode dice string using the notation described in {@link #parseRollRule(String)}
+     * @return a new CompiledRule that produces results with the same distribution as {@code rollCode}
+     */
+    public static CompiledRule compileRollRule(String rollCode) {
+        return new CompiledRule(new Rule(rollCode));
+    }
+
+    /**
+     * Performs a roll of the given {@code rule}, which should have been made by {@link #compileRollRule(Rule)}. This
+     * gives results with the same distribution as {@link #runRollRule(Rule)} gives for the Rule that was compiled, but
+     * the same random state won't necessarily produce the same result with both.
+     * @param rule a CompiledRule generated by {@link #compileRollRule(Rule)}
+     * @return the result of rolling the dice as instructed by rule
+     */
+    public int runCompiledRule(CompiledRule rule) {
+        if(rule == null) return 0;
+        final int[] terms = rule.terms;
+        int previousTotal = 0;
+        for (int i = 0, t = 0; i < terms.length; i += 6, t++) {
+            final long[] table = rule.tables[t];
+            int currentResult;
+            if (table == null)
+                currentResult = rollTerm(terms[i+1], terms[i+2], terms[i+3], terms[i+4], terms[i+5]);
+            else if (terms[i+2] == ':')
+                currentResult = terms[i+1] + rng.nextSignedInt(rule.sample(t, rng.nextLong()) + 1 - terms[i+1]);
+            else
+                currentResult = rule.sample(t, rng.nextLong());
+            previousTotal = applyOperator(terms[i], previousTotal, currentResult);
+        }
         return previousTotal;
     }
 
+    /**
+     * Performs {@code length} rolls of the given {@code rule}, which should have been made by
+     * {@link #compileRollRule(Rule)}, and stores them in {@code results} starting at {@code offset}. Each result is
+     * the same as a call to {@link #runCompiledRule(CompiledRule)} would produce.
+     * @param rule a CompiledRule generated by {@link #compileRollRule(Rule)}
+     * @param results an int array that will be modified; must have room for {@code length} items after {@code offset}
+     * @param offset the first index in results to assign to
+     * @param length how many rolls to make
+     * @return results, after modifications
+     */
+    public int[] runCompiledRule(CompiledRule rule, int[] results, int offset, int length) {
+        if (rule != null && rule.terms.length == 6 && rule.tables[0] != null && rule.terms[2] != ':') {
+            // the most common case, a single pool of dice, only needs a table lookup for each result
+            final int op = rule.terms[0];
+            for (int i = offset, n = offset + length; i < n; i++) {
+                results[i] = applyOperator(op, 0, rule.sample(0, rng.nextLong()));
+            }
+            return results;
+        }
+        for (int i = offset, n = offset + length; i < n; i++) {
+            results[i] = runCompiledRule(rule);
+        }
+        return results;
+    }
+
+    /**
+     * Fills {@code results} with rolls of the given {@code rule}, which should have been made by
+     * {@link #compileRollRule(Rule)}. Each result is the same as a call to {@link #runCompiledRule(CompiledRule)}
+     * would produce.
+     * @param rule a CompiledRule generated by {@link #compileRollRule(Rule)}
+     * @param results an int array that will be modified
+     * @return results, after modifications
+     */
+    public int[] runCompiledRule(CompiledRule rule, int[] results) {
+        return runCompiledRule(rule, results, 0, results.length);
+    }
+
     /**
      * A rule for how to roll a particular set of dice and operations to perform on them, such as "3d6+4" to roll three
      * 6-sided dice and add 4 to the result. You can generate a Rule once (such as by using the constructor,
@@ -722,4 +815,195 @@ public class Dice {
             reset(in.readUTF());
         }
     }
+    /**
+     * A {@link Rule} that has been prepared to be rolled many times, made by {@link Dice#compileRollRule(Rule)} and
+     * rolled with {@link Dice#runCompiledRule(CompiledRule)}. Each pool of 4 or more plain (not exploding) dice in the
+     * Rule, including best-of and worst-of pools and pools used as the upper bound of a range, is given a table of the
+     * exact distribution of that pool's results, stored as cumulative probabilities. Rolling that pool then only needs
+     * one random long and a binary search of the table, instead of one random number per die (and sorting, for best-of
+     * and worst-of pools). Pools are only given tables if the table would be small enough and quick enough to make;
+     * other pools, exploding dice, and ranges are rolled the same way {@link Dice#runRollRule(Rule)} rolls them.
+     */
+    public static class CompiledRule {
+        /**
+         * The most results a pool of dice can have and still get a table.
+         */
+        private static final int MAX_TABLE_SIZE = 1 << 14;
+        /**
+         * Limits how much work making the table for a best-of or worst-of pool can take.
+         */
+        private static final long MAX_WORK = 1L << 26;
+
+        /**
+         * The dice notation this was compiled from.
+         */
+        public final String rollCode;
+        /**
+         * A copy of the {@link Rule#instructions} this was compiled from, 6 ints per term.
+         */
+        private final int[] terms;
+        /**
+         * For each term, either null if the term is rolled as normal, or the cumulative distribution of that term's
+         * pool of dice. Each item is the chance that the pool's result is at most the minimum result plus the item's
+         * index, scaled so 1.0 would be 2 to the 63.
+         */
+        private final long[][] tables;
+        /**
+         * For each term with a table, the lowest result its pool of dice can have.
+         */
+        private final int[] minimums;
+
+        /**
+         * Compiles the given Rule; you can also use {@link Dice#compileRollRule(Rule)}.
+         * @param rule a Rule generated by {@link Dice#parseRollRule(String)} or {@link Dice#parseRollRuleInto(Rule, String)}
+         */
+        public CompiledRule(Rule rule) {
+            rollCode = rule.rollCode;
+            terms = rule.instructions.toArray();
+            final int count = terms.length / 6;
+            tables = new long[count][];
+            minimums = new int[count];
+            for (int t = 0, i = 0; t < count; t++, i += 6) {
+                final int startN = terms[i+1], midMode = terms[i+2], midN = terms[i+3], mainMode = terms[i+4], endN = terms[i+5];
+                if (mainMode != 'd')
+                    continue;
+                double[] dist = null;
+                if (midMode == 0)
+                    dist = sumDistribution(startN, endN);
+                else if (midMode == ':')
+                    dist = sumDistribution(midN, endN);
+                else if (midMode == '>' || midMode == '<') {
+                    if (startN >= midN)
+                        dist = sumDistribution(midN, endN);
+                    else
+                        dist = keepDistribution(Math.max(startN, 0), midN, endN, midMode == '>');
+                }
+                if (dist == null)
+                    continue;
+                minimums[t] = (midMode == '>' || midMode == '<') ? Math.max(Math.min(startN, midN), 0) : (midMode == ':' ? midN : startN);
+                tables[t] = cumulative(dist);
+            }
+        }
+
+        /**
+         * Gets the distribution of the sum of {@code n} dice with {@code sides} sides each, with the first item for the
+         * lowest possible sum, or null if there should be no table for this pool.
+         */
+        private static double[] sumDistribution(int n, int sides) {
+            if (n < 4 || sides < 1 || (long) n * (sides - 1) >= MAX_TABLE_SIZE)
+                return null;
+            final double p = 1.0 / sides;
+            double[] current = new double[n * (sides - 1) + 1], next = new double[current.length];
+            current[0] = 1.0;
+            for (int d = 0, size = 1; d < n; d++) {
+                // each die adds from 0 to sides - 1 to the sum above the minimum; a sliding window adds up those cases
+                final int nextSize = size + sides - 1;
+                double window = 0.0;
+                for (int j = 0; j < nextSize; j++) {
+                    if (j < size) window += current[j];
+                    if (j >= sides) window -= current[j - sides];
+                    next[j] = window * p;
+                }
+                double[] swap = current;
+                current = next;
+                next = swap;
+                size = nextSize;
+            }
+            return current;
+        }
+
+        /**
+         * Gets the distribution of the sum of the highest (if best is true) or lowest {@code keep} dice out of
+         * {@code n} dice with {@code sides} sides each, with the first item for the lowest possible sum, or null if
+         * there should be no table for this pool. This assigns a count of dice to each face in turn, starting with the
+         * face that would be kept first, so the kept dice are always the first {@code keep} dice assigned.
+         */
+        private static double[] keepDistribution(int keep, int n, int sides, boolean best) {
+            if (n < 4 || sides < 1 || (long) keep * (sides - 1) >= MAX_TABLE_SIZE
+                    || (long) sides * n * n * (keep * sides + 1) > MAX_WORK)
+                return null;
+            final double p = 1.0 / sides;
+            final int sums = keep * sides + 1;
+            double[][] current = new double[n + 1][sums], next = new double[n + 1][sums];
+            current[0][0] = 1.0;
+            for (int f = 0; f < sides; f++) {
+                final int face = best ? sides - f : f + 1;
+                for (int m = 0; m <= n; m++) {
+                    Arrays.fill(next[m], 0.0);
+                }
+                for (int m = 0; m <= n; m++) {
+                    final double[] row = current[m];
+                    for (int s = 0; s < sums; s++) {
+                        final double chance = row[s];
+                        if (chance == 0.0)
+                            continue;
+                        // coefficient is (n - m choose c) * p to the c
+                        double coefficient = 1.0;
+                        for (int c = 0, left = n - m; c <= left; c++) {
+                            final int kept = Math.max(0, Math.min(c, keep - m));
+                            next[m + c][s + face * kept] += chance * coefficient;
+                            coefficient *= (left - c) * p / (c + 1);
+                        }
+                    }
+                }
+                double[][] swap = current;
+                current = next;
+                next = swap;
+            }
+            final double[] all = current[n];
+            final double[] dist = new double[keep * (sides - 1) + 1];
+            System.arraycopy(all, keep, dist, 0, dist.length);
+            return dist;
+        }
+
+        private static long[] cumulative(double[] dist) {
+            double total = 0.0;
+            for (int i = 0; i < dist.length; i++) {
+                total += dist[i];
+            }
+            final long[] table = new long[dist.length];
+            double sum = 0.0;
+            for (int i = 0; i < dist.length - 1; i++) {
+                sum += dist[i];
+                table[i] = (long) (sum / total * 0x1p63);
+            }
+            table[dist.length - 1] = Long.MAX_VALUE;
+            return table;
+        }
+
+        /**
+         * Gets a result from the table for the given term, using the given random long.
+         */
+        private int sample(int term, long random) {
+            final long[] table = tables[term];
+            final long u = random >>> 1;
+            // finds the first item greater than u; the last item is never checked because it is always chosen otherwise
+            int lo = 0, hi = table.length - 1;
+            while (lo < hi) {
+                final int mid = lo + hi >>> 1;
+                if (u < table[mid]) hi = mid;
+                else lo = mid + 1;
+            }
+            return minimums[term] + lo;
+        }
+
+        /**
+         * Gets the cumulative table for the given term, or null if that term is rolled as normal. Used by tests.
+         */
+        long[] table(int term) {
+            return tables[term];
+        }
+
+        /**
+         * Gets the lowest result the given term's table can produce. Used by tests.
+         */
+        int minimum(int term) {
+            return minimums[term];
+        }
+
+        @Override
+        public String toString() {
+            return rollCode;
+        }
+    }
 }
@@ -41,7 +41,9 @@ import java.util.List;
  * You can also add a nested ProbabilityTable, which has its own weight and can be chosen like any other
  * item, except it makes its own random choice of its own {@code T} items; you can use the nested table
  * with {@link #add(ProbabilityTable, int)} and {@link #addAllNested(ObjectIntMap)}. Actually getting a
- * randomly-selected item is easy; just use {@link #random()}.
+ * randomly-selected item is easy; just use {@link #random()}. Choosing an item takes time proportional to the
+ * logarithm of the number of items and nested tables, rather than to the number of them, and gives the same results
+ * as checking each weight in order would.
  * <br>
  * You can serialize a ProbabilityTable in various ways. The class can be registered with
  * <a href="https://fory.apache.org">Fory serialization</a> using {@code fory.register()} as long as you have
@@ -79,10 +81,23 @@ public class ProbabilityTable<T> implements ISerializersNeeded {
     public EnhancedRandom rng;
     /**
      * The total of all weights. This is only public because {@link #weights} is also public, and changes to weights
-     * must be reflected here.
+     * must be reflected here. If you change weights directly, you should also call {@link #invalidate()}.
      */
     public int total;
 
+    /**
+     * A Fenwick tree (also called a binary indexed tree) over {@link #weights}, indexed from 1, which lets
+     * {@link #random()} find the chosen index in logarithmic time instead of checking each weight in turn. This is
+     * rebuilt when it is next needed after items are added or removed, and is updated in place when only the weight of
+     * an existing item changes.
+     */
+    private transient int[] tree;
+    /**
+     * The number of weights and the total of those weights when {@link #tree} was last built or updated; treeSize is
+     * -1 if tree must be built again.
+     */
+    private transient int treeSize = -1, treeTotal;
+
     /**
      * Creates a new probability table with a random seed.
      */
@@ -150,18 +165,62 @@ public class ProbabilityTable<T> implements ISerializersNeeded {
             return null;
         }
         int index = rng.nextInt(total);
+        final int n = weights.size();
+        if (treeSize != n || treeTotal != total || tree == null)
+            buildTree();
+        // finds the last position where the sum of all weights before it is at most index
+        int pos = 0;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>>= 1) {
+            final int next = pos + step;
+            if (next <= n && tree[next] <= index) {
+                pos = next;
+                index -= tree[next];
+            }
+        }
         int sz = table.size();
-        for (int i = 0; i < sz; i++) {
-            index -= weights.get(i);
-            if (index < 0)
-                return table.getAt(i);
+        if (pos < sz)
+            return table.getAt(pos);
+        if (pos < n)
+            return extraTable.get(pos - sz).random();
+        return null;//something went wrong, shouldn't have been able to get all the way through without finding an item
+    }
+
+    /**
+     * Must be called if {@link #weights} or {@link #total} are changed directly, rather than by methods such as
+     * {@link #add(Object, int)} and {@link #remove(Object, int)}. This makes the next call to {@link #random()} build
+     * its lookup structure again.
+     */
+    public void invalidate() {
+        treeSize = -1;
+    }
+
+    private void buildTree() {
+        final int n = weights.size();
+        if (tree == null || tree.length <= n)
+            tree = new int[Math.max(n + 1, 65)];
+        tree[0] = 0;
+        for (int i = 1; i <= n; i++) {
+            tree[i] = weights.get(i - 1);
         }
-        for (int i = 0; i < extraTable.size(); i++) {
-            index -= weights.get(sz + i);
-            if(index < 0)
-                return extraTable.get(i).random();
+        for (int i = 1; i <= n; i++) {
+            final int j = i + (i & -i);
+            if (j <= n)
+                tree[j] += tree[i];
         }
-        return null;//something went wrong, shouldn't have been able to get all the way through without finding an item
+        treeSize = n;
+        treeTotal = total;
+    }
+
+    /**
+     * Changes the weight at the given index in {@link #tree} by {@code change}, if tree doesn't need to be rebuilt.
+     */
+    private void adjustTree(int index, int change) {
+        if (treeSize != weights.size() || tree == null)
+            return;
+        for (int i = index + 1; i <= treeSize; i += i & -i) {
+            tree[i] += change;
+        }
+        treeTotal += change;
     }
 
     /**
@@ -181,11 +240,13 @@ public class ProbabilityTable<T> implements ISerializersNeeded {
             weights.insert(table.size(), weight);
             table.add(item);
             total += weight;
+            treeSize = -1;
         } else {
             int i2 = weights.get(i);
             int w = Math.max(0, i2 + weight);
             weights.set(i, w);
             total += w - i2;
+            adjustTree(i, w - i2);
         }
         return this;
     }
@@ -242,7 +303,10 @@ public class ProbabilityTable<T> implements ISerializersNeeded {
         {
             table.removeAt(idx);
             weights.removeAt(idx);
+            treeSize = -1;
         }
+        else
+            adjustTree(idx, w - o);
         w = Math.min(o, o - w);
         total -= w;
         return true;
@@ -303,6 +367,7 @@ public class ProbabilityTable<T> implements ISerializersNeeded {
         weights.add(weight);
         extraTable.add(table);
         total += weight;
+        treeSize = -1;
         return this;
     }
 
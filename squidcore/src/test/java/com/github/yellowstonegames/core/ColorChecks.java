@@ -528,4 +528,39 @@ public class ColorChecks {
                     name, color, offset, hueDifference, satDifference, litDifference);
         }
     }
+
+    @Test
+    public void testBestMatchNamed() {
+        for (String name : NAMES_BY_HUE) {
+            if ("transparent".equals(name)) continue;
+            final int oklab = NAMED.get(name), rgba = DescriptiveColorRgb.NAMED.get(name);
+            Assert.assertEquals(name, 0f, distanceSquared(oklab, describeOklab(bestMatch(oklab, 1))), 0.001f);
+            Assert.assertEquals(name, rgba, DescriptiveColorRgb.describe(DescriptiveColorRgb.bestMatch(rgba, 1)));
+        }
+    }
+
+    @Test
+    public void testDescriptionCache() {
+        DescriptionCache cache = new DescriptionCache(64);
+        String[] descriptions = {"red", "dark blue", "lightest richer apricot-olive", "red 3 orange", "palest cyan blue",
+                "weakmost celery", "dark deep blue 7 cyan 3", "not a color"};
+        for (int i = 0; i < 40; i++) {
+            String description = descriptions[i * 5 % descriptions.length];
+            Assert.assertEquals(description, describeOklab(description, 0, description.length()), cache.describeOklab(description));
+        }
+        Assert.assertEquals(40, cache.getHits() + cache.getMisses());
+        Assert.assertTrue(cache.getHits() > 0);
+        String text = "[ cyan blue]";
+        Assert.assertEquals(describeOklab("cyan blue"), cache.describeOklab(text, 2, text.length() - 1));
+        cache.clear();
+        Assert.assertEquals(0, cache.getHits() + cache.getMisses());
+    }
+
+    @Test
+    public void testColorMarkup() {
+        Assert.assertEquals("The [#" + DigitTools.hex(describe("dark red")) + "]goblin[] hits [[|you]!",
+                processColorMarkup("The [|dark red]goblin[] hits [[|you]!"));
+        Assert.assertEquals("Unclosed [#" + DigitTools.hex(describe("blue")) + "]",
+                appendColorMarkup(new StringBuilder("Unclosed "), "[|blue").toString());
+    }
 }
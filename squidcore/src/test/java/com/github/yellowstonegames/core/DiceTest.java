@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Checks that {@link Dice.CompiledRule} produces results like the {@link Dice.Rule} it was compiled from.
+ */
+public class DiceTest {
+    private static final int ROLLS = 100000;
+
+    private static void check(String code, int min, int max) {
+        Dice dice = new Dice(123456789L);
+        Dice.Rule rule = new Dice.Rule(code);
+        Dice.CompiledRule compiled = Dice.compileRollRule(rule);
+        int[] results = dice.runCompiledRule(compiled, new int[ROLLS]);
+        double plainSum = 0.0, compiledSum = 0.0;
+        for (int i = 0; i < ROLLS; i++) {
+            final int plain = dice.runRollRule(rule), single = dice.runCompiledRule(compiled);
+            Assert.assertTrue(code, plain >= min && plain <= max);
+            Assert.assertTrue(code, single >= min && single <= max);
+            Assert.assertTrue(code, results[i] >= min && results[i] <= max);
+            plainSum += plain;
+            compiledSum += results[i];
+        }
+        // both means should be very close to the true mean; this allows for much more error than should happen
+        Assert.assertEquals(code, plainSum / ROLLS, compiledSum / ROLLS, (max - min) * 0.01);
+    }
+
+    @Test
+    public void testCompiledMatchesRule() {
+        check("200d6", 200, 1200);
+        check("10>20d8", 10, 80);
+        check("2<5d6+3", 5, 15);
+        check("3:6d6", 3, 36);
+        check("4d4*2-1", 7, 31);
+        check("2!6+1", 3, 200);
+    }
+
+    /**
+     * Counts, by brute force, how many ways {@code n} dice with {@code sides} sides can give each sum of the highest
+     * (if best is true) or lowest {@code keep} dice, with the first item for the lowest possible sum.
+     */
+    private static long[] exact(int keep, int n, int sides, boolean best) {
+        final long[] counts = new long[keep * (sides - 1) + 1];
+        final int[] faces = new int[n], sorted = new int[n];
+        Arrays.fill(faces, 1);
+        while (true) {
+            System.arraycopy(faces, 0, sorted, 0, n);
+            Arrays.sort(sorted);
+            int sum = 0;
+            for (int k = 0; k < keep; k++) {
+                sum += best ? sorted[n - 1 - k] : sorted[k];
+            }
+            counts[sum - keep]++;
+            int d = 0;
+            while (d < n && faces[d] == sides) faces[d++] = 1;
+            if (d == n)
+                return counts;
+            faces[d]++;
+        }
+    }
+
+    private static long[] convolve(long[] a, long[] b) {
+        final long[] c = new long[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                c[i + j] += a[i] * b[j];
+            }
+        }
+        return c;
+    }
+
+    private static void checkTable(String code, int term, long[] counts) {
+        Dice.CompiledRule compiled = Dice.compileRollRule(code);
+        final long[] table = compiled.table(term);
+        Assert.assertNotNull(code, table);
+        Assert.assertEquals(code, counts.length, table.length);
+        double total = 0.0, sum = 0.0;
+        for (long c : counts) total += c;
+        for (int i = 0; i < counts.length; i++) {
+            sum += counts[i];
+            Assert.assertEquals(code + " at " + (compiled.minimum(term) + i), sum / total, table[i] * 0x1p-63, 1e-12);
+        }
+    }
+
+    @Test
+    public void testCompiledTables() {
+        checkTable("4d6", 0, exact(4, 4, 6, true));
+        checkTable("3>4d6", 0, exact(3, 4, 6, true));
+        checkTable("2<5d4", 0, exact(2, 5, 4, false));
+        checkTable("5>7d5", 0, exact(5, 7, 5, true));
+        checkTable("4d4+5d3", 0, exact(4, 4, 4, true));
+        checkTable("4d4+5d3", 1, exact(5, 5, 3, true));
+        Assert.assertEquals(3, Dice.compileRollRule("3>4d6").minimum(0));
+        Assert.assertEquals(2, Dice.compileRollRule("2<5d4").minimum(0));
+    }
+
+    /**
+     * Runs a chi-square test of many compiled rolls against the exact distribution of results, given as counts
+     * starting at {@code min}. Results that are expected fewer than 5 times are grouped together.
+     */
+    private static void chiSquare(String code, int min, long[] counts) {
+        Dice dice = new Dice(123456789L);
+        Dice.CompiledRule compiled = Dice.compileRollRule(code);
+        final long[] observed = new long[counts.length];
+        for (int r : dice.runCompiledRule(compiled, new int[ROLLS])) {
+            Assert.assertTrue(code, r >= min && r < min + counts.length);
+            observed[r - min]++;
+        }
+        double total = 0.0;
+        for (long c : counts) total += c;
+        double chi = 0.0, restExpected = 0.0, restObserved = 0.0;
+        int bins = 0;
+        for (int i = 0; i < counts.length; i++) {
+            final double expected = counts[i] / total * ROLLS;
+            if (expected < 5.0) {
+                restExpected += expected;
+                restObserved += observed[i];
+            } else {
+                chi += (observed[i] - expected) * (observed[i] - expected) / expected;
+                bins++;
+            }
+        }
+        if (restExpected > 0.0) {
+            chi += (restObserved - restExpected) * (restObserved - restExpected) / restExpected;
+            bins++;
+        }
+        // Wilson-Hilferty approximation of the chi-square critical value for p = 0.001
+        final int df = bins - 1;
+        final double h = 2.0 / (9.0 * df), cube = 1.0 - h + 3.090232 * Math.sqrt(h);
+        Assert.assertTrue(code + " has chi-square " + chi + " with " + df + " degrees of freedom",
+                chi < df * cube * cube * cube);
+    }
+
+    @Test
+    public void testCompiledChiSquare() {
+        chiSquare("3>4d6", 3, exact(3, 4, 6, true));
+        chiSquare("2<5d4", 2, exact(2, 5, 4, false));
+        chiSquare("4d4+5d3", 9, convolve(exact(4, 4, 4, true), exact(5, 5, 3, true)));
+    }
+}
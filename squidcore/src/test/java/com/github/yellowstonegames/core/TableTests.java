@@ -19,6 +19,7 @@ package com.github.yellowstonegames.core;
 import com.github.tommyettinger.digital.Base;
 import com.github.tommyettinger.ds.ObjectIntMap;
 import com.github.tommyettinger.random.AceRandom;
+import org.junit.Assert;
 import org.junit.Test;
 
 import static com.github.yellowstonegames.CoreInternals.PRINTING;
@@ -145,4 +146,42 @@ public class TableTests {
         }
     }
 
+    /**
+     * Chooses an item the way ProbabilityTable did before it used a Fenwick tree, by checking each weight in order.
+     */
+    private static <T> T scan(ProbabilityTable<T> table) {
+        int index = table.rng.nextInt(table.total);
+        int sz = table.table.size();
+        for (int i = 0; i < table.weights.size(); i++) {
+            index -= table.weights.get(i);
+            if (index < 0)
+                return i < sz ? table.table.getAt(i) : scan(table.extraTable.get(i - sz));
+        }
+        return null;
+    }
+
+    @Test
+    public void testProbabilityTableMatchesScan() {
+        AceRandom random = new AceRandom(123L);
+        ProbabilityTable<Integer> inner = new ProbabilityTable<>(1L), outer = new ProbabilityTable<>(2L);
+        for (int i = 0; i < 50; i++) {
+            inner.add(-i, random.nextInt(1, 20));
+        }
+        outer.add(inner, 100);
+        for (int step = 0; step < 2000; step++) {
+            int item = random.nextInt(300);
+            switch (random.nextInt(3)) {
+                case 0: outer.add(item, random.nextInt(1, 30));
+                    break;
+                case 1: outer.remove(item, random.nextInt(1, 30));
+                    break;
+                default: outer.remove(item);
+            }
+            ProbabilityTable<Integer> copy = outer.copy();
+            for (int i = 0; i < 20; i++) {
+                Assert.assertEquals(scan(copy), outer.random());
+            }
+        }
+    }
+
 }
@@ -17,6 +17,7 @@
 package com.github.yellowstonegames.freeze.grid;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
@@ -28,21 +29,43 @@ import com.github.yellowstonegames.grid.*;
 /**
  * Needs {@code int[]}, {@code int[][]},  {@code float[]}, {@code float[][]}, {@link CoordSerializer} for {@link Coord},
  * {@link ObjectDequeSerializer} for {@link ObjectDeque}, {@link RegionSerializer} for {@link Region},
- * {@link RadianceSerializer} for {@link Radiance}, and {@link LightSourceSerializer} for {@link LightSource}
+ * {@link RadianceSerializer} for {@link Radiance}, {@link LightSourceSerializer} for {@link LightSource}, and
+ * {@link CoordFloatOrderedMapSerializer} for {@link CoordFloatOrderedMap}
  * to be registered.
  */
 @SuppressWarnings({"unchecked"})
 public class LightingManagerRgbSerializer extends Serializer<LightingManagerRgb> {
+    /**
+     * If true, this only writes the fields that can't be calculated from other fields: the resistances, settings,
+     * lights, and {@link LightingManager#lastViewers} with the area they viewed. A LightingManagerRgb read from that is
+     * {@link LightingManager#stale}, so it calculates its FOV and lighting again the first time
+     * {@link LightingManager#update()} is called. This writes about a sixth as much as when this is false (the
+     * default), which also writes every calculated 2D array. Either kind of output can be read no matter what this is,
+     * and so can output from before this option existed.
+     */
+    public boolean compact;
+
     public LightingManagerRgbSerializer() {
+        this(false);
+    }
+
+    public LightingManagerRgbSerializer(boolean compact) {
         super();
+        this.compact = compact;
     }
 
     @Override
     public LightingManagerRgb copy(Kryo kryo, LightingManagerRgb original) {
         LightingManagerRgb lm = new LightingManagerRgb(ArrayTools.copy(original.resistances), original.backgroundColor, original.radiusStrategy,
-                original.viewerRange);
+                original.viewerRange, original.symmetry);
         lm.noticeable.remake(original.noticeable);
         lm.lights.addAll(original.lights);
+        lm.lastViewers.putAll(original.lastViewers);
+        lm.viewedMinX = original.viewedMinX;
+        lm.viewedMinY = original.viewedMinY;
+        lm.viewedMaxX = original.viewedMaxX;
+        lm.viewedMaxY = original.viewedMaxY;
+        lm.stale = original.stale;
         lm.colorLighting = ArrayTools.copy(original.colorLighting);
         lm.lightingStrength = ArrayTools.copy(original.lightingStrength);
         lm.fovResult = ArrayTools.copy(original.fovResult);
@@ -53,12 +76,23 @@ public class LightingManagerRgbSerializer extends Serializer<LightingManagerRgb>
 
     @Override
     public void write(Kryo kryo, Output output, LightingManagerRgb object) {
+        // the older layout started with the resistances, which are never null
+        kryo.writeObjectOrNull(output, null, float[][].class);
+        output.writeVarInt(compact ? LightingManagerSerializer.COMPACT_FORMAT : LightingManagerSerializer.FULL_FORMAT, true);
         kryo.writeObject(output, object.resistances);
         output.writeInt(object.backgroundColor);
         output.writeVarInt(object.radiusStrategy.ordinal(), true);
         output.writeFloat(object.viewerRange);
-        kryo.writeObject(output, object.noticeable);
+        output.writeVarInt(object.symmetry.ordinal(), true);
         kryo.writeObject(output, object.lights);
+        kryo.writeObject(output, object.lastViewers);
+        output.writeVarInt(object.viewedMinX, true);
+        output.writeVarInt(object.viewedMinY, true);
+        output.writeVarInt(object.viewedMaxX, true);
+        output.writeVarInt(object.viewedMaxY, true);
+        if (compact)
+            return;
+        kryo.writeObject(output, object.noticeable);
         kryo.writeObject(output, object.colorLighting);
         kryo.writeObject(output, object.lightingStrength);
         kryo.writeObject(output, object.fovResult);
@@ -68,7 +102,39 @@ public class LightingManagerRgbSerializer extends Serializer<LightingManagerRgb>
 
     @Override
     public LightingManagerRgb read(Kryo kryo, Input input, Class<? extends LightingManagerRgb> type) {
-        LightingManagerRgb lm = new LightingManagerRgb(kryo.readObject(input, float[][].class), input.readInt(), Radius.ALL[input.readVarInt(true)], input.readFloat());
+        final float[][] first = kryo.readObjectOrNull(input, float[][].class);
+        if (first != null)
+            return readLegacy(kryo, input, first);
+        final int format = input.readVarInt(true);
+        if (format != LightingManagerSerializer.FULL_FORMAT && format != LightingManagerSerializer.COMPACT_FORMAT)
+            throw new KryoException("Unknown LightingManagerRgb format: " + format);
+        final boolean compact = format == LightingManagerSerializer.COMPACT_FORMAT;
+        LightingManagerRgb lm = new LightingManagerRgb(kryo.readObject(input, float[][].class), input.readInt(), Radius.ALL[input.readVarInt(true)],
+                input.readFloat(), LightingManager.SymmetryMode.values()[input.readVarInt(true)]);
+        lm.lights = kryo.readObject(input, ObjectDeque.class);
+        lm.lastViewers = kryo.readObject(input, CoordFloatOrderedMap.class);
+        lm.viewedMinX = input.readVarInt(true);
+        lm.viewedMinY = input.readVarInt(true);
+        lm.viewedMaxX = input.readVarInt(true);
+        lm.viewedMaxY = input.readVarInt(true);
+        if (compact) {
+            lm.stale = true;
+            return lm;
+        }
+        lm.noticeable = kryo.readObject(input, Region.class);
+        lm.colorLighting = kryo.readObject(input, int[][].class);
+        lm.lightingStrength = kryo.readObject(input, float[][].class);
+        lm.fovResult = kryo.readObject(input, float[][].class);
+        lm.lightFromFOV = kryo.readObject(input, float[][].class);
+        lm.losResult = kryo.readObject(input, float[][].class);
+        return lm;
+    }
+
+    /**
+     * Reads the layout written before the {@link #compact} option, which had no format number.
+     */
+    private LightingManagerRgb readLegacy(Kryo kryo, Input input, float[][] resistances) {
+        LightingManagerRgb lm = new LightingManagerRgb(resistances, input.readInt(), Radius.ALL[input.readVarInt(true)], input.readFloat());
         lm.noticeable = kryo.readObject(input, Region.class);
         lm.lights = kryo.readObject(input, ObjectDeque.class);
         lm.colorLighting = kryo.readObject(input, int[][].class);
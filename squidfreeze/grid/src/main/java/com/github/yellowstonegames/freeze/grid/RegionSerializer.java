@@ -17,6 +17,7 @@
 package com.github.yellowstonegames.freeze.grid;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
@@ -24,10 +25,20 @@ import com.github.yellowstonegames.grid.Region;
 
 /**
  * Serializer for {@link Region}; does not need any other classes to be registered, although registering Coord with
- * {@link CoordSerializer} is a good idea. Uses a compressed String representation that may be better than a naive
- * uncompressed approach, even a binary one.
+ * {@link CoordSerializer} is a good idea. Uses the binary run-length form from {@link Region#toRunLengthBytes()},
+ * which falls back to the raw data when that would be smaller, and is much faster to write and read than
+ * {@link Region#toCompressedString()}.
+ * <br>
+ * Older versions of this serializer wrote only a String from {@link Region#toCompressedString()}, and that data can
+ * still be read. The binary form starts with a null String, which the older form never has, followed by a format
+ * number, so the two can be told apart.
  */
 public class RegionSerializer extends Serializer<Region> {
+    /**
+     * The format number written after the null String marker; this is the only binary format so far.
+     */
+    public static final int RUN_LENGTH_FORMAT = 1;
+
     public RegionSerializer() {
         setImmutable(false);
         setAcceptsNull(false);
@@ -35,12 +46,22 @@ public class RegionSerializer extends Serializer<Region> {
 
     @Override
     public void write(final Kryo kryo, final Output output, final Region data) {
-        output.writeString(data.toCompressedString());
+        final byte[] bytes = data.toRunLengthBytes();
+        output.writeString(null);
+        output.writeVarInt(RUN_LENGTH_FORMAT, true);
+        output.writeVarInt(bytes.length, true);
+        output.writeBytes(bytes);
     }
 
     @Override
     public Region read(final Kryo kryo, final Input input, final Class<? extends Region> dataClass) {
-        return Region.decompress(input.readString());
+        final String compressed = input.readString();
+        if (compressed != null)
+            return Region.decompress(compressed);
+        final int format = input.readVarInt(true);
+        if (format != RUN_LENGTH_FORMAT)
+            throw new KryoException("Unknown Region format: " + format);
+        return Region.decodeRunLength(input.readBytes(input.readVarInt(true)));
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.github.yellowstonegames.freeze.grid;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
@@ -34,8 +35,23 @@ import com.github.yellowstonegames.grid.*;
  */
 @SuppressWarnings({"unchecked"})
 public class VisionFrameworkRgbSerializer extends Serializer<VisionFrameworkRgb> {
+    /**
+     * If true, this only writes the fields that can't be calculated from other fields: the place size,
+     * {@link VisionFramework#rememberedColor}, {@link VisionFramework#linePlaceMap}, {@link VisionFramework#seen},
+     * {@link VisionFramework#lighting}, and {@link VisionFramework#viewers}. A VisionFrameworkRgb read from that has
+     * {@link VisionFramework#recalculate()} called on it, so nothing is fading in or out of view after it loads.
+     * If false (the default), this writes every field. Either kind of output can be read no matter what this is,
+     * and so can output from before this option existed.
+     */
+    public boolean compact;
+
     public VisionFrameworkRgbSerializer() {
+        this(false);
+    }
+
+    public VisionFrameworkRgbSerializer(boolean compact) {
         super();
+        this.compact = compact;
     }
 
     @Override
@@ -61,10 +77,17 @@ public class VisionFrameworkRgbSerializer extends Serializer<VisionFrameworkRgb>
 
     @Override
     public void write(Kryo kryo, Output output, VisionFrameworkRgb vf) {
+        // the older layout started with placeWidth, which is never negative
+        output.writeInt(-(compact ? LightingManagerSerializer.COMPACT_FORMAT : LightingManagerSerializer.FULL_FORMAT), true);
         output.writeInt(vf.placeWidth, true);
         output.writeInt(vf.placeHeight, true);
         output.writeInt(vf.rememberedColor, false);
         kryo.writeObject(output, vf.linePlaceMap);
+        kryo.writeObject(output, vf.seen);
+        kryo.writeClassAndObject(output, vf.lighting);
+        kryo.writeObject(output, vf.viewers);
+        if (compact)
+            return;
         kryo.writeObject(output, vf.prunedPlaceMap);
         kryo.writeObject(output, vf.backgroundColors);
         kryo.writeObject(output, vf.previousLightLevels);
@@ -72,19 +95,49 @@ public class VisionFrameworkRgbSerializer extends Serializer<VisionFrameworkRgb>
         kryo.writeObject(output, vf.inView);
         kryo.writeObject(output, vf.justHidden);
         kryo.writeObject(output, vf.justSeen);
-        kryo.writeObject(output, vf.seen);
         kryo.writeObject(output, vf.newlyVisible);
-        kryo.writeClassAndObject(output, vf.lighting);
-        kryo.writeObject(output, vf.viewers);
     }
 
     @Override
     public VisionFrameworkRgb read(Kryo kryo, Input input, Class<? extends VisionFrameworkRgb> type) {
         VisionFrameworkRgb vf = new VisionFrameworkRgb();
+        final int first = input.readInt(true);
+        if (first >= 0)
+            return readLegacy(kryo, input, vf, first);
+        final int format = -first;
+        if (format != LightingManagerSerializer.FULL_FORMAT && format != LightingManagerSerializer.COMPACT_FORMAT)
+            throw new KryoException("Unknown VisionFrameworkRgb format: " + format);
+        final boolean compact = format == LightingManagerSerializer.COMPACT_FORMAT;
         vf.placeWidth = input.readInt(true);
         vf.placeHeight = input.readInt(true);
         vf.rememberedColor = input.readInt(false);
         vf.linePlaceMap = kryo.readObject(input, char[][].class);
+        vf.seen = kryo.readObject(input, Region.class);
+        vf.lighting = (LightingManagerRgb)kryo.readClassAndObject(input);
+        vf.viewers = kryo.readObject(input, CoordFloatOrderedMap.class);
+        if (compact) {
+            vf.recalculate();
+            return vf;
+        }
+        vf.prunedPlaceMap = kryo.readObject(input, char[][].class);
+        vf.backgroundColors = kryo.readObject(input, int[][].class);
+        vf.previousLightLevels = kryo.readObject(input, float[][].class);
+        vf.blockage = kryo.readObject(input, Region.class);
+        vf.inView = kryo.readObject(input, Region.class);
+        vf.justHidden = kryo.readObject(input, Region.class);
+        vf.justSeen = kryo.readObject(input, Region.class);
+        vf.newlyVisible = kryo.readObject(input, Region.class);
+        return vf;
+    }
+
+    /**
+     * Reads the layout written before the {@link #compact} option, which had no format number.
+     */
+    private VisionFrameworkRgb readLegacy(Kryo kryo, Input input, VisionFrameworkRgb vf, int placeWidth) {
+        vf.placeWidth = placeWidth;
+        vf.placeHeight = input.readInt(true);
+        vf.rememberedColor = input.readInt(false);
+        vf.linePlaceMap = kryo.readObject(input, char[][].class);
         vf.prunedPlaceMap = kryo.readObject(input, char[][].class);
         vf.backgroundColors = kryo.readObject(input, int[][].class);
         vf.previousLightLevels = kryo.readObject(input, float[][].class);
@@ -17,6 +17,7 @@
 package com.github.yellowstonegames.freeze.grid;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.serializers.CollectionSerializer;
@@ -66,6 +67,30 @@ public class GridTest {
         }
     }
 
+    @Test
+    public void testRegionFormats() {
+        Kryo kryo = new Kryo();
+        kryo.register(Region.class, new RegionSerializer());
+        // sparse data uses runs, and noisy data falls back to raw longs
+        Region[] regions = {
+                new Region(120, 120, Coord.get(0, 0), Coord.get(1, 1), Coord.get(2, 3), Coord.get(100, 100)),
+                new Region(new AceRandom(123L), 0.5f, 77, 131)
+        };
+        for (Region data : regions) {
+            Output output = new Output(32, -1);
+            kryo.writeObject(output, data);
+            try (Input input = new Input(output.toBytes())) {
+                Assert.assertEquals(data, kryo.readObject(input, Region.class));
+            }
+            // the older form of RegionSerializer only wrote a compressed String
+            output = new Output(32, -1);
+            output.writeString(data.toCompressedString());
+            try (Input input = new Input(output.toBytes())) {
+                Assert.assertEquals(data, kryo.readObject(input, Region.class));
+            }
+        }
+    }
+
     @Test
     public void testCoordSet() {
         Kryo kryo = new Kryo();
@@ -647,6 +672,7 @@ public class GridTest {
         kryo.register(Region.class, new RegionSerializer());
         kryo.register(ObjectDeque.class, new ObjectDequeSerializer());
         kryo.register(LightSource.class, new LightSourceSerializer());
+        kryo.register(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer());
         kryo.register(LightingManager.class, new LightingManagerSerializer());
 
         LightingManager data = new LightingManager(new float[10][10], 0x252033FF, Radius.CIRCLE, 4f);
@@ -661,6 +687,41 @@ public class GridTest {
         }
     }
 
+    @Test
+    public void testLightingManagerCompact() {
+        Kryo kryo = new Kryo();
+        kryo.register(int[].class);
+        kryo.register(int[][].class);
+        kryo.register(float[].class);
+        kryo.register(float[][].class);
+        kryo.register(Coord.class, new CoordSerializer());
+        kryo.register(Radiance.class, new RadianceSerializer());
+        kryo.register(Region.class, new RegionSerializer());
+        kryo.register(ObjectDeque.class, new ObjectDequeSerializer());
+        kryo.register(LightSource.class, new LightSourceSerializer());
+        kryo.register(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer());
+        kryo.register(LightingManager.class, new LightingManagerSerializer(true));
+
+        float[][] resistances = new float[10][10];
+        resistances[4][2] = resistances[4][3] = resistances[4][4] = 1f;
+        LightingManager data = new LightingManager(resistances, 0x252033FF, Radius.CIRCLE, 4f);
+        data.addLight(5, 4, new Radiance(2f, 0x99DDFFFF));
+        data.addLight(1, 8, new Radiance(3f, 0x80F0AAFF));
+        data.calculateFOV(2, 3);
+        data.update();
+
+        Output output = new Output(32, -1);
+        kryo.writeObject(output, data);
+        byte[] bytes = output.toBytes();
+        try (Input input = new Input(bytes)) {
+            LightingManager data2 = kryo.readObject(input, LightingManager.class);
+            Assert.assertTrue(data2.stale);
+            data2.update();
+            Assert.assertFalse(data2.stale);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testLightingManagerRgb() {
         Kryo kryo = new Kryo();
@@ -673,6 +734,7 @@ public class GridTest {
         kryo.register(Region.class, new RegionSerializer());
         kryo.register(ObjectDeque.class, new ObjectDequeSerializer());
         kryo.register(LightSource.class, new LightSourceSerializer());
+        kryo.register(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer());
         kryo.register(LightingManagerRgb.class, new LightingManagerRgbSerializer());
 
         LightingManagerRgb data = new LightingManagerRgb(new float[10][10], 0xFF858040, Radius.CIRCLE, 4f);
@@ -719,6 +781,46 @@ public class GridTest {
     }
 
 
+    @Test
+    public void testVisionFrameworkCompact() {
+        Kryo kryo = new Kryo();
+        kryo.register(int[].class);
+        kryo.register(int[][].class);
+        kryo.register(float[].class);
+        kryo.register(float[][].class);
+        kryo.register(char[].class);
+        kryo.register(char[][].class);
+        kryo.register(Coord.class, new CoordSerializer());
+        kryo.register(Radiance.class, new RadianceSerializer());
+        kryo.register(Region.class, new RegionSerializer());
+        kryo.register(ObjectDeque.class, new ObjectDequeSerializer());
+        kryo.register(LightSource.class, new LightSourceSerializer());
+        kryo.register(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer());
+        kryo.register(LightingManager.class, new LightingManagerSerializer(true));
+        kryo.register(VisionFramework.class, new VisionFrameworkSerializer(true));
+
+        char[][] place = ArrayTools.fill('.', 10, 10);
+        for (int y = 0; y < 10; y++) {
+            place[0][y] = place[9][y] = place[5][y] = '#';
+        }
+        place[5][7] = '.';
+        VisionFramework data = new VisionFramework();
+        data.restart(place, Coord.get(3, 3), 2f, DescriptiveColor.describeOklab("darker gray 9 yellow"));
+        data.lighting.addLight(3, 3, new Radiance(3f, 0xFF9966AA));
+        data.finishChanges();
+        data.finishChanges();
+        data.update(1000f);
+
+        Output output = new Output(32, -1);
+        kryo.writeObject(output, data);
+        byte[] bytes = output.toBytes();
+        try (Input input = new Input(bytes)) {
+            VisionFramework data2 = kryo.readObject(input, VisionFramework.class);
+            data2.update(1000f);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testVisionFrameworkRgb() {
         Kryo kryo = new Kryo();
@@ -750,6 +852,111 @@ public class GridTest {
         }
     }
 
+    /**
+     * Writes the layout LightingManagerSerializer used before it had a format number, to check it can still be read.
+     */
+    private static class LegacyLightingManagerSerializer extends Serializer<LightingManager> {
+        @Override
+        public void write(Kryo kryo, Output output, LightingManager object) {
+            kryo.writeObject(output, object.resistances);
+            output.writeInt(object.backgroundColor);
+            output.writeVarInt(object.radiusStrategy.ordinal(), true);
+            output.writeFloat(object.viewerRange);
+            kryo.writeObject(output, object.noticeable);
+            kryo.writeObject(output, object.lights);
+            kryo.writeObject(output, object.colorLighting);
+            kryo.writeObject(output, object.lightingStrength);
+            kryo.writeObject(output, object.fovResult);
+            kryo.writeObject(output, object.lightFromFOV);
+            kryo.writeObject(output, object.losResult);
+        }
+
+        @Override
+        public LightingManager read(Kryo kryo, Input input, Class<? extends LightingManager> type) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Writes the layout VisionFrameworkSerializer used before it had a format number, to check it can still be read.
+     */
+    private static class LegacyVisionFrameworkSerializer extends Serializer<VisionFramework> {
+        @Override
+        public void write(Kryo kryo, Output output, VisionFramework vf) {
+            output.writeInt(vf.placeWidth, true);
+            output.writeInt(vf.placeHeight, true);
+            output.writeInt(vf.rememberedColor, false);
+            kryo.writeObject(output, vf.linePlaceMap);
+            kryo.writeObject(output, vf.prunedPlaceMap);
+            kryo.writeObject(output, vf.backgroundColors);
+            kryo.writeObject(output, vf.previousLightLevels);
+            kryo.writeObject(output, vf.blockage);
+            kryo.writeObject(output, vf.inView);
+            kryo.writeObject(output, vf.justHidden);
+            kryo.writeObject(output, vf.justSeen);
+            kryo.writeObject(output, vf.seen);
+            kryo.writeObject(output, vf.newlyVisible);
+            kryo.writeObject(output, vf.lighting);
+            kryo.writeObject(output, vf.viewers);
+        }
+
+        @Override
+        public VisionFramework read(Kryo kryo, Input input, Class<? extends VisionFramework> type) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static Kryo visionKryo(boolean legacy) {
+        Kryo kryo = new Kryo();
+        kryo.register(int[].class);
+        kryo.register(int[][].class);
+        kryo.register(float[].class);
+        kryo.register(float[][].class);
+        kryo.register(char[].class);
+        kryo.register(char[][].class);
+        kryo.register(Coord.class, new CoordSerializer());
+        kryo.register(Radiance.class, new RadianceSerializer());
+        kryo.register(Region.class, new RegionSerializer());
+        kryo.register(ObjectDeque.class, new ObjectDequeSerializer());
+        kryo.register(LightSource.class, new LightSourceSerializer());
+        kryo.register(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer());
+        kryo.register(LightingManager.class, legacy ? new LegacyLightingManagerSerializer() : new LightingManagerSerializer());
+        kryo.register(VisionFramework.class, legacy ? new LegacyVisionFrameworkSerializer() : new VisionFrameworkSerializer());
+        return kryo;
+    }
+
+    @Test
+    public void testLightingManagerLegacy() {
+        LightingManager data = new LightingManager(new float[10][10], 0x252033FF, Radius.CIRCLE, 4f);
+        data.addLight(5, 4, new Radiance(2f, 0x99DDFFFF, 0.2f, 0f, 0f, 0f));
+        data.calculateFOV(4, 4);
+        data.update();
+
+        Output output = new Output(32, -1);
+        visionKryo(true).writeObject(output, data);
+        byte[] bytes = output.toBytes();
+        try (Input input = new Input(bytes)) {
+            LightingManager data2 = visionKryo(false).readObject(input, LightingManager.class);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
+    @Test
+    public void testVisionFrameworkLegacy() {
+        VisionFramework data = new VisionFramework();
+        data.restart(ArrayTools.fill('.', 10, 10), Coord.get(3, 3), 2f, DescriptiveColor.describeOklab("darker gray 9 yellow"));
+        data.lighting.addLight(3, 3, new Radiance(3f, 0xFF9966AA, 0.2f, 0f, 0f, 0f));
+        data.finishChanges();
+
+        Output output = new Output(32, -1);
+        visionKryo(true).writeObject(output, data);
+        byte[] bytes = output.toBytes();
+        try (Input input = new Input(bytes)) {
+            VisionFramework data2 = visionKryo(false).readObject(input, VisionFramework.class);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testNoise() {
         Kryo kryo = new Kryo();
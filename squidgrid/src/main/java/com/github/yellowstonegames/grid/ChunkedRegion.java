@@ -0,0 +1,785 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.ds.LongList;
+import com.github.tommyettinger.ds.LongObjectMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set of grid cells like {@link Region}, but without any fixed size, and allowing negative coordinates. A Region
+ * always stores one bit for every cell in its bounds, even if almost all of those cells are "off," but a ChunkedRegion
+ * splits the grid into 64x64 tiles and only stores tiles that have at least one "on" cell, in a map keyed by the
+ * position of each tile. A mostly-empty 4096x4096 mask only needs memory for the tiles it touches, and set operations
+ * such as {@link #and(ChunkedRegion)}, {@link #or(ChunkedRegion)}, and {@link #andNot(ChunkedRegion)} skip empty tiles
+ * entirely.
+ * <br>
+ * Each tile is a {@code long[64]}, where the item at index {@code x & 63} holds one column of the tile, and bit
+ * {@code y & 63} of that item is the cell at y. Iteration goes through tiles in order of their x position and then
+ * their y position, and within each tile, goes through cells by x and then y; {@link #nth(int)} uses the same order.
+ * You can get a ChunkedRegion from a Region with {@link #ChunkedRegion(Region, int, int)} or
+ * {@link #or(Region, int, int)}, and get any rectangular section of a ChunkedRegion as a Region with
+ * {@link #toRegion(int, int, int, int)}.
+ */
+public class ChunkedRegion implements Set<Coord> {
+    private LongObjectMap<long[]> tiles;
+    /**
+     * The keys of each tile in iteration order; only valid when {@link #tallied} is true.
+     */
+    private long[] order = new long[16];
+    /**
+     * The total number of "on" cells in each tile in {@link #order} and all tiles before it.
+     */
+    private int[] counts = new int[16];
+    private int ct;
+    private boolean tallied = true;
+    private final LongList emptied = new LongList();
+
+    /**
+     * Constructs an empty ChunkedRegion.
+     */
+    public ChunkedRegion() {
+        tiles = new LongObjectMap<>();
+    }
+
+    /**
+     * Copies another ChunkedRegion.
+     * @param other another ChunkedRegion to copy
+     */
+    public ChunkedRegion(ChunkedRegion other) {
+        tiles = new LongObjectMap<>(other.tiles.size());
+        for (LongObjectMap.Entry<long[]> e : other.tiles) {
+            tiles.put(e.key, Arrays.copyOf(e.value, 64));
+        }
+        tallied = false;
+    }
+
+    /**
+     * Constructs a ChunkedRegion with the "on" cells of the given Region, each moved by offsetX and offsetY.
+     * @param region a Region to copy "on" cells from
+     * @param offsetX added to the x-position of each cell in region; may be negative
+     * @param offsetY added to the y-position of each cell in region; may be negative
+     */
+    public ChunkedRegion(Region region, int offsetX, int offsetY) {
+        tiles = new LongObjectMap<>();
+        or(region, offsetX, offsetY);
+    }
+
+    /**
+     * Constructs a ChunkedRegion with the given cells "on."
+     * @param points the cells to turn "on"
+     */
+    public ChunkedRegion(Coord... points) {
+        tiles = new LongObjectMap<>();
+        if (points == null) return;
+        for (Coord point : points) {
+            insert(point);
+        }
+    }
+
+    /**
+     * Gets the key for the tile with the given tile position; keys sort in the same order as tiles are iterated.
+     */
+    private static long key(int tileX, int tileY) {
+        return (long) tileX << 32 | ((tileY ^ 0x80000000) & 0xFFFFFFFFL);
+    }
+
+    private static int tileX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int tileY(long key) {
+        return (int) key ^ 0x80000000;
+    }
+
+    private static boolean isBlank(long[] tile) {
+        long all = 0L;
+        for (int i = 0; i < 64; i++) {
+            all |= tile[i];
+        }
+        return all == 0L;
+    }
+
+    private static long[] obtain(LongObjectMap<long[]> map, long key) {
+        long[] tile = map.get(key);
+        if (tile == null)
+            map.put(key, tile = new long[64]);
+        return tile;
+    }
+
+    /**
+     * Removes any tiles whose keys were added to {@link #emptied}.
+     */
+    private void removeEmptied() {
+        for (int i = 0, n = emptied.size(); i < n; i++) {
+            tiles.remove(emptied.get(i));
+        }
+        emptied.clear();
+    }
+
+    private void tally() {
+        final int n = tiles.size();
+        if (order.length < n) {
+            order = new long[n];
+            counts = new int[n];
+        }
+        int i = 0;
+        for (LongObjectMap.Entry<long[]> e : tiles) {
+            order[i++] = e.key;
+        }
+        Arrays.sort(order, 0, n);
+        ct = 0;
+        for (i = 0; i < n; i++) {
+            final long[] tile = tiles.get(order[i]);
+            for (int c = 0; c < 64; c++) {
+                ct += Long.bitCount(tile[c]);
+            }
+            counts[i] = ct;
+        }
+        tallied = true;
+    }
+
+    /**
+     * Gets how many 64x64 tiles this currently stores; each one has at least one "on" cell.
+     * @return the number of non-empty tiles
+     */
+    public int tileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * Checks if the cell at x,y is "on."
+     * @param x the x-position of the cell; may be negative
+     * @param y the y-position of the cell; may be negative
+     * @return true if the cell is "on," or false otherwise
+     */
+    public boolean contains(int x, int y) {
+        final long[] tile = tiles.get(key(x >> 6, y >> 6));
+        return tile != null && (tile[x & 63] & 1L << y) != 0L;
+    }
+
+    /**
+     * Checks if the cell at point is "on."
+     * @param point the position of the cell; may be null, which is never "on"
+     * @return true if the cell is "on," or false otherwise
+     */
+    public boolean contains(Coord point) {
+        return point != null && contains(point.x, point.y);
+    }
+
+    /**
+     * Sets the cell at x,y to "on."
+     * @param x the x-position of the cell; may be negative
+     * @param y the y-position of the cell; may be negative
+     * @return this for chaining
+     */
+    public ChunkedRegion insert(int x, int y) {
+        obtain(tiles, key(x >> 6, y >> 6))[x & 63] |= 1L << y;
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Sets the cell at point to "on." Does nothing if point is null.
+     * @param point the position of the cell
+     * @return this for chaining
+     */
+    public ChunkedRegion insert(Coord point) {
+        if (point == null) return this;
+        return insert(point.x, point.y);
+    }
+
+    /**
+     * Sets the cell at x,y to "off," and stops storing its tile if that was the last "on" cell in the tile.
+     * @param x the x-position of the cell; may be negative
+     * @param y the y-position of the cell; may be negative
+     * @return this for chaining
+     */
+    public ChunkedRegion remove(int x, int y) {
+        final long k = key(x >> 6, y >> 6);
+        final long[] tile = tiles.get(k);
+        if (tile != null) {
+            tile[x & 63] &= ~(1L << y);
+            if (isBlank(tile))
+                tiles.remove(k);
+            tallied = false;
+        }
+        return this;
+    }
+
+    /**
+     * Sets the cell at point to "off." Does nothing if point is null.
+     * @param point the position of the cell
+     * @return this for chaining
+     */
+    public ChunkedRegion remove(Coord point) {
+        if (point == null) return this;
+        return remove(point.x, point.y);
+    }
+
+    /**
+     * Turns "on" every "on" cell of region, after moving each one by offsetX and offsetY. This works on whole columns
+     * of 64 cells at a time.
+     * @param region a Region to copy "on" cells from
+     * @param offsetX added to the x-position of each cell in region; may be negative
+     * @param offsetY added to the y-position of each cell in region; may be negative
+     * @return this for chaining
+     */
+    public ChunkedRegion or(Region region, int offsetX, int offsetY) {
+        final int ySections = region.height + 63 >> 6, shift = offsetY & 63, startY = offsetY >> 6;
+        final long yEndMask = -1L >>> 64 - (region.height & 63);
+        final long[] data = region.data;
+        for (int x = 0; x < region.width; x++) {
+            final int cx = x + offsetX, tx = cx >> 6, column = cx & 63;
+            for (int s = 0; s < ySections; s++) {
+                long w = data[x * ySections + s];
+                if (s == ySections - 1) w &= yEndMask;
+                if (w == 0L) continue;
+                final int ty = startY + s;
+                long bits = w << shift;
+                if (bits != 0L)
+                    obtain(tiles, key(tx, ty))[column] |= bits;
+                if (shift != 0 && (bits = w >>> 64 - shift) != 0L)
+                    obtain(tiles, key(tx, ty + 1))[column] |= bits;
+            }
+        }
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Gets a new Region with the given width and height, where each cell at x,y in the Region is "on" if the cell at
+     * {@code x + offsetX, y + offsetY} is "on" here. Any cells this has outside that area are ignored.
+     * @param offsetX the x-position here that will be x=0 in the Region; may be negative
+     * @param offsetY the y-position here that will be y=0 in the Region; may be negative
+     * @param width the width of the Region to produce
+     * @param height the height of the Region to produce
+     * @return a new Region containing a rectangular section of this
+     */
+    public Region toRegion(int offsetX, int offsetY, int width, int height) {
+        width = Math.max(width, 0);
+        height = Math.max(height, 0);
+        final int ySections = height + 63 >> 6, shift = offsetY & 63, startY = offsetY >> 6;
+        final long[] data = new long[width * ySections];
+        if (!tiles.isEmpty()) {
+            for (int x = 0; x < width; x++) {
+                final int cx = x + offsetX, tx = cx >> 6, column = cx & 63;
+                for (int s = 0; s < ySections; s++) {
+                    final int ty = startY + s;
+                    final long[] low = tiles.get(key(tx, ty));
+                    long w = low == null ? 0L : low[column] >>> shift;
+                    if (shift != 0) {
+                        final long[] high = tiles.get(key(tx, ty + 1));
+                        if (high != null) w |= high[column] << 64 - shift;
+                    }
+                    data[x * ySections + s] = w;
+                }
+            }
+        }
+        return new Region(data, width, height);
+    }
+
+    /**
+     * Turns "on" every cell that is "on" in other.
+     * @param other another ChunkedRegion
+     * @return this for chaining
+     */
+    public ChunkedRegion or(ChunkedRegion other) {
+        if (other == this) return this;
+        for (LongObjectMap.Entry<long[]> e : other.tiles) {
+            final long[] from = e.value, tile = tiles.get(e.key);
+            if (tile == null) {
+                tiles.put(e.key, Arrays.copyOf(from, 64));
+            } else {
+                for (int i = 0; i < 64; i++) {
+                    tile[i] |= from[i];
+                }
+            }
+        }
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Turns "off" every cell that is "off" in other, keeping only cells that are "on" in both.
+     * @param other another ChunkedRegion
+     * @return this for chaining
+     */
+    public ChunkedRegion and(ChunkedRegion other) {
+        if (other == this) return this;
+        for (LongObjectMap.Entry<long[]> e : tiles) {
+            final long[] tile = e.value, from = other.tiles.get(e.key);
+            if (from == null) {
+                emptied.add(e.key);
+            } else {
+                long all = 0L;
+                for (int i = 0; i < 64; i++) {
+                    all |= tile[i] &= from[i];
+                }
+                if (all == 0L)
+                    emptied.add(e.key);
+            }
+        }
+        removeEmptied();
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Turns "off" every cell that is "on" in other.
+     * @param other another ChunkedRegion
+     * @return this for chaining
+     */
+    public ChunkedRegion andNot(ChunkedRegion other) {
+        if (other == this) {
+            clear();
+            return this;
+        }
+        for (LongObjectMap.Entry<long[]> e : tiles) {
+            final long[] tile = e.value, from = other.tiles.get(e.key);
+            if (from == null) continue;
+            long all = 0L;
+            for (int i = 0; i < 64; i++) {
+                all |= tile[i] &= ~from[i];
+            }
+            if (all == 0L)
+                emptied.add(e.key);
+        }
+        removeEmptied();
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Keeps only cells that are "on" in exactly one of this and other.
+     * @param other another ChunkedRegion
+     * @return this for chaining
+     */
+    public ChunkedRegion xor(ChunkedRegion other) {
+        if (other == this) {
+            clear();
+            return this;
+        }
+        for (LongObjectMap.Entry<long[]> e : other.tiles) {
+            final long[] from = e.value, tile = tiles.get(e.key);
+            if (tile == null) {
+                tiles.put(e.key, Arrays.copyOf(from, 64));
+            } else {
+                long all = 0L;
+                for (int i = 0; i < 64; i++) {
+                    all |= tile[i] ^= from[i];
+                }
+                if (all == 0L)
+                    emptied.add(e.key);
+            }
+        }
+        removeEmptied();
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Spreads every "on" cell in src one cell up and down, with all results going into dst.
+     */
+    private static void spreadVertical(LongObjectMap<long[]> src, LongObjectMap<long[]> dst) {
+        for (LongObjectMap.Entry<long[]> e : src) {
+            final long k = e.key;
+            final long[] from = e.value, same = obtain(dst, k);
+            long[] before = null, after = null;
+            for (int i = 0; i < 64; i++) {
+                final long w = from[i];
+                if (w == 0L) continue;
+                same[i] |= w | w << 1 | w >>> 1;
+                if ((w & 1L) != 0L) {
+                    if (before == null) before = obtain(dst, key(tileX(k), tileY(k) - 1));
+                    before[i] |= 0x8000000000000000L;
+                }
+                if (w < 0L) {
+                    if (after == null) after = obtain(dst, key(tileX(k), tileY(k) + 1));
+                    after[i] |= 1L;
+                }
+            }
+        }
+    }
+
+    /**
+     * Spreads every "on" cell in src one cell left and right, with all results going into dst.
+     */
+    private static void spreadHorizontal(LongObjectMap<long[]> src, LongObjectMap<long[]> dst) {
+        for (LongObjectMap.Entry<long[]> e : src) {
+            final long k = e.key;
+            final long[] from = e.value, same = obtain(dst, k);
+            same[0] |= from[0] | from[1];
+            for (int i = 1; i < 63; i++) {
+                same[i] |= from[i - 1] | from[i] | from[i + 1];
+            }
+            same[63] |= from[62] | from[63];
+            if (from[0] != 0L)
+                obtain(dst, key(tileX(k) - 1, tileY(k)))[63] |= from[0];
+            if (from[63] != 0L)
+                obtain(dst, key(tileX(k) + 1, tileY(k)))[0] |= from[63];
+        }
+    }
+
+    /**
+     * Expands the "on" cells by one cell in the 4 orthogonal directions. This can add tiles next to existing ones.
+     * @return this for chaining
+     */
+    public ChunkedRegion expand() {
+        LongObjectMap<long[]> next = new LongObjectMap<>(tiles.size() * 2);
+        spreadVertical(tiles, next);
+        spreadHorizontal(tiles, next);
+        tiles = next;
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Expands the "on" cells by {@code amount} cells in the 4 orthogonal directions, producing diamond shapes.
+     * @param amount how many cells to expand by
+     * @return this for chaining
+     */
+    public ChunkedRegion expand(int amount) {
+        for (int i = 0; i < amount; i++) {
+            expand();
+        }
+        return this;
+    }
+
+    /**
+     * Expands the "on" cells by one cell in the 8 orthogonal and diagonal directions. This can add tiles next to
+     * existing ones.
+     * @return this for chaining
+     */
+    public ChunkedRegion expand8way() {
+        LongObjectMap<long[]> mid = new LongObjectMap<>(tiles.size() * 2), next = new LongObjectMap<>(tiles.size() * 3);
+        spreadVertical(tiles, mid);
+        spreadHorizontal(mid, next);
+        tiles = next;
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Expands the "on" cells by {@code amount} cells in the 8 orthogonal and diagonal directions, producing square
+     * shapes.
+     * @param amount how many cells to expand by
+     * @return this for chaining
+     */
+    public ChunkedRegion expand8way(int amount) {
+        for (int i = 0; i < amount; i++) {
+            expand8way();
+        }
+        return this;
+    }
+
+    /**
+     * Like {@link #expand(int)}, but limits expansion to the "on" cells of {@code bounds}, and stops early if an
+     * expansion doesn't change anything. Like {@link Region#flood(Region, int)}, any cells that start "on" here but
+     * aren't "on" in bounds are removed.
+     * @param bounds the set of "on" cells that limits where this can expand into
+     * @param amount how far to expand this outward by, in cells
+     * @return this, after expanding, for chaining
+     */
+    public ChunkedRegion flood(ChunkedRegion bounds, int amount) {
+        int ct = size(), ct2;
+        for (int i = 0; i < amount; i++) {
+            expand().and(bounds);
+            if (ct == (ct2 = size()))
+                break;
+            ct = ct2;
+        }
+        return this;
+    }
+
+    /**
+     * Like {@link #expand8way(int)}, but limits expansion to the "on" cells of {@code bounds}, and stops early if an
+     * expansion doesn't change anything. Like {@link Region#flood8way(Region, int)}, any cells that start "on" here
+     * but aren't "on" in bounds are removed.
+     * @param bounds the set of "on" cells that limits where this can expand into
+     * @param amount how far to expand this outward by, in cells
+     * @return this, after expanding, for chaining
+     */
+    public ChunkedRegion flood8way(ChunkedRegion bounds, int amount) {
+        int ct = size(), ct2;
+        for (int i = 0; i < amount; i++) {
+            expand8way().and(bounds);
+            if (ct == (ct2 = size()))
+                break;
+            ct = ct2;
+        }
+        return this;
+    }
+
+    /**
+     * Gets the Coord at the given index in the iteration order, or null if index is negative or is at least
+     * {@link #size()}. Because a ChunkedRegion can contain (-1,-1), this can't use that as an invalid result the way
+     * {@link Region#nth(int)} does.
+     * @param index the index of the Coord to get, from 0 (inclusive) to {@link #size()} (exclusive)
+     * @return the Coord at that index in the iteration order, or null if index is out of range
+     */
+    public Coord nth(final int index) {
+        if (!tallied) tally();
+        if (index < 0 || index >= ct) return null;
+        int lo = 0, hi = tiles.size() - 1;
+        while (lo < hi) {
+            final int mid = lo + hi >>> 1;
+            if (counts[mid] > index) hi = mid;
+            else lo = mid + 1;
+        }
+        int remaining = index - (lo == 0 ? 0 : counts[lo - 1]);
+        final long k = order[lo];
+        final long[] tile = tiles.get(k);
+        for (int c = 0; c < 64; c++) {
+            long t = tile[c];
+            final int n = Long.bitCount(t);
+            if (remaining < n) {
+                for (; remaining > 0; remaining--) {
+                    t &= t - 1L;
+                }
+                return Coord.get(tileX(k) << 6 | c, tileY(k) << 6 | Long.numberOfTrailingZeros(t));
+            }
+            remaining -= n;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the first Coord in the iteration order, or null if this is empty.
+     * @return the first Coord in the iteration order, or null if this is empty
+     */
+    public Coord first() {
+        return nth(0);
+    }
+
+    @Override
+    public int size() {
+        if (!tallied) tally();
+        return ct;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tiles.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Coord)
+            return contains((Coord) o);
+        return false;
+    }
+
+    @Override
+    public Iterator<Coord> iterator() {
+        return new ChunkedIterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Coord[] items = new Coord[size()];
+        int i = 0;
+        for (Coord c : this) {
+            items[i++] = c;
+        }
+        return items;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T[] toArray(T[] a) {
+        final int n = size();
+        if (a.length < n)
+            a = Arrays.copyOf(a, n);
+        int i = 0;
+        for (Coord c : this) {
+            a[i++] = (T) c;
+        }
+        if (a.length > n)
+            a[n] = null;
+        return a;
+    }
+
+    @Override
+    public boolean add(Coord coord) {
+        if (coord == null || contains(coord))
+            return false;
+        insert(coord);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o instanceof Coord && contains((Coord) o)) {
+            remove((Coord) o);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object o : c) {
+            if (!contains(o))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Coord> c) {
+        boolean changed = false;
+        for (Coord co : c) {
+            changed |= add(co);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        ChunkedRegion kept = new ChunkedRegion();
+        for (Object o : c) {
+            if (contains(o))
+                kept.insert((Coord) o);
+        }
+        final boolean changed = kept.size() != size();
+        tiles = kept.tiles;
+        tallied = false;
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (Object o : c) {
+            changed |= remove(o);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        tiles.clear();
+        ct = 0;
+        tallied = true;
+    }
+
+    /**
+     * Implements equals() according to the rules a Set must obey, so this can equal any Set with the same Coords,
+     * including a {@link Region}. Comparing with another ChunkedRegion only needs to compare tiles.
+     * @param o object to be compared for equality with this set
+     * @return true if {@code o} is any Set with the same size and contents
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (o instanceof ChunkedRegion) {
+            ChunkedRegion other = (ChunkedRegion) o;
+            if (other.tiles.size() != tiles.size())
+                return false;
+            for (LongObjectMap.Entry<long[]> e : tiles) {
+                final long[] tile = other.tiles.get(e.key);
+                if (tile == null || !Arrays.equals(tile, e.value))
+                    return false;
+            }
+            return true;
+        }
+        if (!(o instanceof Set))
+            return false;
+        Collection<?> c = (Collection<?>) o;
+        if (c.size() != size())
+            return false;
+        return containsAll(c);
+    }
+
+    /**
+     * Implements hashCode() according to the rules a Set must obey, as the sum of the hashCode() of each Coord here,
+     * without creating any Coord items.
+     * @return a Set hash code, or, the sum of the hashCode() of each Coord in this
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (LongObjectMap.Entry<long[]> e : tiles) {
+            final int startX = tileX(e.key) << 6, startY = tileY(e.key) << 6;
+            final long[] tile = e.value;
+            for (int c = 0; c < 64; c++) {
+                for (long t = tile[c]; t != 0L; t &= t - 1L) {
+                    hash += Coord.signedRosenbergStrongHashCode(startX | c, startY | Long.numberOfTrailingZeros(t));
+                }
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedRegion{size=" + size() + ", tiles=" + tiles.size() + '}';
+    }
+
+    /**
+     * Goes through each "on" cell in the same order as {@link #nth(int)}. Changing the ChunkedRegion during iteration
+     * has undefined results.
+     */
+    public class ChunkedIterator implements Iterator<Coord> {
+        private int tile = -1, column = 64, startX, startY;
+        private long[] current;
+        private long bits;
+
+        public ChunkedIterator() {
+            if (!tallied)
+                tally();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (bits == 0L) {
+                if (++column >= 64) {
+                    if (++tile >= tiles.size())
+                        return false;
+                    final long k = order[tile];
+                    current = tiles.get(k);
+                    startX = tileX(k) << 6;
+                    startY = tileY(k) << 6;
+                    column = 0;
+                }
+                bits = current[column];
+            }
+            return true;
+        }
+
+        @Override
+        public Coord next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            final Coord c = Coord.get(startX | column, startY | Long.numberOfTrailingZeros(bits));
+            bits &= bits - 1L;
+            return c;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove() is not supported on this Iterator.");
+        }
+    }
+}
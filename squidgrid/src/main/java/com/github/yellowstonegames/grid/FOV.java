@@ -91,6 +91,9 @@ import static com.github.yellowstonegames.grid.OrthoLine.reachable;
  * highest-value cell and continue to lower and lower values. You can also reuse an
  * existing CoordFloatOrderedMap using {@link #fillCellsByDescendingValue(float[][], CoordFloatOrderedMap)},
  * which is a better choice than cellsByDescendingValue() if you call it every frame.
+ * <br>
+ * If you only need to know whether each cell is visible, and not how much light it gets, {@link RegionFOV} calculates
+ * the same visible cells as the Shadow FOV methods here, but works on {@link Region}s a 64-cell word at a time.
  *
  * @author <a href="http://squidpony.com">Eben Howard</a> - howard@squidpony.com
  * @author <a href="https://github.com/tommyettinger">Tommy Ettinger</a>
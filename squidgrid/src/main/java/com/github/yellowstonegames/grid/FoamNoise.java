@@ -17,6 +17,7 @@ package com.github.yellowstonegames.grid;
 
 import com.github.tommyettinger.digital.Base;
 import com.github.tommyettinger.digital.BitConversion;
+import com.github.tommyettinger.digital.TrigTools;
 
 /**
  * Foam noise code as an {@link INoise} implementation.
@@ -228,6 +229,163 @@ public class FoamNoise implements INoise {
         return (s = (s ^ (s << 47 | s >>> 17) ^ (s << 23 | s >>> 41)) * 0xF1357AEA2E62A9C5L + 0x9E3779B97F4A7C15L) ^ s >>> 25;
     }
 
+    // BULK SECTION
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fill2D(float[], int, int, float, float, float)}, but
+     * computes the y terms of each rotated axis once per row, and gives each of the three value noise layers its own
+     * cache of lattice hashes, so a layer only hashes again when a sample enters a new cell of that layer.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        final long seed = this.seed;
+        final long[] cacheA = new long[7], cacheB = new long[7], cacheC = new long[7];
+        final float sharp = 0.75f * 2.2f;
+        for (int py = 0, i = 0; py < height; py++) {
+            final float y = startY + py * step;
+            final float y1 = y * 0.8660254037844386f, y2 = y * -0.8660254037844387f;
+            for (int px = 0; px < width; px++, i++) {
+                final float x = startX + px * step;
+                final float p0 = x;
+                final float p1 = x * -0.5f + y1;
+                final float p2 = x * -0.5f + y2;
+                final float a = valueNoise(p1, p2, seed, cacheA);
+                final float b = valueNoise(p2 + a, p0, seed + 0x9A827999FCEF3243L, cacheB);
+                final float c = valueNoise(p0 + b, p1, seed + 0x3504F333F9DE6486L, cacheC);
+                final float result = (a + b + c) * 0.3333333333333333f;
+                final float diff = 0.5f - result;
+                final int sign = BitConversion.floatToIntBits(diff) >> 31, one = sign | 1;
+                out[i] = (((result + sign)) / (Float.MIN_VALUE - sign + (result + sharp * diff) * one) - sign - sign) - 1f;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fillSphere(float[], int, int, float)}, but computes the
+     * z terms of each rotated axis once per row, and gives each of the four value noise layers its own cache of
+     * lattice hashes, so a layer only hashes again when a sample enters a new cell of that layer.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fillSphere(float[] out, int width, int height, float radius) {
+        final long seed = this.seed;
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float lon = (px + 0.5f) / width;
+            cosLon[px] = TrigTools.cosTurns(lon);
+            sinLon[px] = TrigTools.sinTurns(lon);
+        }
+        final long[] cacheA = new long[12], cacheB = new long[12], cacheC = new long[12], cacheD = new long[12];
+        final float sharp = 0.75f * 3.3f;
+        for (int py = 0, i = 0; py < height; py++) {
+            final float lat = (py + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius, z = TrigTools.sinTurns(lat) * radius;
+            final float z2 = z * 0.816496580927726f, z3 = z * -0.816496580927726f;
+            for (int px = 0; px < width; px++, i++) {
+                final float x = cosLon[px] * ring, y = sinLon[px] * ring;
+                final float p0 = x;
+                final float p1 = x * -0.3333333333333333f + y * 0.9428090415820634f;
+                final float p2 = x * -0.3333333333333333f + y * -0.4714045207910317f + z2;
+                final float p3 = x * -0.3333333333333333f + y * -0.4714045207910317f + z3;
+                final float a = valueNoise(p1, p2, p3, seed, cacheA);
+                final float b = valueNoise(p0 + a, p2, p3, seed + 0x9A827999FCEF3243L, cacheB);
+                final float c = valueNoise(p0 + b, p1, p3, seed + 0x3504F333F9DE6486L, cacheC);
+                final float d = valueNoise(p0 + c, p1, p2, seed + 0xCF876CCDF6CD96C9L, cacheD);
+                final float result = (a + b + c + d) * 0.25f;
+                final float diff = 0.5f - result;
+                final long sign = BitConversion.floatToIntBits(diff) >> 31, one = sign | 1;
+                out[i] = (((result + sign)) / (Float.MIN_VALUE - sign + (result + sharp * diff) * one) - sign - sign) - 1f;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * The same as {@link #valueNoise(float, float, long)}, but keeps the lattice hashes of the last cell it sampled in
+     * {@code cache}, reusing them while samples stay in that cell.
+     * @param cache a long array of length 7, initially all 0, and only used by this method with one seed
+     */
+    private static float valueNoise(float x, float y, final long seed, final long[] cache) {
+        final long STEPX = 0xC13FA9A902A6328FL;
+        final long STEPY = 0x91E10DA5C79E7B1DL;
+        long xFloor = (long)Math.floor(x);
+        x -= xFloor;
+        x *= x * (1 - x - x + 2);
+        long yFloor = (long)Math.floor(y);
+        y -= yFloor;
+        y *= y * (1 - y - y + 2);
+        xFloor *= STEPX;
+        yFloor *= STEPY;
+        if (cache[6] == 0L || cache[0] != xFloor || cache[1] != yFloor) {
+            cache[0] = xFloor;
+            cache[1] = yFloor;
+            cache[2] = hashPart(xFloor, yFloor, seed);
+            cache[3] = hashPart(xFloor + STEPX, yFloor, seed);
+            cache[4] = hashPart(xFloor, yFloor + STEPY, seed);
+            cache[5] = hashPart(xFloor + STEPX, yFloor + STEPY, seed);
+            cache[6] = 1L;
+        }
+        return ((1 - y) * ((1 - x) * cache[2] + x * cache[3])
+                + y * ((1 - x) * cache[4] + x * cache[5]))
+                * 0x1p-64f + 0.5f;
+    }
+
+    /**
+     * The same as {@link #valueNoise(float, float, float, long)}, but keeps the lattice hashes of the last cell it
+     * sampled in {@code cache}, reusing them while samples stay in that cell.
+     * @param cache a long array of length 12, initially all 0, and only used by this method with one seed
+     */
+    private static float valueNoise(float x, float y, float z, final long seed, final long[] cache) {
+        final long STEPX = 0xD1B54A32D192ED03L;
+        final long STEPY = 0xABC98388FB8FAC03L;
+        final long STEPZ = 0x8CB92BA72F3D8DD7L;
+        long xFloor = (long)Math.floor(x);
+        x -= xFloor;
+        x *= x * (1 - x - x + 2);
+        long yFloor = (long)Math.floor(y);
+        y -= yFloor;
+        y *= y * (1 - y - y + 2);
+        long zFloor = (long)Math.floor(z);
+        z -= zFloor;
+        z *= z * (1 - z - z + 2);
+        xFloor *= STEPX;
+        yFloor *= STEPY;
+        zFloor *= STEPZ;
+        if (cache[11] == 0L || cache[0] != xFloor || cache[1] != yFloor || cache[2] != zFloor) {
+            cache[0] = xFloor;
+            cache[1] = yFloor;
+            cache[2] = zFloor;
+            cache[3] = hashPart(xFloor, yFloor, zFloor, seed);
+            cache[4] = hashPart(xFloor + STEPX, yFloor, zFloor, seed);
+            cache[5] = hashPart(xFloor, yFloor + STEPY, zFloor, seed);
+            cache[6] = hashPart(xFloor + STEPX, yFloor + STEPY, zFloor, seed);
+            cache[7] = hashPart(xFloor, yFloor, zFloor + STEPZ, seed);
+            cache[8] = hashPart(xFloor + STEPX, yFloor, zFloor + STEPZ, seed);
+            cache[9] = hashPart(xFloor, yFloor + STEPY, zFloor + STEPZ, seed);
+            cache[10] = hashPart(xFloor + STEPX, yFloor + STEPY, zFloor + STEPZ, seed);
+            cache[11] = 1L;
+        }
+        return ((1 - z) *
+                ((1 - y) * ((1 - x) * cache[3] + x * cache[4])
+                        + y * ((1 - x) * cache[5] + x * cache[6]))
+                + z *
+                ((1 - y) * ((1 - x) * cache[7] + x * cache[8])
+                        + y * ((1 - x) * cache[9] + x * cache[10]))
+        ) * 0x1p-64f + 0.5f;
+    }
+
     // 4D SECTION
 
     /**
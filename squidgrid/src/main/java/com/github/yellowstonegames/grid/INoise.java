@@ -16,6 +16,7 @@
 
 package com.github.yellowstonegames.grid;
 
+import com.github.tommyettinger.digital.TrigTools;
 import com.github.tommyettinger.ds.ObjectList;
 import com.github.tommyettinger.ds.ObjectObjectMap;
 import com.github.tommyettinger.ds.ObjectSet;
@@ -398,6 +399,63 @@ public interface INoise extends Externalizable {
         return r;
     }
 
+    /**
+     * Fills {@code out} with 2D noise sampled on a regular grid, row by row, so that the result at
+     * {@code out[y * width + x]} is exactly {@code getNoise(startX + x * step, startY + y * step)}. The default
+     * implementation simply makes those calls; implementations can override this to hoist work that doesn't change
+     * between adjacent samples out of the inner loop, but must produce the same results as calling getNoise().
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     * @throws UnsupportedOperationException if 2D noise cannot be produced by this generator
+     */
+    default float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        for (int y = 0, i = 0; y < height; y++) {
+            final float py = startY + y * step;
+            for (int x = 0; x < width; x++, i++) {
+                out[i] = getNoise(startX + x * step, py);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with 3D noise sampled on the surface of a sphere centered on the origin, as an
+     * equirectangular grid of {@code width} longitudes by {@code height} latitudes, row by row. Longitude for column
+     * x is {@code (x + 0.5f) / width} turns; latitude for row y is {@code (y + 0.5f) / height * 0.5f - 0.25f} turns.
+     * The result at {@code out[y * width + x]} is exactly
+     * {@code getNoise(cosTurns(lon) * ring, sinTurns(lon) * ring, sinTurns(lat) * radius)}, where
+     * {@code ring = cosTurns(lat) * radius} and the trigonometry is from {@link TrigTools}. The default implementation
+     * simply makes those calls; implementations can override this to reuse work between adjacent samples, but must
+     * produce the same results as calling getNoise().
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     * @throws UnsupportedOperationException if 3D noise cannot be produced by this generator
+     */
+    default float[] fillSphere(float[] out, int width, int height, float radius) {
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int x = 0; x < width; x++) {
+            final float lon = (x + 0.5f) / width;
+            cosLon[x] = TrigTools.cosTurns(lon);
+            sinLon[x] = TrigTools.sinTurns(lon);
+        }
+        for (int y = 0, i = 0; y < height; y++) {
+            final float lat = (y + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius, pz = TrigTools.sinTurns(lat) * radius;
+            for (int x = 0; x < width; x++, i++) {
+                out[i] = getNoise(cosLon[x] * ring, sinLon[x] * ring, pz);
+            }
+        }
+        return out;
+    }
+
     class Serializer {
         /**
          * Not instantiable.
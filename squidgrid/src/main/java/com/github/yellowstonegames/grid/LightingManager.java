@@ -19,6 +19,7 @@ package com.github.yellowstonegames.grid;
 import com.github.tommyettinger.digital.ArrayTools;
 import com.github.tommyettinger.digital.BitConversion;
 import com.github.tommyettinger.digital.Hasher;
+import com.github.tommyettinger.ds.IntList;
 import com.github.tommyettinger.ds.ObjectDeque;
 import com.github.tommyettinger.ds.ObjectFloatMap;
 import com.github.tommyettinger.ds.ObjectList;
@@ -170,6 +171,107 @@ public class LightingManager implements ISerializersNeeded {
 
     public SymmetryMode symmetry;
 
+    /**
+     * If true, the FOV each LightSource casts is remembered between calls to {@link #update()},
+     * {@link #updateAll()}, and the calculateFOV() methods, and is only calculated again when the LightSource moves,
+     * changes range or direction, or a cell within its range changes in {@link #resistances}. The mixed lighting is
+     * remembered as well, so only the areas covered by lights that changed need to be mixed again, unless
+     * {@link #losResult} changed (typically because the viewer moved), which requires everything to be mixed again.
+     * The remembered lighting is stored in flat arrays, and whether each cell can receive light is remembered as well,
+     * so mixing a light in is a simple loop over each column it reaches.
+     * This produces the same lighting as calculating everything each time; it is only faster when most lights don't
+     * change from one call to the next, and uses some more memory to store each light's FOV. If this is false (the
+     * default), every light is calculated and mixed each time.
+     * <br>
+     * This is opt-in because it changes two things subclasses or other code might rely on. First, each light's FOV is
+     * kept in its own cache, so {@link #lightFromFOV} doesn't hold the last light's FOV after an update. Second, lights
+     * are mixed with {@link #mixColoredLighting(float, int, float[], int, int[], float[], int, int)}, so a subclass that
+     * only overrides {@link #mixColoredLighting(float, int)} should leave this false.
+     */
+    public boolean incremental = false;
+
+    /**
+     * The positions of viewers and how far each one can see, as given to the last call to a calculateFOV() method.
+     * The calculateFOV() methods that take one viewer position store it here with {@link #viewerRange}. This is empty
+     * if calculateFOV() hasn't been called yet. Along with {@link #viewedMinX}, {@link #viewedMinY},
+     * {@link #viewedMaxX}, and {@link #viewedMaxY}, this is enough to calculate {@link #fovResult},
+     * {@link #losResult}, and {@link #noticeable} again, which is what {@link #update()} does when {@link #stale} is
+     * true.
+     */
+    public CoordFloatOrderedMap lastViewers = new CoordFloatOrderedMap(4);
+
+    /**
+     * The area processed by the last call to a calculateFOV() method, with inclusive minimums and exclusive maximums.
+     * If calculateFOV() hasn't been called yet, this is the whole map.
+     */
+    public int viewedMinX, viewedMinY, viewedMaxX, viewedMaxY;
+
+    /**
+     * If true, the fields calculated from the others ({@link #fovResult}, {@link #losResult}, {@link #noticeable},
+     * {@link #lightFromFOV}, {@link #lightingStrength}, and {@link #colorLighting}) can't be trusted, typically
+     * because this was loaded by a serializer that only stores {@link #resistances}, {@link #lights},
+     * {@link #lastViewers}, and the settings. When this is true, the next call to {@link #update()} first repeats the
+     * last calculateFOV() call using {@link #lastViewers}, which sets this to false. Calling calculateFOV() or
+     * {@link #updateAll()} directly also sets this to false.
+     */
+    public boolean stale;
+
+    /**
+     * What this remembers about one LightSource between calls that mix lighting: the FOV it last cast, the area that
+     * FOV can cover, and the settings it was last mixed in with.
+     */
+    private static final class CachedLight {
+        final LightSource source;
+        boolean castValid, cone;
+        int x, y;
+        float range, span, direction;
+        SymmetryMode symmetry;
+        Radius radiusStrategy;
+        /**
+         * The area the cast FOV can cover, with inclusive minimums and exclusive maximums.
+         */
+        int minX, minY, maxX, maxY;
+        /**
+         * The cast FOV, only within the area it can cover, in column-major order.
+         */
+        float[] strength = new float[0];
+        int version, stamp;
+        boolean included, mixed;
+        float flare;
+        int color;
+        float mixedFlare;
+        int mixedColor, mixedVersion, mixedOrder, mixedMinX, mixedMinY, mixedMaxX, mixedMaxY;
+
+        CachedLight(LightSource source) {
+            this.source = source;
+        }
+    }
+
+    private final ObjectList<CachedLight> cachedLights = new ObjectList<>(32), nextCachedLights = new ObjectList<>(32);
+    /**
+     * Groups of 4 ints, each a minX, minY, maxX, and maxY (exclusive) for an area that must be mixed again.
+     */
+    private final IntList dirtyAreas = new IntList(16);
+    /**
+     * The mixed lighting from the last time lights were mixed, and copies of {@link #resistances} and
+     * {@link #losResult} from then, each indexed by {@code x * height + y}. The mixed lighting is copied into
+     * {@link #colorLighting} and {@link #lightingStrength} after each mix.
+     */
+    private float[] cachedResistances, cachedLOS, mixedStrength;
+    private int[] mixedColors;
+    /**
+     * For each cell, a combination of {@link #SEEN}, {@link #WALL}, and {@link #OPEN}, from its losResult and
+     * resistances; this is what decides which cells can receive light. Indexed like {@link #mixedColors}.
+     */
+    private byte[] visibility;
+    /**
+     * Holds the strength of light each cell in one column should receive, while mixing.
+     */
+    private float[] effective;
+    private int cachedHeight, stamp;
+
+    private static final int SEEN = 1, WALL = 2, OPEN = 4;
+
     protected static float[][] generateDefaultFloatArray() {
         float[][] f = new float[20][];
         for (int i = 0; i < 20; i++) {
@@ -257,6 +359,8 @@ public class LightingManager implements ISerializersNeeded {
         Coord.expandPoolTo(width, height);
         lights = new ObjectDeque<>(32);
         noticeable = new Region(width, height);
+        viewedMaxX = width;
+        viewedMaxY = height;
     }
 
     public SymmetryMode getSymmetry() {
@@ -648,14 +752,33 @@ public class LightingManager implements ISerializersNeeded {
      * @param color the Oklab color to mix in where the light strength in {@link #lightFromFOV} is greater than 0
      */
     public void mixColoredLighting(float flare, int color) {
+        mixColoredLighting(flare, color, 0, 0, width, height);
+    }
+
+    /**
+     * Edits {@link #colorLighting} by adding in and mixing the given color where the light strength in
+     * {@link #lightFromFOV} is greater than 0, with that strength boosted by flare, but only in the rectangle from
+     * {@code minX,minY} inclusive to {@code maxX,maxY} exclusive. Other than only affecting that rectangle, this is the
+     * same as {@link #mixColoredLighting(float, int)}, which calls this over the whole map. Subclasses that change how
+     * colors are mixed should override this method rather than {@link #mixColoredLighting(float, int)}, as well as
+     * {@link #mixColoredLighting(float, int, float[], int, int[], float[], int, int)}.
+     *
+     * @param flare boosts the effective strength of lighting in {@link #lightFromFOV}; usually from 0 to 1
+     * @param color the Oklab color to mix in where the light strength in {@link #lightFromFOV} is greater than 0
+     * @param minX  inclusive lower bound on x to mix
+     * @param minY  inclusive lower bound on y to mix
+     * @param maxX  exclusive upper bound on x to mix
+     * @param maxY  exclusive upper bound on y to mix
+     */
+    public void mixColoredLighting(float flare, int color, int minX, int minY, int maxX, int maxY) {
         final int[][] basis = colorLighting;
         final float[][] basisStrength = lightingStrength;
         final float[][] otherStrength = lightFromFOV;
         flare += 1f;
         float bs, os;
         int b, o;
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
+        for (int x = minX; x < maxX; x++) {
+            for (int y = minY; y < maxY; y++) {
                 if (losResult[x][y] > 0) {
                     if (resistances[x][y] >= 1) {
                         os = 0f;
@@ -710,33 +833,71 @@ public class LightingManager implements ISerializersNeeded {
         }
     }
 
+    /**
+     * Mixes the given color into a run of {@code count} cells in flat arrays, using light strengths from
+     * {@code light} starting at {@code lightStart}, and existing colors and strengths from {@code colors} and
+     * {@code strengths} starting at {@code start}. Unlike the other overloads, this doesn't check {@link #losResult} or
+     * {@link #resistances}; any cell that shouldn't receive light must have a strength of exactly 0 in {@code light}.
+     * Otherwise, the mixing is the same as {@link #mixColoredLighting(float, int, int, int, int, int)}. When
+     * {@link #incremental} is true, the update methods mix each light with this, one column at a time, so subclasses
+     * that change how colors are mixed should override this method as well.
+     * <br>
+     * The loop here has no branches other than skipping cells without light, so the JIT compiler can handle it well.
+     *
+     * @param flare      boosts the effective strength of lighting in {@code light}; usually from 0 to 1
+     * @param color      the Oklab color to mix in where the strength in {@code light} is not 0
+     * @param light      the strength of the light being mixed in, for each cell
+     * @param lightStart the first index to read from {@code light}
+     * @param colors     the existing Oklab colors; will be modified
+     * @param strengths  the existing lighting strengths; will be modified
+     * @param start      the first index to read and modify in {@code colors} and {@code strengths}
+     * @param count      how many cells to mix
+     */
+    public void mixColoredLighting(float flare, int color, float[] light, int lightStart,
+                                   int[] colors, float[] strengths, int start, int count) {
+        flare += 1f;
+        if ((color & 0xFF) == 0xFF) {
+            // a neutral light only changes the color of cells without any light yet
+            for (int i = 0, j = start, k = lightStart; i < count; i++, j++, k++) {
+                final float os = light[k];
+                if (os == 0f) continue;
+                final int b = colors[j];
+                colors[j] = (b & 0xFF) == 0xFF ? color : b;
+                strengths[j] = Math.min(1.0f, strengths[j] + os * flare);
+            }
+            return;
+        }
+        final int eL = (color & 0xFF), eA = (color >>> 8) & 0xFF, eB = (color >>> 16) & 0xFF, eAlpha = color >>> 25;
+        for (int i = 0, j = start, k = lightStart; i < count; i++, j++, k++) {
+            final float os = light[k];
+            if (os == 0f) continue;
+            final int b = colors[j];
+            final float bs = strengths[j];
+            final boolean fresh = (b & 0xFF) == 0xFF;
+            final int sL = (b & 0xFF), sA = (b >>> 8) & 0xFF, sB = (b >>> 16) & 0xFF;
+            final float change = ((os - bs) * 0.5f + 0.5f) * eAlpha * 0.007874016f;
+            final int mixed = ((int) (sL + change * (eL - sL)) & 0xFF)
+                    | (((int) (sA + change * (eA - sA)) & 0xFF) << 8)
+                    | (((int) (sB + change * (eB - sB)) & 0xFF) << 16)
+                    | (b & 0xFE000000);
+            colors[j] = fresh ? color : mixed;
+            strengths[j] = Math.min(1.0f, bs + os * (fresh ? 1f : change) * flare);
+        }
+    }
+
     /**
      * Typically called every frame, this updates the flicker and strobe effects of Radiance objects and applies those
      * changes in lighting color and strength to the various fields of this LightingManager. This will only have an
      * effect if {@link #calculateFOV(Coord)} or {@link #calculateFOV(int, int)} was called during the last time the
      * viewer position changed; typically calculateFOV() only needs to be called once per move, while update() needs to
      * be called once per frame. This method is usually called before each call to {@link #draw(int[][])}, but other
-     * code may be between the calls and may affect the lighting in customized ways.
+     * code may be between the calls and may affect the lighting in customized ways. If {@link #stale} is true, this
+     * first calls calculateFOV() again with {@link #lastViewers}, so everything this depends on is up-to-date.
      */
     public void update() {
-        ArrayTools.fill(lightingStrength, 0f);
-        ArrayTools.fill(colorLighting, getNeutralColor());
-        final int sz = lights.size();
-        LightSource ls;
-        Coord pos;
-        for (int i = 0; i < sz; i++) {
-            ls = lights.get(i);
-            pos = ls.position;
-            if (!noticeable.contains(pos))
-                continue;
-            Radiance radiance = ls.radiance;
-            if (radiance == null) continue;
-            if (symmetry == SymmetryMode.SYMMETRICAL || ls.span >= 1f)
-                symmetry.getFov(resistances, lightFromFOV, pos.x, pos.y, radiance.currentRange(), radiusStrategy);
-            else
-                FOV.reuseFOVTurns(resistances, lightFromFOV, pos.x, pos.y, radiance.currentRange(), radiusStrategy, ls.direction, ls.span);
-            mixColoredLighting(radiance.flare, radiance.color);
-        }
+        if (stale)
+            calculateFOV(lastViewers, viewedMinX, viewedMinY, viewedMaxX, viewedMaxY);
+        mixLights(true, true);
     }
 
     /**
@@ -748,6 +909,7 @@ public class LightingManager implements ISerializersNeeded {
      * this method does not need {@link #calculateFOV(Coord)} to be called for it to work properly.
      */
     public void updateAll() {
+        stale = false;
         for (int x = 0; x < width; x++) {
             PER_CELL:
             for (int y = 0; y < height; y++) {
@@ -761,27 +923,306 @@ public class LightingManager implements ISerializersNeeded {
                 }
             }
         }
-        ArrayTools.fill(lightingStrength, 0f);
-        ArrayTools.fill(colorLighting, getNeutralColor());
+        mixLights(true, false);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (losResult[x][y] > 0.0f) {
+                    fovResult[x][y] = Math.min(Math.max(losResult[x][y] + lightingStrength[x][y], 0), 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets {@link #colorLighting} and {@link #lightingStrength}, then casts the FOV of each LightSource in
+     * {@link #lights} and mixes its light in, in order. This is used by {@link #update()}, {@link #updateAll()}, and
+     * the calculateFOV() methods. If {@link #incremental} is true, this reuses the FOV each light cast last time, and
+     * the lighting that was mixed last time, wherever they are still valid.
+     *
+     * @param currentRange   if true, lights use {@link Radiance#currentRange()}; if false, they use {@link Radiance#range}
+     * @param onlyNoticeable if true, lights are skipped unless their position is in {@link #noticeable}
+     */
+    protected void mixLights(boolean currentRange, boolean onlyNoticeable) {
         final int sz = lights.size();
+        if (!incremental) {
+            mixedColors = null;
+            cachedLights.clear();
+            ArrayTools.fill(lightingStrength, 0f);
+            ArrayTools.fill(colorLighting, getNeutralColor());
+            for (int i = 0; i < sz; i++) {
+                LightSource ls = lights.get(i);
+                Coord pos = ls.position;
+                if (onlyNoticeable && !noticeable.contains(pos))
+                    continue;
+                Radiance radiance = ls.radiance;
+                if (radiance == null) continue;
+                float range = currentRange ? radiance.currentRange() : radiance.range;
+                if (symmetry == SymmetryMode.SYMMETRICAL || ls.span >= 1f)
+                    symmetry.getFov(resistances, lightFromFOV, pos.x, pos.y, range, radiusStrategy);
+                else
+                    FOV.reuseFOVTurns(resistances, lightFromFOV, pos.x, pos.y, range, radiusStrategy, ls.direction, ls.span);
+                mixColoredLighting(radiance.flare, radiance.color);
+            }
+            return;
+        }
+        boolean full = checkCachedMaps();
+        ++stamp;
+        nextCachedLights.clear();
         for (int i = 0; i < sz; i++) {
             LightSource ls = lights.get(i);
+            CachedLight cl = findCachedLight(ls, i);
+            cl.stamp = stamp;
+            nextCachedLights.add(cl);
             Coord pos = ls.position;
             Radiance radiance = ls.radiance;
-            if (radiance == null) continue;
-            if (symmetry == SymmetryMode.SYMMETRICAL || ls.span >= 1f)
-                symmetry.getFov(resistances, lightFromFOV, pos.x, pos.y, radiance.currentRange(), radiusStrategy);
-            else
-                FOV.reuseFOVTurns(resistances, lightFromFOV, pos.x, pos.y, radiance.currentRange(), radiusStrategy, ls.direction, ls.span);
-            mixColoredLighting(radiance.flare, radiance.color);
+            cl.included = radiance != null && (!onlyNoticeable || noticeable.contains(pos));
+            if (!cl.included) continue;
+            float range = currentRange ? radiance.currentRange() : radiance.range;
+            boolean cone = !(symmetry == SymmetryMode.SYMMETRICAL || ls.span >= 1f);
+            if (!cl.castValid || cl.x != pos.x || cl.y != pos.y || cl.range != range || cl.cone != cone
+                    || cl.symmetry != symmetry || cl.radiusStrategy != radiusStrategy
+                    || (cone && (cl.span != ls.span || cl.direction != ls.direction))) {
+                castLight(cl, pos.x, pos.y, range, cone, ls.span, ls.direction);
+            }
+            cl.flare = radiance.flare;
+            cl.color = radiance.color;
         }
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (losResult[x][y] > 0.0f) {
-                    fovResult[x][y] = Math.min(Math.max(losResult[x][y] + lightingStrength[x][y], 0), 1);
+
+        dirtyAreas.clear();
+        if (!full) {
+            for (int i = 0, n = cachedLights.size(); i < n; i++) {
+                CachedLight cl = cachedLights.get(i);
+                if (cl.stamp != stamp && cl.mixed)
+                    addDirtyArea(cl.mixedMinX, cl.mixedMinY, cl.mixedMaxX, cl.mixedMaxY);
+            }
+            for (int i = 0, lastOrder = -1; i < sz; i++) {
+                CachedLight cl = nextCachedLights.get(i);
+                if (cl.included) {
+                    if (cl.mixed) {
+                        // lights that are still mixed in must stay in the same order, or everything changes
+                        if (cl.mixedOrder <= lastOrder) {
+                            full = true;
+                            break;
+                        }
+                        lastOrder = cl.mixedOrder;
+                    }
+                    if (!cl.mixed || cl.version != cl.mixedVersion || cl.flare != cl.mixedFlare || cl.color != cl.mixedColor) {
+                        if (cl.mixed)
+                            addDirtyArea(cl.mixedMinX, cl.mixedMinY, cl.mixedMaxX, cl.mixedMaxY);
+                        addDirtyArea(cl.minX, cl.minY, cl.maxX, cl.maxY);
+                    }
+                } else if (cl.mixed) {
+                    addDirtyArea(cl.mixedMinX, cl.mixedMinY, cl.mixedMaxX, cl.mixedMaxY);
+                }
+            }
+        }
+        cachedLights.clear();
+        cachedLights.addAll(nextCachedLights);
+        nextCachedLights.clear();
+
+        final int neutral = getNeutralColor();
+        if (full) {
+            Arrays.fill(mixedColors, neutral);
+            Arrays.fill(mixedStrength, 0f);
+            for (int i = 0; i < sz; i++) {
+                CachedLight cl = cachedLights.get(i);
+                if (cl.included)
+                    replayLight(cl, cl.minX, cl.minY, cl.maxX, cl.maxY);
+            }
+            for (int x = 0, p = 0; x < width; x++, p += height) {
+                System.arraycopy(mixedColors, p, colorLighting[x], 0, height);
+                System.arraycopy(mixedStrength, p, lightingStrength[x], 0, height);
+            }
+        } else {
+            // colorLighting may have been changed since the last mix, such as by updateUI()
+            for (int x = 0, p = 0; x < width; x++, p += height) {
+                System.arraycopy(mixedColors, p, colorLighting[x], 0, height);
+                System.arraycopy(mixedStrength, p, lightingStrength[x], 0, height);
+            }
+            for (int d = 0, n = dirtyAreas.size(); d < n; d += 4) {
+                final int minX = dirtyAreas.get(d), minY = dirtyAreas.get(d + 1),
+                        maxX = dirtyAreas.get(d + 2), maxY = dirtyAreas.get(d + 3);
+                for (int x = minX, p = minX * height; x < maxX; x++, p += height) {
+                    Arrays.fill(mixedColors, p + minY, p + maxY, neutral);
+                    Arrays.fill(mixedStrength, p + minY, p + maxY, 0f);
+                }
+                for (int i = 0; i < sz; i++) {
+                    CachedLight cl = cachedLights.get(i);
+                    if (cl.included && cl.minX < maxX && cl.maxX > minX && cl.minY < maxY && cl.maxY > minY)
+                        replayLight(cl, Math.max(minX, cl.minX), Math.max(minY, cl.minY),
+                                Math.min(maxX, cl.maxX), Math.min(maxY, cl.maxY));
                 }
+                for (int x = minX, p = minX * height; x < maxX; x++, p += height) {
+                    System.arraycopy(mixedColors, p + minY, colorLighting[x], minY, maxY - minY);
+                    System.arraycopy(mixedStrength, p + minY, lightingStrength[x], minY, maxY - minY);
+                }
+            }
+        }
+        for (int i = 0, order = 0; i < sz; i++) {
+            CachedLight cl = cachedLights.get(i);
+            if (cl.mixed = cl.included) {
+                cl.mixedOrder = order++;
+                cl.mixedVersion = cl.version;
+                cl.mixedFlare = cl.flare;
+                cl.mixedColor = cl.color;
+                cl.mixedMinX = cl.minX;
+                cl.mixedMinY = cl.minY;
+                cl.mixedMaxX = cl.maxX;
+                cl.mixedMaxY = cl.maxY;
+            }
+        }
+    }
+
+    /**
+     * Makes sure the remembered copies of {@link #resistances} and {@link #losResult} match the current ones, updates
+     * {@link #visibility} where they changed, and invalidates the FOV of any light that could reach a cell whose
+     * resistance changed.
+     * @return true if everything needs to be mixed again
+     */
+    private boolean checkCachedMaps() {
+        final int size = width * height;
+        if (mixedColors == null || mixedColors.length != size || cachedHeight != height) {
+            mixedColors = new int[size];
+            mixedStrength = new float[size];
+            cachedResistances = new float[size];
+            cachedLOS = new float[size];
+            visibility = new byte[size];
+            effective = new float[height];
+            cachedHeight = height;
+            for (int x = 0, p = 0; x < width; x++, p += height) {
+                System.arraycopy(resistances[x], 0, cachedResistances, p, height);
+                System.arraycopy(losResult[x], 0, cachedLOS, p, height);
+            }
+            for (int i = 0; i < size; i++) {
+                visibility[i] = visibilityOf(cachedResistances[i], cachedLOS[i]);
+            }
+            cachedLights.clear();
+            return true;
+        }
+        boolean full = false;
+        int changes = 0;
+        for (int x = 0, p = 0; x < width; x++) {
+            final float[] res = resistances[x], los = losResult[x];
+            for (int y = 0; y < height; y++, p++) {
+                final float r = res[y], l = los[y];
+                if (r == cachedResistances[p] && l == cachedLOS[p])
+                    continue;
+                if (r != cachedResistances[p]) {
+                    cachedResistances[p] = r;
+                    // past some point, it's faster to just invalidate everything
+                    if (++changes <= 64) {
+                        for (int i = 0, n = cachedLights.size(); i < n; i++) {
+                            CachedLight cl = cachedLights.get(i);
+                            if (x >= cl.minX && x < cl.maxX && y >= cl.minY && y < cl.maxY)
+                                cl.castValid = false;
+                        }
+                    }
+                }
+                if (l != cachedLOS[p]) {
+                    cachedLOS[p] = l;
+                    full = true;
+                }
+                visibility[p] = visibilityOf(r, l);
+            }
+        }
+        if (changes > 64) {
+            for (int i = 0, n = cachedLights.size(); i < n; i++) {
+                cachedLights.get(i).castValid = false;
             }
         }
+        return full;
+    }
+
+    private static byte visibilityOf(float resistance, float los) {
+        return (byte) ((los > 0 ? SEEN : 0) | (resistance >= 1 ? WALL : 0) | (resistance < 1 ? OPEN : 0));
+    }
+
+    private CachedLight findCachedLight(LightSource ls, int index) {
+        CachedLight cl;
+        if (index < cachedLights.size() && (cl = cachedLights.get(index)).source == ls && cl.stamp != stamp)
+            return cl;
+        for (int i = 0, n = cachedLights.size(); i < n; i++) {
+            if ((cl = cachedLights.get(i)).source == ls && cl.stamp != stamp)
+                return cl;
+        }
+        // a LightSource that is new, or is in lights more than once
+        return new CachedLight(ls);
+    }
+
+    private void addDirtyArea(int minX, int minY, int maxX, int maxY) {
+        if (minX < maxX && minY < maxY)
+            dirtyAreas.add(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Casts the FOV for a light into {@link #lightFromFOV}, and copies the area it can reach into the CachedLight.
+     */
+    private void castLight(CachedLight cl, int x, int y, float range, boolean cone, float span, float direction) {
+        if (cone)
+            FOV.reuseFOVTurns(resistances, lightFromFOV, x, y, range, radiusStrategy, direction, span);
+        else
+            symmetry.getFov(resistances, lightFromFOV, x, y, range, radiusStrategy);
+        final int reach = Math.max((int) Math.ceil(Math.min(range, width + height)), 0);
+        cl.minX = Math.max(x - reach, 0);
+        cl.minY = Math.max(y - reach, 0);
+        cl.maxX = Math.min(x + reach + 1, width);
+        cl.maxY = Math.min(y + reach + 1, height);
+        final int h = cl.maxY - cl.minY;
+        if (cl.strength.length < (cl.maxX - cl.minX) * h)
+            cl.strength = new float[(cl.maxX - cl.minX) * h];
+        for (int i = cl.minX, p = 0; i < cl.maxX; i++, p += h) {
+            System.arraycopy(lightFromFOV[i], cl.minY, cl.strength, p, h);
+        }
+        cl.x = x;
+        cl.y = y;
+        cl.range = range;
+        cl.cone = cone;
+        cl.span = span;
+        cl.direction = direction;
+        cl.symmetry = symmetry;
+        cl.radiusStrategy = radiusStrategy;
+        cl.castValid = true;
+        cl.version++;
+    }
+
+    /**
+     * Mixes the remembered FOV of a light into the given area of {@link #mixedColors} and {@link #mixedStrength}, which
+     * must be within the area the light can reach. This works one column at a time, first finding the strength of the
+     * light that each cell should receive, using {@link #visibility} instead of checking losResult and resistances,
+     * then mixing that column with {@link #mixColoredLighting(float, int, float[], int, int[], float[], int, int)}.
+     */
+    private void replayLight(CachedLight cl, int minX, int minY, int maxX, int maxY) {
+        final int h = cl.maxY - cl.minY, count = maxY - minY;
+        final float[] strength = cl.strength, eff = effective;
+        final byte[] vis = visibility;
+        for (int x = minX; x < maxX; x++) {
+            final int start = x * height + minY;
+            for (int i = 0, p = (x - cl.minX) * h + minY - cl.minY; i < count; i++, p++) {
+                final int v = vis[start + i];
+                final float s = strength[p];
+                if ((v & SEEN) == 0)
+                    eff[i] = 0f;
+                else if ((v & WALL) == 0)
+                    eff[i] = s;
+                else
+                    // walls only receive light if a visible floor next to them is lit by the same light
+                    eff[i] = s > 0f && litNeighbor(cl, x, minY + i) ? s : 0f;
+            }
+            mixColoredLighting(cl.flare, cl.color, eff, 0, mixedColors, mixedStrength, start, count);
+        }
+    }
+
+    private boolean litNeighbor(CachedLight cl, int x, int y) {
+        final int h = cl.maxY - cl.minY;
+        // the cell itself is a wall, so it can't be SEEN and OPEN
+        for (int nx = Math.max(x - 1, cl.minX), ex = Math.min(x + 2, cl.maxX); nx < ex; nx++) {
+            for (int ny = Math.max(y - 1, cl.minY), ey = Math.min(y + 2, cl.maxY); ny < ey; ny++) {
+                if ((visibility[nx * height + ny] & (SEEN | OPEN)) == (SEEN | OPEN)
+                        && cl.strength[(nx - cl.minX) * h + ny - cl.minY] > 0f)
+                    return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -923,9 +1364,14 @@ public class LightingManager implements ISerializersNeeded {
         maxX = Math.min(Math.max(maxX, 0), width);
         minY = Math.min(Math.max(minY, 0), height);
         maxY = Math.min(Math.max(maxY, 0), height);
+        lastViewers.clear();
+        lastViewers.put(Coord.get(viewerX, viewerY), viewerRange);
+        viewedMinX = minX;
+        viewedMinY = minY;
+        viewedMaxX = maxX;
+        viewedMaxY = maxY;
+        stale = false;
         symmetry.getFov(resistances, fovResult, viewerX, viewerY, viewerRange, radiusStrategy);
-        ArrayTools.fill(lightingStrength, 0f);
-        ArrayTools.fill(colorLighting, getNeutralColor());
         final int sz = lights.size();
         float maxRange = 0, range;
         LightSource ls;
@@ -942,19 +1388,7 @@ public class LightingManager implements ISerializersNeeded {
         }
         FOV.reuseLOS(resistances, losResult, viewerX, viewerY, minX, minY, maxX, maxY);
         noticeable.refill(losResult, 0.0001f, Float.POSITIVE_INFINITY).expand8way((int) Math.ceil(maxRange));
-        for (int i = 0; i < sz; i++) {
-            ls = lights.get(i);
-            pos = ls.position;
-            if (!noticeable.contains(pos))
-                continue;
-            radiance = ls.radiance;
-            if (radiance == null) continue;
-            if (symmetry == SymmetryMode.SYMMETRICAL || ls.span >= 1f)
-                symmetry.getFov(resistances, lightFromFOV, pos.x, pos.y, radiance.range, radiusStrategy);
-            else
-                FOV.reuseFOVTurns(resistances, lightFromFOV, pos.x, pos.y, radiance.range, radiusStrategy, ls.direction, ls.span);
-            mixColoredLighting(radiance.flare, radiance.color);
-        }
+        mixLights(false, true);
         for (int x = Math.max(0, minX); x < maxX && x < width; x++) {
             for (int y = Math.max(0, minY); y < maxY && y < height; y++) {
                 if (losResult[x][y] > 0.0f) {
@@ -990,14 +1424,21 @@ public class LightingManager implements ISerializersNeeded {
         maxX = Math.min(Math.max(maxX, 0), width);
         minY = Math.min(Math.max(minY, 0), height);
         maxY = Math.min(Math.max(maxY, 0), height);
+        if (viewers != lastViewers) {
+            lastViewers.clear();
+            lastViewers.putAll(viewers);
+        }
+        viewedMinX = minX;
+        viewedMinY = minY;
+        viewedMaxX = maxX;
+        viewedMaxY = maxY;
+        stale = false;
         ArrayTools.fill(fovResult, 0f);
         ArrayTools.fill(losResult, 0f);
         for (ObjectFloatMap.Entry<Coord> e : viewers.entrySet()) {
             symmetry.getFov(resistances, floatCombining, e.key.x, e.key.y, e.value, radiusStrategy);
             FOV.addFOVsInto(fovResult, floatCombining);
         }
-        ArrayTools.fill(lightingStrength, 0f);
-        ArrayTools.fill(colorLighting, getNeutralColor());
         final int sz = lights.size();
         float maxRange = 0, range;
         LightSource ls;
@@ -1017,19 +1458,7 @@ public class LightingManager implements ISerializersNeeded {
             FOV.addFOVsInto(losResult, floatCombining);
         }
         noticeable.refill(losResult, 0.0001f, Float.POSITIVE_INFINITY).expand8way((int) Math.ceil(maxRange));
-        for (int i = 0; i < sz; i++) {
-            ls = lights.get(i);
-            pos = ls.position;
-            if (!noticeable.contains(pos))
-                continue;
-            radiance = ls.radiance;
-            if (radiance == null) continue;
-            if (symmetry == SymmetryMode.SYMMETRICAL || ls.span >= 1f)
-                symmetry.getFov(resistances, lightFromFOV, pos.x, pos.y, radiance.range, radiusStrategy);
-            else
-                FOV.reuseFOVTurns(resistances, lightFromFOV, pos.x, pos.y, radiance.range, radiusStrategy, ls.direction, ls.span);
-            mixColoredLighting(radiance.flare, radiance.color);
-        }
+        mixLights(false, true);
         for (int x = Math.max(0, minX); x < maxX && x < width; x++) {
             for (int y = Math.max(0, minY); y < maxY && y < height; y++) {
                 if (losResult[x][y] > 0.0f) {
@@ -1088,6 +1517,6 @@ public class LightingManager implements ISerializersNeeded {
     @Override
     public List<Class<?>> getSerializersNeeded() {
         return Arrays.asList(int[].class, int[][].class, float[].class, float[][].class, Coord.class, Region.class,
-                ObjectDeque.class, Radiance.class, LightSource.class);
+                ObjectDeque.class, Radiance.class, LightSource.class, CoordFloatOrderedMap.class);
     }
 }
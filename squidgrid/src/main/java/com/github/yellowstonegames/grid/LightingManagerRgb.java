@@ -214,6 +214,24 @@ public class LightingManagerRgb extends LightingManager implements ISerializersN
      */
     @Override
     public void mixColoredLighting(float flare, int color)
+    {
+        mixColoredLighting(flare, color, 0, 0, width, height);
+    }
+
+    /**
+     * Edits {@link #colorLighting} by adding in and mixing the given color where the light strength in
+     * {@link #lightFromFOV} is greater than 0, with that strength boosted by flare, but only in the rectangle from
+     * {@code minX,minY} inclusive to {@code maxX,maxY} exclusive. Other than only affecting that rectangle, this is the
+     * same as {@link #mixColoredLighting(float, int)}, which calls this over the whole map.
+     * @param flare boosts the effective strength of lighting in {@link #lightFromFOV}; usually from 0 to 1
+     * @param color the RGBA8888 int color to mix in where the light strength in {@link #lightFromFOV} is greater than 0
+     * @param minX  inclusive lower bound on x to mix
+     * @param minY  inclusive lower bound on y to mix
+     * @param maxX  exclusive upper bound on x to mix
+     * @param maxY  exclusive upper bound on y to mix
+     */
+    @Override
+    public void mixColoredLighting(float flare, int color, int minX, int minY, int maxX, int maxY)
     {
         final int[][] basis = colorLighting;
         final float[][] basisStrength = lightingStrength;
@@ -221,8 +239,8 @@ public class LightingManagerRgb extends LightingManager implements ISerializersN
         flare += 1f;
         float bs, os;
         int b, o;
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
+        for (int x = minX; x < maxX; x++) {
+            for (int y = minY; y < maxY; y++) {
                 if (losResult[x][y] > 0) {
                     if (resistances[x][y] >= 1) {
                         os = 0f;
@@ -277,6 +295,55 @@ public class LightingManagerRgb extends LightingManager implements ISerializersN
         }
     }
 
+    /**
+     * Mixes the given color into a run of {@code count} cells in flat arrays, using light strengths from
+     * {@code light} starting at {@code lightStart}, and existing colors and strengths from {@code colors} and
+     * {@code strengths} starting at {@code start}. Any cell that shouldn't receive light must have a strength of
+     * exactly 0 in {@code light}. Otherwise, the mixing is the same as
+     * {@link #mixColoredLighting(float, int, int, int, int, int)}.
+     * @param flare      boosts the effective strength of lighting in {@code light}; usually from 0 to 1
+     * @param color      the RGBA8888 int color to mix in where the strength in {@code light} is not 0
+     * @param light      the strength of the light being mixed in, for each cell
+     * @param lightStart the first index to read from {@code light}
+     * @param colors     the existing RGBA8888 colors; will be modified
+     * @param strengths  the existing lighting strengths; will be modified
+     * @param start      the first index to read and modify in {@code colors} and {@code strengths}
+     * @param count      how many cells to mix
+     */
+    @Override
+    public void mixColoredLighting(float flare, int color, float[] light, int lightStart,
+                                   int[] colors, float[] strengths, int start, int count)
+    {
+        flare += 1f;
+        if ((color & 0xFFFFFF00) == 0xFFFFFF00) {
+            // a neutral light only changes the color of cells without any light yet
+            for (int i = 0, j = start, k = lightStart; i < count; i++, j++, k++) {
+                final float os = light[k];
+                if (os == 0f) continue;
+                final int b = colors[j];
+                colors[j] = (b & 0xFFFFFF00) == 0xFFFFFF00 ? color : b;
+                strengths[j] = Math.min(1.0f, strengths[j] + os * flare);
+            }
+            return;
+        }
+        final int eR = (color >>> 24), eG = (color >>> 16) & 0xFF, eB = (color >>> 8) & 0xFF, eAlpha = color & 0xFE;
+        for (int i = 0, j = start, k = lightStart; i < count; i++, j++, k++) {
+            final float os = light[k];
+            if (os == 0f) continue;
+            final int b = colors[j];
+            final float bs = strengths[j];
+            final boolean fresh = (b & 0xFFFFFF00) == 0xFFFFFF00;
+            final int sR = (b >>> 24), sG = (b >>> 16) & 0xFF, sB = (b >>> 8) & 0xFF;
+            final float change = ((os - bs) * 0.5f + 0.5f) * eAlpha * (1f/254f);
+            final int mixed = ((int) (sR + change * (eR - sR)) & 0xFF) << 24
+                    | ((int) (sG + change * (eG - sG)) & 0xFF) << 16
+                    | ((int) (sB + change * (eB - sB)) & 0xFF) << 8
+                    | (b & 0xFE);
+            colors[j] = fresh ? color : mixed;
+            strengths[j] = Math.min(1.0f, bs + os * (fresh ? 1f : change) * flare);
+        }
+    }
+
     /**
      * Given a 2D array that should hold RGBA int colors, fills the 2D array with different RGBA colors based on what
      * lights are present in line of sight of the viewer and the various flicker or strobe effects that Radiance light
@@ -333,6 +400,6 @@ public class LightingManagerRgb extends LightingManager implements ISerializersN
     @Override
     public List<Class<?>> getSerializersNeeded() {
         return Arrays.asList(int[].class, int[][].class, float[].class, float[][].class, Coord.class, Region.class,
-                ObjectDeque.class, Radiance.class, LightSource.class);
+                ObjectDeque.class, Radiance.class, LightSource.class, CoordFloatOrderedMap.class);
     }
 }
@@ -1761,6 +1761,363 @@ public class Noise implements INoise {
                 return singleSimplex(seed, x, y, z);
         }
     }
+    /**
+     * A single kind of 2D noise, chosen from the current configuration by {@link #sampler2D()}. Positions given to it
+     * have already been multiplied by {@link #getFrequency()}.
+     */
+    protected interface Sampler2D {
+        float sample(float x, float y);
+    }
+
+    /**
+     * A single kind of 3D noise, chosen from the current configuration by {@link #sampler3D()}. Positions given to it
+     * have already been multiplied by {@link #getFrequency()}.
+     */
+    protected interface Sampler3D {
+        float sample(float x, float y, float z);
+    }
+
+    /**
+     * Does the same dispatch on noise type, fractal type, and cellular return type as
+     * {@link #getConfiguredNoise(float, float)}, but only once, returning the method it would call.
+     * @return a Sampler2D that takes positions already multiplied by frequency
+     */
+    protected Sampler2D sampler2D() {
+        final int seed = this.seed;
+        final float mutation = this.mutation;
+        switch (noiseType) {
+            case VALUE:
+                return (x, y) -> singleValue(seed, x, y);
+            case VALUE_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleValueFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleValueFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleValueFractalDomainWarp;
+                    default:
+                        return this::singleValueFractalFBM;
+                }
+            case FOAM:
+                return (x, y) -> singleFoam(seed, x, y);
+            case FOAM_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleFoamFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleFoamFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleFoamFractalDomainWarp;
+                    default:
+                        return this::singleFoamFractalFBM;
+                }
+            case MUTANT:
+                return (x, y) -> singleFoam(seed, x, y, mutation);
+            case MUTANT_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return (x, y) -> singleFoamFractalBillow(x, y, mutation);
+                    case RIDGED_MULTI:
+                        return (x, y) -> singleFoamFractalRidgedMulti(x, y, mutation);
+                    case DOMAIN_WARP:
+                        return (x, y) -> singleFoamFractalDomainWarp(x, y, mutation);
+                    default:
+                        return (x, y) -> singleFoamFractalFBM(x, y, mutation);
+                }
+            case TAFFY:
+                return (x, y) -> singleTaffy(seed, x, y, mutation);
+            case TAFFY_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return (x, y) -> singleTaffyFractalBillow(x, y, mutation);
+                    case RIDGED_MULTI:
+                        return (x, y) -> singleTaffyFractalRidgedMulti(x, y, mutation);
+                    case DOMAIN_WARP:
+                        return (x, y) -> singleTaffyFractalDomainWarp(x, y, mutation);
+                    default:
+                        return (x, y) -> singleTaffyFractalFBM(x, y, mutation);
+                }
+            case HONEY:
+                return (x, y) -> singleHoney(seed, x, y);
+            case HONEY_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleHoneyFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleHoneyFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleHoneyFractalDomainWarp;
+                    default:
+                        return this::singleHoneyFractalFBM;
+                }
+            case PERLIN:
+                return (x, y) -> singlePerlin(seed, x, y);
+            case PERLIN_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singlePerlinFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singlePerlinFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singlePerlinFractalDomainWarp;
+                    default:
+                        return this::singlePerlinFractalFBM;
+                }
+            case SIMPLEX_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleSimplexFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleSimplexFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleSimplexFractalDomainWarp;
+                    default:
+                        return this::singleSimplexFractalFBM;
+                }
+            case CELLULAR:
+                switch (cellularReturnType) {
+                    case CELL_VALUE:
+                    case NOISE_LOOKUP:
+                    case DISTANCE:
+                        return (x, y) -> singleCellular(seed, x, y);
+                    case DISTANCE_VALUE:
+                        return (x, y) -> singleCellularMerging(seed, x, y);
+                    default:
+                        return (x, y) -> singleCellular2Edge(seed, x, y);
+                }
+            case CELLULAR_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleCellularFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleCellularFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleCellularFractalDomainWarp;
+                    default:
+                        return this::singleCellularFractalFBM;
+                }
+            case WHITE_NOISE:
+                return this::getWhiteNoise;
+            case CUBIC:
+                return (x, y) -> singleCubic(seed, x, y);
+            case CUBIC_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleCubicFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleCubicFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleCubicFractalDomainWarp;
+                    default:
+                        return this::singleCubicFractalFBM;
+                }
+            default:
+                return (x, y) -> singleSimplex(seed, x, y);
+        }
+    }
+
+    /**
+     * Does the same dispatch on noise type, fractal type, and cellular return type as
+     * {@link #getConfiguredNoise(float, float, float)}, but only once, returning the method it would call.
+     * @return a Sampler3D that takes positions already multiplied by frequency
+     */
+    protected Sampler3D sampler3D() {
+        final int seed = this.seed;
+        final float mutation = this.mutation;
+        switch (noiseType) {
+            case VALUE:
+                return (x, y, z) -> singleValue(seed, x, y, z);
+            case VALUE_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleValueFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleValueFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleValueFractalDomainWarp;
+                    default:
+                        return this::singleValueFractalFBM;
+                }
+            case FOAM:
+                return (x, y, z) -> singleFoam(seed, x, y, z);
+            case FOAM_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleFoamFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleFoamFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleFoamFractalDomainWarp;
+                    default:
+                        return this::singleFoamFractalFBM;
+                }
+            case MUTANT:
+                return (x, y, z) -> singleFoam(seed, x, y, z, mutation);
+            case MUTANT_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return (x, y, z) -> singleFoamFractalBillow(x, y, z, mutation);
+                    case RIDGED_MULTI:
+                        return (x, y, z) -> singleFoamFractalRidgedMulti(x, y, z, mutation);
+                    case DOMAIN_WARP:
+                        return (x, y, z) -> singleFoamFractalDomainWarp(x, y, z, mutation);
+                    default:
+                        return (x, y, z) -> singleFoamFractalFBM(x, y, z, mutation);
+                }
+            case TAFFY:
+                return (x, y, z) -> singleTaffy(seed, x, y, z, mutation);
+            case TAFFY_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return (x, y, z) -> singleTaffyFractalBillow(x, y, z, mutation);
+                    case RIDGED_MULTI:
+                        return (x, y, z) -> singleTaffyFractalRidgedMulti(x, y, z, mutation);
+                    case DOMAIN_WARP:
+                        return (x, y, z) -> singleTaffyFractalDomainWarp(x, y, z, mutation);
+                    default:
+                        return (x, y, z) -> singleTaffyFractalFBM(x, y, z, mutation);
+                }
+            case HONEY:
+                return (x, y, z) -> singleHoney(seed, x, y, z);
+            case HONEY_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleHoneyFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleHoneyFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleHoneyFractalDomainWarp;
+                    default:
+                        return this::singleHoneyFractalFBM;
+                }
+            case PERLIN:
+                return (x, y, z) -> singlePerlin(seed, x, y, z);
+            case PERLIN_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singlePerlinFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singlePerlinFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singlePerlinFractalDomainWarp;
+                    default:
+                        return this::singlePerlinFractalFBM;
+                }
+            case SIMPLEX_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleSimplexFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleSimplexFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleSimplexFractalDomainWarp;
+                    default:
+                        return this::singleSimplexFractalFBM;
+                }
+            case CELLULAR:
+                switch (cellularReturnType) {
+                    case CELL_VALUE:
+                    case NOISE_LOOKUP:
+                    case DISTANCE:
+                        return (x, y, z) -> singleCellular(seed, x, y, z);
+                    case DISTANCE_VALUE:
+                        return (x, y, z) -> singleCellularMerging(seed, x, y, z);
+                    default:
+                        return (x, y, z) -> singleCellular2Edge(seed, x, y, z);
+                }
+            case CELLULAR_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleCellularFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleCellularFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleCellularFractalDomainWarp;
+                    default:
+                        return this::singleCellularFractalFBM;
+                }
+            case WHITE_NOISE:
+                return this::getWhiteNoise;
+            case CUBIC:
+                return (x, y, z) -> singleCubic(seed, x, y, z);
+            case CUBIC_FRACTAL:
+                switch (fractalType) {
+                    case BILLOW:
+                        return this::singleCubicFractalBillow;
+                    case RIDGED_MULTI:
+                        return this::singleCubicFractalRidgedMulti;
+                    case DOMAIN_WARP:
+                        return this::singleCubicFractalDomainWarp;
+                    default:
+                        return this::singleCubicFractalFBM;
+                }
+            default:
+                return (x, y, z) -> singleSimplex(seed, x, y, z);
+        }
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fill2D(float[], int, int, float, float, float)}, but
+     * only chooses which configured noise method to call once per fill, using {@link #sampler2D()}, and only
+     * multiplies each row's y position by frequency once. Subclasses that change how positions are used in
+     * {@link #getNoise(float, float)} get the per-point default instead, unless they override this themselves.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        if (getClass() != Noise.class)
+            return INoise.super.fill2D(out, width, height, startX, startY, step);
+        final Sampler2D sampler = sampler2D();
+        final float frequency = this.frequency;
+        for (int py = 0, i = 0; py < height; py++) {
+            final float y = (startY + py * step) * frequency;
+            for (int px = 0; px < width; px++, i++) {
+                out[i] = sampler.sample((startX + px * step) * frequency, y);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fillSphere(float[], int, int, float)}, but only
+     * chooses which configured noise method to call once per fill, using {@link #sampler3D()}, and only multiplies
+     * each row's z position by frequency once. Subclasses that change how positions are used in
+     * {@link #getNoise(float, float, float)} get the per-point default instead, unless they override this themselves.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fillSphere(float[] out, int width, int height, float radius) {
+        if (getClass() != Noise.class)
+            return INoise.super.fillSphere(out, width, height, radius);
+        final Sampler3D sampler = sampler3D();
+        final float frequency = this.frequency;
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float lon = (px + 0.5f) / width;
+            cosLon[px] = TrigTools.cosTurns(lon);
+            sinLon[px] = TrigTools.sinTurns(lon);
+        }
+        for (int py = 0, i = 0; py < height; py++) {
+            final float lat = (py + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius, z = TrigTools.sinTurns(lat) * radius * frequency;
+            for (int px = 0; px < width; px++, i++) {
+                out[i] = sampler.sample(cosLon[px] * ring * frequency, sinLon[px] * ring * frequency, z);
+            }
+        }
+        return out;
+    }
+
     /**
      * After being configured with the setters in this class, such as {@link #setNoiseType(int)},
      * {@link #setFrequency(float)}, {@link #setFractalOctaves(int)}, and {@link #setFractalType(int)}, among others,
@@ -409,6 +409,85 @@ public class NoiseWrapper implements INoise, ISerializersNeeded {
         }
     }
 
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fill2D(float[], int, int, float, float, float)}, but
+     * only chooses the fractal mode once per fill, and only multiplies each row's y position by frequency once.
+     * Subclasses that change how positions are used in {@link #getNoise(float, float)} get the per-point default
+     * instead, unless they override this themselves.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        if (getClass() != NoiseWrapper.class)
+            return INoise.super.fill2D(out, width, height, startX, startY, step);
+        final long seed = getSeed();
+        final Noise.Sampler2D sampler;
+        switch (mode) {
+            default:
+            case 0: sampler = (x, y) -> fbm(x, y, seed); break;
+            case 1: sampler = (x, y) -> billow(x, y, seed); break;
+            case 2: sampler = (x, y) -> ridged(x, y, seed); break;
+            case 3: sampler = (x, y) -> warp(x, y, seed); break;
+            case 4: sampler = (x, y) -> exo(x, y, seed); break;
+        }
+        final float frequency = this.frequency;
+        for (int py = 0, i = 0; py < height; py++) {
+            final float y = (startY + py * step) * frequency;
+            for (int px = 0; px < width; px++, i++) {
+                out[i] = sampler.sample((startX + px * step) * frequency, y);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fillSphere(float[], int, int, float)}, but only chooses
+     * the fractal mode once per fill, and only multiplies each row's z position by frequency once. Subclasses that
+     * change how positions are used in {@link #getNoise(float, float, float)} get the per-point default instead,
+     * unless they override this themselves.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fillSphere(float[] out, int width, int height, float radius) {
+        if (getClass() != NoiseWrapper.class)
+            return INoise.super.fillSphere(out, width, height, radius);
+        final long seed = getSeed();
+        final Noise.Sampler3D sampler;
+        switch (mode) {
+            default:
+            case 0: sampler = (x, y, z) -> fbm(x, y, z, seed); break;
+            case 1: sampler = (x, y, z) -> billow(x, y, z, seed); break;
+            case 2: sampler = (x, y, z) -> ridged(x, y, z, seed); break;
+            case 3: sampler = (x, y, z) -> warp(x, y, z, seed); break;
+            case 4: sampler = (x, y, z) -> exo(x, y, z, seed); break;
+        }
+        final float frequency = this.frequency;
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float lon = (px + 0.5f) / width;
+            cosLon[px] = TrigTools.cosTurns(lon);
+            sinLon[px] = TrigTools.sinTurns(lon);
+        }
+        for (int py = 0, i = 0; py < height; py++) {
+            final float lat = (py + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius, z = TrigTools.sinTurns(lat) * radius * frequency;
+            for (int px = 0; px < width; px++, i++) {
+                out[i] = sampler.sample(cosLon[px] * ring * frequency, sinLon[px] * ring * frequency, z);
+            }
+        }
+        return out;
+    }
+
     @Override
     public float getNoiseWithSeed(float x, float y, float z, float w, long seed) {
         switch (mode) {
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.digital.Interpolations.Interpolator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills large 2D heightfields with noise from any {@link INoise}, such as a {@link NoiseWrapper} or {@link Noise},
+ * using every core of a {@link ForkJoinPool}. The area is split into square tiles of {@link #getTileSize()} cells on
+ * a side, so each task works on a small, cache-friendly block of the output. The result at index
+ * {@code y * width + x} is always exactly {@code noise.getNoise(startX + x * step, startY + y * step)}, the same as a
+ * serial loop would produce, regardless of tile size or how many threads run.
+ * <br>
+ * Many INoise types keep scratch arrays that each call to {@link INoise#getNoise(float, float)} writes to, such as
+ * {@link PhantomNoise} and {@link TaffyNoise}, so they can't be shared between threads. Each thread that works on a
+ * bake uses its own {@link INoise#copy()} of the given INoise instead, made the first time that thread fills a tile,
+ * so the INoise must support copy() (all the INoise types in this library do). The given INoise itself is only
+ * copied, never sampled, and its settings (such as the seed) shouldn't change while a bake is running.
+ * Output can optionally be run through an {@link Interpolator}, exactly as {@link NoiseAdjustment} would do it. A
+ * {@link ProgressListener} can be set to hear about each finished tile, and can cancel a bake partway through.
+ * <br>
+ * This class isn't available on GWT, since it needs {@code java.util.concurrent}.
+ */
+public class ParallelNoiseBaker {
+    /**
+     * Called after each tile of a bake finishes. This may be called from any thread in the pool, and may be called
+     * by several threads at once, so implementations should be thread-safe.
+     */
+    public interface ProgressListener {
+        /**
+         * Called after a tile finishes.
+         * @param finished how many tiles have finished so far in this bake, including this one
+         * @param total how many tiles this bake has in total
+         * @return true to keep going, or false to cancel the rest of the bake
+         */
+        boolean onProgress(int finished, int total);
+    }
+
+    /**
+     * The ForkJoinPool this bakes tiles on.
+     */
+    public final ForkJoinPool pool;
+    protected int tileSize;
+    protected ProgressListener progress;
+
+    /**
+     * Creates a ParallelNoiseBaker that uses {@link ForkJoinPool#commonPool()} and 64x64 tiles.
+     */
+    public ParallelNoiseBaker() {
+        this(ForkJoinPool.commonPool(), 64);
+    }
+
+    /**
+     * Creates a ParallelNoiseBaker that uses the given ForkJoinPool and 64x64 tiles.
+     * @param pool the ForkJoinPool to bake tiles on
+     */
+    public ParallelNoiseBaker(ForkJoinPool pool) {
+        this(pool, 64);
+    }
+
+    /**
+     * Creates a ParallelNoiseBaker that uses the given ForkJoinPool and tiles with the given side length.
+     * @param pool the ForkJoinPool to bake tiles on
+     * @param tileSize the width and height of each tile, in cells; will be at least 1
+     */
+    public ParallelNoiseBaker(ForkJoinPool pool, int tileSize) {
+        this.pool = pool;
+        this.tileSize = Math.max(1, tileSize);
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Sets the width and height of each tile, in cells. This doesn't affect results, only how work is divided.
+     * @param tileSize the width and height of each tile, in cells; will be at least 1
+     * @return this, for chaining
+     */
+    public ParallelNoiseBaker setTileSize(int tileSize) {
+        this.tileSize = Math.max(1, tileSize);
+        return this;
+    }
+
+    public ProgressListener getProgress() {
+        return progress;
+    }
+
+    /**
+     * Sets the ProgressListener to call after each tile finishes, or null to not report progress.
+     * @param progress a ProgressListener, or null
+     * @return this, for chaining
+     */
+    public ParallelNoiseBaker setProgress(ProgressListener progress) {
+        this.progress = progress;
+        return this;
+    }
+
+    /**
+     * Allocates a new float array and fills it with noise; see {@link #bake(INoise, Interpolator, float[], int, int,
+     * float, float, float)}. If the bake is cancelled, parts of the returned array will be left as 0.
+     * @param noise any INoise that supports 2D noise and {@link INoise#copy()}
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return a new float array of length {@code width * height}, holding noise between -1 and 1
+     */
+    public float[] bake(INoise noise, int width, int height, float startX, float startY, float step) {
+        float[] out = new float[width * height];
+        bake(noise, null, out, width, height, startX, startY, step);
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with noise, so that {@code out[y * width + x]} is
+     * {@code noise.getNoise(startX + x * step, startY + y * step)}, adjusted by {@code adjustment} if it isn't null.
+     * @param noise any INoise that supports 2D noise and {@link INoise#copy()}
+     * @param adjustment if non-null, applied to each result the same way {@link NoiseAdjustment} applies it
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return true if every tile was filled, or false if the {@link ProgressListener} cancelled the bake
+     */
+    public boolean bake(INoise noise, Interpolator adjustment, float[] out, int width, int height,
+                        float startX, float startY, float step) {
+        return run(new Bake(noise, adjustment, out, null, 0, width, height, startX, startY, step));
+    }
+
+    /**
+     * Fills {@code out} with noise quantized to ints from 0 to {@code levels - 1}, inclusive. Each result is the float
+     * {@link #bake(INoise, Interpolator, float[], int, int, float, float, float)} would produce for that cell, mapped
+     * linearly from the -1 to 1 range to the 0 to levels range, and clamped. Using 256 for levels is useful for
+     * grayscale images, and 65536 for 16-bit heightmaps.
+     * @param noise any INoise that supports 2D noise and {@link INoise#copy()}
+     * @param adjustment if non-null, applied to each result the same way {@link NoiseAdjustment} applies it
+     * @param out an int array with length at least {@code width * height}; will be modified
+     * @param levels how many different ints can be produced; must be at least 1
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return true if every tile was filled, or false if the {@link ProgressListener} cancelled the bake
+     */
+    public boolean bake(INoise noise, Interpolator adjustment, int[] out, int levels, int width, int height,
+                        float startX, float startY, float step) {
+        return run(new Bake(noise, adjustment, null, out, levels, width, height, startX, startY, step));
+    }
+
+    /**
+     * Gets the int that {@link #bake(INoise, Interpolator, int[], int, int, int, float, float, float)} stores for a
+     * noise result.
+     * @param value a noise result, typically between -1 and 1
+     * @param levels how many different ints can be produced; must be at least 1
+     * @return an int between 0 and {@code levels - 1}, inclusive
+     */
+    public static int quantize(float value, int levels) {
+        return Math.min(Math.max((int) ((value + 1f) * 0.5f * levels), 0), levels - 1);
+    }
+
+    private boolean run(Bake bake) {
+        if (bake.total > 0)
+            pool.invoke(new TileTask(bake, 0, bake.total));
+        return !bake.cancelled.get();
+    }
+
+    /**
+     * The settings and shared state for one call to bake().
+     */
+    private final class Bake {
+        final INoise noise;
+        final Interpolator adjustment;
+        final float[] floats;
+        final int[] ints;
+        final int levels, width, height, tilesX, total, tileSize;
+        final float startX, startY, step;
+        final ProgressListener progress;
+        final AtomicInteger finished = new AtomicInteger();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        /**
+         * Each thread's copy of {@link #noise}, so no scratch state is shared between threads.
+         */
+        final ThreadLocal<INoise> copies;
+
+        Bake(INoise noise, Interpolator adjustment, float[] floats, int[] ints, int levels, int width, int height,
+             float startX, float startY, float step) {
+            this.noise = noise;
+            this.copies = ThreadLocal.withInitial(noise::copy);
+            this.adjustment = adjustment;
+            this.floats = floats;
+            this.ints = ints;
+            this.levels = levels;
+            this.width = width;
+            this.height = height;
+            this.startX = startX;
+            this.startY = startY;
+            this.step = step;
+            this.tileSize = ParallelNoiseBaker.this.tileSize;
+            this.progress = ParallelNoiseBaker.this.progress;
+            this.tilesX = (width + tileSize - 1) / tileSize;
+            this.total = width <= 0 || height <= 0 ? 0 : tilesX * ((height + tileSize - 1) / tileSize);
+        }
+
+        void fill(int tile) {
+            final int x0 = tile % tilesX * tileSize, y0 = tile / tilesX * tileSize;
+            final int x1 = Math.min(x0 + tileSize, width), y1 = Math.min(y0 + tileSize, height);
+            final INoise noise = copies.get();
+            for (int y = y0; y < y1; y++) {
+                final float py = startY + y * step;
+                for (int x = x0, i = y * width + x0; x < x1; x++, i++) {
+                    float n = noise.getNoise(startX + x * step, py);
+                    if (adjustment != null)
+                        n = 2f * (-0.5f + adjustment.apply(0.5f + 0.5f * n));
+                    if (floats != null)
+                        floats[i] = n;
+                    else
+                        ints[i] = quantize(n, levels);
+                }
+            }
+            final int done = finished.incrementAndGet();
+            if (progress != null && !progress.onProgress(done, total))
+                cancelled.set(true);
+        }
+    }
+
+    /**
+     * Splits a range of tiles in half until only one is left, then fills it unless the bake was cancelled.
+     */
+    private static final class TileTask extends RecursiveAction {
+        private final Bake bake;
+        private final int start, end;
+
+        TileTask(Bake bake, int start, int end) {
+            this.bake = bake;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (bake.cancelled.get())
+                return;
+            if (end - start <= 1) {
+                if (start < end)
+                    bake.fill(start);
+            } else {
+                final int mid = start + end >>> 1;
+                invokeAll(new TileTask(bake, start, mid), new TileTask(bake, mid, end));
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.github.yellowstonegames.grid;
 import com.github.tommyettinger.digital.Base;
 import com.github.tommyettinger.digital.BitConversion;
 import com.github.tommyettinger.digital.Hasher;
+import com.github.tommyettinger.digital.TrigTools;
 
 import java.util.Arrays;
 
@@ -437,6 +438,140 @@ public class PerlinNoise implements INoise {
                                  za) * SCALE3, eqAdd[1], eqMul[1]); // 1.0625f
     }
 
+    /**
+     * Gets the same gradient index {@link #gradCoord2D(long, int, int, float, float)} uses for a lattice point.
+     */
+    protected static int gradIndex2D(long seed, int x, int y) {
+        return (int) ((seed ^= 0xE60E2B722B53AEEBL * x ^ 0xCEBD76D9EDB6A8EFL * y)
+                * (seed) >>> 55 & 510);
+    }
+
+    /**
+     * Gets the same gradient index {@link #gradCoord3D(long, int, int, int, float, float, float)} uses for a lattice
+     * point.
+     */
+    protected static int gradIndex3D(long seed, int x, int y, int z) {
+        return (int)((seed ^= 0xE60E2B722B53AEEBL * x ^ 0xCEBD76D9EDB6A8EFL * y ^ 0xB9C9AA3A51D00B65L * z)
+                * (seed) >>> 59) << 2;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fill2D(float[], int, int, float, float, float)}, but
+     * computes the x lattice and fade once per column and the y lattice and fade once per row, and only hashes the
+     * gradient indices again when a sample enters a new cell.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        final long seed = this.seed;
+        final int[] x0s = new int[width];
+        final float[] xfs = new float[width], xas = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float x = startX + px * step;
+            final int x0 = fastFloor(x);
+            final float xf = x - x0;
+            x0s[px] = x0;
+            xfs[px] = xf;
+            xas[px] = xf * xf * xf * (xf * (xf * 6.0f - 15.0f) + 9.999998f);
+        }
+        int h00 = 0, h10 = 0, h01 = 0, h11 = 0;
+        for (int py = 0, i = 0; py < height; py++) {
+            final float y = startY + py * step;
+            final int y0 = fastFloor(y);
+            final float yf = y - y0;
+            final float ya = yf * yf * yf * (yf * (yf * 6.0f - 15.0f) + 9.999998f);
+            int lastX = 0;
+            for (int px = 0; px < width; px++, i++) {
+                final int x0 = x0s[px];
+                if (px == 0 || x0 != lastX) {
+                    lastX = x0;
+                    h00 = gradIndex2D(seed, x0, y0);
+                    h10 = gradIndex2D(seed, x0 + 1, y0);
+                    h01 = gradIndex2D(seed, x0, y0 + 1);
+                    h11 = gradIndex2D(seed, x0 + 1, y0 + 1);
+                }
+                final float xf = xfs[px], xa = xas[px];
+                out[i] = equalize(lerp(lerp(xf * GRADIENTS_2D[h00] + yf * GRADIENTS_2D[h00 + 1],
+                                        (xf - 1) * GRADIENTS_2D[h10] + yf * GRADIENTS_2D[h10 + 1], xa),
+                                lerp(xf * GRADIENTS_2D[h01] + (yf - 1) * GRADIENTS_2D[h01 + 1],
+                                        (xf - 1) * GRADIENTS_2D[h11] + (yf - 1) * GRADIENTS_2D[h11 + 1], xa),
+                                ya) * SCALE2, eqAdd[0], eqMul[0]);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fillSphere(float[], int, int, float)}, but computes
+     * the z lattice and fade once per row, and only hashes the 8 gradient indices again when a sample enters a new
+     * cell.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fillSphere(float[] out, int width, int height, float radius) {
+        final long seed = this.seed;
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float lon = (px + 0.5f) / width;
+            cosLon[px] = TrigTools.cosTurns(lon);
+            sinLon[px] = TrigTools.sinTurns(lon);
+        }
+        final int[] h = new int[8];
+        for (int py = 0, i = 0; py < height; py++) {
+            final float lat = (py + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius, z = TrigTools.sinTurns(lat) * radius;
+            final int z0 = fastFloor(z);
+            final float zf = z - z0;
+            final float za = zf * zf * zf * (zf * (zf * 6.0f - 15.0f) + 9.999998f);
+            int lastX = 0, lastY = 0;
+            for (int px = 0; px < width; px++, i++) {
+                final float x = cosLon[px] * ring, y = sinLon[px] * ring;
+                final int x0 = fastFloor(x), y0 = fastFloor(y);
+                final float xf = x - x0, yf = y - y0;
+                final float xa = xf * xf * xf * (xf * (xf * 6.0f - 15.0f) + 9.999998f);
+                final float ya = yf * yf * yf * (yf * (yf * 6.0f - 15.0f) + 9.999998f);
+                if (px == 0 || x0 != lastX || y0 != lastY) {
+                    lastX = x0;
+                    lastY = y0;
+                    h[0] = gradIndex3D(seed, x0, y0, z0);
+                    h[1] = gradIndex3D(seed, x0 + 1, y0, z0);
+                    h[2] = gradIndex3D(seed, x0, y0 + 1, z0);
+                    h[3] = gradIndex3D(seed, x0 + 1, y0 + 1, z0);
+                    h[4] = gradIndex3D(seed, x0, y0, z0 + 1);
+                    h[5] = gradIndex3D(seed, x0 + 1, y0, z0 + 1);
+                    h[6] = gradIndex3D(seed, x0, y0 + 1, z0 + 1);
+                    h[7] = gradIndex3D(seed, x0 + 1, y0 + 1, z0 + 1);
+                }
+                out[i] = equalize(
+                        lerp(
+                                lerp(
+                                        lerp(grad3D(h[0], xf, yf, zf), grad3D(h[1], xf - 1, yf, zf), xa),
+                                        lerp(grad3D(h[2], xf, yf - 1, zf), grad3D(h[3], xf - 1, yf - 1, zf), xa),
+                                        ya),
+                                lerp(
+                                        lerp(grad3D(h[4], xf, yf, zf - 1), grad3D(h[5], xf - 1, yf, zf - 1), xa),
+                                        lerp(grad3D(h[6], xf, yf - 1, zf - 1), grad3D(h[7], xf - 1, yf - 1, zf - 1), xa),
+                                        ya),
+                                za) * SCALE3, eqAdd[1], eqMul[1]);
+            }
+        }
+        return out;
+    }
+
+    private static float grad3D(int hash, float xd, float yd, float zd) {
+        return (xd * GRADIENTS_3D[hash] + yd * GRADIENTS_3D[hash + 1] + zd * GRADIENTS_3D[hash + 2]);
+    }
+
     @Override
     public float getNoise(final float x, final float y, final float z, final float w) {
         return getNoiseWithSeed(x, y, z, w, seed);
@@ -133,6 +133,17 @@ public class Region implements Set<Coord> {
     private boolean tallied;
     private int ct;
     private int[] counts;
+    /**
+     * Reused by methods like {@link #expand()}, {@link #retract8way(int)}, and {@link #flood(Region, int)} so they
+     * don't need to allocate a new array each time they are called; this trades places with {@link #data} as those
+     * methods work. This is not copied or serialized, and can be freed with {@link #releaseBuffers()}.
+     */
+    private transient long[] scratch;
+    /**
+     * Reused by methods like {@link #fringe(int)} and {@link #surface8way()} to hold the contents of this Region from
+     * before they were called. This is not copied or serialized, and can be freed with {@link #releaseBuffers()}.
+     */
+    private transient long[] previous;
 
     /**
      * A 256-element array of {@link Region}s, each 64x64, where the first Region has an impossibly strict
@@ -4237,50 +4248,177 @@ public class Region implements Set<Coord> {
     }
 
     /**
-     * Takes the "on" cells in this Region and expands them by one cell in the 4 orthogonal directions, making
-     * each "on" cell take up a plus-shaped area that may overlap with other "on" cells (which is just a normal "on"
-     * cell then).
-     * <br>
-     * This operates in bulk on up to 64 cells at a time.
-     * This overload allocates an array the same size as the one used internally in this Region.
-     * To avoid allocating anything, you can reuse a Region the same size as this one and pass it to
-     * {@link #expand(Region)}.
+     * Lets go of the internal buffers that methods like {@link #expand()}, {@link #fringe8way(int)}, and
+     * {@link #flood(Region, int)} reuse between calls. Each buffer is as large as this Region's own data, so a
+     * long-lived Region that was only morphed once, such as one stored in a level, can call this afterward to use
+     * less memory. The buffers are allocated again if they are needed later.
      *
      * @return this for chaining
      */
-    public Region expand() {
-        if (width > 0 && ySections != 0) {
-            final long[] next = new long[width * ySections];
-            System.arraycopy(data, 0, next, 0, width * ySections);
-            for (int a = 0; a < ySections; a++) {
-                next[a] |= (data[a] << 1) | (data[a] >>> 1) | data[a + ySections];
-                next[(width - 1) * ySections + a] |= (data[(width - 1) * ySections + a] << 1) | (data[(width - 1) * ySections + a] >>> 1) | data[(width - 2) * ySections + a];
+    public Region releaseBuffers() {
+        scratch = null;
+        previous = null;
+        return this;
+    }
 
-                for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                    next[i] |= (data[i] << 1) | (data[i] >>> 1) | data[i - ySections] | data[i + ySections];
-                }
+    /**
+     * Gets {@link #scratch}, allocating it only if it doesn't exist yet or this Region has changed size.
+     */
+    private long[] scratch() {
+        final int len = width * ySections;
+        if (scratch == null || scratch.length != len)
+            scratch = new long[len];
+        return scratch;
+    }
 
-                if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] |= (data[i - 1] & 0x8000000000000000L) >>> 63;
-                    }
-                }
+    /**
+     * Expands (if expand is true) or retracts (if it is false) this Region by {@code amount} cells, using 8-way
+     * adjacency if eightWay is true or 4-way adjacency otherwise. Each pass reads from {@link #data}, writes into
+     * {@link #scratch}, and then swaps the two arrays, so this never copies or allocates after the first call on a
+     * Region of a given size. Cells outside the Region count as "off," so retracting removes cells at the edges.
+     *
+     * @param amount how many cells to expand or retract by
+     * @param eightWay true to use 8-way adjacency (making box shapes), false for 4-way (making diamond shapes)
+     * @param expand true to expand, false to retract
+     */
+    private void morph(int amount, final boolean eightWay, final boolean expand) {
+        if (amount <= 0 || width <= 0 || ySections == 0) return;
+        if (eightWay) {
+            // 8-way adjacency is a box shape, so it can be done with separate vertical and horizontal passes.
+            // Moving a box with radius r by s, where s is at most r+1, in both directions covers a box with radius r+s
+            // with no gaps, even where the shifted box goes past the edge, so the distance can double with each pass.
+            for (int r = 0, s; r < amount && r < height; r += s) {
+                s = Math.min(Math.min(r + 1, amount - r), 63);
+                shiftVertical(s, expand);
+            }
+            for (int r = 0, s; r < amount && r < width; r += s) {
+                s = Math.min(r + 1, amount - r);
+                shiftHorizontal(s, expand);
+            }
+        } else {
+            // nothing changes after amount passes the width plus the height
+            amount = Math.min(amount, width + height);
+            for (int i = 0; i < amount; i++) {
+                step4way(expand);
+            }
+        }
+        tallied = false;
+    }
 
-                if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] |= (data[i + 1] & 1L) << 63;
-                    }
-                }
+    /**
+     * One pass of {@link #morph(int, boolean, boolean)} with 4-way adjacency.
+     * @param expand true to expand, false to retract
+     */
+    private void step4way(final boolean expand) {
+        final long[] src = data, dst = scratch();
+        final int last = (width - 1) * ySections, end = ySections - 1;
+        for (int x = 0, i = 0; x < width; x++) {
+            for (int a = 0; a < ySections; a++, i++) {
+                final long w = src[i],
+                        up = w << 1 | (a > 0 ? src[i - 1] >>> 63 : 0L),
+                        down = w >>> 1 | (a < end ? src[i + 1] << 63 : 0L),
+                        left = i >= ySections ? src[i - ySections] : 0L,
+                        right = i < last ? src[i + ySections] : 0L;
+                dst[i] = expand ? w | up | down | left | right : w & up & down & left & right;
             }
-            if (ySections > 0 && yEndMask != -1) {
-                for (int a = ySections - 1; a < next.length; a += ySections) {
-                    next[a] &= yEndMask;
-                }
+            dst[i - 1] &= yEndMask;
+        }
+        data = dst;
+        scratch = src;
+    }
+
+    /**
+     * One vertical pass of {@link #morph(int, boolean, boolean)} with 8-way adjacency, combining each cell with the
+     * cells {@code s} above and below it.
+     * @param s how far to shift, from 1 to 63 inclusive
+     * @param expand true to expand, false to retract
+     */
+    private void shiftVertical(final int s, final boolean expand) {
+        final long[] src = data, dst = scratch();
+        final int back = 64 - s, end = ySections - 1;
+        for (int x = 0, i = 0; x < width; x++) {
+            for (int a = 0; a < ySections; a++, i++) {
+                final long w = src[i],
+                        up = w << s | (a > 0 ? src[i - 1] >>> back : 0L),
+                        down = w >>> s | (a < end ? src[i + 1] << back : 0L);
+                dst[i] = expand ? w | up | down : w & up & down;
             }
-            data = next;
-            tallied = false;
+            dst[i - 1] &= yEndMask;
+        }
+        data = dst;
+        scratch = src;
+    }
+
+    /**
+     * One horizontal pass of {@link #morph(int, boolean, boolean)} with 8-way adjacency, combining each cell with the
+     * cells {@code s} to its left and right.
+     * @param s how far to shift; must be positive
+     * @param expand true to expand, false to retract
+     */
+    private void shiftHorizontal(final int s, final boolean expand) {
+        final long[] src = data, dst = scratch();
+        final int len = width * ySections, offset = s * ySections;
+        for (int i = 0; i < len; i++) {
+            final long w = src[i],
+                    left = i >= offset ? src[i - offset] : 0L,
+                    right = i + offset < len ? src[i + offset] : 0L;
+            dst[i] = expand ? w | left | right : w & left & right;
         }
+        data = dst;
+        scratch = src;
+    }
+
+    /**
+     * The shared code for fringe and surface methods. This expands or retracts by amount, then keeps only the cells
+     * that changed. If temp is non-null, it receives the contents of this Region from before this call; otherwise,
+     * {@link #previous} is used to hold those contents, and nothing is allocated after the first call.
+     *
+     * @param amount how thick the fringe or surface should be
+     * @param eightWay true to use 8-way adjacency, false for 4-way
+     * @param expand true to get a fringe, false to get a surface
+     * @param temp may be null; if non-null, will receive the contents of this Region before this call
+     * @return this for chaining
+     */
+    private Region edge(final int amount, final boolean eightWay, final boolean expand, final Region temp) {
+        if (width <= 0 || ySections == 0) return this;
+        final int len = width * ySections;
+        final long[] old;
+        if (temp != null) {
+            temp.remake(this);
+            old = temp.data;
+        } else {
+            if (previous == null || previous.length != len)
+                previous = new long[len];
+            System.arraycopy(data, 0, previous, 0, len);
+            old = previous;
+        }
+        morph(amount, eightWay, expand);
+        final long[] d = data;
+        if (expand) {
+            for (int i = 0; i < len; i++) {
+                d[i] &= ~old[i];
+            }
+        } else {
+            for (int i = 0; i < len; i++) {
+                d[i] = old[i] & ~d[i];
+            }
+        }
+        tallied = false;
+        return this;
+    }
 
+    /**
+     * Takes the "on" cells in this Region and expands them by one cell in the 4 orthogonal directions, making
+     * each "on" cell take up a plus-shaped area that may overlap with other "on" cells (which is just a normal "on"
+     * cell then).
+     * <br>
+     * This operates in bulk on up to 64 cells at a time.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
+     *
+     * @return this for chaining
+     */
+    public Region expand() {
+        morph(1, false, true);
         return this;
     }
 
@@ -4297,40 +4435,8 @@ public class Region implements Set<Coord> {
      * @return this for chaining
      */
     public Region expand(Region temp) {
-        if(temp == null) temp = new Region(this);
-        else temp.remake(this);
-
-        if (width > 0 && ySections != 0) {
-            final long[] self = this.data;
-            final long[] copy = temp.data;
-            for (int a = 0; a < ySections; a++) {
-                self[a] |= (copy[a] << 1) | (copy[a] >>> 1) | copy[a + ySections];
-                self[(width - 1) * ySections + a] |= (copy[(width - 1) * ySections + a] << 1) | (copy[(width - 1) * ySections + a] >>> 1) | copy[(width - 2) * ySections + a];
-
-                for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                    self[i] |= (copy[i] << 1) | (copy[i] >>> 1) | copy[i - ySections] | copy[i + ySections];
-                }
-
-                if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] |= (copy[i - 1] & 0x8000000000000000L) >>> 63;
-                    }
-                }
-
-                if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] |= (copy[i + 1] & 1L) << 63;
-                    }
-                }
-            }
-            if (ySections > 0 && yEndMask != -1) {
-                for (int a = ySections - 1; a < self.length; a += ySections) {
-                    self[a] &= yEndMask;
-                }
-            }
-            tallied = false;
-        }
-
+        if(temp != null) temp.remake(this);
+        morph(1, false, true);
         return this;
     }
     /**
@@ -4339,9 +4445,7 @@ public class Region implements Set<Coord> {
      * "on" cell then).
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #expand(int, Region)}, that takes a reusable buffer Region to avoid
-     * allocations; it can be preferable if you intend to call expand(int) repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
@@ -4363,12 +4467,8 @@ public class Region implements Set<Coord> {
      */
     public Region expand(int amount, Region temp)
     {
-        if(temp == null) temp = new Region(this);
-        // remake is called automatically on the temp region in expand(Region) .
-
-        for (int i = 0; i < amount; i++) {
-            expand(temp);
-        }
+        if(temp != null) temp.remake(this);
+        morph(amount, false, true);
         return this;
     }
     /**
@@ -4417,16 +4517,13 @@ public class Region implements Set<Coord> {
      * surface finds cells inside the current Region, while fringe finds cells outside it.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #fringe(Region)}, that takes a reusable buffer Region to avoid
-     * allocations; it can be preferable if you intend to call fringe() repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region fringe()
     {
-        Region cpy = new Region(this);
-        return expand(cpy).andNot(cpy);
+        return edge(1, false, true, null);
     }
     /**
      * Takes the "on" cells in this Region and expands them by one cell in the 4 orthogonal directions, producing
@@ -4443,8 +4540,7 @@ public class Region implements Set<Coord> {
      */
     public Region fringe(Region temp)
     {
-        if(temp == null) temp = new Region(this);
-        return expand(temp).andNot(temp);
+        return edge(1, false, true, temp);
     }
     /**
      * Takes the "on" cells in this Region and expands them by amount cells in the 4 orthogonal directions
@@ -4454,16 +4550,14 @@ public class Region implements Set<Coord> {
      * it.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #fringe(Region)}, that takes a reusable buffer Region to avoid
-     * allocations; it can be preferable if you intend to call fringe() repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      * 
      * @param amount how thick the bordering area should be
      * @return this for chaining
      */
     public Region fringe(int amount)
     {
-        return fringe(amount, null, null);
+        return edge(amount, false, true, null);
     }
     /**
      * Takes the "on" cells in this Region and expands them by amount cells in the 4 orthogonal directions
@@ -4472,23 +4566,19 @@ public class Region implements Set<Coord> {
      * to {@link #surface()}, but surface finds cells inside the current Region, while fringe finds cells outside it.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload of fringe allows taking a {@code temp} and {@code temp2} Region that should be the same size as
-     * this Region, and won't allocate by modifying temp and temp2 in-place. While temp, if non-null, will reliably
-     * contain the same contents as this Region before this method call, temp2 won't have any guarantee. All values
-     * in temp2 will be eliminated, so it really should be considered temporary. If temp or temp2 is a different size
-     * from this Region, some memory will be allocated; allocation will also occur if any of temp or temp2 is null.
+     * This overload of fringe allows taking a {@code temp} Region that should be the same size as this Region; if temp
+     * is non-null, it will reliably contain the same contents as this Region before this method call. If temp is null,
+     * an internal buffer is used instead, and nothing is allocated after the first call on a Region of a given size.
+     * The {@code temp2} parameter isn't needed anymore, and is ignored.
      *
      * @param amount how thick the bordering area should be
      * @param temp another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
-     * @param temp2 another Region that will be erased and replaced with undefined contents; should be the same size as this
+     * @param temp2 ignored; may be null
      * @return this for chaining
      */
     public Region fringe(int amount, Region temp, Region temp2)
     {
-        if(temp == null) temp = new Region(this);
-        else temp.remake(this);
-        expand(amount, temp2);
-        return andNot(temp);
+        return edge(amount, false, true, temp);
     }
 
     /**
@@ -4548,54 +4638,12 @@ public class Region implements Set<Coord> {
      * making each "on" cell that was orthogonally adjacent to an "off" cell into an "off" cell.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload allocates an array the same size as the one used internally in this Region.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region retract() {
-        if(width <= 2 || height <= 2) {
-            clear();
-        } else {
-            final long[] next = new long[width * ySections];
-            System.arraycopy(data, ySections, next, ySections, (width - 2) * ySections);
-            for (int a = 0; a < ySections; a++) {
-                if (a > 0 && a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= ((data[i] << 1) | ((data[i - 1] & 0x8000000000000000L) >>> 63))
-                                & ((data[i] >>> 1) | ((data[i + 1] & 1L) << 63))
-                                & data[i - ySections]
-                                & data[i + ySections];
-                    }
-                } else if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= ((data[i] << 1) | ((data[i - 1] & 0x8000000000000000L) >>> 63))
-                                & (data[i] >>> 1)
-                                & data[i - ySections]
-                                & data[i + ySections];
-                    }
-                } else if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= (data[i] << 1)
-                                & ((data[i] >>> 1) | ((data[i + 1] & 1L) << 63))
-                                & data[i - ySections]
-                                & data[i + ySections];
-                    }
-                } else // only the case when ySections == 1
-                {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= (data[i] << 1) & (data[i] >>> 1) & data[i - ySections] & data[i + ySections];
-                    }
-                }
-            }
-            if (yEndMask != -1) {
-                for (int a = ySections - 1; a < next.length; a += ySections) {
-                    next[a] &= yEndMask;
-                }
-            }
-            data = next;
-            tallied = false;
-        }
-
+        morph(1, false, false);
         return this;
     }
 
@@ -4612,56 +4660,8 @@ public class Region implements Set<Coord> {
      * @return this for chaining
      */
     public Region retract(Region temp) {
-        if(width <= 2 || height <= 2) {
-            clear();
-        } else {
-            if(temp == null) temp = new Region(this);
-            else temp.remake(this);
-            final long[] self = this.data;
-            final long[] copy = temp.data;
-            // Wipe any "on" cells from the first and last columns.
-            // Equivalent to the unusual arraycopy call in zero-argument retract().
-            for (int a = 0; a < ySections; a++) {
-                self[a] = 0L;
-                self[a + width - 1] = 0L;
-            }
-            for (int a = 0; a < ySections; a++) {
-                if (a > 0 && a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= ((copy[i] << 1) | ((copy[i - 1] & 0x8000000000000000L) >>> 63))
-                                & ((copy[i] >>> 1) | ((copy[i + 1] & 1L) << 63))
-                                & copy[i - ySections]
-                                & copy[i + ySections];
-                    }
-                } else if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= ((copy[i] << 1) | ((copy[i - 1] & 0x8000000000000000L) >>> 63))
-                                & (copy[i] >>> 1)
-                                & copy[i - ySections]
-                                & copy[i + ySections];
-                    }
-                } else if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= (copy[i] << 1)
-                                & ((copy[i] >>> 1) | ((copy[i + 1] & 1L) << 63))
-                                & copy[i - ySections]
-                                & copy[i + ySections];
-                    }
-                } else // only the case when ySections == 1
-                {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= (copy[i] << 1) & (copy[i] >>> 1) & copy[i - ySections] & copy[i + ySections];
-                    }
-                }
-            }
-            if (yEndMask != -1) {
-                for (int a = ySections - 1; a < self.length; a += ySections) {
-                    self[a] &= yEndMask;
-                }
-            }
-            tallied = false;
-        }
-
+        if(temp != null) temp.remake(this);
+        morph(1, false, false);
         return this;
     }
 
@@ -4671,7 +4671,7 @@ public class Region implements Set<Coord> {
      * "off" cell into an "off" cell.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This allocates and discards a temporary Region with the same size as this one.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
@@ -4693,11 +4693,8 @@ public class Region implements Set<Coord> {
      */
     public Region retract(int amount, Region temp)
     {
-        if(temp == null) temp = new Region(this);
-
-        for (int i = 0; i < amount; i++) {
-            retract(temp);
-        }
+        if(temp != null) temp.remake(this);
+        morph(amount, false, false);
         return this;
     }
 
@@ -4746,16 +4743,13 @@ public class Region implements Set<Coord> {
      * this Region's existing "on" cells.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #surface(Region)}, that takes a reusable buffer Region to avoid
-     * allocations; it can be preferable if you intend to call surface() repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region surface()
     {
-        Region cpy = new Region(this);
-        return retract(cpy).xor(cpy);
+        return edge(1, false, false, null);
     }
 
     /**
@@ -4773,8 +4767,7 @@ public class Region implements Set<Coord> {
      */
     public Region surface(Region temp)
     {
-        if(temp == null) temp = new Region(this);
-        return retract(temp).xor(temp);
+        return edge(1, false, false, temp);
     }
 
     /**
@@ -4783,15 +4776,14 @@ public class Region implements Set<Coord> {
      * them or leave them as-is). This method acts like {@link #fringe(int)} but only produces "on" cells where there
      * were "on" cells at the edge of this Region's existing "on" cells.
      * <br>
-     * This overload allocates a temporary buffer Region; {@link #surface(int, Region, Region)} does not.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @param amount how thick the bordering area should be
      * @return this for chaining
      */
     public Region surface(int amount)
     {
-        Region cpy = new Region(this).retract(amount);
-        return xor(cpy);
+        return edge(amount, false, false, null);
     }
 
     /**
@@ -4801,23 +4793,19 @@ public class Region implements Set<Coord> {
      * were "on" cells at the edge of this Region's existing "on" cells.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload of surface allows taking a {@code temp} and {@code temp2} Region that should be the same size as
-     * this Region, and won't allocate by modifying temp and temp2 in-place. While temp, if non-null, will reliably
-     * contain the same contents as this Region before this method call, temp2 won't have any guarantee. All values
-     * in temp2 will be eliminated, so it really should be considered temporary. If temp or temp2 is a different size
-     * from this Region, some memory will be allocated; allocation will also occur if any of temp or temp2 is null.
+     * This overload of surface allows taking a {@code temp} Region that should be the same size as this Region; if temp
+     * is non-null, it will reliably contain the same contents as this Region before this method call. If temp is null,
+     * an internal buffer is used instead, and nothing is allocated after the first call on a Region of a given size.
+     * The {@code temp2} parameter isn't needed anymore, and is ignored.
      *
      * @param amount how thick the bordering area should be
      * @param temp another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
-     * @param temp2 another Region that will be erased and replaced with undefined contents; should be the same size as this
+     * @param temp2 ignored; may be null
      * @return this for chaining
      */
     public Region surface(int amount, Region temp, Region temp2)
     {
-        if(temp == null) temp = new Region(this);
-        else temp.remake(this);
-        temp.retract(amount, temp2);
-        return xor(temp);
+        return edge(amount, false, false, temp);
     }
 
     /**
@@ -4873,52 +4861,12 @@ public class Region implements Set<Coord> {
      * normal "on" cell then).
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload allocates an array the same size as the one used internally in this Region.
-     * To avoid allocating anything, you can reuse a Region the same size as this one and pass it to
-     * {@link #expand8way(Region)}.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region expand8way() {
-        if (width > 0 &&  ySections > 0) {
-            final long[] next = new long[width * ySections];
-            System.arraycopy(data, 0, next, 0, width * ySections);
-            for (int a = 0; a < ySections; a++) {
-                next[a] |= (data[a] << 1) | (data[a] >>> 1)
-                        | data[a + ySections] | (data[a + ySections] << 1) | (data[a + ySections] >>> 1);
-                next[(width - 1) * ySections + a] |= (data[(width - 1) * ySections + a] << 1) | (data[(width - 1) * ySections + a] >>> 1)
-                        | data[(width - 2) * ySections + a] | (data[(width - 2) * ySections + a] << 1) | (data[(width - 2) * ySections + a] >>> 1);
-
-                for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                    next[i] |= (data[i] << 1) | (data[i] >>> 1)
-                            | data[i - ySections] | (data[i - ySections] << 1) | (data[i - ySections] >>> 1)
-                            | data[i + ySections] | (data[i + ySections] << 1) | (data[i + ySections] >>> 1);
-                }
-
-                if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] |= ((data[i - 1] & 0x8000000000000000L) >>> 63) |
-                                ((data[i - ySections - 1] & 0x8000000000000000L) >>> 63) |
-                                ((data[i + ySections - 1] & 0x8000000000000000L) >>> 63);
-                    }
-                }
-
-                if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] |= ((data[i + 1] & 1L) << 63) |
-                                ((data[i - ySections + 1] & 1L) << 63) |
-                                ((data[i + ySections + 1] & 1L) << 63);
-                    }
-                }
-            }
-            if (yEndMask != -1) {
-                for (int a = ySections - 1; a < next.length; a += ySections) {
-                    next[a] &= yEndMask;
-                }
-            }
-            data = next;
-            tallied = false;
-        }
+        morph(1, true, true);
         return this;
     }
     /**
@@ -4934,48 +4882,8 @@ public class Region implements Set<Coord> {
      * @return this for chaining
      */
     public Region expand8way(Region temp) {
-        if(temp == null) temp = new Region(this);
-        else temp.remake(this);
-
-        if (width > 0 && ySections != 0) {
-            final long[] self = this.data;
-            final long[] copy = temp.data;
-            for (int a = 0; a < ySections; a++) {
-                self[a] |= (copy[a] << 1) | (copy[a] >>> 1)
-                        | copy[a + ySections] | (copy[a + ySections] << 1) | (copy[a + ySections] >>> 1);
-                self[(width - 1) * ySections + a] |= (copy[(width - 1) * ySections + a] << 1) | (copy[(width - 1) * ySections + a] >>> 1)
-                        | copy[(width - 2) * ySections + a] | (copy[(width - 2) * ySections + a] << 1) | (copy[(width - 2) * ySections + a] >>> 1);
-
-                for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                    self[i] |= (copy[i] << 1) | (copy[i] >>> 1)
-                            | copy[i - ySections] | (copy[i - ySections] << 1) | (copy[i - ySections] >>> 1)
-                            | copy[i + ySections] | (copy[i + ySections] << 1) | (copy[i + ySections] >>> 1);
-                }
-
-                if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] |= ((copy[i - 1] & 0x8000000000000000L) >>> 63) |
-                                ((copy[i - ySections - 1] & 0x8000000000000000L) >>> 63) |
-                                ((copy[i + ySections - 1] & 0x8000000000000000L) >>> 63);
-                    }
-                }
-
-                if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] |= ((copy[i + 1] & 1L) << 63) |
-                                ((copy[i - ySections + 1] & 1L) << 63) |
-                                ((copy[i + ySections + 1] & 1L) << 63);
-                    }
-                }
-            }
-            if (yEndMask != -1) {
-                for (int a = ySections - 1; a < self.length; a += ySections) {
-                    self[a] &= yEndMask;
-                }
-            }
-            tallied = false;
-        }
-
+        if(temp != null) temp.remake(this);
+        morph(1, true, true);
         return this;
     }
     /**
@@ -4983,10 +4891,9 @@ public class Region implements Set<Coord> {
      * directions, making each "on" cell take up a square-shaped area that may overlap with other "on" cells (which is
      * just a normal "on" cell then).
      * <br>
-     * This operates in bulk on up to 64 cells at a time.
-     * This overload allocates an array the same size as the one used internally in this Region.
-     * To avoid allocating anything, you can reuse a Region the same size as this one and pass it to
-     * {@link #expand8way(int, Region)}.
+     * This operates in bulk on up to 64 cells at a time, and finishes in a number of passes over the data that only
+     * grows with the logarithm of amount, instead of needing one pass for each cell of distance.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @param amount how thick the bordering area should be
      * @return this for chaining
@@ -5010,12 +4917,8 @@ public class Region implements Set<Coord> {
      */
     public Region expand8way(int amount, Region temp)
     {
-        if(temp == null) temp = new Region(this);
-        // remake is called automatically on the temp region in expand(Region) .
-
-        for (int i = 0; i < amount; i++) {
-            expand8way(temp);
-        }
+        if(temp != null) temp.remake(this);
+        morph(amount, true, true);
         return this;
     }
     /**
@@ -5065,16 +4968,13 @@ public class Region implements Set<Coord> {
      * surface finds cells inside the current Region, while fringe finds cells outside it.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #fringe8way(Region)}, that takes a reusable buffer Region to avoid
-     * allocations; it can be preferable if you intend to call fringe8way() repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region fringe8way()
     {
-        Region cpy = new Region(this);
-        return expand8way(cpy).andNot(cpy);
+        return edge(1, true, true, null);
     }
     /**
      * Takes the "on" cells in this Region and expands them by one cell in the 8 orthogonal and diagonal directions,
@@ -5091,8 +4991,7 @@ public class Region implements Set<Coord> {
      */
     public Region fringe8way(Region temp)
     {
-        if(temp == null) temp = new Region(this);
-        return expand8way(temp).andNot(temp);
+        return edge(1, true, true, temp);
     }
     /**
      * Takes the "on" cells in this Region and expands them by amount cells in the 8 orthogonal and diagonal directions
@@ -5102,16 +5001,14 @@ public class Region implements Set<Coord> {
      * it.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #fringe8way(int, Region, Region)}, that takes reusable buffer Regions
-     * to avoid allocations; it can be preferable if you intend to call fringe8way() repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @param amount how thick the bordering area should be
      * @return this for chaining
      */
     public Region fringe8way(int amount)
     {
-        return fringe8way(amount, null, null);
+        return edge(amount, true, true, null);
     }
     /**
      * Takes the "on" cells in this Region and expands them by amount cells in the 8 orthogonal and diagonal directions
@@ -5121,23 +5018,19 @@ public class Region implements Set<Coord> {
      * it.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload of fringe8way allows taking a {@code temp} and {@code temp2} Region that should be the same size as
-     * this Region, and won't allocate by modifying temp and temp2 in-place. While temp, if non-null, will reliably
-     * contain the same contents as this Region before this method call, temp2 won't have any guarantee. All values
-     * in temp2 will be eliminated, so it really should be considered temporary. If temp or temp2 is a different size
-     * from this Region, some memory will be allocated; allocation will also occur if any of temp or temp2 is null.
+     * This overload of fringe8way allows taking a {@code temp} Region that should be the same size as this Region; if temp
+     * is non-null, it will reliably contain the same contents as this Region before this method call. If temp is null,
+     * an internal buffer is used instead, and nothing is allocated after the first call on a Region of a given size.
+     * The {@code temp2} parameter isn't needed anymore, and is ignored.
      *
      * @param amount how thick the bordering area should be
      * @param temp another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
-     * @param temp2 another Region that will be erased and replaced with undefined contents; should be the same size as this
+     * @param temp2 ignored; may be null
      * @return this for chaining
      */
     public Region fringe8way(int amount, Region temp, Region temp2)
     {
-        if(temp == null) temp = new Region(this);
-        else temp.remake(this);
-        expand8way(amount, temp2);
-        return andNot(temp);
+        return edge(amount, true, true, temp);
     }
 
     /**
@@ -5197,75 +5090,12 @@ public class Region implements Set<Coord> {
      * making each "on" cell that was orthogonally or diagonally adjacent to an "off" cell into an "off" cell.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload allocates an array the same size as the one used internally in this Region.
-     * To avoid allocating anything, you can reuse a Region the same size as this one and pass it to
-     * {@link #retract8way(Region)}.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region retract8way() {
-        if(width <= 2 || height <= 2) {
-            clear();
-        } else {
-            final long[] next = new long[width * ySections];
-            System.arraycopy(data, ySections, next, ySections, (width - 2) * ySections);
-            for (int a = 0; a < ySections; a++) {
-                if (a > 0 && a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= ((data[i] << 1) | ((data[i - 1] & 0x8000000000000000L) >>> 63))
-                                & ((data[i] >>> 1) | ((data[i + 1] & 1L) << 63))
-                                & data[i - ySections]
-                                & data[i + ySections]
-                                & ((data[i - ySections] << 1) | ((data[i - 1 - ySections] & 0x8000000000000000L) >>> 63))
-                                & ((data[i + ySections] << 1) | ((data[i - 1 + ySections] & 0x8000000000000000L) >>> 63))
-                                & ((data[i - ySections] >>> 1) | ((data[i + 1 - ySections] & 1L) << 63))
-                                & ((data[i + ySections] >>> 1) | ((data[i + 1 + ySections] & 1L) << 63));
-                    }
-                } else if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= ((data[i] << 1) | ((data[i - 1] & 0x8000000000000000L) >>> 63))
-                                & (data[i] >>> 1)
-                                & data[i - ySections]
-                                & data[i + ySections]
-                                & ((data[i - ySections] << 1) | ((data[i - 1 - ySections] & 0x8000000000000000L) >>> 63))
-                                & ((data[i + ySections] << 1) | ((data[i - 1 + ySections] & 0x8000000000000000L) >>> 63))
-                                & (data[i - ySections] >>> 1)
-                                & (data[i + ySections] >>> 1);
-                    }
-                } else if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= (data[i] << 1)
-                                & ((data[i] >>> 1) | ((data[i + 1] & 1L) << 63))
-                                & data[i - ySections]
-                                & data[i + ySections]
-                                & (data[i - ySections] << 1)
-                                & (data[i + ySections] << 1)
-                                & ((data[i - ySections] >>> 1) | ((data[i + 1 - ySections] & 1L) << 63))
-                                & ((data[i + ySections] >>> 1) | ((data[i + 1 + ySections] & 1L) << 63));
-                    }
-                } else // only the case when ySections == 1
-                {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        next[i] &= (data[i] << 1)
-                                & (data[i] >>> 1)
-                                & data[i - ySections]
-                                & data[i + ySections]
-                                & (data[i - ySections] << 1)
-                                & (data[i + ySections] << 1)
-                                & (data[i - ySections] >>> 1)
-                                & (data[i + ySections] >>> 1);
-                    }
-                }
-            }
-            if (yEndMask != -1) {
-                for (int a = ySections - 1; a < next.length; a += ySections) {
-                    next[a] &= yEndMask;
-                }
-            }
-            data = next;
-            tallied = false;
-        }
-
+        morph(1, true, false);
         return this;
     }
 
@@ -5281,75 +5111,8 @@ public class Region implements Set<Coord> {
      * @return this for chaining
      */
     public Region retract8way(Region temp) {
-        if(width <= 2 || height <= 2) {
-            clear();
-        } else {
-            if(temp == null) temp = new Region(this);
-            else temp.remake(this);
-            final long[] self = this.data;
-            final long[] copy = temp.data;
-            // Wipe any "on" cells from the first and last columns.
-            // Equivalent to the unusual arraycopy call in zero-argument retract8way().
-            for (int a = 0; a < ySections; a++) {
-                self[a] = 0L;
-                self[a + width - 1] = 0L;
-            }
-            for (int a = 0; a < ySections; a++) {
-                if (a > 0 && a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= ((copy[i] << 1) | ((copy[i - 1] & 0x8000000000000000L) >>> 63))
-                                & ((copy[i] >>> 1) | ((copy[i + 1] & 1L) << 63))
-                                & copy[i - ySections]
-                                & copy[i + ySections]
-                                & ((copy[i - ySections] << 1) | ((copy[i - 1 - ySections] & 0x8000000000000000L) >>> 63))
-                                & ((copy[i + ySections] << 1) | ((copy[i - 1 + ySections] & 0x8000000000000000L) >>> 63))
-                                & ((copy[i - ySections] >>> 1) | ((copy[i + 1 - ySections] & 1L) << 63))
-                                & ((copy[i + ySections] >>> 1) | ((copy[i + 1 + ySections] & 1L) << 63));
-                    }
-                } else if (a > 0) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= ((copy[i] << 1) | ((copy[i - 1] & 0x8000000000000000L) >>> 63))
-                                & (copy[i] >>> 1)
-                                & copy[i - ySections]
-                                & copy[i + ySections]
-                                & ((copy[i - ySections] << 1) | ((copy[i - 1 - ySections] & 0x8000000000000000L) >>> 63))
-                                & ((copy[i + ySections] << 1) | ((copy[i - 1 + ySections] & 0x8000000000000000L) >>> 63))
-                                & (copy[i - ySections] >>> 1)
-                                & (copy[i + ySections] >>> 1);
-                    }
-                } else if (a < ySections - 1) {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= (copy[i] << 1)
-                                & ((copy[i] >>> 1) | ((copy[i + 1] & 1L) << 63))
-                                & copy[i - ySections]
-                                & copy[i + ySections]
-                                & (copy[i - ySections] << 1)
-                                & (copy[i + ySections] << 1)
-                                & ((copy[i - ySections] >>> 1) | ((copy[i + 1 - ySections] & 1L) << 63))
-                                & ((copy[i + ySections] >>> 1) | ((copy[i + 1 + ySections] & 1L) << 63));
-                    }
-                } else // only the case when ySections == 1
-                {
-                    for (int i = ySections + a; i < (width - 1) * ySections; i += ySections) {
-                        self[i] &= (copy[i] << 1)
-                                & (copy[i] >>> 1)
-                                & copy[i - ySections]
-                                & copy[i + ySections]
-                                & (copy[i - ySections] << 1)
-                                & (copy[i + ySections] << 1)
-                                & (copy[i - ySections] >>> 1)
-                                & (copy[i + ySections] >>> 1);
-                    }
-                }
-            }
-            if (yEndMask != -1) {
-                for (int a = ySections - 1; a < self.length; a += ySections) {
-                    self[a] &= yEndMask;
-                }
-            }
-            tallied = false;
-        }
-
+        if(temp != null) temp.remake(this);
+        morph(1, true, false);
         return this;
     }
 
@@ -5359,8 +5122,9 @@ public class Region implements Set<Coord> {
      * doing this iteratively {@code amount} times, making each "on" cell that was within amount orthogonal or diagonal
      * distance to an "off" cell into an "off" cell.
      * <br>
-     * This operates in bulk on up to 64 cells at a time.
-     * This allocates and discards a temporary Region with the same size as this one.
+     * This operates in bulk on up to 64 cells at a time, and finishes in a number of passes over the data that only
+     * grows with the logarithm of amount, instead of needing one pass for each cell of distance.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
@@ -5382,11 +5146,8 @@ public class Region implements Set<Coord> {
      */
     public Region retract8way(int amount, Region temp)
     {
-        if(temp == null) temp = new Region(this);
-
-        for (int i = 0; i < amount; i++) {
-            retract8way(temp);
-        }
+        if(temp != null) temp.remake(this);
+        morph(amount, true, false);
         return this;
     }
 
@@ -5435,16 +5196,13 @@ public class Region implements Set<Coord> {
      * of this Region's existing "on" cells.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This method allocates and discards a temporary copy of this Region.
-     * There is an overload of this method, {@link #surface8way(Region)}, that takes a reusable buffer Region to avoid
-     * allocations; it can be preferable if you intend to call surface8way() repeatedly.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @return this for chaining
      */
     public Region surface8way()
     {
-        Region cpy = new Region(this).retract8way();
-        return xor(cpy);
+        return edge(1, true, false, null);
     }
 
     /**
@@ -5462,8 +5220,7 @@ public class Region implements Set<Coord> {
      */
     public Region surface8way(Region temp)
     {
-        if(temp == null) temp = new Region(this);
-        return retract8way(temp).xor(temp);
+        return edge(1, true, false, temp);
     }
 
     /**
@@ -5472,15 +5229,14 @@ public class Region implements Set<Coord> {
      * them or leave them as-is). This method acts like {@link #fringe8way(int)} but only produces "on" cells where
      * there were "on" cells at the edge of this Region's existing "on" cells.
      * <br>
-     * This overload allocates a temporary buffer Region; {@link #surface8way(int, Region, Region)} does not.
+     * This reuses an internal buffer, so it only allocates the first time it is called on a Region of a given size.
      *
      * @param amount how thick the bordering area should be
      * @return this for chaining
      */
     public Region surface8way(int amount)
     {
-        Region cpy = new Region(this).retract8way(amount);
-        return xor(cpy);
+        return edge(amount, true, false, null);
     }
 
     /**
@@ -5490,23 +5246,19 @@ public class Region implements Set<Coord> {
      * there were "on" cells at the edge of this Region's existing "on" cells.
      * <br>
      * This operates in bulk on up to 64 cells at a time.
-     * This overload of surface8way allows taking a {@code temp} and {@code temp2} Region that should be the same size
-     * as this Region, and won't allocate by modifying temp and temp2 in-place. While temp, if non-null, will reliably
-     * contain the same contents as this Region before this method call, temp2 won't have any guarantee. All values
-     * in temp2 will be eliminated, so it really should be considered temporary. If temp or temp2 is a different size
-     * from this Region, some memory will be allocated; allocation will also occur if any of temp or temp2 is null.
+     * This overload of surface8way allows taking a {@code temp} Region that should be the same size as this Region; if temp
+     * is non-null, it will reliably contain the same contents as this Region before this method call. If temp is null,
+     * an internal buffer is used instead, and nothing is allocated after the first call on a Region of a given size.
+     * The {@code temp2} parameter isn't needed anymore, and is ignored.
      *
      * @param amount how thick the bordering area should be
      * @param temp another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
-     * @param temp2 another Region that will be erased and replaced with undefined contents; should be the same size as this
+     * @param temp2 ignored; may be null
      * @return this for chaining
      */
     public Region surface8way(int amount, Region temp, Region temp2)
     {
-        if(temp == null) temp = new Region(this);
-        else temp.remake(this);
-        temp.retract8way(amount, temp2);
-        return xor(temp);
+        return edge(amount, true, false, temp);
     }
 
     /**
@@ -5565,7 +5317,8 @@ public class Region implements Set<Coord> {
      */
     public Region flood(Region bounds) {
         if (width > 0 && ySections > 0 && bounds != null && bounds.width >= 2 && bounds.ySections > 0) {
-            final long[] next = new long[width * ySections];
+            final long[] next = scratch();
+            Arrays.fill(next, 0L);
             for (int a = 0; a < ySections && a < bounds.ySections; a++) {
                 next[a] |= (data[a] | (data[a] << 1) | (data[a] >>> 1) | data[a + ySections]) & bounds.data[a];
                 next[(width - 1) * ySections + a] |= (data[(width - 1) * ySections + a] | (data[(width - 1) * ySections + a] << 1)
@@ -5607,6 +5360,7 @@ public class Region implements Set<Coord> {
                     }
                 }
             }
+            scratch = data;
             data = next;
             tallied = false;
         }
@@ -5619,17 +5373,23 @@ public class Region implements Set<Coord> {
      * by one cell simultaneously, and only successfully affects the cells that are adjacent to this and are in bounds.
      * <br>
      * This overload takes a {@code buffer} Region that should be the same size as this one. If it is, this won't
-     * allocate, and after the call, {@code buffer} will contain the previous contents of this Region.
+     * allocate, and after the call, {@code buffer} will contain the previous contents of this Region. If buffer is
+     * null, an internal buffer is reused instead, so this only allocates the first time on a Region of a given size.
      *
      * @param bounds the set of "on" cells that limits where this can expand into
-     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
+     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this; may be null
      * @return this, after expanding, for chaining
      */
     public Region flood(Region bounds, Region buffer) {
         if (width > 0 && ySections > 0 && bounds != null && bounds.width >= 2 && bounds.ySections > 0) {
-            if(buffer == null) buffer = new Region(this);
-            else buffer.remake(this);
-            final long[] copy = buffer.data;
+            final long[] copy;
+            if(buffer == null) {
+                copy = scratch();
+                System.arraycopy(data, 0, copy, 0, copy.length);
+            } else {
+                buffer.remake(this);
+                copy = buffer.data;
+            }
             final long[] self = this.data;
             for (int a = 0; a < ySections && a < bounds.ySections; a++) {
                 self[a] |= (copy[a] | (copy[a] << 1) | (copy[a] >>> 1) | copy[a + ySections]) & bounds.data[a];
@@ -5691,9 +5451,8 @@ public class Region implements Set<Coord> {
     public Region flood(Region bounds, int amount)
     {
         int ct = size(), ct2;
-        Region buffer = new Region(width, height);
         for (int i = 0; i < amount; i++) {
-            flood(bounds, buffer);
+            flood(bounds, null);
             if(ct == (ct2 = size()))
                 break;
             else
@@ -5711,17 +5470,17 @@ public class Region implements Set<Coord> {
      * takes it around.
      * <br>
      * This overload takes a {@code buffer} Region that should be the same size as this one. If it is, this won't
-     * allocate. After the call, the contents of {@code buffer} will be undefined.
+     * allocate. After the call, the contents of {@code buffer} will be undefined. If buffer is null, an internal
+     * buffer is reused instead; see {@link #releaseBuffers()}.
      *
      * @param bounds the set of "on" cells that limits where this can expand into
      * @param amount how far to expand this outward by, in cells
-     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
+     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this; may be null
      * @return this, after expanding, for chaining
      */
     public Region flood(Region bounds, int amount, Region buffer)
     {
         int ct = size(), ct2;
-        if(buffer == null) buffer = new Region(width, height);
         for (int i = 0; i < amount; i++) {
             flood(bounds, buffer);
             if(ct == (ct2 = size()))
@@ -5750,12 +5509,12 @@ public class Region implements Set<Coord> {
             int ct = size(), ct2;
             Region[] regions = new Region[amount];
             boolean done = false;
-            Region temp = new Region(this), buffer = new Region(width, height);
+            Region temp = new Region(this);
             for (int i = 0; i < amount; i++) {
                 if (done) {
                     regions[i] = new Region(temp);
                 } else {
-                    regions[i] = new Region(temp.flood(bounds, buffer));
+                    regions[i] = new Region(temp.flood(bounds, null));
                     if (ct == (ct2 = temp.size()))
                         done = true;
                     else
@@ -5778,9 +5537,9 @@ public class Region implements Set<Coord> {
     public ObjectList<Region> floodSeriesToLimit(Region bounds) {
         int ct = size(), ct2;
         ObjectList<Region> regions = new ObjectList<>();
-        Region temp = new Region(this), buffer = new Region(width, height);
+        Region temp = new Region(this);
         while (true) {
-            temp.flood(bounds, buffer);
+            temp.flood(bounds, null);
             if (ct == (ct2 = temp.size()))
                 return regions;
             else {
@@ -5798,7 +5557,8 @@ public class Region implements Set<Coord> {
      */
     public Region flood8way(Region bounds) {
         if (width > 0 && ySections > 0 && bounds != null && bounds.width >= 2 && bounds.ySections > 0) {
-            final long[] next = new long[width * ySections];
+            final long[] next = scratch();
+            Arrays.fill(next, 0L);
             for (int a = 0; a < ySections && a < bounds.ySections; a++) {
                 next[a] |= (data[a] | (data[a] << 1) | (data[a] >>> 1)
                         | data[a + ySections] | (data[a + ySections] << 1) | (data[a + ySections] >>> 1)) & bounds.data[a];
@@ -5850,6 +5610,7 @@ public class Region implements Set<Coord> {
                     }
                 }
             }
+            scratch = data;
             data = next;
             tallied = false;
         }
@@ -5862,17 +5623,23 @@ public class Region implements Set<Coord> {
      * by one cell simultaneously, and only successfully affects the cells that are adjacent to this and are in bounds.
      * <br>
      * This overload takes a {@code buffer} Region that should be the same size as this one. If it is, this won't
-     * allocate, and after the call, {@code buffer} will contain the previous contents of this Region.
+     * allocate, and after the call, {@code buffer} will contain the previous contents of this Region. If buffer is
+     * null, an internal buffer is reused instead, so this only allocates the first time on a Region of a given size.
      *
      * @param bounds the set of "on" cells that limits where this can expand into
-     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
+     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this; may be null
      * @return this, after expanding, for chaining
      */
     public Region flood8way(Region bounds, Region buffer) {
         if (width > 0 && ySections > 0 && bounds != null && bounds.width >= 2 && bounds.ySections > 0) {
-            if(buffer == null) buffer = new Region(this);
-            else buffer.remake(this);
-            final long[] copy = buffer.data;
+            final long[] copy;
+            if(buffer == null) {
+                copy = scratch();
+                System.arraycopy(data, 0, copy, 0, copy.length);
+            } else {
+                buffer.remake(this);
+                copy = buffer.data;
+            }
             final long[] self = this.data;
             for (int a = 0; a < ySections && a < bounds.ySections; a++) {
                 self[a] |= (copy[a] | (copy[a] << 1) | (copy[a] >>> 1)
@@ -5944,9 +5711,8 @@ public class Region implements Set<Coord> {
     public Region flood8way(Region bounds, int amount)
     {
         int ct = size(), ct2;
-        Region buffer = new Region(width, height);
         for (int i = 0; i < amount; i++) {
-            flood8way(bounds, buffer);
+            flood8way(bounds, null);
             if(ct == (ct2 = size()))
                 break;
             else
@@ -5963,17 +5729,17 @@ public class Region implements Set<Coord> {
      * takes it around.
      * <br>
      * This overload takes a {@code buffer} Region that should be the same size as this one. If it is, this won't
-     * allocate. After the call, the contents of {@code buffer} will be undefined.
+     * allocate. After the call, the contents of {@code buffer} will be undefined. If buffer is null, an internal
+     * buffer is reused instead; see {@link #releaseBuffers()}.
      *
      * @param bounds the set of "on" cells that limits where this can expand into
      * @param amount how far to expand this outward by, in cells
-     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this
+     * @param buffer another Region that will be erased and replaced with the contents of this Region before this call; should be the same size as this; may be null
      * @return this, after expanding, for chaining
      */
     public Region flood8way(Region bounds, int amount, Region buffer)
     {
         int ct = size(), ct2;
-        if(buffer == null) buffer = new Region(width, height);
         for (int i = 0; i < amount; i++) {
             flood8way(bounds, buffer);
             if(ct == (ct2 = size()))
@@ -6002,12 +5768,12 @@ public class Region implements Set<Coord> {
             int ct = size(), ct2;
             Region[] regions = new Region[amount];
             boolean done = false;
-            Region temp = new Region(this), buffer = new Region(width, height);
+            Region temp = new Region(this);
             for (int i = 0; i < amount; i++) {
                 if (done) {
                     regions[i] = new Region(temp);
                 } else {
-                    regions[i] = new Region(temp.flood8way(bounds, buffer));
+                    regions[i] = new Region(temp.flood8way(bounds, null));
                     if (ct == (ct2 = temp.size()))
                         done = true;
                     else
@@ -6030,9 +5796,9 @@ public class Region implements Set<Coord> {
     public ObjectList<Region> floodSeriesToLimit8way(Region bounds) {
         int ct = size(), ct2;
         ObjectList<Region> regions = new ObjectList<>();
-        Region temp = new Region(this), buffer = new Region(width, height);
+        Region temp = new Region(this);
         while (true) {
-            temp.flood8way(bounds, buffer);
+            temp.flood8way(bounds, null);
             if (ct == (ct2 = temp.size()))
                 return regions;
             else {
@@ -6570,20 +6336,15 @@ public class Region implements Set<Coord> {
      * the rooms from floors. The example code also gets the doors (which overlap with rooms, not corridors) by finding
      * where a room and a corridor are adjacent. This technique is used with some enhancements in the RoomFinder
      * class.
+     * <br>
+     * This finds every area at once using a {@link RegionLabeler}, which can also get the size and bounds of each area.
      * @return an ObjectList containing each unconnected area from packed as a Region element
      */
     public ObjectList<Region> split()
     {
-        ObjectList<Region> scattered = new ObjectList<>(32);
-        int fst = firstTight();
-        Region remaining = new Region(this), buffer = new Region(width, height);
-        while (fst >= 0) {
-            Region filled = new Region(width, height).insert(fst).flood(remaining, width * height, buffer);
-            scattered.add(filled);
-            remaining.andNot(filled);
-            fst = remaining.firstTight();
-        }
-        return scattered;
+        RegionLabeler labeler = new RegionLabeler();
+        labeler.label(this);
+        return labeler.components();
     }
     /**
      * If this Region stores multiple unconnected "on" areas, this finds each isolated area (areas that
@@ -6608,20 +6369,15 @@ public class Region implements Set<Coord> {
      * the rooms from floors. The example code also gets the doors (which overlap with rooms, not corridors) by finding
      * where a room and a corridor are adjacent. This technique is used with some enhancements in the RoomFinder
      * class.
+     * <br>
+     * This finds every area at once using a {@link RegionLabeler}, which can also get the size and bounds of each area.
      * @return an ObjectList containing each unconnected area from packed as a Region element
      */
     public ObjectList<Region> split8way()
     {
-        ObjectList<Region> scattered = new ObjectList<>(32);
-        int fst = firstTight();
-        Region remaining = new Region(this), buffer = new Region(width, height);
-        while (fst >= 0) {
-            Region filled = new Region(width, height).insert(fst).flood8way(remaining, width * height, buffer);
-            scattered.add(filled);
-            remaining.andNot(filled);
-            fst = remaining.firstTight();
-        }
-        return scattered;
+        RegionLabeler labeler = new RegionLabeler();
+        labeler.label8way(this);
+        return labeler.components();
     }
 
     /**
@@ -6631,24 +6387,15 @@ public class Region implements Set<Coord> {
      * This may return an empty Region if there are no "on" cells, but it will never return null.
      * Here, contiguous means adjacent on an orthogonal direction, and this doesn't consider diagonally-connected cells
      * as contiguous unless they also have an orthogonal connection.
+     * This finds every area at once using a {@link RegionLabeler}.
      * @return a new Region that corresponds to the largest contiguous sub-region of "on" cells in this.
      */
     public Region largestPart()
     {
-        int fst = firstTight(), bestSize = 0, currentSize;
-        Region remaining = new Region(this), filled = new Region(width, height),
-                choice = new Region(width, height), buffer = new Region(width, height);
-        while (fst >= 0) {
-            filled.empty().insert(fst).flood(remaining, width * height, buffer);
-            if((currentSize = filled.size()) > bestSize)
-            {
-                bestSize = currentSize;
-                choice.remake(filled);
-            }
-            remaining.andNot(filled);
-            fst = remaining.firstTight();
-        }
-        return choice;
+        RegionLabeler labeler = new RegionLabeler();
+        labeler.label(this);
+        int best = labeler.largest();
+        return best < 0 ? new Region(width, height) : labeler.component(best, new Region(width, height));
     }
 
     /**
@@ -6658,24 +6405,15 @@ public class Region implements Set<Coord> {
      * This may return an empty Region if there are no "on" cells, but it will never return null.
      * Here, contiguous means adjacent on any 8-way direction, and considers cells as part of a contiguous area even if
      * all connections but one, which can be orthogonal or diagonal, are blocked by "off" cells.
+     * This finds every area at once using a {@link RegionLabeler}.
      * @return a new Region that corresponds to the largest contiguous sub-region of "on" cells in this.
      */
     public Region largestPart8way()
     {
-        int fst = firstTight(), bestSize = 0, currentSize;
-        Region remaining = new Region(this), filled = new Region(width, height),
-                choice = new Region(width, height), buffer = new Region(width, height);
-        while (fst >= 0) {
-            filled.empty().insert(fst).flood8way(remaining, width * height, buffer);
-            if((currentSize = filled.size()) > bestSize)
-            {
-                bestSize = currentSize;
-                choice.remake(filled);
-            }
-            remaining.andNot(filled);
-            fst = remaining.firstTight();
-        }
-        return choice;
+        RegionLabeler labeler = new RegionLabeler();
+        labeler.label8way(this);
+        int best = labeler.largest();
+        return best < 0 ? new Region(width, height) : labeler.component(best, new Region(width, height));
     }
 
     /**
@@ -8503,6 +8241,166 @@ public class Region implements Set<Coord> {
         return this;
     }
 
+    /**
+     * Encodes this Region into a compact binary form, which {@link #decodeRunLength(byte[])} and
+     * {@link #decodeRunLengthInto(byte[])} can read. This is much faster to produce and read than
+     * {@link #toCompressedString()}, and is usually smaller for typical maps, though it doesn't use any general-purpose
+     * compression. The cells are read as one stream of bits, going through each column from y=0 to y=height-1, then
+     * going to the next x. The form starts with the width and height as variable-length ints, then one byte that is 0
+     * if run lengths follow, or 1 if the raw data follows. Run lengths are variable-length ints that alternate between
+     * a run of "off" cells and a run of "on" cells, starting with "off" (which may be a run of 0 cells), and ending
+     * after the last run of "on" cells. If the run lengths would take more space than the raw data, the raw data is
+     * written instead, as {@link #data} in little-endian order, 8 bytes per long.
+     * <br>
+     * Variable-length ints here use 7 bits per byte, with the lowest 7 bits first; the highest bit of each byte is
+     * set only if more bytes follow.
+     *
+     * @return a new byte array that can be read by {@link #decodeRunLength(byte[])}
+     */
+    public byte[] toRunLengthBytes() {
+        final int len = width * ySections, header = varIntSize(width) + varIntSize(height) + 1,
+                runSize = writeRuns(null, 0, len << 3);
+        final byte[] bytes = new byte[header + (runSize < 0 ? len << 3 : runSize)];
+        int p = writeVarInt(bytes, writeVarInt(bytes, 0, width), height);
+        if (runSize < 0) {
+            bytes[p++] = 1;
+            for (int i = 0; i < len; i++) {
+                long w = data[i];
+                if (((i + 1) % ySections) == 0) w &= yEndMask;
+                for (int b = 0; b < 8; b++, w >>>= 8) {
+                    bytes[p++] = (byte) w;
+                }
+            }
+        } else {
+            bytes[p++] = 0;
+            writeRuns(bytes, p, runSize);
+        }
+        return bytes;
+    }
+
+    /**
+     * Goes through the runs of "off" and "on" cells used by {@link #toRunLengthBytes()}, writing them to bytes
+     * starting at start if bytes is non-null, or only counting their size if bytes is null.
+     *
+     * @param bytes may be null to only count the size needed
+     * @param start the first index in bytes to write to
+     * @param limit if the runs would need more than this many bytes, this stops early and returns -1
+     * @return how many bytes the runs need, or -1 if that would be more than limit
+     */
+    private int writeRuns(final byte[] bytes, final int start, final int limit) {
+        int p = start, pos = 0, runStart = 0;
+        boolean on = false;
+        for (int x = 0, i = 0; x < width; x++) {
+            for (int s = 0; s < ySections; s++, i++) {
+                final int bits = s == ySections - 1 ? height - (s << 6) : 64;
+                final long w = data[i], valid = bits == 64 ? -1L : (1L << bits) - 1L;
+                // each time this finds a transition, the search for the next one starts after it
+                for (int from = 0; ; ) {
+                    final long t = (on ? ~w : w) & valid & -1L << from;
+                    if (t == 0L) break;
+                    from = Long.numberOfTrailingZeros(t);
+                    final int run = pos + from - runStart;
+                    if (bytes == null) p += varIntSize(run);
+                    else p = writeVarInt(bytes, p, run);
+                    if (p - start > limit) return -1;
+                    runStart = pos + from;
+                    on = !on;
+                }
+                pos += bits;
+            }
+        }
+        if (on) {
+            if (bytes == null) p += varIntSize(pos - runStart);
+            else p = writeVarInt(bytes, p, pos - runStart);
+            if (p - start > limit) return -1;
+        }
+        return p - start;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) size++;
+        return size;
+    }
+
+    private static int writeVarInt(final byte[] bytes, int p, int value) {
+        while ((value & 0xFFFFFF80) != 0) {
+            bytes[p++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[p++] = (byte) value;
+        return p;
+    }
+
+    /**
+     * Decodes a byte array produced by {@link #toRunLengthBytes()}, returning a new Region with the same width, height,
+     * and contents as the Region that was encoded.
+     * @param bytes a byte array produced by {@link #toRunLengthBytes()}, without changes
+     * @return a new copy of the Region that was previously encoded
+     */
+    public static Region decodeRunLength(byte[] bytes) {
+        return new Region(0, 0).decodeRunLengthInto(bytes);
+    }
+
+    /**
+     * Decodes a byte array produced by {@link #toRunLengthBytes()}, and assigns into this Region the width, height, and
+     * contents of the Region that was encoded. This only allocates if this Region's size has to change.
+     * @param bytes a byte array produced by {@link #toRunLengthBytes()}, without changes
+     * @return this, for chaining
+     */
+    public Region decodeRunLengthInto(byte[] bytes) {
+        int p = 0, value, shift, b;
+        // reads width and height as variable-length ints
+        for (value = 0, shift = 0; ((b = bytes[p++]) & 0x80) != 0; shift += 7) {
+            value |= (b & 0x7F) << shift;
+        }
+        final int w = value | b << shift;
+        for (value = 0, shift = 0; ((b = bytes[p++]) & 0x80) != 0; shift += 7) {
+            value |= (b & 0x7F) << shift;
+        }
+        resizeAndEmpty(w, value | b << shift);
+        if (bytes[p++] != 0) {
+            for (int i = 0, len = width * ySections; i < len; i++) {
+                long word = 0L;
+                for (int k = 0; k < 64; k += 8) {
+                    word |= (bytes[p++] & 0xFFL) << k;
+                }
+                data[i] = word;
+            }
+        } else {
+            boolean on = false;
+            for (int pos = 0; p < bytes.length; on = !on) {
+                for (value = 0, shift = 0; ((b = bytes[p++]) & 0x80) != 0; shift += 7) {
+                    value |= (b & 0x7F) << shift;
+                }
+                value |= b << shift;
+                if (on) fillRun(pos, value);
+                pos += value;
+            }
+        }
+        tallied = false;
+        return this;
+    }
+
+    /**
+     * Turns on count cells, starting at the given position in the stream of cells used by {@link #toRunLengthBytes()}.
+     */
+    private void fillRun(int pos, int count) {
+        int x = pos / height, y = pos - x * height;
+        while (count > 0) {
+            final int end = Math.min(height, y + count);
+            count -= end - y;
+            // sets y (inclusive) to end (exclusive) in column x, a word at a time
+            for (int i = x * ySections + (y >> 6), last = x * ySections + (end - 1 >> 6); i <= last; i++) {
+                final long low = i == x * ySections + (y >> 6) ? -1L << y : -1L,
+                        high = i == last ? -1L >>> 63 - (end - 1 & 63) : -1L;
+                data[i] |= low & high;
+            }
+            x++;
+            y = 0;
+        }
+    }
+
     @Override
     public boolean contains(Object o) {
         if(o instanceof Coord)
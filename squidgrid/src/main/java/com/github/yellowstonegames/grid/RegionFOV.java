@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import java.util.Arrays;
+
+/**
+ * Calculates yes-or-no Field of View and line of sight using Shadow FOV, working on the bits of {@link Region}s
+ * instead of on float[][] light maps. Given the same map, the cells this considers visible are exactly the cells that
+ * {@link FOV#reuseFOV(float[][], float[][], int, int, float, Radius)} would light with a value greater than 0 (for
+ * {@link Radius#SQUARE}, {@link Radius#DIAMOND}, or {@link Radius#CIRCLE}), and exactly the cells that
+ * {@link FOV#reuseLOS(Region, Region, int, int, int, int, int, int)} would put in its result.
+ * <br>
+ * The blocking map is copied once, in {@link #setBlocking(Region)}, along with a transposed copy, so every octant can
+ * look for the edges of walls with bit scans along 64-cell words rather than checking one cell at a time. Lit spans are
+ * also filled a word at a time, and the radius shape is applied at the end as one contiguous span per column. This is
+ * meant for running many FOV calculations on one map, such as for every monster on a level each turn; call
+ * {@link #setBlocking(Region)} again only when the map changes. A RegionFOV reuses its internal buffers, so it
+ * doesn't allocate after the first calculation on a map of a given size, but this also means one RegionFOV should not
+ * be used by multiple threads at once; give each thread its own RegionFOV if needed.
+ */
+public class RegionFOV {
+    private int width, height, ySections, xSections;
+    private long[] blocking = new long[0], blockingT = new long[0];
+    private long[] lit = new long[0], litT = new long[0];
+    private final long[] tile = new long[64];
+
+    private float cachedRadius = Float.NaN;
+    private Radius cachedTechnique;
+    private int[] spans = new int[0];
+
+    // state for the octant currently being cast
+    private long[] octantBlocking, octantLit;
+    private int sections, rowStart, rowStep, rowMin, rowMax, alongStart, alongSign, alongMin, alongMax, span;
+    private float radius;
+
+    /**
+     * Creates a RegionFOV with an empty 0x0 map; you must call {@link #setBlocking(Region)} before using it.
+     */
+    public RegionFOV() {
+    }
+
+    /**
+     * Creates a RegionFOV that uses a copy of the given blocking map.
+     * @param blockingMap the grid of which cells block light ("on" cells are blocking)
+     */
+    public RegionFOV(Region blockingMap) {
+        setBlocking(blockingMap);
+    }
+
+    /**
+     * Copies the given blocking map into this, replacing any previous map. This should be called again whenever a
+     * cell in the map changes whether it blocks light, such as when a door opens.
+     * @param blockingMap the grid of which cells block light ("on" cells are blocking)
+     * @return this, for chaining
+     */
+    public RegionFOV setBlocking(Region blockingMap) {
+        final int w = blockingMap.width, h = blockingMap.height;
+        if (w != width || h != height) {
+            width = w;
+            height = h;
+            ySections = (h + 63) >>> 6;
+            xSections = (w + 63) >>> 6;
+            blocking = new long[w * ySections];
+            blockingT = new long[h * xSections];
+            lit = new long[w * ySections];
+            litT = new long[h * xSections];
+            cachedTechnique = null;
+        } else {
+            Arrays.fill(blockingT, 0L);
+        }
+        System.arraycopy(blockingMap.data, 0, blocking, 0, blocking.length);
+        transpose(blocking, width, ySections, blockingT, height, xSections, 0, xSections, 0, ySections);
+        return this;
+    }
+
+    /**
+     * @return the width of the current blocking map
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the current blocking map
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Calculates which cells have line of sight from the given x, y coordinates, with no limit on distance. This is
+     * equivalent to {@link FOV#reuseLOS(Region, Region, int, int)}. The {@code light} Region is resized to match the
+     * blocking map if needed, and its contents are replaced.
+     * @param light the Region to assign to; its contents will be replaced
+     * @param startX the horizontal component of the starting location
+     * @param startY the vertical component of the starting location
+     * @return {@code light}, after assigning it the cells in line of sight
+     */
+    public Region los(Region light, int startX, int startY) {
+        return los(light, startX, startY, 0, 0, width, height);
+    }
+
+    /**
+     * Calculates which cells have line of sight from the given x, y coordinates, only considering cells within the
+     * given bounds. This is equivalent to {@link FOV#reuseLOS(Region, Region, int, int, int, int, int, int)}. The
+     * {@code light} Region is resized to match the blocking map if needed, and its contents are replaced.
+     * @param light the Region to assign to; its contents will be replaced
+     * @param startX the horizontal component of the starting location
+     * @param startY the vertical component of the starting location
+     * @param minX inclusive lowest x position to assign to or process in {@code light}
+     * @param minY inclusive lowest y position to assign to or process in {@code light}
+     * @param maxX exclusive highest x position to assign to or process in {@code light}
+     * @param maxY exclusive highest y position to assign to or process in {@code light}
+     * @return {@code light}, after assigning it the cells in line of sight
+     */
+    public Region los(Region light, int startX, int startY, int minX, int minY, int maxX, int maxY) {
+        Arrays.fill(lit, 0L);
+        Arrays.fill(litT, 0L);
+        minX = Math.max(minX, 0);
+        minY = Math.max(minY, 0);
+        maxX = Math.min(maxX, width);
+        maxY = Math.min(maxY, height);
+        cast(startX, startY, (maxX - minX) + (maxY - minY), minX, minY, maxX, maxY);
+        if (minX < maxX && minY < maxY)
+            transpose(litT, height, xSections, lit, width, ySections,
+                    minY >>> 6, (maxY + 63) >>> 6, minX >>> 6, (maxX + 63) >>> 6);
+        return light.refill(lit, width, height, width, height);
+    }
+
+    /**
+     * Calculates which cells are visible from the given x, y coordinates, within the given radius. The cells this
+     * considers visible are the same as the cells that
+     * {@link FOV#reuseFOV(float[][], float[][], int, int, float, Radius)} would assign a value greater than 0, when
+     * given a resistance map with 1f where the blocking map is "on" and 0f elsewhere. The {@code light} Region is
+     * resized to match the blocking map if needed, and its contents are replaced.
+     * @param light the Region to assign to; its contents will be replaced
+     * @param startX the horizontal component of the starting location
+     * @param startY the vertical component of the starting location
+     * @param radius the distance the light will extend to
+     * @param radiusTechnique a Radius enum constant, such as {@link Radius#CIRCLE}, that provides the shape of the FOV
+     * @return {@code light}, after assigning it the visible cells
+     */
+    public Region fov(Region light, int startX, int startY, float radius, Radius radiusTechnique) {
+        Arrays.fill(lit, 0L);
+        Arrays.fill(litT, 0L);
+        if (radius > 0f && width > 0 && height > 0) {
+            cast(startX, startY, radius, 0, 0, width, height);
+            final int reach = (int) Math.min(radius, width + height);
+            final int minX = Math.max(startX - reach, 0), maxX = Math.min(startX + reach + 1, width),
+                    minY = Math.max(startY - reach, 0), maxY = Math.min(startY + reach + 1, height);
+            if (minX < maxX && minY < maxY) {
+                transpose(litT, height, xSections, lit, width, ySections,
+                        minY >>> 6, (maxY + 63) >>> 6, minX >>> 6, (maxX + 63) >>> 6);
+                computeSpans(radius, radiusTechnique);
+                for (int x = minX; x < maxX; x++) {
+                    final int dx = Math.abs(x - startX);
+                    final int h = dx < spans.length ? spans[dx] : -1;
+                    keepRange(lit, x * ySections, ySections, startY - h, startY + h);
+                }
+            }
+        }
+        return light.refill(lit, width, height, width, height);
+    }
+
+    private void computeSpans(float radius, Radius technique) {
+        if (radius == cachedRadius && technique == cachedTechnique)
+            return;
+        cachedRadius = radius;
+        cachedTechnique = technique;
+        final float decay = 1f / radius;
+        final int n = (int) Math.min(radius, Math.max(width, height));
+        if (spans.length != n + 1)
+            spans = new int[n + 1];
+        for (int dx = 0, h = n; dx <= n; dx++) {
+            while (h >= 0) {
+                float r = technique.radius(dx, h);
+                if (r <= radius && 1f - decay * r > 0f)
+                    break;
+                h--;
+            }
+            spans[dx] = h;
+        }
+    }
+
+    private void cast(int startX, int startY, float radius, int minX, int minY, int maxX, int maxY) {
+        if (startX >= 0 && startY >= 0 && startX < width && startY < height)
+            lit[startX * ySections + (startY >>> 6)] |= 1L << startY;
+        this.radius = radius;
+        span = (maxX - minX) + (maxY - minY);
+        octant(0, 1, 1, 0, startX, startY, minX, minY, maxX, maxY);
+        octant(1, 0, 0, 1, startX, startY, minX, minY, maxX, maxY);
+        octant(0, 1, -1, 0, startX, startY, minX, minY, maxX, maxY);
+        octant(1, 0, 0, -1, startX, startY, minX, minY, maxX, maxY);
+        octant(0, -1, -1, 0, startX, startY, minX, minY, maxX, maxY);
+        octant(-1, 0, 0, -1, startX, startY, minX, minY, maxX, maxY);
+        octant(0, -1, 1, 0, startX, startY, minX, minY, maxX, maxY);
+        octant(-1, 0, 0, 1, startX, startY, minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Sets up the state for one octant, using the same transformation arguments as FOV's shadowCast methods. When
+     * {@code xx} is 0, each row of the octant is part of one column of the map, so the normal bit layout is used;
+     * otherwise each row is part of one row of the map, and the transposed layout is used.
+     */
+    private void octant(int xx, int xy, int yx, int yy, int startX, int startY, int minX, int minY, int maxX, int maxY) {
+        if (xx == 0) {
+            octantBlocking = blocking;
+            octantLit = lit;
+            sections = ySections;
+            rowStart = startX;
+            rowStep = -xy;
+            rowMin = minX;
+            rowMax = maxX;
+            alongStart = startY;
+            alongSign = yx;
+            alongMin = minY;
+            alongMax = maxY;
+        } else {
+            octantBlocking = blockingT;
+            octantLit = litT;
+            sections = xSections;
+            rowStart = startY;
+            rowStep = -yy;
+            rowMin = minY;
+            rowMax = maxY;
+            alongStart = startX;
+            alongSign = xx;
+            alongMin = minX;
+            alongMax = maxX;
+        }
+        scan(1, 1f, 0f);
+    }
+
+    /**
+     * The same recursive Shadow FOV as FOV's shadowCastBinary(), but each row is handled as a span of bits. The span
+     * of cells a row would visit is found from the start and end slopes, then lit all at once, and only the edges of
+     * blocking runs in that span are visited, since those are the only cells where the scan's state changes.
+     */
+    private void scan(int row, float start, float end) {
+        if (start < end)
+            return;
+        for (int distance = row; distance <= radius && distance < span; distance++) {
+            final int line = rowStart + distance * rowStep;
+            if (line < rowMin || line >= rowMax) {
+                if ((rowStep > 0) == (line >= rowMax))
+                    return;
+                continue;
+            }
+            final int deltaY = -distance;
+            // first deltaX that isn't skipped because start < rightSlope
+            int lo = (int) Math.ceil(-start * (distance + 0.5f) - 0.5f);
+            if (lo < deltaY) lo = deltaY;
+            else if (lo > 1) lo = 1;
+            while (lo > deltaY && !(start < rightSlope(lo - 1, deltaY))) lo--;
+            while (lo <= 0 && start < rightSlope(lo, deltaY)) lo++;
+            // last deltaX before end > leftSlope would break
+            int hi = (int) Math.floor(end * (0.5f - distance) + 0.5f);
+            if (hi > 0) hi = 0;
+            else if (hi < deltaY - 1) hi = deltaY - 1;
+            while (hi < 0 && !(end > leftSlope(hi + 1, deltaY))) hi++;
+            while (hi >= deltaY && end > leftSlope(hi, deltaY)) hi--;
+            // cells outside the bounds are skipped without changing any state
+            if (alongSign > 0) {
+                lo = Math.max(lo, alongMin - alongStart);
+                hi = Math.min(hi, alongMax - 1 - alongStart);
+            } else {
+                lo = Math.max(lo, alongStart - alongMax + 1);
+                hi = Math.min(hi, alongStart - alongMin);
+            }
+            if (lo > hi)
+                continue;
+            final int base = line * sections;
+            final int pLo = alongStart + lo * alongSign, pHi = alongStart + hi * alongSign;
+            fillRange(octantLit, base, Math.min(pLo, pHi), Math.max(pLo, pHi));
+            if (!(distance < radius))
+                continue;
+            int deltaX = lo;
+            while (true) {
+                final int wall = find(true, base, deltaX, hi);
+                if (wall > hi)
+                    break;
+                scan(distance + 1, start, leftSlope(wall, deltaY));
+                final int open = find(false, base, wall, hi);
+                if (open > hi)
+                    return;
+                start = rightSlope(open - 1, deltaY);
+                deltaX = open;
+            }
+        }
+    }
+
+    private static float leftSlope(int deltaX, int deltaY) {
+        return (deltaX - 0.5f) / (deltaY + 0.5f);
+    }
+
+    private static float rightSlope(int deltaX, int deltaY) {
+        return (deltaX + 0.5f) / (deltaY - 0.5f);
+    }
+
+    /**
+     * Finds the first deltaX from {@code from} to {@code to}, inclusive and in increasing order, where the current
+     * octant's blocking map has the given state.
+     * @return the deltaX found, or {@code to + 1} if there was none
+     */
+    private int find(boolean on, int base, int from, int to) {
+        if (alongSign > 0) {
+            final int p = firstBit(octantBlocking, base, alongStart + from, alongStart + to, on);
+            return p < 0 ? to + 1 : p - alongStart;
+        } else {
+            final int p = lastBit(octantBlocking, base, alongStart - from, alongStart - to, on);
+            return p < 0 ? to + 1 : alongStart - p;
+        }
+    }
+
+    /**
+     * Gets the lowest position from {@code from} to {@code to}, inclusive, with a bit equal to {@code on}.
+     * @return the position found, or -1 if there was none
+     */
+    private static int firstBit(long[] bits, int base, int from, int to, boolean on) {
+        final long flip = on ? 0L : -1L;
+        final int last = to >>> 6;
+        int i = from >>> 6;
+        long w = (bits[base + i] ^ flip) & -1L << from;
+        while (true) {
+            if (i == last) {
+                w &= -1L >>> ~to;
+                return w == 0L ? -1 : i << 6 | Long.numberOfTrailingZeros(w);
+            }
+            if (w != 0L)
+                return i << 6 | Long.numberOfTrailingZeros(w);
+            w = bits[base + ++i] ^ flip;
+        }
+    }
+
+    /**
+     * Gets the highest position from {@code from} down to {@code to}, inclusive, with a bit equal to {@code on}.
+     * @return the position found, or -1 if there was none
+     */
+    private static int lastBit(long[] bits, int base, int from, int to, boolean on) {
+        final long flip = on ? 0L : -1L;
+        final int last = to >>> 6;
+        int i = from >>> 6;
+        long w = (bits[base + i] ^ flip) & -1L >>> ~from;
+        while (true) {
+            if (i == last) {
+                w &= -1L << to;
+                return w == 0L ? -1 : i << 6 | 63 - Long.numberOfLeadingZeros(w);
+            }
+            if (w != 0L)
+                return i << 6 | 63 - Long.numberOfLeadingZeros(w);
+            w = bits[base + --i] ^ flip;
+        }
+    }
+
+    private static void fillRange(long[] bits, int base, int lo, int hi) {
+        int i = lo >>> 6;
+        final int last = hi >>> 6;
+        if (i == last) {
+            bits[base + i] |= -1L << lo & -1L >>> ~hi;
+        } else {
+            bits[base + i] |= -1L << lo;
+            while (++i < last)
+                bits[base + i] = -1L;
+            bits[base + last] |= -1L >>> ~hi;
+        }
+    }
+
+    /**
+     * Turns off every bit in one line of {@code sections} longs that is not between lo and hi, inclusive. If lo is
+     * greater than hi, this turns off the whole line.
+     */
+    private static void keepRange(long[] bits, int base, int sections, int lo, int hi) {
+        if (lo < 0) lo = 0;
+        if (hi >= sections << 6) hi = (sections << 6) - 1;
+        if (lo > hi) {
+            Arrays.fill(bits, base, base + sections, 0L);
+            return;
+        }
+        final int loSection = lo >>> 6, hiSection = hi >>> 6;
+        for (int i = 0; i < sections; i++) {
+            if (i < loSection || i > hiSection)
+                bits[base + i] = 0L;
+            else {
+                if (i == loSection) bits[base + i] &= -1L << lo;
+                if (i == hiSection) bits[base + i] &= -1L >>> ~hi;
+            }
+        }
+    }
+
+    /**
+     * Transposes the 64x64 tiles of {@code src} (laid out as {@code srcLines} lines of {@code srcSections} longs)
+     * that are in the given range, and ORs the results into {@code dst}. The tile range is given in units of 64 source
+     * lines for the first pair and in units of source sections for the second pair, both with exclusive upper bounds.
+     */
+    private void transpose(long[] src, int srcLines, int srcSections, long[] dst, int dstLines, int dstSections,
+                           int lineTileMin, int lineTileMax, int sectionMin, int sectionMax) {
+        final long[] tile = this.tile;
+        for (int s = lineTileMin; s < lineTileMax; s++) {
+            for (int t = sectionMin; t < sectionMax; t++) {
+                long any = 0L;
+                for (int i = 0, line = s << 6; i < 64; i++, line++) {
+                    any |= tile[i] = line < srcLines ? src[line * srcSections + t] : 0L;
+                }
+                if (any == 0L)
+                    continue;
+                transpose64(tile);
+                for (int j = 0, line = t << 6; j < 64 && line < dstLines; j++, line++) {
+                    dst[line * dstSections + s] |= tile[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Transposes a 64x64 bit matrix in-place, where bit {@code j} of {@code a[i]} moves to bit {@code i} of
+     * {@code a[j]}. This uses the recursive block-swapping approach from Hacker's Delight.
+     */
+    private static void transpose64(long[] a) {
+        long m = 0x00000000FFFFFFFFL;
+        for (int j = 32; j != 0; j >>>= 1, m ^= m << j) {
+            for (int k = 0; k < 64; k = (k | j) + 1 & ~j) {
+                final long t = (a[k] >>> j ^ a[k | j]) & m;
+                a[k] ^= t << j;
+                a[k | j] ^= t;
+            }
+        }
+    }
+}
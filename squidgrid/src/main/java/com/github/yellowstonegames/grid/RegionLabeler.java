@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.ds.ObjectList;
+
+import java.util.Arrays;
+
+/**
+ * Finds the connected components of the "on" cells in a {@link Region}, all at once. This reads each column of a
+ * Region's data as runs of consecutive "on" cells, using bit scans on whole 64-cell words, then joins runs in
+ * neighboring columns that touch, using a union-find structure. The time this takes depends on the number of runs,
+ * rather than on the number of components times the area of the map, so it stays fast on cave maps with hundreds of
+ * small pockets. After calling {@link #label(Region)} or {@link #label8way(Region)}, you can get the size and bounding
+ * box of any component, get each component as a Region, or get a 2D array of component labels.
+ * <br>
+ * Components are numbered starting at 0, in the order of their first cell by the same ordering {@link Region#nth(int)}
+ * uses, which is also the order {@link Region#split()} returns them in. {@link Region#split()},
+ * {@link Region#split8way()}, {@link Region#largestPart()}, and {@link Region#largestPart8way()} all use this class.
+ * A RegionLabeler reuses its internal buffers, so one RegionLabeler should not be used by multiple threads at once.
+ */
+public class RegionLabeler {
+    private int width, height, runCount, componentCount;
+    /**
+     * For each run, its x-position, its first y-position, and its y-position after its last cell.
+     */
+    private int[] runX = new int[64], runStart = new int[64], runEnd = new int[64];
+    /**
+     * Used for union-find until labeling is done, and then holds the component of each run.
+     */
+    private int[] parent = new int[64];
+    /**
+     * The index of the first run in each column, plus one more item for the end of the last column.
+     */
+    private int[] columnStart = new int[1];
+    private int[] sizes = new int[16], minX = new int[16], minY = new int[16], maxX = new int[16], maxY = new int[16];
+
+    /**
+     * Creates a RegionLabeler with nothing labeled yet.
+     */
+    public RegionLabeler() {
+    }
+
+    /**
+     * Finds the components of region, where cells are connected only if they are orthogonally adjacent.
+     * This doesn't modify region.
+     * @param region the Region to find components in
+     * @return the number of components found
+     */
+    public int label(Region region) {
+        return label(region, false);
+    }
+
+    /**
+     * Finds the components of region, where cells are connected if they are orthogonally or diagonally adjacent.
+     * This doesn't modify region.
+     * @param region the Region to find components in
+     * @return the number of components found
+     */
+    public int label8way(Region region) {
+        return label(region, true);
+    }
+
+    private int label(Region region, boolean eightWay) {
+        findRuns(region);
+        final int reach = eightWay ? 1 : 0;
+        for (int x = 1; x < width; x++) {
+            int i = columnStart[x - 1], j = columnStart[x];
+            final int iEnd = columnStart[x], jEnd = columnStart[x + 1];
+            // runs in each column are sorted, so the runs that touch can be found by advancing whichever ends first
+            while (i < iEnd && j < jEnd) {
+                if (runStart[i] < runEnd[j] + reach && runStart[j] < runEnd[i] + reach)
+                    union(i, j);
+                if (runEnd[i] < runEnd[j]) i++;
+                else j++;
+            }
+        }
+        for (int r = 0; r < runCount; r++) {
+            parent[r] = find(r);
+        }
+        componentCount = 0;
+        for (int r = 0; r < runCount; r++) {
+            final int root = parent[r], c;
+            if (root == r) {
+                c = componentCount++;
+                if (c == sizes.length) {
+                    final int n = c << 1;
+                    sizes = Arrays.copyOf(sizes, n);
+                    minX = Arrays.copyOf(minX, n);
+                    minY = Arrays.copyOf(minY, n);
+                    maxX = Arrays.copyOf(maxX, n);
+                    maxY = Arrays.copyOf(maxY, n);
+                }
+                sizes[c] = 0;
+                minX[c] = runX[r];
+                minY[c] = runStart[r];
+                maxY[c] = 0;
+            } else {
+                // the root is always the lowest-index run in its component, so it already has its component here
+                c = parent[root];
+            }
+            parent[r] = c;
+            sizes[c] += runEnd[r] - runStart[r];
+            maxX[c] = runX[r];
+            minY[c] = Math.min(minY[c], runStart[r]);
+            maxY[c] = Math.max(maxY[c], runEnd[r] - 1);
+        }
+        return componentCount;
+    }
+
+    private void findRuns(Region region) {
+        final int w = region.width, h = region.height, ySections = (h + 63) >> 6;
+        final long yEndMask = -1L >>> (64 - (h & 63));
+        final long[] data = region.data;
+        width = Math.max(w, 0);
+        height = Math.max(h, 0);
+        runCount = 0;
+        if (columnStart.length <= width)
+            columnStart = new int[width + 1];
+        for (int x = 0; x < width; x++) {
+            final int first = runCount;
+            columnStart[x] = first;
+            for (int s = 0, i = x * ySections; s < ySections; s++, i++) {
+                long bits = s == ySections - 1 ? data[i] & yEndMask : data[i];
+                final int offset = s << 6;
+                while (bits != 0L) {
+                    final int start = offset + Long.numberOfTrailingZeros(bits),
+                            end = offset + Long.numberOfTrailingZeros(~(bits | bits - 1L));
+                    // removes the lowest run of "on" bits
+                    bits &= bits + (bits & -bits);
+                    if (runCount > first && runEnd[runCount - 1] == start) {
+                        // continues a run from the previous word
+                        runEnd[runCount - 1] = end;
+                    } else {
+                        if (runCount == runX.length) {
+                            final int n = runCount << 1;
+                            runX = Arrays.copyOf(runX, n);
+                            runStart = Arrays.copyOf(runStart, n);
+                            runEnd = Arrays.copyOf(runEnd, n);
+                            parent = new int[n];
+                        }
+                        runX[runCount] = x;
+                        runStart[runCount] = start;
+                        runEnd[runCount] = end;
+                        runCount++;
+                    }
+                }
+            }
+        }
+        columnStart[width] = runCount;
+        for (int r = 0; r < runCount; r++) {
+            parent[r] = r;
+        }
+    }
+
+    private int find(int r) {
+        while (parent[r] != r) {
+            r = parent[r] = parent[parent[r]];
+        }
+        return r;
+    }
+
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a < b) parent[b] = a;
+        else if (b < a) parent[a] = b;
+    }
+
+    /**
+     * Gets the number of components found by the last call to {@link #label(Region)} or {@link #label8way(Region)}.
+     * @return the number of components found by the last labeling
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Gets the number of cells in the given component.
+     * @param component a component number, from 0 (inclusive) to {@link #getComponentCount()} (exclusive)
+     * @return the number of cells in the given component
+     */
+    public int getSize(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * Gets the lowest x-position of any cell in the given component.
+     * @param component a component number, from 0 (inclusive) to {@link #getComponentCount()} (exclusive)
+     * @return the lowest x-position in the component, inclusive
+     */
+    public int getMinX(int component) {
+        return minX[component];
+    }
+
+    /**
+     * Gets the lowest y-position of any cell in the given component.
+     * @param component a component number, from 0 (inclusive) to {@link #getComponentCount()} (exclusive)
+     * @return the lowest y-position in the component, inclusive
+     */
+    public int getMinY(int component) {
+        return minY[component];
+    }
+
+    /**
+     * Gets the highest x-position of any cell in the given component.
+     * @param component a component number, from 0 (inclusive) to {@link #getComponentCount()} (exclusive)
+     * @return the highest x-position in the component, inclusive
+     */
+    public int getMaxX(int component) {
+        return maxX[component];
+    }
+
+    /**
+     * Gets the highest y-position of any cell in the given component.
+     * @param component a component number, from 0 (inclusive) to {@link #getComponentCount()} (exclusive)
+     * @return the highest y-position in the component, inclusive
+     */
+    public int getMaxY(int component) {
+        return maxY[component];
+    }
+
+    /**
+     * Gets the component with the most cells; if more than one component is tied for the most, this returns the
+     * lowest-numbered one.
+     * @return the component with the most cells, or -1 if no components were found
+     */
+    public int largest() {
+        int best = -1, bestSize = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (sizes[c] > bestSize) {
+                bestSize = sizes[c];
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sets {@code into} to contain exactly the cells of the given component, resizing it to match the labeled Region
+     * if needed.
+     * @param component a component number, from 0 (inclusive) to {@link #getComponentCount()} (exclusive)
+     * @param into a Region that will be modified
+     * @return into, after modifications
+     */
+    public Region component(int component, Region into) {
+        into.resizeAndEmpty(width, height);
+        for (int r = 0; r < runCount; r++) {
+            if (parent[r] == component)
+                into.insertRectangle(runX[r], runStart[r], 1, runEnd[r] - runStart[r]);
+        }
+        return into;
+    }
+
+    /**
+     * Gets every component as a new Region, in order, in a newly-allocated ObjectList.
+     * @return an ObjectList with one Region per component
+     */
+    public ObjectList<Region> components() {
+        ObjectList<Region> list = new ObjectList<>(componentCount);
+        for (int c = 0; c < componentCount; c++) {
+            list.add(new Region(width, height));
+        }
+        for (int r = 0; r < runCount; r++) {
+            list.get(parent[r]).insertRectangle(runX[r], runStart[r], 1, runEnd[r] - runStart[r]);
+        }
+        return list;
+    }
+
+    /**
+     * Fills {@code labels} with the component of each cell, or -1 for cells that aren't in any component.
+     * @param labels a 2D int array at least as large as the labeled Region; will be modified
+     * @return labels, after modifications
+     */
+    public int[][] fillLabels(int[][] labels) {
+        for (int x = 0; x < width; x++) {
+            Arrays.fill(labels[x], 0, height, -1);
+            for (int r = columnStart[x]; r < columnStart[x + 1]; r++) {
+                Arrays.fill(labels[x], runStart[r], runEnd[r], parent[r]);
+            }
+        }
+        return labels;
+    }
+}
@@ -15,8 +15,11 @@
  */
 package com.github.yellowstonegames.grid;
 
+import com.github.tommyettinger.digital.TrigTools;
 import com.github.yellowstonegames.core.DigitTools;
 
+import java.util.Arrays;
+
 import static com.github.tommyettinger.digital.MathTools.fastFloor;
 import static com.github.yellowstonegames.grid.LongPointHash.hash256;
 import static com.github.yellowstonegames.grid.LongPointHash.hash32;
@@ -89,6 +92,198 @@ public class SimplexNoise implements INoise {
         return noise(x, y, z, w, u, v, seed);
     }
 
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fill2D(float[], int, int, float, float, float)}, but
+     * keeps the hashes of the current simplex cell's corners between samples, only hashing a corner again when a
+     * sample enters a different cell and that corner contributes to it.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        final float[] GRADIENTS_2D = GradientVectors.GRADIENTS_2D;
+        final long seed = this.seed;
+        int lastI = 0, lastJ = 0, h00 = -1, h10 = -1, h01 = -1, h11 = -1;
+        boolean cached = false;
+        for (int py = 0, idx = 0; py < height; py++) {
+            final float y = startY + py * step;
+            for (int px = 0; px < width; px++, idx++) {
+                final float x = startX + px * step;
+                float t = (x + y) * F2;
+                final int i = fastFloor(x + t);
+                final int j = fastFloor(y + t);
+                if (!cached || i != lastI || j != lastJ) {
+                    cached = true;
+                    lastI = i;
+                    lastJ = j;
+                    h00 = h10 = h01 = h11 = -1;
+                }
+
+                t = (i + j) * G2;
+                final float x0 = x - (i - t);
+                final float y0 = y - (j - t);
+
+                final boolean xMajor = x0 > y0;
+                final float x1 = x0 - (xMajor ? 1 : 0) + G2;
+                final float y1 = y0 - (xMajor ? 0 : 1) + G2;
+                final float x2 = x0 - 1 + H2;
+                final float y2 = y0 - 1 + H2;
+
+                float n = 0;
+
+                t = 0.5f - x0 * x0 - y0 * y0;
+                if (t > 0) {
+                    t *= t;
+                    if (h00 < 0) h00 = hash256(i, j, seed) << 1;
+                    n += t * t * (x0 * GRADIENTS_2D[h00] + y0 * GRADIENTS_2D[h00 + 1]);
+                }
+
+                t = 0.5f - x1 * x1 - y1 * y1;
+                if (t > 0) {
+                    t *= t;
+                    final int h;
+                    if (xMajor) {
+                        if (h10 < 0) h10 = hash256(i + 1, j, seed) << 1;
+                        h = h10;
+                    } else {
+                        if (h01 < 0) h01 = hash256(i, j + 1, seed) << 1;
+                        h = h01;
+                    }
+                    n += t * t * (x1 * GRADIENTS_2D[h] + y1 * GRADIENTS_2D[h + 1]);
+                }
+
+                t = 0.5f - x2 * x2 - y2 * y2;
+                if (t > 0) {
+                    t *= t;
+                    if (h11 < 0) h11 = hash256(i + 1, j + 1, seed) << 1;
+                    n += t * t * (x2 * GRADIENTS_2D[h11] + y2 * GRADIENTS_2D[h11 + 1]);
+                }
+
+                out[idx] = n * 99.20689070704672f;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fillSphere(float[], int, int, float)}, but keeps the
+     * hashes of the current simplex cell's corners between samples, only hashing a corner again when a sample enters a
+     * different cell and that corner contributes to it.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fillSphere(float[] out, int width, int height, float radius) {
+        final float[] GRADIENTS_3D = GradientVectors.GRADIENTS_3D;
+        final long seed = this.seed;
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float lon = (px + 0.5f) / width;
+            cosLon[px] = TrigTools.cosTurns(lon);
+            sinLon[px] = TrigTools.sinTurns(lon);
+        }
+        // indexed by (di << 2 | dj << 1 | dk) for the corner at (i + di, j + dj, k + dk); -1 if not yet hashed
+        final int[] corners = new int[8];
+        int lastI = 0, lastJ = 0, lastK = 0;
+        boolean cached = false;
+        for (int py = 0, idx = 0; py < height; py++) {
+            final float lat = (py + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius, z = TrigTools.sinTurns(lat) * radius;
+            for (int px = 0; px < width; px++, idx++) {
+                final float x = cosLon[px] * ring, y = sinLon[px] * ring;
+                float t = (x + y + z) * F3;
+                final int i = fastFloor(x + t);
+                final int j = fastFloor(y + t);
+                final int k = fastFloor(z + t);
+                if (!cached || i != lastI || j != lastJ || k != lastK) {
+                    cached = true;
+                    lastI = i;
+                    lastJ = j;
+                    lastK = k;
+                    Arrays.fill(corners, -1);
+                }
+
+                t = (i + j + k) * G3;
+                final float x0 = x - (i - t);
+                final float y0 = y - (j - t);
+                final float z0 = z - (k - t);
+
+                int i1, j1, k1;
+                int i2, j2, k2;
+
+                if (x0 >= y0) {
+                    if (y0 >= z0) {
+                        i1 = 1; j1 = 0; k1 = 0; i2 = 1; j2 = 1; k2 = 0;
+                    } else if (x0 >= z0) {
+                        i1 = 1; j1 = 0; k1 = 0; i2 = 1; j2 = 0; k2 = 1;
+                    } else {
+                        i1 = 0; j1 = 0; k1 = 1; i2 = 1; j2 = 0; k2 = 1;
+                    }
+                } else {
+                    if (y0 < z0) {
+                        i1 = 0; j1 = 0; k1 = 1; i2 = 0; j2 = 1; k2 = 1;
+                    } else if (x0 < z0) {
+                        i1 = 0; j1 = 1; k1 = 0; i2 = 0; j2 = 1; k2 = 1;
+                    } else {
+                        i1 = 0; j1 = 1; k1 = 0; i2 = 1; j2 = 1; k2 = 0;
+                    }
+                }
+
+                final float x1 = x0 - i1 + G3;
+                final float y1 = y0 - j1 + G3;
+                final float z1 = z0 - k1 + G3;
+                final float x2 = x0 - i2 + F3;
+                final float y2 = y0 - j2 + F3;
+                final float z2 = z0 - k2 + F3;
+                final float x3 = x0 - 0.5f;
+                final float y3 = y0 - 0.5f;
+                final float z3 = z0 - 0.5f;
+
+                float n = 0;
+                int h, c;
+
+                t = LIMIT3 - x0 * x0 - y0 * y0 - z0 * z0;
+                if (t > 0) {
+                    t *= t;
+                    if ((h = corners[0]) < 0) h = corners[0] = hash32(i, j, k, seed) << 2;
+                    n += t * t * (x0 * GRADIENTS_3D[h] + y0 * GRADIENTS_3D[h + 1] + z0 * GRADIENTS_3D[h + 2]);
+                }
+
+                t = LIMIT3 - x1 * x1 - y1 * y1 - z1 * z1;
+                if (t > 0) {
+                    t *= t;
+                    if ((h = corners[c = i1 << 2 | j1 << 1 | k1]) < 0) h = corners[c] = hash32(i + i1, j + j1, k + k1, seed) << 2;
+                    n += t * t * (x1 * GRADIENTS_3D[h] + y1 * GRADIENTS_3D[h + 1] + z1 * GRADIENTS_3D[h + 2]);
+                }
+
+                t = LIMIT3 - x2 * x2 - y2 * y2 - z2 * z2;
+                if (t > 0) {
+                    t *= t;
+                    if ((h = corners[c = i2 << 2 | j2 << 1 | k2]) < 0) h = corners[c] = hash32(i + i2, j + j2, k + k2, seed) << 2;
+                    n += t * t * (x2 * GRADIENTS_3D[h] + y2 * GRADIENTS_3D[h + 1] + z2 * GRADIENTS_3D[h + 2]);
+                }
+
+                t = LIMIT3 - x3 * x3 - y3 * y3 - z3 * z3;
+                if (t > 0) {
+                    t *= t;
+                    if ((h = corners[7]) < 0) h = corners[7] = hash32(i + 1, j + 1, k + 1, seed) << 2;
+                    n += t * t * (x3 * GRADIENTS_3D[h] + y3 * GRADIENTS_3D[h + 1] + z3 * GRADIENTS_3D[h + 2]);
+                }
+
+                out[idx] = 39.59758f * n;
+            }
+        }
+        return out;
+    }
+
     protected static final float F2 = 0.36602540378443864676372317075294f,
             G2 = 0.21132486540518711774542560974902f,
             H2 = G2 * 2.0f,
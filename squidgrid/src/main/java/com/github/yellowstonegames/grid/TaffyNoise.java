@@ -157,7 +157,10 @@ public class TaffyNoise implements INoise {
 
     @Override
     public TaffyNoise copy() {
-        return new TaffyNoise(seed, dim, sharpness);
+        // the constructor stores the reciprocal of its sharpness, so this copies the stored value directly
+        TaffyNoise copy = new TaffyNoise(seed, dim, 1f / sharpness);
+        copy.sharpness = sharpness;
+        return copy;
     }
 
     protected float valueNoise() {
@@ -17,6 +17,7 @@
 package com.github.yellowstonegames.grid;
 
 import com.github.tommyettinger.digital.MathTools;
+import com.github.tommyettinger.digital.TrigTools;
 import com.github.yellowstonegames.core.DigitTools;
 
 /**
@@ -718,4 +719,124 @@ public class ValueNoise implements INoise {
     public float getNoiseWithSeed(float x, float y, float z, float w, float u, float v, float m, long seed) {
         return valueNoise(x, y, z, w, u, v, m, (int) seed);
     }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fill2D(float[], int, int, float, float, float)}, but
+     * computes the x lattice and smoothing once per column and the y lattice and smoothing once per row, and only
+     * hashes lattice corners again when a sample enters a new cell.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many samples to take on x
+     * @param height how many samples to take on y
+     * @param startX the x position of the first sample
+     * @param startY the y position of the first sample
+     * @param step the distance between adjacent samples, on both x and y
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fill2D(float[] out, int width, int height, float startX, float startY, float step) {
+        final int STEPX = 0xD1B55;
+        final int STEPY = 0xABC99;
+        final int seed = this.seed;
+        final int[] xFloors = new int[width];
+        final float[] xs = new float[width];
+        for (int px = 0; px < width; px++) {
+            float x = startX + px * step;
+            int xFloor = MathTools.fastFloor(x);
+            x -= xFloor;
+            x *= x * (1 - x - x + 2);
+            xFloors[px] = xFloor * STEPX;
+            xs[px] = x;
+        }
+        int h00 = 0, h10 = 0, h01 = 0, h11 = 0;
+        for (int py = 0, i = 0; py < height; py++) {
+            float y = startY + py * step;
+            int yFloor = MathTools.fastFloor(y);
+            y -= yFloor;
+            y *= y * (1 - y - y + 2);
+            yFloor *= STEPY;
+            final float iy = 1 - y;
+            int lastX = 0;
+            for (int px = 0; px < width; px++, i++) {
+                final int xFloor = xFloors[px];
+                if (px == 0 || xFloor != lastX) {
+                    lastX = xFloor;
+                    h00 = hashPart1024(xFloor, yFloor, seed);
+                    h10 = hashPart1024(xFloor + STEPX, yFloor, seed);
+                    h01 = hashPart1024(xFloor, yFloor + STEPY, seed);
+                    h11 = hashPart1024(xFloor + STEPX, yFloor + STEPY, seed);
+                }
+                final float x = xs[px];
+                out[i] = (iy * ((1 - x) * h00 + x * h10) + y * ((1 - x) * h01 + x * h11)) * 0x1.00401p-9f - 1f;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Fills {@code out} with the same results as {@link INoise#fillSphere(float[], int, int, float)}, but computes
+     * the z lattice and smoothing once per row, and only hashes the 8 lattice corners again when a sample enters a new
+     * cell.
+     * @param out a float array with length at least {@code width * height}; will be modified
+     * @param width how many longitudes to sample
+     * @param height how many latitudes to sample
+     * @param radius the radius of the sphere; larger values act like a higher frequency
+     * @return {@code out}, after modifications
+     */
+    @Override
+    public float[] fillSphere(float[] out, int width, int height, float radius) {
+        final int STEPX = 0xDB4F1;
+        final int STEPY = 0xBBE05;
+        final int STEPZ = 0xA0F2F;
+        final int seed = this.seed;
+        final float[] cosLon = new float[width], sinLon = new float[width];
+        for (int px = 0; px < width; px++) {
+            final float lon = (px + 0.5f) / width;
+            cosLon[px] = TrigTools.cosTurns(lon);
+            sinLon[px] = TrigTools.sinTurns(lon);
+        }
+        final int[] h = new int[8];
+        for (int py = 0, i = 0; py < height; py++) {
+            final float lat = (py + 0.5f) / height * 0.5f - 0.25f;
+            final float ring = TrigTools.cosTurns(lat) * radius;
+            float z = TrigTools.sinTurns(lat) * radius;
+            int zFloor = MathTools.fastFloor(z);
+            z -= zFloor;
+            z *= z * (1 - z - z + 2);
+            zFloor *= STEPZ;
+            final float iz = 1 - z;
+            int lastX = 0, lastY = 0;
+            for (int px = 0; px < width; px++, i++) {
+                float x = cosLon[px] * ring;
+                float y = sinLon[px] * ring;
+                int xFloor = MathTools.fastFloor(x);
+                x -= xFloor;
+                x *= x * (1 - x - x + 2);
+                int yFloor = MathTools.fastFloor(y);
+                y -= yFloor;
+                y *= y * (1 - y - y + 2);
+                xFloor *= STEPX;
+                yFloor *= STEPY;
+                if (px == 0 || xFloor != lastX || yFloor != lastY) {
+                    lastX = xFloor;
+                    lastY = yFloor;
+                    h[0] = hashPart1024(xFloor, yFloor, zFloor, seed);
+                    h[1] = hashPart1024(xFloor + STEPX, yFloor, zFloor, seed);
+                    h[2] = hashPart1024(xFloor, yFloor + STEPY, zFloor, seed);
+                    h[3] = hashPart1024(xFloor + STEPX, yFloor + STEPY, zFloor, seed);
+                    h[4] = hashPart1024(xFloor, yFloor, zFloor + STEPZ, seed);
+                    h[5] = hashPart1024(xFloor + STEPX, yFloor, zFloor + STEPZ, seed);
+                    h[6] = hashPart1024(xFloor, yFloor + STEPY, zFloor + STEPZ, seed);
+                    h[7] = hashPart1024(xFloor + STEPX, yFloor + STEPY, zFloor + STEPZ, seed);
+                }
+                out[i] = (iz *
+                        ((1 - y) * ((1 - x) * h[0] + x * h[1])
+                                + y * ((1 - x) * h[2] + x * h[3]))
+                        + z *
+                        ((1 - y) * ((1 - x) * h[4] + x * h[5])
+                                + y * ((1 - x) * h[6] + x * h[7]))
+                ) * 0x1.00401p-9f - 1f;
+            }
+        }
+        return out;
+    }
 }
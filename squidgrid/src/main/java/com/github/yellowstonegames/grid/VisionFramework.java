@@ -481,6 +481,37 @@ public class VisionFramework implements ISerializersNeeded {
         LineTools.pruneLines(linePlaceMap, seen, prunedPlaceMap);
     }
 
+    /**
+     * Calculates every field here that can be found from {@link #linePlaceMap}, {@link #seen}, {@link #viewers},
+     * {@link #rememberedColor}, and {@link #lighting}, including the lighting's own FOV. This is mostly useful after
+     * loading a VisionFramework that was saved with only those fields. Afterward, this is in the same state it would
+     * be in if {@link #finishChanges()} had been called twice with no changes in between, so no cells are fading in or
+     * out of view. {@link #backgroundColors} is filled with rememberedColor until the next call to
+     * {@link #update(float)}.
+     */
+    public void recalculate() {
+        if (lighting == null || linePlaceMap == null)
+            return;
+        lighting.calculateFOV(viewers, 0, 0, placeWidth, placeHeight);
+        previousLightLevels = previousLightLevels == null || previousLightLevels.length != placeWidth || previousLightLevels[0].length != placeHeight
+                ? ArrayTools.copy(lighting.fovResult) : ArrayTools.set(lighting.fovResult, previousLightLevels);
+        inView = inView == null ? new Region(lighting.fovResult, 0f).not() : inView.refill(lighting.fovResult, 0f).not();
+        seen = seen == null ? inView.copy() : seen.or(inView);
+        blockage = blockage == null ? inView.copy() : blockage.remake(inView);
+        blockage.fringe8way(buffer);
+        justSeen = justSeen == null ? new Region(placeWidth, placeHeight) : justSeen.resizeAndEmpty(placeWidth, placeHeight);
+        justHidden = justHidden == null ? new Region(placeWidth, placeHeight) : justHidden.resizeAndEmpty(placeWidth, placeHeight);
+        newlyVisible = newlyVisible == null ? new Region(placeWidth, placeHeight) : newlyVisible.resizeAndEmpty(placeWidth, placeHeight);
+        prunedPlaceMap = prunedPlaceMap == null || prunedPlaceMap.length != placeWidth || prunedPlaceMap[0].length != placeHeight
+                ? ArrayTools.copy(linePlaceMap) : ArrayTools.set(linePlaceMap, prunedPlaceMap);
+        LineTools.pruneLines(linePlaceMap, seen, prunedPlaceMap);
+        if(backgroundColors == null || backgroundColors.length != placeWidth || backgroundColors[0].length != placeHeight)
+            backgroundColors = ArrayTools.fill(rememberedColor, placeWidth, placeHeight);
+        else ArrayTools.fill(backgroundColors, rememberedColor);
+        previousBackgroundColors = previousBackgroundColors == null || previousBackgroundColors.length != placeWidth || previousBackgroundColors[0].length != placeHeight
+                ? ArrayTools.copy(backgroundColors) : ArrayTools.set(backgroundColors, previousBackgroundColors);
+    }
+
     /**
      * For a "foreground" creature or effect that can move between cells, call this every frame to get the color to draw
      * that thing with. The color is a packed Oklab int, as {@link DescriptiveColor} produces. This can return 0 if a
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.random.AceRandom;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that {@link ChunkedRegion} matches {@link Region} when both hold the same cells, even when the
+ * ChunkedRegion's cells are moved to negative coordinates.
+ */
+public class ChunkedRegionTest {
+    /**
+     * Regions in this test are surrounded by this many "off" cells, so expanding never reaches their edges.
+     */
+    private static final int MARGIN = 8;
+
+    private static Region make(AceRandom random, float fraction, int width, int height) {
+        Region inner = new Region(random, fraction, width, height), r = new Region(width + MARGIN * 2, height + MARGIN * 2);
+        return r.insert(MARGIN, MARGIN, inner);
+    }
+
+    private static void assertMatches(Region expected, ChunkedRegion actual, int offsetX, int offsetY) {
+        Assert.assertEquals(expected.size(), actual.size());
+        Assert.assertTrue(expected.equalsRegion(actual.toRegion(offsetX, offsetY, expected.width, expected.height)));
+        int i = 0;
+        for (Coord c : actual) {
+            Assert.assertEquals(c, actual.nth(i++));
+            Assert.assertTrue(expected.contains(c.x - offsetX, c.y - offsetY));
+        }
+        Assert.assertEquals(expected.size(), i);
+        Assert.assertNull(actual.nth(i));
+    }
+
+    @Test
+    public void testMatchesRegion() {
+        AceRandom random = new AceRandom(12345L);
+        for (int iteration = 0; iteration < 40; iteration++) {
+            final int width = random.nextInt(1, 150), height = random.nextInt(1, 150),
+                    offsetX = random.nextInt(-300, 100), offsetY = random.nextInt(-300, 100);
+            Region a = make(random, random.nextFloat(iteration % 2 == 0 ? 0.05f : 0.6f), width, height),
+                    b = make(random, random.nextFloat(), width, height);
+            ChunkedRegion ca = new ChunkedRegion(a, offsetX, offsetY), cb = new ChunkedRegion(b, offsetX, offsetY);
+            assertMatches(a, ca, offsetX, offsetY);
+            Assert.assertEquals(ca, new ChunkedRegion(ca));
+            Assert.assertEquals(ca.hashCode(), new ChunkedRegion(ca).hashCode());
+
+            assertMatches(a.copy().and(b), new ChunkedRegion(ca).and(cb), offsetX, offsetY);
+            assertMatches(a.copy().or(b), new ChunkedRegion(ca).or(cb), offsetX, offsetY);
+            assertMatches(a.copy().andNot(b), new ChunkedRegion(ca).andNot(cb), offsetX, offsetY);
+            assertMatches(a.copy().xor(b), new ChunkedRegion(ca).xor(cb), offsetX, offsetY);
+
+            final int amount = random.nextInt(MARGIN + 1);
+            assertMatches(a.copy().expand(amount), new ChunkedRegion(ca).expand(amount), offsetX, offsetY);
+            assertMatches(a.copy().expand8way(amount), new ChunkedRegion(ca).expand8way(amount), offsetX, offsetY);
+            assertMatches(a.copy().flood(b, amount * 5), new ChunkedRegion(ca).flood(cb, amount * 5), offsetX, offsetY);
+            assertMatches(a.copy().flood8way(b, amount * 5), new ChunkedRegion(ca).flood8way(cb, amount * 5), offsetX, offsetY);
+        }
+    }
+
+    @Test
+    public void testSparse() {
+        ChunkedRegion c = new ChunkedRegion(Coord.get(-1, -1), Coord.get(4000, 4000));
+        Assert.assertEquals(2, c.tileCount());
+        Assert.assertTrue(c.contains(-1, -1));
+        Assert.assertFalse(c.contains(0, 0));
+        c.expand8way();
+        Assert.assertEquals(18, c.size());
+        // expanding (-1,-1) reaches into 4 tiles, and expanding (4000,4000) stays in one
+        Assert.assertEquals(5, c.tileCount());
+        // removing the column at x=0 empties two of those tiles, which are then dropped
+        c.andNot(new ChunkedRegion(Coord.get(0, -2), Coord.get(0, -1), Coord.get(0, 0)));
+        Assert.assertEquals(15, c.size());
+        Assert.assertEquals(3, c.tileCount());
+        Assert.assertEquals(Coord.get(-2, -2), c.first());
+    }
+}
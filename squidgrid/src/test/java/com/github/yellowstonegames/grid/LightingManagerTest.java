@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.random.AceRandom;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that incremental relighting in {@link LightingManager} matches calculating every light each time.
+ */
+public class LightingManagerTest {
+    private static LightingManager make(float[][] resistances, long seed, int lightCount, boolean rgb) {
+        AceRandom random = new AceRandom(seed);
+        final int width = resistances.length, height = resistances[0].length;
+        LightingManager lighting = rgb
+                ? new LightingManagerRgb(resistances, 0, Radius.CIRCLE, 6f)
+                : new LightingManager(resistances, 0, Radius.CIRCLE, 6f);
+        for (int i = 0; i < lightCount; i++) {
+            Radiance radiance = new Radiance(random.nextInt(1, 9), random.nextInt() | 0xFE000000);
+            if (random.nextInt(4) == 0)
+                lighting.addLight(Coord.get(random.nextInt(width), random.nextInt(height)), radiance,
+                        random.nextFloat(0.25f, 0.75f), random.nextFloat());
+            else
+                lighting.addLight(random.nextInt(width), random.nextInt(height), radiance);
+        }
+        return lighting;
+    }
+
+    @Test
+    public void testIncrementalMatchesFull() {
+        checkIncremental(false);
+    }
+
+    @Test
+    public void testIncrementalMatchesFullRgb() {
+        checkIncremental(true);
+    }
+
+    private static void checkIncremental(boolean rgb) {
+        AceRandom random = new AceRandom(42L);
+        for (int iteration = 0; iteration < 12; iteration++) {
+            final int width = random.nextInt(10, 50), height = random.nextInt(10, 50);
+            float[][] resA = new float[width][height], resB = new float[width][height];
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    if (random.nextInt(5) == 0)
+                        resA[x][y] = resB[x][y] = 1f;
+                }
+            }
+            final long seed = random.nextLong();
+            final int count = random.nextInt(5, 40);
+            LightingManager a = make(resA, seed, count, rgb), b = make(resB, seed, count, rgb);
+            a.incremental = true;
+            b.incremental = false;
+            int viewerX = random.nextInt(width), viewerY = random.nextInt(height);
+            a.calculateFOV(viewerX, viewerY);
+            b.calculateFOV(viewerX, viewerY);
+            for (int step = 0; step < 30; step++) {
+                switch (random.nextInt(6)) {
+                    case 0: {
+                        viewerX = random.nextInt(width);
+                        viewerY = random.nextInt(height);
+                        a.calculateFOV(viewerX, viewerY);
+                        b.calculateFOV(viewerX, viewerY);
+                        break;
+                    }
+                    case 1: {
+                        if (a.lights.isEmpty()) break;
+                        int i = random.nextInt(a.lights.size());
+                        Coord next = Coord.get(random.nextInt(width), random.nextInt(height));
+                        a.lights.get(i).position = next;
+                        b.lights.get(i).position = next;
+                        break;
+                    }
+                    case 2: {
+                        int x = random.nextInt(width), y = random.nextInt(height);
+                        resA[x][y] = resB[x][y] = 1f - resA[x][y];
+                        break;
+                    }
+                    case 3: {
+                        if (a.lights.isEmpty()) break;
+                        int i = random.nextInt(a.lights.size());
+                        a.lights.removeAt(i);
+                        b.lights.removeAt(i);
+                        break;
+                    }
+                    case 4: {
+                        if (a.lights.isEmpty()) break;
+                        int i = random.nextInt(a.lights.size()), color = random.nextInt() | 0xFE000000;
+                        a.lights.get(i).radiance.color = color;
+                        b.lights.get(i).radiance.color = color;
+                        break;
+                    }
+                    default: {
+                        a.updateUI(Coord.get(random.nextInt(width), random.nextInt(height)), new Radiance(3f, 0xFE7F7FFF));
+                    }
+                }
+                a.update();
+                b.update();
+                Assert.assertArrayEquals(b.colorLighting, a.colorLighting);
+                Assert.assertArrayEquals(b.lightingStrength, a.lightingStrength);
+            }
+        }
+    }
+}
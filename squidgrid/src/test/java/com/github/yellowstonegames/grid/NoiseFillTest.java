@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.digital.TrigTools;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that the bulk fill methods on INoise implementations match calling getNoise() for each point.
+ */
+public class NoiseFillTest {
+    private static final int WIDTH = 67, HEIGHT = 41;
+
+    private static INoise[] generators() {
+        return new INoise[]{
+                new ValueNoise(123L),
+                new PerlinNoise(123L),
+                new SimplexNoise(123L),
+                new FoamNoise(123L),
+                new Noise(123, 0.0625f, Noise.SIMPLEX_FRACTAL, 3),
+                new Noise(123, 0.0625f, Noise.VALUE),
+                new Noise(123, 0.0625f, Noise.FOAM_FRACTAL, 2),
+                new Noise(123, 0.0625f, Noise.MUTANT),
+                // like the Noise subclasses in DomainWorldMapWriter, which sample higher dimensions with fixed extras
+                new Noise(123, 0.0625f, Noise.SIMPLEX_FRACTAL, 2) {
+                    @Override
+                    public float getNoise(float x, float y) {
+                        return getNoise(x, y, 0.5f);
+                    }
+
+                    @Override
+                    public float getNoise(float x, float y, float z) {
+                        return getNoise(x, y, z, 0.25f, -0.75f);
+                    }
+                },
+                new NoiseWrapper(new SimplexNoise(123L), 0.0625f, NoiseWrapper.FBM, 3),
+                new NoiseWrapper(new PerlinNoise(123L), 0.0625f, NoiseWrapper.RIDGED_MULTI, 2),
+                new NoiseWrapper(new FoamNoise(123L), 0.0625f, NoiseWrapper.DOMAIN_WARP, 2),
+                new RadialNoiseWrapper(new ValueNoise(123L), 0.0625f, NoiseWrapper.BILLOW, 2, 20f, 10f),
+        };
+    }
+
+    @Test
+    public void testFill2D() {
+        final float startX = -13.7f, startY = 5.25f, step = 0.37f;
+        for (INoise noise : generators()) {
+            float[] filled = noise.fill2D(new float[WIDTH * HEIGHT], WIDTH, HEIGHT, startX, startY, step);
+            for (int y = 0, i = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++, i++) {
+                    Assert.assertEquals(noise + " at " + x + "," + y,
+                            noise.getNoise(startX + x * step, startY + y * step), filled[i], 0f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFillSphere() {
+        final float radius = 9.5f;
+        for (INoise noise : generators()) {
+            float[] filled = noise.fillSphere(new float[WIDTH * HEIGHT], WIDTH, HEIGHT, radius);
+            for (int y = 0, i = 0; y < HEIGHT; y++) {
+                final float lat = (y + 0.5f) / HEIGHT * 0.5f - 0.25f;
+                final float ring = TrigTools.cosTurns(lat) * radius, z = TrigTools.sinTurns(lat) * radius;
+                for (int x = 0; x < WIDTH; x++, i++) {
+                    final float lon = (x + 0.5f) / WIDTH;
+                    Assert.assertEquals(noise + " at " + x + "," + y,
+                            noise.getNoise(TrigTools.cosTurns(lon) * ring, TrigTools.sinTurns(lon) * ring, z),
+                            filled[i], 0f);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.digital.Interpolations;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelNoiseBakerTest {
+    private static final int WIDTH = 150, HEIGHT = 97;
+    private static final float START_X = -3.5f, START_Y = 12.25f, STEP = 0.0371f;
+
+    @Test
+    public void testMatchesSerial() {
+        INoise noise = new NoiseWrapper(new SimplexNoise(1234L), 1.5f, NoiseWrapper.FBM, 3);
+        ForkJoinPool pool = new ForkJoinPool(4), single = new ForkJoinPool(1);
+        try {
+            ParallelNoiseBaker baker = new ParallelNoiseBaker(pool, 7);
+            float[] floats = new float[WIDTH * HEIGHT];
+            int[] ints = new int[WIDTH * HEIGHT];
+            Assert.assertTrue(baker.bake(noise, Interpolations.smooth, floats, WIDTH, HEIGHT, START_X, START_Y, STEP));
+            Assert.assertTrue(baker.bake(noise, null, ints, 256, WIDTH, HEIGHT, START_X, START_Y, STEP));
+            NoiseAdjustment adjusted = new NoiseAdjustment(noise, Interpolations.smooth);
+            for (int y = 0, i = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++, i++) {
+                    float n = noise.getNoise(START_X + x * STEP, START_Y + y * STEP);
+                    Assert.assertEquals(adjusted.getNoise(START_X + x * STEP, START_Y + y * STEP), floats[i], 0f);
+                    Assert.assertEquals(ParallelNoiseBaker.quantize(n, 256), ints[i]);
+                    Assert.assertTrue(ints[i] >= 0 && ints[i] < 256);
+                }
+            }
+            Assert.assertArrayEquals(baker.setTileSize(64).bake(noise, WIDTH, HEIGHT, START_X, START_Y, STEP),
+                    new ParallelNoiseBaker(single, 200).bake(noise, WIDTH, HEIGHT, START_X, START_Y, STEP), 0f);
+        } finally {
+            pool.shutdown();
+            single.shutdown();
+        }
+    }
+
+    /**
+     * PhantomNoise and TaffyNoise write to scratch arrays on every call, so sharing one between threads would mix up
+     * results; each thread has to use its own copy.
+     */
+    @Test
+    public void testScratchNoiseMatchesSerial() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ParallelNoiseBaker baker = new ParallelNoiseBaker(pool, 5);
+            INoise[] all = {new PhantomNoise(1234L, 2), new TaffyNoise(5678L, 2),
+                    new NoiseWrapper(new PhantomNoise(-99L, 2), 2f, NoiseWrapper.RIDGED_MULTI, 2)};
+            for (INoise noise : all) {
+                Assert.assertEquals(noise, noise.copy());
+                for (int repeat = 0; repeat < 4; repeat++) {
+                    float[] floats = baker.bake(noise, WIDTH, HEIGHT, START_X, START_Y, STEP);
+                    for (int y = 0, i = 0; y < HEIGHT; y++) {
+                        for (int x = 0; x < WIDTH; x++, i++) {
+                            Assert.assertEquals(noise.getTag(), noise.getNoise(START_X + x * STEP, START_Y + y * STEP),
+                                    floats[i], 0f);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testProgressAndCancel() {
+        INoise noise = new ValueNoise(99L);
+        AtomicInteger calls = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelNoiseBaker baker = new ParallelNoiseBaker(pool, 16)
+                    .setProgress((finished, total) -> {
+                        calls.incrementAndGet();
+                        Assert.assertEquals(10 * 7, total);
+                        return true;
+                    });
+            Assert.assertTrue(baker.bake(noise, null, new float[WIDTH * HEIGHT], WIDTH, HEIGHT, START_X, START_Y, STEP));
+            Assert.assertEquals(10 * 7, calls.get());
+
+            baker.setProgress((finished, total) -> finished < 3);
+            Assert.assertFalse(baker.bake(noise, null, new float[WIDTH * HEIGHT], WIDTH, HEIGHT, START_X, START_Y, STEP));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
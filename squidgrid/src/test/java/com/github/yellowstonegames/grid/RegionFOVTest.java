@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.grid;
+
+import com.github.tommyettinger.random.AceRandom;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks that {@link RegionFOV} produces the same visible cells as the Shadow FOV methods in {@link FOV}.
+ */
+public class RegionFOVTest {
+    private static final Radius[] RADII = {Radius.SQUARE, Radius.DIAMOND, Radius.CIRCLE};
+
+    @Test
+    public void testMatchesFOV() {
+        AceRandom random = new AceRandom(123L);
+        for (int iteration = 0; iteration < 60; iteration++) {
+            // sizes both above and below 64 in each dimension, to cover multi-word columns and rows
+            final int width = 1 + random.nextInt(iteration < 30 ? 40 : 140),
+                    height = 1 + random.nextInt(iteration < 30 ? 40 : 140);
+            final float density = random.nextFloat(0.5f);
+            boolean[][] walls = new boolean[width][height];
+            float[][] resistances = new float[width][height], light = new float[width][height];
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    if (random.nextFloat() < density) {
+                        walls[x][y] = true;
+                        resistances[x][y] = 1f;
+                    }
+                }
+            }
+            Region blocking = new Region(walls), expected = new Region(width, height), actual = new Region(1, 1);
+            RegionFOV fov = new RegionFOV(blocking);
+            for (int q = 0; q < 8; q++) {
+                final int startX = random.nextInt(width), startY = random.nextInt(height);
+
+                FOV.reuseLOS(blocking, expected, startX, startY);
+                Assert.assertTrue(expected.equalsRegion(fov.los(actual, startX, startY)));
+
+                final int minX = random.nextInt(width), minY = random.nextInt(height),
+                        maxX = random.nextInt(minX + 1, width + 1), maxY = random.nextInt(minY + 1, height + 1);
+                FOV.reuseLOS(blocking, expected, startX, startY, minX, minY, maxX, maxY);
+                Assert.assertTrue(expected.equalsRegion(fov.los(actual, startX, startY, minX, minY, maxX, maxY)));
+
+                for (Radius radiusTechnique : RADII) {
+                    final float radius = random.nextBoolean() ? random.nextInt(30) : random.nextFloat(30f);
+                    FOV.reuseFOV(resistances, light, startX, startY, radius, radiusTechnique);
+                    fov.fov(actual, startX, startY, radius, radiusTechnique);
+                    for (int x = 0; x < width; x++) {
+                        for (int y = 0; y < height; y++) {
+                            Assert.assertEquals(light[x][y] > 0f, actual.contains(x, y));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -783,4 +783,154 @@ public class RegionTest {
         System.out.println("The splashed area should be a little larger now.");
         System.out.println(r);
     }
+
+    @Test
+    public void testSplit() {
+        EnhancedRandom rng = new AceRandom(987654321);
+        for (int i = 0; i < 40; i++) {
+            Region r = new Region(rng, rng.nextFloat(0.7f), rng.nextInt(1, 150), rng.nextInt(1, 150));
+            for (int mode = 0; mode < 2; mode++) {
+                // finds each area one at a time with flood-fills, in the same order split() should use
+                ObjectList<Region> expected = new ObjectList<>();
+                Region remaining = new Region(r), largest = new Region(r.width, r.height);
+                int fst;
+                while ((fst = remaining.firstTight()) >= 0) {
+                    Region filled = new Region(r.width, r.height).insert(fst);
+                    if (mode == 0) filled.flood(remaining, r.width * r.height);
+                    else filled.flood8way(remaining, r.width * r.height);
+                    if (filled.size() > largest.size())
+                        largest.remake(filled);
+                    expected.add(filled);
+                    remaining.andNot(filled);
+                }
+                Assert.assertEquals(expected, mode == 0 ? r.split() : r.split8way());
+                Assert.assertEquals(largest, mode == 0 ? r.largestPart() : r.largestPart8way());
+
+                RegionLabeler labeler = new RegionLabeler();
+                Assert.assertEquals(expected.size(), mode == 0 ? labeler.label(r) : labeler.label8way(r));
+                int[][] labels = labeler.fillLabels(new int[r.width][r.height]);
+                for (int c = 0; c < expected.size(); c++) {
+                    Region e = expected.get(c);
+                    Assert.assertEquals(e.size(), labeler.getSize(c));
+                    Coord first = e.first(), last = e.last();
+                    Assert.assertEquals(first.x, labeler.getMinX(c));
+                    Assert.assertEquals(last.x, labeler.getMaxX(c));
+                    Assert.assertTrue(labeler.getMinY(c) <= first.y && labeler.getMaxY(c) >= last.y);
+                    for (Coord p : e) {
+                        Assert.assertEquals(c, labels[p.x][p.y]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMorphologyAmounts() {
+        EnhancedRandom rng = new AceRandom(123456789);
+        for (int i = 0; i < 60; i++) {
+            // sizes both above and below 64 in each dimension, to cover multi-word columns
+            final int width = rng.nextInt(1, i < 30 ? 30 : 150), height = rng.nextInt(1, i < 30 ? 30 : 150);
+            Region r = new Region(rng, rng.nextFloat(i % 3 == 0 ? 0.95f : 0.3f), width, height);
+            final int amount = i < 30 && i % 5 == 0 ? rng.nextInt(60) : rng.nextInt(9);
+            for (int mode = 0; mode < 8; mode++) {
+                final boolean eightWay = (mode & 1) != 0, grow = (mode & 2) != 0, edge = (mode & 4) != 0;
+                Region actual = new Region(r);
+                if (grow && edge) actual = eightWay ? actual.fringe8way(amount) : actual.fringe(amount);
+                else if (grow) actual = eightWay ? actual.expand8way(amount) : actual.expand(amount);
+                else if (edge) actual = eightWay ? actual.surface8way(amount) : actual.surface(amount);
+                else actual = eightWay ? actual.retract8way(amount) : actual.retract(amount);
+                for (int x = 0; x < width; x++) {
+                    for (int y = 0; y < height; y++) {
+                        // finds whether any "on" cell is within amount (when growing), or any "off" cell or a cell
+                        // outside the Region is within amount (when shrinking)
+                        boolean found = false;
+                        for (int dx = -amount; dx <= amount && !found; dx++) {
+                            for (int dy = -amount; dy <= amount && !found; dy++) {
+                                if ((eightWay ? Math.max(Math.abs(dx), Math.abs(dy)) : Math.abs(dx) + Math.abs(dy)) > amount)
+                                    continue;
+                                found = grow == r.contains(x + dx, y + dy);
+                            }
+                        }
+                        final boolean expected = grow
+                                ? found && !(edge && r.contains(x, y))
+                                : r.contains(x, y) && found == edge;
+                        Assert.assertEquals(expected, actual.contains(x, y));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloodBuffers() {
+        EnhancedRandom rng = new AceRandom(13579);
+        for (int i = 0; i < 40; i++) {
+            final int width = rng.nextInt(2, 150), height = rng.nextInt(1, 150), amount = rng.nextInt(1, 12);
+            Region bounds = new Region(rng, 0.7f, width, height), seeds = new Region(rng, 0.01f, width, height);
+            for (int mode = 0; mode < 2; mode++) {
+                final boolean eightWay = mode == 1;
+                Region expected = new Region(seeds), actual = new Region(seeds);
+                if (eightWay) {
+                    expected.flood8way(bounds, amount, new Region(width, height));
+                    actual.flood8way(bounds, amount);
+                } else {
+                    expected.flood(bounds, amount, new Region(width, height));
+                    actual.flood(bounds, amount);
+                }
+                Assert.assertTrue(expected.equalsRegion(actual));
+
+                // one step at a time, reusing and then releasing the internal buffer; a fresh copy has no buffer yet
+                Region step = new Region(seeds);
+                for (int s = 0; s < 4; s++) {
+                    if (s == 2) step.releaseBuffers();
+                    Region fresh = new Region(step);
+                    if (eightWay) {
+                        step.flood8way(bounds);
+                        fresh.flood8way(bounds);
+                    } else {
+                        step.flood(bounds);
+                        fresh.flood(bounds);
+                    }
+                    Assert.assertTrue(fresh.equalsRegion(step));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRunLengthBytes() {
+        EnhancedRandom rng = new AceRandom(24680);
+        Region into = new Region(1, 1);
+        for (int i = 0; i < 60; i++) {
+            // sparse, dense, and noisy Regions, so both run lengths and raw data get used
+            Region r = new Region(rng, i % 3 == 0 ? 0.02f : i % 3 == 1 ? 0.9f : 0.5f, rng.nextInt(150), rng.nextInt(150));
+            if (i % 3 != 2) r.expand8way(2);
+            byte[] bytes = r.toRunLengthBytes();
+            Assert.assertTrue(r.equalsRegion(Region.decodeRunLength(bytes)));
+            Assert.assertTrue(r.equalsRegion(into.decodeRunLengthInto(bytes)));
+            // the header can take up to 11 bytes
+            Assert.assertTrue(bytes.length <= r.data.length * 8 + 11);
+        }
+    }
+
+    @Test
+    public void testRunLengthSize() {
+        EnhancedRandom rng = new AceRandom(97531);
+        for (int i = 0; i < 20; i++) {
+            // rooms and corridors, like a dungeon's floors
+            final int width = rng.nextInt(128, 257), height = rng.nextInt(128, 257);
+            Region r = new Region(width, height);
+            for (int room = 0; room < 12; room++) {
+                final int x = rng.nextInt(width - 16), y = rng.nextInt(height - 16);
+                r.insertRectangle(x, y, rng.nextInt(4, 16), rng.nextInt(4, 16));
+                r.insertRectangle(rng.nextInt(width), y, 1, rng.nextInt(height - y));
+            }
+            byte[] bytes = r.toRunLengthBytes();
+            Assert.assertTrue(r.equalsRegion(Region.decodeRunLength(bytes)));
+            // 12 rooms at most 15 wide and 12 corridors make at most 192 vertical spans, so at most 385 runs;
+            // runs take 2 bytes if under 16384 cells, and no more than 4 runs can be longer than that
+            Assert.assertTrue(bytes.length <= 385 * 2 + 4 + 11);
+            Assert.assertTrue(bytes.length * 2 < r.data.length * 8);
+        }
+    }
 }
@@ -35,6 +35,7 @@ import com.github.yellowstonegames.grid.Coord;
  * different types of terrain, using {@link CostlyGraph#generateAStarCostMap(char[][], IntFloatMap, float)} to generate
  * a cost map.
  * @see CostlyGraph the pathfinding class this is based on; CostlyGraph can be used independently
+ * @see GridAStarSearch a drop-in replacement that searches the grid directly, without building a graph
  * @see DijkstraMap a sometimes-faster pathfinding algorithm that can pathfind to multiple goals
  * @author <a href="http://squidpony.com">Eben Howard</a> - howard@squidpony.com
  * @author <a href="https://github.com/tommyettinger">Tommy Ettinger</a> - optimized code
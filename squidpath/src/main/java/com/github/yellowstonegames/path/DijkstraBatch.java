@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.LineDrawer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many independent pathfinding requests on the same level at once, using a {@link ForkJoinPool}. This is meant
+ * for games where many AI actors each need their own path every turn, and those paths are calculated on one shared
+ * level that doesn't change while the batch runs. The level's physical map and cost map are copied once, when this is
+ * constructed, into a {@link FlatDijkstraMap} that is never modified afterward; each worker thread gets its own
+ * FlatDijkstraMap that shares those maps but has its own gradient map and other working state, and keeps it between
+ * batches, so running a batch allocates little more than the paths themselves.
+ * <br>
+ * Each {@link Request} describes one actor's call to
+ * {@link DijkstraMap#findPath(ObjectDeque, int, int, Collection, Collection, Coord, Coord...)},
+ * {@link DijkstraMap#findAttackPath(ObjectDeque, int, int, int, LineDrawer, Collection, Collection, Coord, Coord...)},
+ * or {@link DijkstraMap#findFleePath(ObjectDeque, int, int, float, Collection, Collection, Coord, Coord...)}, chosen by
+ * its {@link Request#kind}, and receives its result in {@link Request#path}. Attack and flee requests run on a
+ * {@link DijkstraMap} that each worker thread copies from the level the first time it needs one, since only findPath
+ * has a FlatDijkstraMap version. Results are identical to calling the same method on a freshly reset DijkstraMap with
+ * the same level and settings, and don't depend on how requests are split between threads or what ran before them. A
+ * DijkstraMap that is reused without {@link DijkstraMap#reset()} can give different results, since it keeps its
+ * goals and its cached flee map between calls.
+ * <br>
+ * If the level changes, such as a door opening, create a new DijkstraBatch from the updated DijkstraMap. This class
+ * isn't available on GWT, since it needs {@code java.util.concurrent}.
+ */
+public class DijkstraBatch {
+    /**
+     * Which DijkstraMap method a {@link Request} stands in for.
+     */
+    public enum Kind {
+        /**
+         * {@link DijkstraMap#findPath(ObjectDeque, int, int, Collection, Collection, Coord, Coord...)}.
+         */
+        PATH,
+        /**
+         * {@link DijkstraMap#findAttackPath(ObjectDeque, int, int, int, LineDrawer, Collection, Collection, Coord, Coord...)}.
+         */
+        ATTACK,
+        /**
+         * {@link DijkstraMap#findFleePath(ObjectDeque, int, int, float, Collection, Collection, Coord, Coord...)}.
+         */
+        FLEE
+    }
+
+    /**
+     * One actor's pathfinding request, with the same parameters as the DijkstraMap method its {@link #kind} names.
+     * After a batch runs, {@link #path} holds the result and {@link #cutShort} is true if no full path could be found.
+     * Use {@link #attack(int, int, int, LineDrawer, Collection, Collection, Coord, Coord...)} or
+     * {@link #flee(int, int, float, Collection, Collection, Coord, Coord...)} to make attack or flee requests.
+     */
+    public static class Request {
+        /**
+         * Which DijkstraMap method this stands in for; defaults to {@link Kind#PATH}.
+         */
+        public Kind kind = Kind.PATH;
+        /**
+         * The start of the path, which should be the pathfinder's current position.
+         */
+        public Coord start;
+        /**
+         * The goals this will try to pathfind toward, or for {@link Kind#FLEE}, the fear sources to run away from.
+         */
+        public Coord[] targets;
+        /**
+         * The length of the path to calculate; usually 1. For {@link Kind#ATTACK}, this is the move length.
+         */
+        public int length = 1;
+        /**
+         * How many cells away from a goal to actually process; negative to process the whole map. Not used by
+         * {@link Kind#ATTACK}.
+         */
+        public int scanLimit = -1;
+        /**
+         * Only used by {@link Kind#ATTACK}; the inclusive lower bound of the distance to keep from a target.
+         */
+        public int minPreferredRange = 1;
+        /**
+         * Only used by {@link Kind#ATTACK}; the inclusive upper bound of the distance to keep from a target.
+         */
+        public int maxPreferredRange = 1;
+        /**
+         * Only used by {@link Kind#ATTACK}; a LineDrawer if targets must be in line of sight, or null to ignore it.
+         * LineDrawers such as {@link com.github.yellowstonegames.grid.BresenhamLine} keep state, so requests in the
+         * same batch shouldn't share one.
+         */
+        public LineDrawer los;
+        /**
+         * Only used by {@link Kind#FLEE}; how much to prefer longer escape routes, typically 1.2f.
+         */
+        public float preferLongerPaths = 1.2f;
+        /**
+         * Impassable Coord positions that may change, such as enemies; can be null. Not modified.
+         */
+        public Collection<Coord> impassable;
+        /**
+         * Coord positions that this pathfinder cannot end a path occupying, such as allies; can be null. Not modified.
+         */
+        public Collection<Coord> onlyPassable;
+        /**
+         * Where the result is stored; this is cleared before each batch that includes this Request.
+         */
+        public final ObjectDeque<Coord> path = new ObjectDeque<>();
+        /**
+         * True if the last batch couldn't find a full path for this Request.
+         */
+        public boolean cutShort;
+
+        public Request() {
+        }
+
+        public Request(Coord start, Coord... targets) {
+            this.start = start;
+            this.targets = targets;
+        }
+
+        public Request(int length, int scanLimit, Collection<Coord> impassable, Collection<Coord> onlyPassable,
+                       Coord start, Coord... targets) {
+            this.length = length;
+            this.scanLimit = scanLimit;
+            this.impassable = impassable;
+            this.onlyPassable = onlyPassable;
+            this.start = start;
+            this.targets = targets;
+        }
+
+        /**
+         * Makes a {@link Kind#ATTACK} Request, with the same parameters as
+         * {@link DijkstraMap#findAttackPath(int, int, int, LineDrawer, Collection, Collection, Coord, Coord...)}.
+         */
+        public static Request attack(int moveLength, int minPreferredRange, int maxPreferredRange, LineDrawer los,
+                                     Collection<Coord> impassable, Collection<Coord> onlyPassable,
+                                     Coord start, Coord... targets) {
+            Request r = new Request(moveLength, -1, impassable, onlyPassable, start, targets);
+            r.kind = Kind.ATTACK;
+            r.minPreferredRange = minPreferredRange;
+            r.maxPreferredRange = maxPreferredRange;
+            r.los = los;
+            return r;
+        }
+
+        /**
+         * Makes a {@link Kind#FLEE} Request, with the same parameters as
+         * {@link DijkstraMap#findFleePath(int, int, float, Collection, Collection, Coord, Coord...)}.
+         */
+        public static Request flee(int length, int scanLimit, float preferLongerPaths, Collection<Coord> impassable,
+                                   Collection<Coord> onlyPassable, Coord start, Coord... fearSources) {
+            Request r = new Request(length, scanLimit, impassable, onlyPassable, start, fearSources);
+            r.kind = Kind.FLEE;
+            r.preferLongerPaths = preferLongerPaths;
+            return r;
+        }
+    }
+
+    /**
+     * The shared level; its physical map and cost map are used by every worker and must not be changed.
+     */
+    protected final FlatDijkstraMap level;
+    protected final ForkJoinPool pool;
+    /**
+     * How many requests a single task will handle without splitting further.
+     */
+    protected int threshold = 4;
+
+    private final ThreadLocal<FlatDijkstraMap> workers = new ThreadLocal<FlatDijkstraMap>() {
+        @Override
+        protected FlatDijkstraMap initialValue() {
+            return new FlatDijkstraMap(level);
+        }
+    };
+
+    private final ThreadLocal<DijkstraMap> movers = new ThreadLocal<DijkstraMap>() {
+        @Override
+        protected DijkstraMap initialValue() {
+            final int width = level.width, height = level.height;
+            final float[][] physical = new float[width][height], costs = new float[width][height];
+            for (int x = 0; x < width; x++) {
+                System.arraycopy(level.physicalMap, level.index(x, 0), physical[x], 0, height);
+                System.arraycopy(level.costMap, level.index(x, 0), costs[x], 0, height);
+            }
+            DijkstraMap dm = new DijkstraMap(physical, level.measurement);
+            dm.scanMode = level.scanMode;
+            dm.setBlockingRequirement(level.getBlockingRequirement());
+            dm.costMap = costs;
+            dm.standardCosts = level.hasStandardCosts();
+            return dm;
+        }
+    };
+
+    /**
+     * Creates a DijkstraBatch that runs on {@link ForkJoinPool#commonPool()}, using a copy of the physical map, cost
+     * map, measurement, scan mode, and blocking requirement of {@code level}.
+     *
+     * @param level an initialized DijkstraMap; it is not modified and can be changed later without affecting this
+     */
+    public DijkstraBatch(DijkstraMap level) {
+        this(level, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a DijkstraBatch that runs on the given pool, using a copy of the physical map, cost map, measurement,
+     * scan mode, and blocking requirement of {@code level}.
+     *
+     * @param level an initialized DijkstraMap; it is not modified and can be changed later without affecting this
+     * @param pool  the ForkJoinPool to run batches on
+     */
+    public DijkstraBatch(DijkstraMap level, ForkJoinPool pool) {
+        this.level = new FlatDijkstraMap(level);
+        this.pool = pool;
+    }
+
+    /**
+     * Gets how many requests a single task will handle without splitting further; defaults to 4.
+     *
+     * @return the current threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Sets how many requests a single task will handle without splitting further. Lower values spread work more
+     * evenly, while higher values reduce scheduling overhead when each request is small.
+     *
+     * @param threshold the number of requests per task; will be at least 1
+     */
+    public void setThreshold(int threshold) {
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * Runs every Request in {@code requests} concurrently, blocking until all have finished. Each Request's
+     * {@link Request#path} and {@link Request#cutShort} are updated with its result.
+     *
+     * @param requests a List of Request; the same Request must not appear more than once
+     */
+    public void findPaths(List<? extends Request> requests) {
+        if (requests.isEmpty()) return;
+        pool.invoke(new PathTask(requests, 0, requests.size()));
+    }
+
+    /**
+     * Runs every Request given concurrently, blocking until all have finished. Each Request's {@link Request#path}
+     * and {@link Request#cutShort} are updated with its result.
+     *
+     * @param requests an array or varargs of Request; the same Request must not appear more than once
+     */
+    public void findPaths(Request... requests) {
+        findPaths(Arrays.asList(requests));
+    }
+
+    /**
+     * Runs a single Request on the calling thread, using that thread's pooled FlatDijkstraMap, or its pooled
+     * DijkstraMap for attack and flee requests.
+     *
+     * @param request the Request to run; its path and cutShort fields will be updated
+     */
+    public void findPath(Request request) {
+        request.path.clear();
+        if (request.start == null || request.targets == null) {
+            request.cutShort = true;
+            return;
+        }
+        if (request.kind == Kind.PATH) {
+            FlatDijkstraMap worker = workers.get();
+            worker.findPath(request.path, request.length, request.scanLimit, request.impassable, request.onlyPassable,
+                    request.start, request.targets);
+            request.cutShort = worker.cutShort;
+            return;
+        }
+        DijkstraMap mover = movers.get();
+        mover.reset();
+        mover.clearFleeCache();
+        if (request.kind == Kind.ATTACK)
+            mover.findAttackPath(request.path, request.length, request.minPreferredRange, request.maxPreferredRange,
+                    request.los, request.impassable, request.onlyPassable, request.start, request.targets);
+        else
+            mover.findFleePath(request.path, request.length, request.scanLimit, request.preferLongerPaths,
+                    request.impassable, request.onlyPassable, request.start, request.targets);
+        request.cutShort = mover.cutShort;
+    }
+
+    private class PathTask extends RecursiveAction {
+        private final List<? extends Request> requests;
+        private final int start, end;
+
+        PathTask(List<? extends Request> requests, int start, int end) {
+            this.requests = requests;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                for (int i = start; i < end; i++) {
+                    findPath(requests.get(i));
+                }
+            } else {
+                int mid = start + end >>> 1;
+                invokeAll(new PathTask(requests, start, mid), new PathTask(requests, mid, end));
+            }
+        }
+    }
+}
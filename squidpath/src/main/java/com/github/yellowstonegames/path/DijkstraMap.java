@@ -108,6 +108,33 @@ public class DijkstraMap {
      */
     public Measurement measurement = Measurement.MANHATTAN;
 
+    /**
+     * Used to choose how the scan methods spread distances outward from goals. {@link #SWEEP} is the traditional
+     * approach, which relaxes the whole perimeter of the scanned area repeatedly until nothing changes; it is fast on
+     * maps where every cell costs the same to enter, but on maps with widely-varied {@link #costMap} values, the same
+     * cell can be re-relaxed many times. {@link #RADIX_HEAP} instead processes cells in order of increasing distance
+     * using a monotone priority queue, so each reachable cell is finalized exactly once; this is usually the better
+     * choice when costs vary, or on large maps. Both produce the same {@link #gradientMap} for a full scan.
+     * <br>
+     * RADIX_HEAP requires that no {@link #costMap} value is negative. When it is used with a partialScan method, the
+     * limit is applied to the number of steps along each cell's shortest path, rather than to the number of sweeps.
+     */
+    public enum ScanMode {
+        /**
+         * The default; relaxes the entire perimeter of the scanned area in repeated sweeps.
+         */
+        SWEEP,
+        /**
+         * Uses Dijkstra's algorithm with a radix heap keyed on float distance; finalizes each cell once.
+         */
+        RADIX_HEAP
+    }
+
+    /**
+     * Which algorithm the scan and partialScan methods use; see {@link ScanMode}. Defaults to {@link ScanMode#SWEEP}.
+     */
+    public ScanMode scanMode = ScanMode.SWEEP;
+
 
     /**
      * Stores which parts of the map are accessible and which are not. Should not be changed unless the actual physical
@@ -188,6 +215,12 @@ public class DijkstraMap {
     private float[][] cachedFleeMap;
     private int cachedSize = 1;
 
+    private RadixHeap heap;
+    private int[] steps;
+    private int[] repairMarks;
+    private int repairStamp;
+    private IntList repairCells;
+
     /**
      * Construct a DijkstraMap without a level to actually scan. If you use this constructor, you must call an
      * initialize() method before using this class.
@@ -605,6 +638,14 @@ public class DijkstraMap {
         frustration = 0;
     }
 
+    /**
+     * Forgets the flee map that findFleePath() caches, so the next call to it scans again. The cache doesn't account
+     * for scanLimit, so {@link DijkstraBatch} calls this before each request it runs on a reused DijkstraMap.
+     */
+    void clearFleeCache() {
+        cachedFearSources = null;
+    }
+
     /**
      * Marks a cell as a goal for pathfinding, unless the cell is a wall or unreachable area (then it does nothing).
      *
@@ -762,6 +803,94 @@ public class DijkstraMap {
         }
     }
 
+    /**
+     * Changes the cost of entering one cell, or makes it a wall or a floor, and then repairs {@link #gradientMap} so it
+     * matches what a full {@link #scan()} would produce, without rescanning the whole map. Only the cells whose
+     * distance depended on the changed cell (or could now be shortened by it) are recalculated, which is usually a
+     * small fraction of the map when a door opens or closes or some terrain changes. This is meant to be called after
+     * {@link #scan()} or {@link #scan(Iterable)} with null for impassable, while the goals are unchanged from that
+     * scan; if the gradientMap is in any other state, call {@link #scan()} instead. Cells that become unreachable will
+     * have the value {@link #DARK}, as they would after a full scan.
+     * <br>
+     * This also changes {@link #physicalMap} and {@link #costMap} for the cell, so the change persists across later
+     * scans. If the cell becomes a wall and was a goal, it stops being a goal.
+     *
+     * @param x       the x-coordinate of the cell to change
+     * @param y       the y-coordinate of the cell to change
+     * @param newCost the new cost to enter the cell, as with {@link #setCost(int, int, float)}, or {@link #WALL} to
+     *                make the cell a wall; any cost less than WALL makes a wall into a floor
+     */
+    public void updateCell(int x, int y, float newCost) {
+        if (!initialized || x < 0 || x >= width || y < 0 || y >= height) return;
+        final boolean wasWall = physicalMap[x][y] > FLOOR, isWall = newCost >= WALL;
+        if (wasWall == isWall && (isWall || costMap[x][y] == newCost))
+            return;
+        beginRepair();
+        invalidate(x, y);
+        if (wasWall != isWall && measurement != Measurement.MANHATTAN && blockingRequirement > 0) {
+            // a wall here can block diagonal moves between its neighbors, so their distances may change too.
+            for (int d = 4; d < 8; d++) {
+                invalidate(x + Direction.OUTWARDS[d].deltaX, y);
+                invalidate(x, y + Direction.OUTWARDS[d].deltaY);
+                invalidate(x + Direction.OUTWARDS[d].deltaX, y + Direction.OUTWARDS[d].deltaY);
+            }
+        }
+        if (isWall) {
+            physicalMap[x][y] = WALL;
+            costMap[x][y] = 1f;
+            final int enc = encode(x, y);
+            for (int i = goals.size() - 1; i >= 0; i--) {
+                if (goals.get(i) == enc)
+                    goals.removeAt(i);
+            }
+        } else {
+            physicalMap[x][y] = FLOOR;
+            if (newCost != 1f)
+                standardCosts = false;
+            costMap[x][y] = newCost;
+        }
+        finishRepair();
+    }
+
+    /**
+     * Changes the cost of entering one cell, or makes it a wall or a floor, and then repairs {@link #gradientMap} so it
+     * matches what a full {@link #scan()} would produce, without rescanning the whole map. See
+     * {@link #updateCell(int, int, float)} for more information.
+     *
+     * @param pt      the cell to change
+     * @param newCost the new cost to enter the cell, or {@link #WALL} to make the cell a wall
+     */
+    public void updateCell(Coord pt, float newCost) {
+        updateCell(pt.x, pt.y, newCost);
+    }
+
+    /**
+     * Removes the goal at {@code oldGoal} and adds one at {@code newGoal}, then repairs {@link #gradientMap} so it
+     * matches what a full {@link #scan()} with the new goals would produce, without rescanning the whole map. Only the
+     * cells that were closest to oldGoal, or that are now closer to newGoal, are recalculated. Like
+     * {@link #updateCell(int, int, float)}, this is meant to be called after {@link #scan()} or
+     * {@link #scan(Iterable)} with null for impassable.
+     *
+     * @param oldGoal a current goal to remove; may be null to only add newGoal
+     * @param newGoal a cell to add as a goal; may be null to only remove oldGoal, and is ignored if it is a wall
+     */
+    public void moveGoal(Coord oldGoal, Coord newGoal) {
+        if (!initialized) return;
+        beginRepair();
+        if (oldGoal != null && oldGoal.isWithin(width, height)) {
+            final int enc = encode(oldGoal);
+            for (int i = goals.size() - 1; i >= 0; i--) {
+                if (goals.get(i) == enc)
+                    goals.removeAt(i);
+            }
+            invalidate(oldGoal.x, oldGoal.y);
+        }
+        if (newGoal != null && newGoal.isWithin(width, height) && physicalMap[newGoal.x][newGoal.y] <= FLOOR) {
+            goals.add(encode(newGoal));
+        }
+        finishRepair();
+    }
+
     private void setFresh(final int x, final int y, float counter) {
         if (x < 0 || x >= width || y < 0 || y >= height || gradientMap[x][y] < counter)
             return;
@@ -776,6 +905,207 @@ public class DijkstraMap {
         fresh.addFirst(encode(pt));
     }
 
+    /**
+     * The {@link ScanMode#RADIX_HEAP} counterpart to the sweeping loop in the scan methods. Every cell in
+     * {@link #fresh} is used as a starting point, with the distance already in {@code grid} for that cell, and then
+     * cells are finalized in order of increasing distance. This empties {@link #fresh}.
+     *
+     * @param grid  the 2D float array to scan; usually {@link #gradientMap}, but the scans for larger creatures use a copy
+     * @param start if non-null, the scan stops as soon as this cell's distance is final
+     * @param limit the maximum number of steps a cell can be from a starting cell and still be expanded; 0 for no limit
+     */
+    private void heapScan(final float[][] grid, final Coord start, final int limit) {
+        if (heap == null) heap = new RadixHeap();
+        else heap.clear();
+        final boolean limited = limit > 0;
+        if (limited && (steps == null || steps.length < width * height))
+            steps = new int[width * height];
+        int cen, cenX, cenY, adjX, adjY;
+        // keys in the heap must be non-negative, so they are all offset by the lowest starting distance.
+        float base = Float.POSITIVE_INFINITY, dist, cs;
+        for (int i = fresh.size(); i > 0; i--) {
+            cen = fresh.removeLast();
+            base = Math.min(base, grid[decodeX(cen)][decodeY(cen)]);
+            fresh.addFirst(cen);
+        }
+        for (int i = fresh.size(); i > 0; i--) {
+            cen = fresh.removeLast();
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            heap.push(grid[cenX][cenY] - base, cen);
+            if (limited) steps[cenY * width + cenX] = 0;
+        }
+        Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
+
+        while (!heap.isEmpty()) {
+            cen = heap.pop();
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            dist = grid[cenX][cenY];
+            // a stale entry; this cell was reached more cheaply after this entry was pushed.
+            if (heap.lastKey() > dist - base)
+                continue;
+            if (start != null && start.x == cenX && start.y == cenY)
+                return;
+            if (limited && steps[cenY * width + cenX] >= limit)
+                continue;
+            for (int d = 0; d < moveDirs.length; d++) {
+                adjX = cenX + moveDirs[d].deltaX;
+                adjY = cenY + moveDirs[d].deltaY;
+                if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
+                    /* Outside the map */
+                    continue;
+                if (d >= 4 && blockingRequirement > 0) // diagonal
+                {
+                    if ((grid[adjX][cenY] > FLOOR ? 1 : 0)
+                            + (grid[cenX][adjY] > FLOOR ? 1 : 0)
+                            >= blockingRequirement) {
+                        continue;
+                    }
+                }
+                float h = measurement.heuristic(moveDirs[d]);
+                cs = dist + h * costMap[adjX][adjY];
+                if (grid[adjX][adjY] <= FLOOR && cs < grid[adjX][adjY]) {
+                    grid[adjX][adjY] = cs;
+                    heap.push(cs - base, encode(adjX, adjY));
+                    if (limited) steps[adjY * width + adjX] = steps[cenY * width + cenX] + 1;
+                    ++mappedCount;
+                }
+            }
+        }
+    }
+
+    private void beginRepair() {
+        if (heap == null) heap = new RadixHeap();
+        else heap.clear();
+        if (repairMarks == null || repairMarks.length < width * height) {
+            repairMarks = new int[width * height];
+            repairStamp = 0;
+        }
+        if (++repairStamp == 0) {
+            Arrays.fill(repairMarks, 0);
+            repairStamp = 1;
+        }
+        if (repairCells == null) repairCells = new IntList(64);
+        else repairCells.clear();
+    }
+
+    /**
+     * Marks the cell at x,y as needing its distance recalculated, along with every cell whose distance in
+     * {@link #gradientMap} was reached through it. A cell counts as reached through a neighbor when its distance is
+     * (nearly) exactly the neighbor's distance plus the cost to step from there; this can mark a few cells that had
+     * another path just as short, which only costs a little extra work.
+     */
+    private void invalidate(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height || repairMarks[y * width + x] == repairStamp)
+            return;
+        repairMarks[y * width + x] = repairStamp;
+        repairCells.add(encode(x, y));
+        Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
+        int cen, cenX, cenY, adjX, adjY;
+        float dist, adj;
+        for (int i = repairCells.size() - 1; i < repairCells.size(); i++) {
+            cen = repairCells.get(i);
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            dist = gradientMap[cenX][cenY];
+            // walls and unreached cells can't be on any cell's path.
+            if (dist >= FLOOR)
+                continue;
+            for (int d = 0; d < moveDirs.length; d++) {
+                adjX = cenX + moveDirs[d].deltaX;
+                adjY = cenY + moveDirs[d].deltaY;
+                if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY
+                        || repairMarks[adjY * width + adjX] == repairStamp)
+                    continue;
+                adj = gradientMap[adjX][adjY];
+                if (adj > GOAL && adj < FLOOR
+                        && adj >= dist + measurement.heuristic(moveDirs[d]) * costMap[adjX][adjY] - 0.001f) {
+                    repairMarks[adjY * width + adjX] = repairStamp;
+                    repairCells.add(encode(adjX, adjY));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recalculates every cell marked by {@link #invalidate(int, int)} using its unmarked neighbors, then spreads any
+     * shorter distances outward in order of increasing distance, the same way {@link #heapScan(float[][], Coord, int)}
+     * does. Goals that were marked or newly added are used as starting points as well.
+     */
+    private void finishRepair() {
+        Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
+        final int n = repairCells.size();
+        int cen, cenX, cenY, adjX, adjY;
+        float dist, cs;
+        for (int i = 0; i < n; i++) {
+            cen = repairCells.get(i);
+            gradientMap[decodeX(cen)][decodeY(cen)] = physicalMap[decodeX(cen)][decodeY(cen)];
+        }
+        for (int i = 0; i < goals.size(); i++) {
+            cen = goals.get(i);
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            if (gradientMap[cenX][cenY] != GOAL || repairMarks[cenY * width + cenX] == repairStamp) {
+                gradientMap[cenX][cenY] = GOAL;
+                heap.push(GOAL, cen);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            cen = repairCells.get(i);
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            if (gradientMap[cenX][cenY] != FLOOR)
+                continue;
+            dist = FLOOR;
+            for (int d = 0; d < moveDirs.length; d++) {
+                adjX = cenX + moveDirs[d].deltaX;
+                adjY = cenY + moveDirs[d].deltaY;
+                if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY
+                        || repairMarks[adjY * width + adjX] == repairStamp || gradientMap[adjX][adjY] >= FLOOR)
+                    continue;
+                if (d >= 4 && blockingRequirement > 0 && (physicalMap[adjX][cenY] > FLOOR ? 1 : 0)
+                        + (physicalMap[cenX][adjY] > FLOOR ? 1 : 0) >= blockingRequirement)
+                    continue;
+                cs = gradientMap[adjX][adjY] + measurement.heuristic(moveDirs[d]) * costMap[cenX][cenY];
+                if (cs < dist) dist = cs;
+            }
+            if (dist < FLOOR) {
+                gradientMap[cenX][cenY] = dist;
+                heap.push(dist, cen);
+            }
+        }
+        while (!heap.isEmpty()) {
+            cen = heap.pop();
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            dist = gradientMap[cenX][cenY];
+            if (heap.lastKey() > dist)
+                continue;
+            for (int d = 0; d < moveDirs.length; d++) {
+                adjX = cenX + moveDirs[d].deltaX;
+                adjY = cenY + moveDirs[d].deltaY;
+                if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY || physicalMap[adjX][adjY] > FLOOR)
+                    continue;
+                if (d >= 4 && blockingRequirement > 0 && (physicalMap[adjX][cenY] > FLOOR ? 1 : 0)
+                        + (physicalMap[cenX][adjY] > FLOOR ? 1 : 0) >= blockingRequirement)
+                    continue;
+                cs = dist + measurement.heuristic(moveDirs[d]) * costMap[adjX][adjY];
+                if (cs < gradientMap[adjX][adjY]) {
+                    gradientMap[adjX][adjY] = cs;
+                    heap.push(cs, encode(adjX, adjY));
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            cen = repairCells.get(i);
+            cenX = decodeX(cen);
+            cenY = decodeY(cen);
+            if (gradientMap[cenX][cenY] == FLOOR)
+                gradientMap[cenX][cenY] = DARK;
+        }
+    }
+
     /**
      * Recalculate the Dijkstra map and return it. Cells that were marked as goals with setGoal will have
      * a value of 0, the cells adjacent to goals will have a value of 1, and cells progressively further
@@ -908,43 +1238,47 @@ public class DijkstraMap {
         mappedCount = goals.size();
         Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
 
-        while (numAssigned > 0) {
-            numAssigned = 0;
-            fsz = fresh.size();
-            for (int ci = fsz; ci > 0; ci--) {
-                cen = fresh.removeLast();
-                cenX = decodeX(cen);
-                cenY = decodeY(cen);
-                dist = gradientMap[cenX][cenY];
-
-                for (int d = 0; d < moveDirs.length; d++) {
-                    adjX = cenX + moveDirs[d].deltaX;
-                    adjY = cenY + moveDirs[d].deltaY;
-                    if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
-                        /* Outside the map */
-                        continue;
-                    if (d >= 4 && blockingRequirement > 0) // diagonal
-                    {
-                        if ((gradientMap[adjX][cenY] > FLOOR ? 1 : 0)
-                                + (gradientMap[cenX][adjY] > FLOOR ? 1 : 0)
-                                >= blockingRequirement) {
+        if (scanMode == ScanMode.RADIX_HEAP) {
+            heapScan(gradientMap, start, 0);
+        } else {
+            while (numAssigned > 0) {
+                numAssigned = 0;
+                fsz = fresh.size();
+                for (int ci = fsz; ci > 0; ci--) {
+                    cen = fresh.removeLast();
+                    cenX = decodeX(cen);
+                    cenY = decodeY(cen);
+                    dist = gradientMap[cenX][cenY];
+
+                    for (int d = 0; d < moveDirs.length; d++) {
+                        adjX = cenX + moveDirs[d].deltaX;
+                        adjY = cenY + moveDirs[d].deltaY;
+                        if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
+                            /* Outside the map */
                             continue;
+                        if (d >= 4 && blockingRequirement > 0) // diagonal
+                        {
+                            if ((gradientMap[adjX][cenY] > FLOOR ? 1 : 0)
+                                    + (gradientMap[cenX][adjY] > FLOOR ? 1 : 0)
+                                    >= blockingRequirement) {
+                                continue;
+                            }
                         }
-                    }
-                    float h = measurement.heuristic(moveDirs[d]);
-                    cs = dist + h * costMap[adjX][adjY];
-                    if (gradientMap[adjX][adjY] <= FLOOR && cs < gradientMap[adjX][adjY]) {
-                        setFresh(adjX, adjY, cs);
-                        ++numAssigned;
-                        ++mappedCount;
-                        if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
-                            if (impassable != null) {
-                                for (Coord pt : impassable) {
-                                    if (pt != null && pt.isWithin(width, height))
-                                        gradientMap[pt.x][pt.y] = physicalMap[pt.x][pt.y];
+                        float h = measurement.heuristic(moveDirs[d]);
+                        cs = dist + h * costMap[adjX][adjY];
+                        if (gradientMap[adjX][adjY] <= FLOOR && cs < gradientMap[adjX][adjY]) {
+                            setFresh(adjX, adjY, cs);
+                            ++numAssigned;
+                            ++mappedCount;
+                            if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
+                                if (impassable != null) {
+                                    for (Coord pt : impassable) {
+                                        if (pt != null && pt.isWithin(width, height))
+                                            gradientMap[pt.x][pt.y] = physicalMap[pt.x][pt.y];
+                                    }
                                 }
+                                return;
                             }
-                            return;
                         }
                     }
                 }
@@ -1112,44 +1446,48 @@ public class DijkstraMap {
         mappedCount = goals.size();
         Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
 
-        int iter = 0;
-        while (numAssigned > 0 && iter++ < limit) {
-            numAssigned = 0;
-            fsz = fresh.size();
-            for (int ci = fsz; ci > 0; ci--) {
-                cen = fresh.removeLast();
-                cenX = decodeX(cen);
-                cenY = decodeY(cen);
-                dist = gradientMap[cenX][cenY];
-
-                for (int d = 0; d < moveDirs.length; d++) {
-                    adjX = cenX + moveDirs[d].deltaX;
-                    adjY = cenY + moveDirs[d].deltaY;
-                    if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
-                        /* Outside the map */
-                        continue;
-                    if (d >= 4 && blockingRequirement > 0) // diagonal
-                    {
-                        if ((gradientMap[adjX][cenY] > FLOOR ? 1 : 0)
-                                + (gradientMap[cenX][adjY] > FLOOR ? 1 : 0)
-                                >= blockingRequirement) {
+        if (scanMode == ScanMode.RADIX_HEAP) {
+            heapScan(gradientMap, start, limit);
+        } else {
+            int iter = 0;
+            while (numAssigned > 0 && iter++ < limit) {
+                numAssigned = 0;
+                fsz = fresh.size();
+                for (int ci = fsz; ci > 0; ci--) {
+                    cen = fresh.removeLast();
+                    cenX = decodeX(cen);
+                    cenY = decodeY(cen);
+                    dist = gradientMap[cenX][cenY];
+
+                    for (int d = 0; d < moveDirs.length; d++) {
+                        adjX = cenX + moveDirs[d].deltaX;
+                        adjY = cenY + moveDirs[d].deltaY;
+                        if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
+                            /* Outside the map */
                             continue;
+                        if (d >= 4 && blockingRequirement > 0) // diagonal
+                        {
+                            if ((gradientMap[adjX][cenY] > FLOOR ? 1 : 0)
+                                    + (gradientMap[cenX][adjY] > FLOOR ? 1 : 0)
+                                    >= blockingRequirement) {
+                                continue;
+                            }
                         }
-                    }
-                    float h = measurement.heuristic(moveDirs[d]);
-                    cs = dist + h * costMap[adjX][adjY];
-                    if (gradientMap[adjX][adjY] <= FLOOR && cs < gradientMap[adjX][adjY]) {
-                        setFresh(adjX, adjY, cs);
-                        ++numAssigned;
-                        ++mappedCount;
-                        if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
-                            if (impassable != null) {
-                                for (Coord pt : impassable) {
-                                    if (pt != null && pt.isWithin(width, height))
-                                        gradientMap[pt.x][pt.y] = physicalMap[pt.x][pt.y];
+                        float h = measurement.heuristic(moveDirs[d]);
+                        cs = dist + h * costMap[adjX][adjY];
+                        if (gradientMap[adjX][adjY] <= FLOOR && cs < gradientMap[adjX][adjY]) {
+                            setFresh(adjX, adjY, cs);
+                            ++numAssigned;
+                            ++mappedCount;
+                            if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
+                                if (impassable != null) {
+                                    for (Coord pt : impassable) {
+                                        if (pt != null && pt.isWithin(width, height))
+                                            gradientMap[pt.x][pt.y] = physicalMap[pt.x][pt.y];
+                                    }
                                 }
+                                return;
                             }
-                            return;
                         }
                     }
                 }
@@ -1500,49 +1838,54 @@ public class DijkstraMap {
         mappedCount = goals.size();
         Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
 
-        while (numAssigned > 0) {
-            numAssigned = 0;
-            fsz = fresh.size();
-            for (int ci = fsz; ci > 0; ci--) {
-                cen = fresh.removeLast();
-                cenX = decodeX(cen);
-                cenY = decodeY(cen);
-                dist = gradientClone[cenX][cenY];
-
-                for (int d = 0; d < moveDirs.length; d++) {
-                    adjX = cenX + moveDirs[d].deltaX;
-                    adjY = cenY + moveDirs[d].deltaY;
-                    if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
-                        /* Outside the map */
-                        continue;
-                    if (d >= 4 && blockingRequirement > 0) // diagonal
-                    {
-                        if ((gradientClone[adjX][cenY] > FLOOR ? 1 : 0)
-                                + (gradientClone[cenX][adjY] > FLOOR ? 1 : 0)
-                                >= blockingRequirement) {
+        if (scanMode == ScanMode.RADIX_HEAP) {
+            heapScan(gradientClone, start, 0);
+        } else {
+            while (numAssigned > 0) {
+                numAssigned = 0;
+                fsz = fresh.size();
+                for (int ci = fsz; ci > 0; ci--) {
+                    cen = fresh.removeLast();
+                    cenX = decodeX(cen);
+                    cenY = decodeY(cen);
+                    dist = gradientClone[cenX][cenY];
+
+                    for (int d = 0; d < moveDirs.length; d++) {
+                        adjX = cenX + moveDirs[d].deltaX;
+                        adjY = cenY + moveDirs[d].deltaY;
+                        if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
+                            /* Outside the map */
                             continue;
+                        if (d >= 4 && blockingRequirement > 0) // diagonal
+                        {
+                            if ((gradientClone[adjX][cenY] > FLOOR ? 1 : 0)
+                                    + (gradientClone[cenX][adjY] > FLOOR ? 1 : 0)
+                                    >= blockingRequirement) {
+                                continue;
+                            }
                         }
-                    }
-                    float h = measurement.heuristic(moveDirs[d]);
-                    cs = dist + h * costMap[adjX][adjY];
-                    if (gradientClone[adjX][adjY] <= FLOOR && cs < gradientClone[adjX][adjY]) {
-                        setFresh(adjX, adjY, cs);
-                        ++numAssigned;
-                        ++mappedCount;
-                        if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
-                            if (impassable != null) {
-                                for (Coord pt : impassable) {
-                                    if (pt != null && pt.isWithin(width, height)) {
-                                        for (int xs = pt.x, xi = 0; xi < size && xs >= 0; xs--, xi++) {
-                                            for (int ys = pt.y, yi = 0; yi < size && ys >= 0; ys--, yi++) {
-                                                gradientClone[xs][ys] = physicalMap[xs][ys];
+                        float h = measurement.heuristic(moveDirs[d]);
+                        cs = dist + h * costMap[adjX][adjY];
+                        if (gradientClone[adjX][adjY] <= FLOOR && cs < gradientClone[adjX][adjY]) {
+                            gradientClone[adjX][adjY] = cs;
+                            fresh.addFirst(encode(adjX, adjY));
+                            ++numAssigned;
+                            ++mappedCount;
+                            if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
+                                if (impassable != null) {
+                                    for (Coord pt : impassable) {
+                                        if (pt != null && pt.isWithin(width, height)) {
+                                            for (int xs = pt.x, xi = 0; xi < size && xs >= 0; xs--, xi++) {
+                                                for (int ys = pt.y, yi = 0; yi < size && ys >= 0; ys--, yi++) {
+                                                    gradientClone[xs][ys] = physicalMap[xs][ys];
+                                                }
                                             }
                                         }
                                     }
                                 }
+                                gradientMap = gradientClone;
+                                return;
                             }
-                            gradientMap = gradientClone;
-                            return;
                         }
                     }
                 }
@@ -1679,50 +2022,55 @@ public class DijkstraMap {
         mappedCount = goals.size();
         Direction[] moveDirs = (measurement == Measurement.MANHATTAN) ? Direction.CARDINALS : Direction.OUTWARDS;
 
-        int iter = 0;
-        while (numAssigned > 0 && iter++ < limit) {
-            numAssigned = 0;
-            fsz = fresh.size();
-            for (int ci = fsz; ci > 0; ci--) {
-                cen = fresh.removeLast();
-                cenX = decodeX(cen);
-                cenY = decodeY(cen);
-                dist = gradientClone[cenX][cenY];
-
-                for (int d = 0; d < moveDirs.length; d++) {
-                    adjX = cenX + moveDirs[d].deltaX;
-                    adjY = cenY + moveDirs[d].deltaY;
-                    if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
-                        /* Outside the map */
-                        continue;
-                    if (d >= 4 && blockingRequirement > 0) // diagonal
-                    {
-                        if ((gradientClone[adjX][cenY] > FLOOR ? 1 : 0)
-                                + (gradientClone[cenX][adjY] > FLOOR ? 1 : 0)
-                                >= blockingRequirement) {
+        if (scanMode == ScanMode.RADIX_HEAP) {
+            heapScan(gradientClone, start, limit);
+        } else {
+            int iter = 0;
+            while (numAssigned > 0 && iter++ < limit) {
+                numAssigned = 0;
+                fsz = fresh.size();
+                for (int ci = fsz; ci > 0; ci--) {
+                    cen = fresh.removeLast();
+                    cenX = decodeX(cen);
+                    cenY = decodeY(cen);
+                    dist = gradientClone[cenX][cenY];
+
+                    for (int d = 0; d < moveDirs.length; d++) {
+                        adjX = cenX + moveDirs[d].deltaX;
+                        adjY = cenY + moveDirs[d].deltaY;
+                        if (adjX < 0 || adjY < 0 || width <= adjX || height <= adjY)
+                            /* Outside the map */
                             continue;
+                        if (d >= 4 && blockingRequirement > 0) // diagonal
+                        {
+                            if ((gradientClone[adjX][cenY] > FLOOR ? 1 : 0)
+                                    + (gradientClone[cenX][adjY] > FLOOR ? 1 : 0)
+                                    >= blockingRequirement) {
+                                continue;
+                            }
                         }
-                    }
-                    float h = measurement.heuristic(moveDirs[d]);
-                    cs = dist + h * costMap[adjX][adjY];
-                    if (gradientClone[adjX][adjY] <= FLOOR && cs < gradientClone[adjX][adjY]) {
-                        setFresh(adjX, adjY, cs);
-                        ++numAssigned;
-                        ++mappedCount;
-                        if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
-                            if (impassable != null) {
-                                for (Coord pt : impassable) {
-                                    if (pt != null && pt.isWithin(width, height)) {
-                                        for (int xs = pt.x, xi = 0; xi < size && xs >= 0; xs--, xi++) {
-                                            for (int ys = pt.y, yi = 0; yi < size && ys >= 0; ys--, yi++) {
-                                                gradientClone[xs][ys] = physicalMap[xs][ys];
+                        float h = measurement.heuristic(moveDirs[d]);
+                        cs = dist + h * costMap[adjX][adjY];
+                        if (gradientClone[adjX][adjY] <= FLOOR && cs < gradientClone[adjX][adjY]) {
+                            gradientClone[adjX][adjY] = cs;
+                            fresh.addFirst(encode(adjX, adjY));
+                            ++numAssigned;
+                            ++mappedCount;
+                            if (start != null && start.x == adjX && start.y == adjY && standardCosts) {
+                                if (impassable != null) {
+                                    for (Coord pt : impassable) {
+                                        if (pt != null && pt.isWithin(width, height)) {
+                                            for (int xs = pt.x, xi = 0; xi < size && xs >= 0; xs--, xi++) {
+                                                for (int ys = pt.y, yi = 0; yi < size && ys >= 0; ys--, yi++) {
+                                                    gradientClone[xs][ys] = physicalMap[xs][ys];
+                                                }
                                             }
                                         }
                                     }
                                 }
+                                gradientMap = gradientClone;
+                                return;
                             }
-                            gradientMap = gradientClone;
-                            return;
                         }
                     }
                 }
@@ -0,0 +1,957 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import com.github.tommyettinger.ds.IntDeque;
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.tommyettinger.random.FlowRandom;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.CoordSet;
+import com.github.yellowstonegames.grid.Direction;
+import com.github.yellowstonegames.grid.Measurement;
+import com.github.yellowstonegames.grid.Region;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static com.github.yellowstonegames.path.DijkstraMap.DARK;
+import static com.github.yellowstonegames.path.DijkstraMap.FLOOR;
+import static com.github.yellowstonegames.path.DijkstraMap.GOAL;
+import static com.github.yellowstonegames.path.DijkstraMap.WALL;
+
+/**
+ * A variant on {@link DijkstraMap} that stores its gradient, cost, and physical maps in flat, contiguous 1D float
+ * arrays instead of 2D jagged arrays. Each of those arrays has a one-cell border of walls on every side, so the
+ * neighbors of any cell can be found by adding one of a few precomputed offsets to that cell's index, without any
+ * bounds checks and without decoding x and y. This makes scans over large maps touch much less memory than a
+ * DijkstraMap would, and avoids a pointer chase for every neighbor that gets checked.
+ * <br>
+ * The index of the cell at x,y is {@code (x + 1) * stride + y + 1}, where {@link #stride} is {@code height + 2}; you
+ * can get it with {@link #index(int, int)}. If you need the gradient as a {@code float[width][height]} for existing
+ * code that works with DijkstraMap's output, {@link #scan(Iterable)} and {@link #partialScan(int, Iterable)} return
+ * one, and {@link #getGradientMap(float[][])} can copy the current gradient into an existing 2D array. The same
+ * {@link DijkstraMap#GOAL}, {@link DijkstraMap#FLOOR}, {@link DijkstraMap#WALL}, and {@link DijkstraMap#DARK} values
+ * are used here as in DijkstraMap.
+ * <br>
+ * This supports the scanning and simple path-following parts of DijkstraMap, with either {@link DijkstraMap.ScanMode},
+ * but not the scans for creatures larger than 1x1 or the more specialized findPath methods. You can share one
+ * physical map and cost map between many FlatDijkstraMap objects by using {@link #FlatDijkstraMap(FlatDijkstraMap)};
+ * each copy only allocates its own gradient map.
+ */
+public class FlatDijkstraMap {
+    /**
+     * How distance is measured on diagonal directions vs. orthogonal directions; this works the same way as
+     * {@link DijkstraMap#measurement}.
+     */
+    public Measurement measurement = Measurement.MANHATTAN;
+
+    /**
+     * Which algorithm the scan and partialScan methods use; see {@link DijkstraMap.ScanMode}. Defaults to
+     * {@link DijkstraMap.ScanMode#SWEEP}.
+     */
+    public DijkstraMap.ScanMode scanMode = DijkstraMap.ScanMode.SWEEP;
+
+    /**
+     * Stores which parts of the map are accessible and which are not, including a border of walls one cell thick
+     * around the map. Should not be changed unless the actual physical terrain has changed. This may be shared with
+     * other FlatDijkstraMap objects.
+     */
+    public float[] physicalMap;
+    /**
+     * The distances from the nearest goal for each cell, or {@link DijkstraMap#WALL} or {@link DijkstraMap#DARK} for
+     * cells that can't be reached, indexed as by {@link #index(int, int)}. This is never shared between
+     * FlatDijkstraMap objects.
+     */
+    public float[] gradientMap;
+    /**
+     * The entry cost multipliers for each cell, indexed as by {@link #index(int, int)}; this works the same way as
+     * {@link DijkstraMap#costMap}. This may be shared with other FlatDijkstraMap objects.
+     */
+    public float[] costMap;
+
+    /**
+     * Holds one boolean, which is true when every cell in {@link #costMap} has the default cost of 1. This is shared
+     * along with costMap, so a {@link #setCost(int, int, float)} call on any FlatDijkstraMap sharing a cost map is seen
+     * by all of them. Use {@link #hasStandardCosts()} to read it.
+     */
+    private boolean[] standardCosts = {true};
+    /**
+     * Height of the map, not counting the border. Don't change this, instead call initialize().
+     */
+    public int height;
+    /**
+     * Width of the map, not counting the border. Don't change this, instead call initialize().
+     */
+    public int width;
+    /**
+     * The distance between the indices of horizontally adjacent cells; always {@code height + 2}.
+     */
+    public int stride;
+    /**
+     * The latest path that was obtained by calling {@link #findPathPreScanned(ObjectDeque, Coord)}.
+     */
+    public ObjectDeque<Coord> path = new ObjectDeque<>();
+
+    public boolean cutShort;
+
+    /**
+     * Goals that pathfinding will seek out. Each item is an index, as produced by {@link #index(int, int)}.
+     */
+    protected IntList goals = new IntList(256);
+    /**
+     * Working data used during scanning; each item is an index, as produced by {@link #index(int, int)}.
+     */
+    protected IntDeque fresh = new IntDeque(256);
+
+    /**
+     * The FlowRandom used to decide which one of multiple equally-short paths to take; this has its state set
+     * deterministically before any usage, the same way {@link DijkstraMap} does.
+     */
+    protected FlowRandom rng = new FlowRandom(0L, 0x9E3779B97F4A7C15L);
+
+    private final Direction[] dirs = new Direction[9];
+    /**
+     * The amount to add to an index to get to the adjacent cell in each direction of {@link Direction#OUTWARDS}.
+     */
+    private final int[] offsets = new int[8];
+
+    private boolean initialized;
+
+    private int mappedCount;
+
+    private int blockingRequirement = 2;
+
+    private int frustration;
+
+    private final CoordSet impassable2 = new CoordSet(32);
+
+    private RadixHeap heap;
+    private int[] steps;
+
+    /**
+     * Construct a FlatDijkstraMap without a level to actually scan. If you use this constructor, you must call an
+     * initialize() method before using this class.
+     */
+    public FlatDijkstraMap() {
+    }
+
+    /**
+     * Constructor meant to take a char[][] where '#' means a wall and anything else is a walkable tile. This uses
+     * {@link Measurement#MANHATTAN}, allowing only 4-way movement.
+     *
+     * @param level a char[x][y] map where '#' is a wall, and anything else is walkable
+     */
+    public FlatDijkstraMap(final char[][] level) {
+        this(level, Measurement.MANHATTAN);
+    }
+
+    /**
+     * Constructor meant to take a char[][] where '#' means a wall and anything else is a walkable tile. Also takes a
+     * distance measurement.
+     *
+     * @param level       a char[x][y] map where '#' is a wall, and anything else is walkable
+     * @param measurement how this should measure orthogonal vs. diagonal measurement, such as {@link Measurement#MANHATTAN} for 4-way only movement
+     */
+    public FlatDijkstraMap(final char[][] level, Measurement measurement) {
+        this.measurement = measurement;
+        initialize(level);
+    }
+
+    /**
+     * Constructs a FlatDijkstraMap that uses the same physical map, cost map, and other settings as an existing
+     * DijkstraMap, copying them into flat arrays.
+     *
+     * @param other a DijkstraMap that has already been initialized
+     */
+    public FlatDijkstraMap(final DijkstraMap other) {
+        initialize(other);
+    }
+
+    /**
+     * Constructs a FlatDijkstraMap that shares its {@link #physicalMap} and {@link #costMap} with {@code level}, but
+     * has its own {@link #gradientMap}, goals, and other working state. This is useful when many pathfinders work on
+     * the same level, since only the gradient needs to be allocated for each one. Changes to the physical or cost map
+     * in either FlatDijkstraMap will affect the other, and so will {@link #setCost(int, int, float)} and
+     * {@link #initializeCost(float[][])}; both instances always agree on {@link #hasStandardCosts()}. If either one is
+     * later initialized with a different width or height (even a transposed size with the same area), it gets new
+     * arrays and stops sharing them.
+     *
+     * @param level an initialized FlatDijkstraMap to share terrain with
+     */
+    public FlatDijkstraMap(final FlatDijkstraMap level) {
+        if (!level.initialized) throw new IllegalStateException("FlatDijkstraMap must be initialized first!");
+        measurement = level.measurement;
+        scanMode = level.scanMode;
+        blockingRequirement = level.blockingRequirement;
+        width = level.width;
+        height = level.height;
+        stride = level.stride;
+        physicalMap = level.physicalMap;
+        costMap = level.costMap;
+        standardCosts = level.standardCosts;
+        gradientMap = Arrays.copyOf(physicalMap, physicalMap.length);
+        prepareOffsets();
+        initialized = true;
+    }
+
+    private void allocate(final int newWidth, final int newHeight) {
+        // a transposed size has the same length but a different stride, so instances sharing the arrays would misread
+        final boolean resized = physicalMap == null || width != newWidth || height != newHeight;
+        width = newWidth;
+        height = newHeight;
+        stride = height + 2;
+        final int size = (width + 2) * stride;
+        if (resized) {
+            physicalMap = new float[size];
+            gradientMap = new float[size];
+            costMap = new float[size];
+            standardCosts = new boolean[]{true};
+        }
+        Arrays.fill(physicalMap, WALL);
+        Arrays.fill(costMap, 1f);
+        prepareOffsets();
+    }
+
+    private void prepareOffsets() {
+        for (int d = 0; d < 8; d++) {
+            offsets[d] = Direction.OUTWARDS[d].deltaX * stride + Direction.OUTWARDS[d].deltaY;
+        }
+    }
+
+    /**
+     * Used to initialize or re-initialize a FlatDijkstraMap that needs a new physicalMap.
+     *
+     * @param level a 2D char array that this will use to establish which cells are walls ('#' as wall, others as floor)
+     * @return this for chaining
+     */
+    public FlatDijkstraMap initialize(final char[][] level) {
+        return initialize(level, '#');
+    }
+
+    /**
+     * Used to initialize or re-initialize a FlatDijkstraMap that needs a new physicalMap, specifying the char that
+     * should be considered a wall.
+     *
+     * @param level         a 2D char array that this will use to establish which cells are walls (alternateWall defines the wall char, everything else is floor)
+     * @param alternateWall the char to consider a wall when it appears in level
+     * @return this for chaining
+     */
+    public FlatDijkstraMap initialize(final char[][] level, final char alternateWall) {
+        allocate(level.length, level[0].length);
+        for (int x = 0, i = stride + 1; x < width; x++, i += 2) {
+            for (int y = 0; y < height; y++, i++) {
+                physicalMap[i] = (level[x][y] == alternateWall) ? WALL : FLOOR;
+            }
+        }
+        System.arraycopy(physicalMap, 0, gradientMap, 0, physicalMap.length);
+        standardCosts[0] = true;
+        initialized = true;
+        return this;
+    }
+
+    /**
+     * Used to initialize or re-initialize a FlatDijkstraMap from the output of a DijkstraMap or another 2D float
+     * array using the same {@link DijkstraMap#FLOOR} and {@link DijkstraMap#WALL} values.
+     *
+     * @param level a 2D float array that should be used as the physicalMap for this FlatDijkstraMap
+     * @return this for chaining
+     */
+    public FlatDijkstraMap initialize(final float[][] level) {
+        allocate(level.length, level[0].length);
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(level[x], 0, physicalMap, index(x, 0), height);
+        }
+        System.arraycopy(physicalMap, 0, gradientMap, 0, physicalMap.length);
+        standardCosts[0] = true;
+        initialized = true;
+        return this;
+    }
+
+    /**
+     * Used to initialize or re-initialize a FlatDijkstraMap from a resistance map of the type used by
+     * {@link com.github.yellowstonegames.grid.FOV}, where 1.0 or higher is a wall and anything lower is passable.
+     *
+     * @param level a 2D float resistance map
+     * @return this for chaining
+     */
+    public FlatDijkstraMap initializeByResistance(final float[][] level) {
+        allocate(level.length, level[0].length);
+        for (int x = 0, i = stride + 1; x < width; x++, i += 2) {
+            for (int y = 0; y < height; y++, i++) {
+                physicalMap[i] = (level[x][y] >= 1f) ? WALL : FLOOR;
+            }
+        }
+        System.arraycopy(physicalMap, 0, gradientMap, 0, physicalMap.length);
+        standardCosts[0] = true;
+        initialized = true;
+        return this;
+    }
+
+    /**
+     * Used to initialize or re-initialize a FlatDijkstraMap so that it uses the same physical map, cost map,
+     * measurement, scan mode, and blocking requirement as a DijkstraMap.
+     *
+     * @param other a DijkstraMap that has already been initialized
+     * @return this for chaining
+     */
+    public FlatDijkstraMap initialize(final DijkstraMap other) {
+        measurement = other.measurement;
+        scanMode = other.scanMode;
+        blockingRequirement = other.getBlockingRequirement();
+        initialize(other.physicalMap);
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(other.costMap[x], 0, costMap, index(x, 0), height);
+        }
+        standardCosts[0] = other.standardCosts;
+        return this;
+    }
+
+    /**
+     * Used to initialize the entry cost modifiers for games that require variable costs to enter squares. This expects
+     * a float[][] of the same dimensions as the 2D array that was used to previously initialize() this map.
+     *
+     * @param costs a 2D float array that already has the desired cost values
+     * @return this FlatDijkstraMap for chaining.
+     */
+    public FlatDijkstraMap initializeCost(final float[][] costs) {
+        if (!initialized) throw new IllegalStateException("FlatDijkstraMap must be initialized first!");
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(costs[x], 0, costMap, index(x, 0), height);
+        }
+        standardCosts[0] = false;
+        return this;
+    }
+
+    /**
+     * Returns true if every cell in {@link #costMap} still has the default cost of 1, which lets scans stop early once
+     * they reach their start. This is shared by every FlatDijkstraMap that shares the same cost map.
+     *
+     * @return true if no cell has been given a cost other than 1
+     */
+    public boolean hasStandardCosts() {
+        return standardCosts[0];
+    }
+
+    /**
+     * Gets the index into {@link #gradientMap}, {@link #costMap}, and {@link #physicalMap} for the given x,y cell.
+     * This does not check bounds; x can be from -1 to width inclusive, and y from -1 to height inclusive, to reach the
+     * border.
+     *
+     * @param x the x-coordinate, usually from 0 (inclusive) to width (exclusive)
+     * @param y the y-coordinate, usually from 0 (inclusive) to height (exclusive)
+     * @return the index for x,y
+     */
+    public int index(final int x, final int y) {
+        return (x + 1) * stride + y + 1;
+    }
+
+    /**
+     * Gets the x-coordinate of the cell at the given index; the reverse of {@link #index(int, int)}.
+     *
+     * @param index an index as produced by {@link #index(int, int)}
+     * @return the x-coordinate of that index
+     */
+    public int indexX(final int index) {
+        return index / stride - 1;
+    }
+
+    /**
+     * Gets the y-coordinate of the cell at the given index; the reverse of {@link #index(int, int)}.
+     *
+     * @param index an index as produced by {@link #index(int, int)}
+     * @return the y-coordinate of that index
+     */
+    public int indexY(final int index) {
+        return index % stride - 1;
+    }
+
+    /**
+     * Gets the current value in the gradient map for the given x,y cell, or {@link DijkstraMap#WALL} if it is out of bounds.
+     *
+     * @param x the x-coordinate
+     * @param y the y-coordinate
+     * @return the distance to the nearest goal, or a value greater than {@link DijkstraMap#FLOOR} if none could be reached
+     */
+    public float gradientAt(final int x, final int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return WALL;
+        return gradientMap[index(x, y)];
+    }
+
+    /**
+     * Copies the current gradient map into a 2D float array, without the border.
+     *
+     * @param into a float[width][height] to copy into, or null to allocate a new one
+     * @return into, after modifications, or a new 2D array if into was null
+     */
+    public float[][] getGradientMap(float[][] into) {
+        if (into == null) into = new float[width][height];
+        for (int x = 0; x < width; x++) {
+            System.arraycopy(gradientMap, index(x, 0), into[x], 0, height);
+        }
+        return into;
+    }
+
+    /**
+     * Resets the gradientMap to its original value from physicalMap.
+     */
+    public void resetMap() {
+        if (!initialized) return;
+        System.arraycopy(physicalMap, 0, gradientMap, 0, physicalMap.length);
+    }
+
+    /**
+     * Resets this FlatDijkstraMap to a state with no goals, no discovered path, and no changes made to gradientMap
+     * relative to physicalMap.
+     */
+    public void reset() {
+        resetMap();
+        goals.clear();
+        path.clear();
+        fresh.clear();
+    }
+
+    /**
+     * Marks a cell as a goal for pathfinding, unless the cell is a wall or unreachable area (then it does nothing).
+     *
+     * @param x the x-coordinate of the goal
+     * @param y the y-coordinate of the goal
+     */
+    public void setGoal(final int x, final int y) {
+        if (!initialized || x < 0 || x >= width || y < 0 || y >= height) return;
+        final int i = index(x, y);
+        if (physicalMap[i] > FLOOR) {
+            return;
+        }
+        goals.add(i);
+        gradientMap[i] = GOAL;
+    }
+
+    /**
+     * Marks a cell as a goal for pathfinding, unless the cell is a wall or unreachable area (then it does nothing).
+     *
+     * @param pt the goal
+     */
+    public void setGoal(final Coord pt) {
+        setGoal(pt.x, pt.y);
+    }
+
+    /**
+     * Marks many cells as goals for pathfinding, ignoring cells in walls or unreachable areas.
+     *
+     * @param pts a Region containing "on" cells to treat as goals; should have the same width and height as this
+     */
+    public void setGoals(final Region pts) {
+        if (!initialized || pts.width > width || pts.height > height) return;
+        for (Coord c : pts) {
+            setGoal(c.x, c.y);
+        }
+    }
+
+    /**
+     * Marks many cells as goals for pathfinding, ignoring cells in walls or unreachable areas.
+     *
+     * @param pts any Iterable of Coord, which can be a List, Set, Queue, etc. of Coords to mark as goals
+     */
+    public void setGoals(final Iterable<Coord> pts) {
+        if (!initialized) return;
+        for (Coord c : pts) {
+            setGoal(c.x, c.y);
+        }
+    }
+
+    /**
+     * Used to remove all goals and undo any changes to gradientMap made by having a goal present.
+     */
+    public void clearGoals() {
+        if (!initialized)
+            return;
+        for (int i = 0, n = goals.size(); i < n; i++) {
+            final int g = goals.get(i);
+            gradientMap[g] = physicalMap[g];
+        }
+        goals.clear();
+    }
+
+    /**
+     * Marks a cell's cost for pathfinding as cost, unless the cell is a wall or unreachable area (then it always sets
+     * the cost to 1f). If this FlatDijkstraMap shares its cost map, this affects the others that share it, too.
+     *
+     * @param x    the x-coordinate of the cell
+     * @param y    the y-coordinate of the cell
+     * @param cost the cost multiplier to enter that cell
+     */
+    public void setCost(final int x, final int y, final float cost) {
+        if (!initialized || x < 0 || x >= width || y < 0 || y >= height) return;
+        final int i = index(x, y);
+        if (physicalMap[i] > FLOOR) {
+            costMap[i] = 1f;
+            return;
+        }
+        if (cost != 1f)
+            standardCosts[0] = false;
+        costMap[i] = cost;
+    }
+
+    /**
+     * Marks a specific cell in gradientMap as completely impossible to enter.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     */
+    public void setOccupied(final int x, final int y) {
+        if (!initialized || x < 0 || x >= width || y < 0 || y >= height) return;
+        gradientMap[index(x, y)] = WALL;
+    }
+
+    /**
+     * Reverts a cell to the value stored in the original state of the level as known by physicalMap.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     */
+    public void resetCell(final int x, final int y) {
+        if (!initialized || x < 0 || x >= width || y < 0 || y >= height) return;
+        final int i = index(x, y);
+        gradientMap[i] = physicalMap[i];
+    }
+
+    /**
+     * Recalculate the gradient map and return it as a 2D array. Cells that could not be reached from any goal are
+     * given the value {@link DijkstraMap#DARK}, both in the returned array and in {@link #gradientMap}.
+     *
+     * @return A 2D float[width][height], without the border
+     */
+    public float[][] scan() {
+        return scan(null);
+    }
+
+    /**
+     * Recalculate the gradient map and return it as a 2D array. Cells that could not be reached from any goal are
+     * given the value {@link DijkstraMap#DARK}, both in the returned array and in {@link #gradientMap}.
+     *
+     * @param impassable An Iterable of Coord keys representing the locations of enemies or other moving obstacles to a
+     *                   path that cannot be moved through; this can be null if there are no such obstacles.
+     * @return A 2D float[width][height], without the border
+     */
+    public float[][] scan(final Iterable<Coord> impassable) {
+        scan(null, impassable);
+        darken();
+        return getGradientMap(null);
+    }
+
+    /**
+     * Recalculate the gradient map, storing it in {@link #gradientMap}. If start is non-null, the scan can stop early
+     * once start has been reached, which leaves some cells with the value {@link DijkstraMap#FLOOR}.
+     *
+     * @param start      a Coord representing the location of the pathfinder; may be null, which has this scan the whole map
+     * @param impassable An Iterable of Coord keys representing the locations of enemies or other moving obstacles to a
+     *                   path that cannot be moved through; this can be null if there are no such obstacles.
+     */
+    public void scan(final Coord start, final Iterable<Coord> impassable) {
+        if (!initialized) return;
+        blockImpassable(impassable);
+        seedGoals();
+        final int startIndex = start == null || !start.isWithin(width, height) ? -1 : index(start.x, start.y);
+        if (scanMode == DijkstraMap.ScanMode.RADIX_HEAP)
+            heapScan(startIndex, 0);
+        else
+            sweepScan(startIndex, 0);
+        unblockImpassable(impassable);
+    }
+
+    /**
+     * Recalculate the gradient map up to a limit and return it as a 2D array. Cells that were not reached are given
+     * the value {@link DijkstraMap#DARK}, both in the returned array and in {@link #gradientMap}.
+     *
+     * @param limit      The maximum number of steps to scan outward from a goal.
+     * @param impassable An Iterable of Coord keys representing the locations of enemies or other moving obstacles to a
+     *                   path that cannot be moved through; this can be null if there are no such obstacles.
+     * @return A 2D float[width][height], without the border
+     */
+    public float[][] partialScan(final int limit, final Iterable<Coord> impassable) {
+        partialScan(null, limit, impassable);
+        darken();
+        return getGradientMap(null);
+    }
+
+    /**
+     * Recalculate the gradient map up to a limit, storing it in {@link #gradientMap}. Cells that would take more steps
+     * than limit to reach keep the value {@link DijkstraMap#FLOOR}.
+     *
+     * @param start      a Coord representing the location of the pathfinder; may be null to have this scan more of the map
+     * @param limit      The maximum number of steps to scan outward from a goal.
+     * @param impassable An Iterable of Coord keys representing the locations of enemies or other moving obstacles to a
+     *                   path that cannot be moved through; this can be null if there are no such obstacles.
+     */
+    public void partialScan(final Coord start, final int limit, final Iterable<Coord> impassable) {
+        if (!initialized || limit <= 0) return;
+        blockImpassable(impassable);
+        seedGoals();
+        final int startIndex = start == null || !start.isWithin(width, height) ? -1 : index(start.x, start.y);
+        if (scanMode == DijkstraMap.ScanMode.RADIX_HEAP)
+            heapScan(startIndex, limit);
+        else
+            sweepScan(startIndex, limit);
+        unblockImpassable(impassable);
+    }
+
+    private void blockImpassable(final Iterable<Coord> impassable) {
+        if (impassable != null) {
+            for (Coord pt : impassable) {
+                if (pt != null && pt.isWithin(width, height))
+                    gradientMap[index(pt.x, pt.y)] = WALL;
+            }
+        }
+    }
+
+    private void unblockImpassable(final Iterable<Coord> impassable) {
+        if (impassable != null) {
+            for (Coord pt : impassable) {
+                if (pt != null && pt.isWithin(width, height)) {
+                    final int i = index(pt.x, pt.y);
+                    gradientMap[i] = physicalMap[i];
+                }
+            }
+        }
+    }
+
+    private void seedGoals() {
+        fresh.clear();
+        for (int i = 0, n = goals.size(); i < n; i++) {
+            final int g = goals.get(i);
+            gradientMap[g] = GOAL;
+            fresh.add(g);
+        }
+        mappedCount = goals.size();
+    }
+
+    private void darken() {
+        for (int i = 0; i < gradientMap.length; i++) {
+            if (gradientMap[i] == FLOOR)
+                gradientMap[i] = DARK;
+        }
+    }
+
+    private boolean diagonalBlocked(final int cen, final int d) {
+        final Direction dir = Direction.OUTWARDS[d];
+        return (gradientMap[cen + dir.deltaX * stride] > FLOOR ? 1 : 0)
+                + (gradientMap[cen + dir.deltaY] > FLOOR ? 1 : 0)
+                >= blockingRequirement;
+    }
+
+    private void sweepScan(final int start, final int limit) {
+        final float[] gradient = gradientMap, costs = costMap;
+        final int dirCount = measurement.directionCount();
+        final float diagonal = measurement.heuristic(Direction.UP_LEFT);
+        int numAssigned = fresh.size(), iter = 0, cen, adj;
+        float dist, cs;
+        while (numAssigned > 0 && (limit <= 0 || iter++ < limit)) {
+            numAssigned = 0;
+            for (int ci = fresh.size(); ci > 0; ci--) {
+                cen = fresh.removeLast();
+                dist = gradient[cen];
+                for (int d = 0; d < dirCount; d++) {
+                    adj = cen + offsets[d];
+                    if (d >= 4 && blockingRequirement > 0 && diagonalBlocked(cen, d))
+                        continue;
+                    cs = dist + (d >= 4 ? diagonal : 1f) * costs[adj];
+                    if (gradient[adj] <= FLOOR && cs < gradient[adj]) {
+                        gradient[adj] = cs;
+                        fresh.addFirst(adj);
+                        ++numAssigned;
+                        ++mappedCount;
+                        if (adj == start && standardCosts[0])
+                            return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void heapScan(final int start, final int limit) {
+        if (heap == null) heap = new RadixHeap();
+        else heap.clear();
+        final float[] gradient = gradientMap, costs = costMap;
+        final boolean limited = limit > 0;
+        if (limited && (steps == null || steps.length < gradient.length))
+            steps = new int[gradient.length];
+        final int dirCount = measurement.directionCount();
+        final float diagonal = measurement.heuristic(Direction.UP_LEFT);
+        int cen, adj;
+        float dist, cs;
+        // goals all start at GOAL, which is 0, so keys need no offset to be non-negative here.
+        for (int i = fresh.size(); i > 0; i--) {
+            cen = fresh.removeLast();
+            heap.push(gradient[cen], cen);
+            if (limited) steps[cen] = 0;
+        }
+        while (!heap.isEmpty()) {
+            cen = heap.pop();
+            dist = gradient[cen];
+            if (heap.lastKey() > dist)
+                continue;
+            if (cen == start)
+                return;
+            if (limited && steps[cen] >= limit)
+                continue;
+            for (int d = 0; d < dirCount; d++) {
+                adj = cen + offsets[d];
+                if (d >= 4 && blockingRequirement > 0 && diagonalBlocked(cen, d))
+                    continue;
+                cs = dist + (d >= 4 ? diagonal : 1f) * costs[adj];
+                if (gradient[adj] <= FLOOR && cs < gradient[adj]) {
+                    gradient[adj] = cs;
+                    heap.push(cs, adj);
+                    if (limited) steps[adj] = steps[cen] + 1;
+                    ++mappedCount;
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans with the listed goals and start point, and returns a list of Coord positions (using the current
+     * measurement) needed to get closer to the closest reachable goal. This works the same way as
+     * {@link DijkstraMap#findPath(ObjectDeque, int, int, Collection, Collection, Coord, Coord...)}, and produces the
+     * same path as it when both use the same scan mode on the same level.
+     *
+     * @param buffer       an existing ObjectDeque of Coord that will have the result appended to it (in-place); if null, this will make a new ObjectDeque
+     * @param length       the length of the path to calculate
+     * @param scanLimit    how many cells away from a goal to actually process; negative to process whole map
+     * @param impassable   a Set of impassable Coord positions that may change (not constant like walls); can be null
+     * @param onlyPassable a Set of Coord positions that this pathfinder cannot end a path occupying (typically allies); can be null
+     * @param start        the start of the path, should correspond to the minimum-x, minimum-y position of the pathfinder
+     * @param targets      a vararg or array of Coord that this will try to pathfind toward
+     * @return an ObjectDeque of Coord that will contain the locations of this creature as it goes toward a target, appended to buffer (if non-null)
+     */
+    public ObjectDeque<Coord> findPath(ObjectDeque<Coord> buffer, int length, int scanLimit, Collection<Coord> impassable,
+                                       Collection<Coord> onlyPassable, Coord start, Coord... targets) {
+        path.clear();
+        if (buffer == null)
+            buffer = new ObjectDeque<>();
+        if (!initialized || length <= 0) {
+            cutShort = true;
+            return buffer;
+        }
+        if (impassable == null)
+            impassable2.clear();
+        else if (impassable != impassable2) {
+            impassable2.clear();
+            impassable2.addAll(impassable);
+        }
+        if (onlyPassable != null && length == 1)
+            impassable2.addAll(onlyPassable);
+
+        resetMap();
+        goals.clear();
+        for (int i = 0; i < targets.length; i++) {
+            setGoal(targets[i]);
+        }
+        if (goals.isEmpty()) {
+            cutShort = true;
+            return buffer;
+        }
+        if (scanLimit <= 0 || scanLimit < length)
+            scan(start, impassable2);
+        else
+            partialScan(start, scanLimit, impassable2);
+        Coord currentPos = start;
+        int cur = index(start.x, start.y);
+        float paidLength = 0f;
+        rng.setState(start.hashCode(), targets.length);
+        while (true) {
+            if (frustration > 500) {
+                path.clear();
+                break;
+            }
+            float best = gradientMap[cur];
+            appendDirToShuffle(rng);
+            int choice = 0;
+
+            for (int d = 0; d <= measurement.directionCount(); d++) {
+                final Direction dir = dirs[d];
+                final int adjX = currentPos.x + dir.deltaX, adjY = currentPos.y + dir.deltaY;
+                if (adjX < 0 || adjY < 0 || adjX >= width || adjY >= height)
+                    /* Outside the map */
+                    continue;
+                if (dir.isDiagonal() && blockingRequirement > 0) {
+                    if ((gradientMap[cur + dir.deltaX * stride] > FLOOR ? 1 : 0)
+                            + (gradientMap[cur + dir.deltaY] > FLOOR ? 1 : 0)
+                            >= blockingRequirement)
+                        continue;
+                }
+                final int adj = cur + dir.deltaX * stride + dir.deltaY;
+                Coord pt = Coord.get(adjX, adjY);
+                if (gradientMap[adj] < best && !impassable2.contains(pt)) {
+                    if (dirs[choice] == Direction.NONE || !path.contains(pt)) {
+                        best = gradientMap[adj];
+                        choice = d;
+                    }
+                }
+            }
+            final int next = cur + dirs[choice].deltaX * stride + dirs[choice].deltaY;
+            if (best >= gradientMap[cur] || physicalMap[next] > FLOOR) {
+                cutShort = true;
+                frustration = 0;
+                buffer.addAll(path);
+                return buffer;
+            }
+            cur = next;
+            currentPos = currentPos.translate(dirs[choice].deltaX, dirs[choice].deltaY);
+            path.add(currentPos);
+            paidLength += costMap[cur];
+            if (paidLength > length - 1f) {
+                if (onlyPassable != null && onlyPassable.contains(currentPos)) {
+                    frustration++;
+                    impassable2.add(currentPos);
+                    return findPath(buffer, length, scanLimit, impassable2, onlyPassable, start, targets);
+                }
+                break;
+            }
+            if (gradientMap[cur] == 0)
+                break;
+        }
+        cutShort = false;
+        frustration = 0;
+        goals.clear();
+        buffer.addAll(path);
+        return buffer;
+    }
+
+    /**
+     * Follows the gradient from target to the nearest goal, after {@link #scan(Coord, Iterable)} or a similar method
+     * has been called. This chooses between equally-good paths the same way
+     * {@link DijkstraMap#findPathPreScanned(ObjectDeque, Coord)} does, so the two produce the same paths on the same
+     * gradient.
+     *
+     * @param buffer an existing ObjectDeque of Coord that will have the result appended to it (in-place); if null, this will make a new ObjectDeque
+     * @param target the target cell
+     * @return an ObjectDeque of Coord that make up the best path, appended to buffer (if non-null)
+     */
+    public ObjectDeque<Coord> findPathPreScanned(ObjectDeque<Coord> buffer, Coord target) {
+        path.clear();
+        if (buffer == null)
+            buffer = new ObjectDeque<>();
+        if (!initialized || goals.isEmpty() || !target.isWithin(width, height))
+            return buffer;
+        Coord currentPos = target;
+        int cur = index(target.x, target.y);
+        if (gradientMap[cur] <= FLOOR)
+            path.add(currentPos);
+        else
+            return buffer;
+        rng.setState(target.hashCode(), 0x9E3779B97F4A7C15L);
+        do {
+            float best = gradientMap[cur];
+            appendDirToShuffle(rng);
+            int choice = 0;
+            for (int d = 0; d <= measurement.directionCount(); d++) {
+                final Direction dir = dirs[d];
+                final int adj = cur + dir.deltaX * stride + dir.deltaY;
+                if (dir.isDiagonal() && blockingRequirement > 0) {
+                    if ((gradientMap[cur + dir.deltaX * stride] > FLOOR ? 1 : 0)
+                            + (gradientMap[cur + dir.deltaY] > FLOOR ? 1 : 0)
+                            >= blockingRequirement)
+                        continue;
+                }
+                if (gradientMap[adj] < best) {
+                    if (dirs[choice] == Direction.NONE || !path.contains(currentPos.translate(dir.deltaX, dir.deltaY))) {
+                        best = gradientMap[adj];
+                        choice = d;
+                    }
+                }
+            }
+            final int next = cur + dirs[choice].deltaX * stride + dirs[choice].deltaY;
+            if (best >= gradientMap[cur] || physicalMap[next] > FLOOR) {
+                cutShort = true;
+                buffer.addAll(path);
+                return buffer;
+            }
+            cur = next;
+            currentPos = currentPos.translate(dirs[choice].deltaX, dirs[choice].deltaY);
+            path.addFirst(currentPos);
+        } while (gradientMap[cur] != 0);
+        cutShort = false;
+        buffer.addAll(path);
+        return buffer;
+    }
+
+    public int getMappedCount() {
+        return mappedCount;
+    }
+
+    /**
+     * Gets the level of blocking required to stop a diagonal move; see {@link DijkstraMap#getBlockingRequirement()}.
+     *
+     * @return the current level of blocking required to stop a diagonal move
+     */
+    public int getBlockingRequirement() {
+        return blockingRequirement;
+    }
+
+    /**
+     * Sets the level of blocking required to stop a diagonal move; see
+     * {@link DijkstraMap#setBlockingRequirement(int)}.
+     *
+     * @param blockingRequirement the desired level of blocking required to stop a diagonal move
+     */
+    public void setBlockingRequirement(int blockingRequirement) {
+        this.blockingRequirement = Math.min(Math.max(blockingRequirement, 0), 2);
+    }
+
+    private void appendDirToShuffle(Random rng) {
+        switch (measurement){
+            case MANHATTAN:
+                System.arraycopy(Direction.CARDINALS, 0, dirs, 0, 4);
+                for (int i = 3; i > 0; i--) {
+                    final int r = (int) ((i + 1) * (rng.nextLong() & 0xFFFFFFFFL) >>> 32);
+                    Direction t = dirs[r];
+                    dirs[r] = dirs[i];
+                    dirs[i] = t;
+                }
+                dirs[4] = Direction.NONE;
+                break;
+            case CHEBYSHEV:
+                System.arraycopy(Direction.OUTWARDS, 0, dirs, 0, 8);
+                for (int i = 7; i > 0; i--) {
+                    final int r = (int) ((i + 1) * (rng.nextLong() & 0xFFFFFFFFL) >>> 32);
+                    Direction t = dirs[r];
+                    dirs[r] = dirs[i];
+                    dirs[i] = t;
+                }
+                dirs[8] = Direction.NONE;
+                break;
+            default:
+                System.arraycopy(Direction.OUTWARDS, 0, dirs, 0, 8);
+                for (int i = 3; i > 0; i--) {
+                    final int r = (int) ((i + 1) * (rng.nextLong() & 0xFFFFFFFFL) >>> 32);
+                    Direction t = dirs[r];
+                    dirs[r] = dirs[i];
+                    dirs[i] = t;
+                }
+                for (int j = 7; j > 4; j--) {
+                    final int r = 4 + (int) ((j - 3) * (rng.nextLong() & 0xFFFFFFFFL) >>> 32);
+                    Direction t = dirs[r];
+                    dirs[r] = dirs[j];
+                    dirs[j] = t;
+                }
+                dirs[8] = Direction.NONE;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import com.github.tommyettinger.ds.IntFloatMap;
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Performs A* search to find the shortest path between two Coord points, working directly on a grid instead of on a
+ * {@link CostlyGraph}.
+ * <br>
+ * This has the same API as {@link AStarSearch}, but where AStarSearch builds a graph with a {@link Node} and a map of
+ * connections for every passable cell, this only stores a few flat arrays of primitives with one item per cell, and
+ * uses an int-indexed binary heap for its open set. Constructing one of these is much faster and uses much less memory
+ * on large maps, and a search doesn't allocate anything other than the Coord items in the path it returns.
+ * <br>
+ * Paths only have the same costs as AStarSearch's when the heuristic is admissible, meaning it never estimates more
+ * than the real remaining cost. With no cost below 1, that holds for {@link Heuristic#MANHATTAN},
+ * {@link Heuristic#CHEBYSHEV}, and {@link Heuristic#DIJKSTRA}, and then both find shortest paths, though when several
+ * are equally short, this may choose a different one than AStarSearch would. The default {@link Heuristic#EUCLIDEAN}
+ * is not admissible, because it estimates a diagonal step as costing more than the 1 it can actually cost; with it,
+ * neither class is guaranteed a shortest path, and the two can return paths with different costs because they visit
+ * cells in a different order.
+ * <br>
+ * As with AStarSearch, the cost to move into a cell is the value of that cell in the cost map, negative costs are
+ * impassable, and diagonal moves are allowed unless the heuristic is {@link Heuristic#MANHATTAN}. The predefined
+ * heuristics in {@link Heuristic} are calculated without creating any Coord values; any other Heuristic will work, but
+ * is called with Coord arguments as usual.
+ * @see AStarSearch the graph-based version, which this can be used in place of
+ */
+public class GridAStarSearch extends AStarSearch {
+    /**
+     * The cost to enter each cell, indexed by {@code x + y * width}; negative costs are impassable.
+     */
+    protected float[] costs;
+    protected float[] distances;
+    protected float[] estimates;
+    protected int[] parents;
+    protected int[] seenIDs;
+    protected int[] closedIDs;
+    protected int runID;
+    protected boolean eightWay;
+
+    private IndexedHeap heap;
+
+    protected GridAStarSearch() {
+        super();
+        path = new ObjectDeque<>();
+    }
+
+    /**
+     * Builds a pathing object to run searches on.
+     * <br>
+     * Values in the map are treated as positive values being legal weights, with higher values being harder to pass
+     * through. Any negative value is treated as being an impassible space. A weight of 0 can be moved through at no
+     * cost, but this should be used very carefully, if at all. Cost maps are commonly built using the
+     * {@link CostlyGraph#generateAStarCostMap(char[][], IntFloatMap, float)}  and
+     * {@link CostlyGraph#generateAStarCostMap(char[][])} methods from a 2D char array.
+     * <br>
+     * If the type is Manhattan, only the cardinal directions will be used. All other search types will return a result
+     * based on diagonal and cardinal pathing (8-way).
+     *
+     * @param map the search map, as produced by {@link CostlyGraph#generateAStarCostMap(char[][])}
+     * @param type a Heuristic constant; one of the four from from {@link Heuristic#HEURISTICS}
+     */
+    public GridAStarSearch(float[][] map, Heuristic<Coord> type) {
+        if (map == null)
+            throw new NullPointerException("map should not be null when building a GridAStarSearch");
+        reinitialize(map, type);
+        path = new ObjectDeque<>(width + height);
+    }
+
+    /**
+     * Builds a pathing object to run searches on.
+     * <br>
+     * Values in the map are all considered equally passable unless the char is {@code '#'}, {@code '+'}, or any box
+     * drawing character, in which case it is considered an impassable wall. The {@code getBareDungeon()} method in
+     * squidplace's DungeonProcessor class is a common way to get a map where only '#' is used to mean a wall.
+     * <br>
+     * If the type is Manhattan, only the cardinal directions will be used. All other search types will return a result
+     * based on diagonal and cardinal pathing (8-way).
+     *
+     * @param map a 2D char array where only {@code '#'} represents a wall, and anything else is equally passable
+     * @param type the manner of search
+     */
+    public GridAStarSearch(char[][] map, Heuristic<Coord> type) {
+        if (map == null)
+            throw new NullPointerException("map should not be null when building a GridAStarSearch");
+        reinitialize(map, type);
+        path = new ObjectDeque<>(width + height);
+    }
+
+    /**
+     * Resets this pathing object to use a different map and optionally a different Heuristic. If the map has the same
+     * size as the previous one, this doesn't allocate anything.
+     * <br>
+     * Values in the map are treated as positive values being legal weights, with higher values being harder to pass
+     * through. Any negative value is treated as being an impassible space. A weight of 0 can be moved through at no
+     * cost, but this should be used very carefully, if at all. Cost maps are commonly built using the
+     * {@link CostlyGraph#generateAStarCostMap(char[][], IntFloatMap, float)}  and
+     * {@link CostlyGraph#generateAStarCostMap(char[][])} methods from a 2D char array.
+     * <br>
+     * If the type is Manhattan, only the cardinal directions will be used. All other search types will return a result
+     * based on diagonal and cardinal pathing (8-way).
+     *
+     * @param map the search map, as produced by {@link CostlyGraph#generateAStarCostMap(char[][])}
+     * @param type the manner of search
+     */
+    @Override
+    public GridAStarSearch reinitialize(float[][] map, Heuristic<Coord> type) {
+        if (map == null)
+            throw new NullPointerException("map should not be null when building a GridAStarSearch");
+        width = map.length;
+        height = width == 0 ? 0 : map[0].length;
+        this.type = type == null ? Heuristic.EUCLIDEAN : type;
+        eightWay = this.type != Heuristic.MANHATTAN;
+        Coord.expandPoolTo(width, height);
+        final int size = width * height;
+        if (costs == null || costs.length != size) {
+            costs = new float[size];
+            distances = new float[size];
+            estimates = new float[size];
+            parents = new int[size];
+            seenIDs = new int[size];
+            closedIDs = new int[size];
+            heap = new IndexedHeap(size);
+            runID = 0;
+        }
+        for (int x = 0; x < width; x++) {
+            for (int y = 0, i = x; y < height; y++, i += width) {
+                costs[i] = map[x][y];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Resets this pathing object to use a different map and optionally a different Heuristic.
+     * <br>
+     * Values in the map are all considered equally passable unless the char is {@code '#'}, {@code '+'}, or any box
+     * drawing character, in which case it is considered an impassable wall. The {@code getBareDungeon()} method in
+     * squidplace's DungeonProcessor class is a common way to get a map where only '#' is used to mean a wall.
+     * <br>
+     * If the type is Manhattan, only the cardinal directions will be used. All other search types will return a result
+     * based on diagonal and cardinal pathing (8-way).
+     *
+     * @param map a 2D char array where only {@code '#'} represents a wall, and anything else is equally passable
+     * @param type the manner of search
+     */
+    @Override
+    public GridAStarSearch reinitialize(char[][] map, Heuristic<Coord> type) {
+        if (map == null)
+            throw new NullPointerException("map should not be null when building a GridAStarSearch");
+        return reinitialize(CostlyGraph.generateAStarCostMap(map), type);
+    }
+
+    /**
+     * Changes the cost to enter one cell, without needing to reinitialize the whole map.
+     *
+     * @param x the x-coordinate of the cell to change
+     * @param y the y-coordinate of the cell to change
+     * @param cost the new cost to enter the cell; negative costs are impassable
+     */
+    public void setCost(int x, int y, float cost) {
+        if (x >= 0 && y >= 0 && x < width && y < height)
+            costs[x + y * width] = cost;
+    }
+
+    /**
+     * Finds an A* path to the target from the start. If no path is possible,
+     * returns null. Reuses the returned path instead of allocating a new ObjectDeque,
+     * so if you call this again, then the previously-returned List could change.
+     *
+     * @param start the start location
+     * @param target the target location
+     * @return the shortest path, or null if no path is possible
+     */
+    @Override
+    public ObjectDeque<Coord> path(Coord start, Coord target) {
+        path.clear();
+        this.start = start;
+        this.target = target;
+        if (start == null || target == null || !start.isWithin(width, height) || !target.isWithin(width, height))
+            return null;
+        final int s = start.x + start.y * width, t = target.x + target.y * width;
+        if (costs[s] < 0f || costs[t] < 0f)
+            return null;
+        if (++runID == 0) {
+            Arrays.fill(seenIDs, 0);
+            Arrays.fill(closedIDs, 0);
+            runID = 1;
+        }
+        final Direction[] outer = eightWay ? Direction.CLOCKWISE : Direction.CARDINALS_CLOCKWISE;
+        heap.clear();
+        seenIDs[s] = runID;
+        distances[s] = 0f;
+        parents[s] = -1;
+        estimates[s] = estimate(start.x, start.y);
+        heap.add(s, estimates[s]);
+        int u, ux, uy, vx, vy, v;
+        float dist;
+        while (!heap.isEmpty()) {
+            u = heap.pop();
+            if (u == t) {
+                while (parents[u] != -1) {
+                    path.addFirst(Coord.get(u % width, u / width));
+                    u = parents[u];
+                }
+                path.addFirst(start);
+                return path;
+            }
+            closedIDs[u] = runID;
+            ux = u % width;
+            uy = u / width;
+            for (int d = 0; d < outer.length; d++) {
+                vx = ux + outer[d].deltaX;
+                vy = uy + outer[d].deltaY;
+                if (vx < 0 || vy < 0 || vx >= width || vy >= height)
+                    continue;
+                v = vx + vy * width;
+                if (costs[v] < 0f || closedIDs[v] == runID)
+                    continue;
+                dist = distances[u] + costs[v];
+                if (seenIDs[v] != runID) {
+                    seenIDs[v] = runID;
+                    distances[v] = dist;
+                    parents[v] = u;
+                    estimates[v] = estimate(vx, vy);
+                    heap.add(v, dist + estimates[v]);
+                } else if (dist < distances[v]) {
+                    distances[v] = dist;
+                    parents[v] = u;
+                    heap.decrease(v, dist + estimates[v]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the cost of the shortest path found to x,y by the last call to {@link #path(Coord, Coord)}, or
+     * {@link Float#MAX_VALUE} if that search never reached x,y.
+     *
+     * @param x the x-coordinate to look up
+     * @param y the y-coordinate to look up
+     * @return the distance from the last start to x,y, or {@link Float#MAX_VALUE} if it wasn't reached
+     */
+    public float getDistance(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height || runID == 0 || seenIDs[x + y * width] != runID)
+            return Float.MAX_VALUE;
+        return distances[x + y * width];
+    }
+
+    private float estimate(final int x, final int y) {
+        final int dx = Math.abs(x - target.x), dy = Math.abs(y - target.y);
+        if (type == Heuristic.EUCLIDEAN)
+            return (float) Math.sqrt(dx * dx + dy * dy);
+        if (type == Heuristic.MANHATTAN)
+            return dx + dy;
+        if (type == Heuristic.CHEBYSHEV)
+            return Math.max(dx, dy);
+        if (type == Heuristic.DIJKSTRA)
+            return 0f;
+        return type.estimate(Coord.get(x, y), target);
+    }
+
+    @Override
+    public String toString() {
+        final int w5 = width * 5;
+        final char[] cs = new char[w5 * height];
+        Arrays.fill(cs, '#');
+        for (int i = 4; i < cs.length; i += 5) {
+            cs[i] = (i + 1) % w5 == 0 ? '\n' : ' ';
+        }
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i++) {
+                if (runID == 0 || seenIDs[i] != runID || distances[i] >= 9999.5)
+                    continue;
+                int d = (int) (distances[i] + 0.5), x5 = x * 5;
+                cs[y * w5 + x5    ] = (d >= 1000) ? (char) ('0' + d / 1000) : ' ';
+                cs[y * w5 + x5 + 1] = (d >= 100)  ? (char) ('0' + d / 100 % 10) : ' ';
+                cs[y * w5 + x5 + 2] = (d >= 10)   ? (char) ('0' + d / 10 % 10) : ' ';
+                cs[y * w5 + x5 + 3] = (char) ('0' + d % 10);
+            }
+        }
+        if (start != null && target != null) {
+            cs[start.y * w5 + start.x * 5] = cs[start.y * w5 + start.x * 5 + 1] =
+                    cs[start.y * w5 + start.x * 5 + 2] = cs[start.y * w5 + start.x * 5 + 3] = '@';
+            cs[target.y * w5 + target.x * 5] = cs[target.y * w5 + target.x * 5 + 1] =
+                    cs[target.y * w5 + target.x * 5 + 2] = cs[target.y * w5 + target.x * 5 + 3] = '!';
+        }
+        return String.valueOf(cs);
+    }
+}
@@ -0,0 +1,650 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import com.github.tommyettinger.ds.IntList;
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.Direction;
+import com.github.yellowstonegames.grid.Measurement;
+import com.github.yellowstonegames.grid.Region;
+
+import java.util.Arrays;
+
+/**
+ * Finds paths on large grids where every passable cell costs the same to enter, using Hierarchical Path-Finding A*
+ * (HPA*). The map is split into square clusters, and the places where a path can cross from one cluster into the next
+ * become "entrances." The shortest paths between every pair of entrances in a cluster are found once and cached, so a
+ * query only needs to search the small graph of entrances, plus the clusters holding the start and target, and then
+ * stitch together the cached paths. Long-distance queries on large maps cost a small fraction of a full search.
+ * <br>
+ * The trade-off is that paths are usually a little longer than the shortest possible path, because they must cross
+ * between clusters at entrances. If you need the shortest path, use {@link JumpPointSearch}, which uses the same
+ * movement rules, or {@link DijkstraMap}.
+ * <br>
+ * Movement uses the given {@link Measurement}: {@link Measurement#MANHATTAN} only moves in cardinal directions, while
+ * {@link Measurement#CHEBYSHEV} and {@link Measurement#EUCLIDEAN} also move diagonally, with diagonal moves costing 1
+ * or the square root of 2, respectively. Diagonal moves can't cut corners, as with {@link JumpPointSearch}. When cells
+ * change with {@link #setPassable(int, int, boolean)} or {@link #update(Region)}, only the affected clusters are marked
+ * as needing to be rebuilt, and that happens lazily on the next query.
+ */
+public class HierarchicalSearch {
+    /**
+     * The default width and height of a cluster, in cells.
+     */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    protected int width, height;
+    protected int clusterSize, clustersX, clustersY;
+    protected Measurement measurement;
+    /**
+     * Whether each cell can be entered, indexed by {@code x + y * width}.
+     */
+    protected boolean[] passable;
+    protected Coord start, target;
+    protected ObjectDeque<Coord> path = new ObjectDeque<>();
+    protected float pathCost;
+
+    private static final byte START_EDGE = 0, INTRA_EDGE = 1, CROSS_EDGE = 2, TARGET_EDGE = 3;
+
+    private static final class Cluster {
+        int x0, y0, x1, y1;
+        boolean dirty = true;
+        int count;
+        int[] entrances = new int[8];
+        float[] costs = new float[64];
+        int[][] paths = new int[64][];
+    }
+
+    private Cluster[] clusters;
+    /**
+     * Pairs of cells, one on each side of a border between two clusters, that a path can cross between. Vertical
+     * borders separate a cluster from the one to its right, horizontal borders from the one below it.
+     */
+    private IntList[] verticalBorders, horizontalBorders;
+    private boolean[] verticalDirty, horizontalDirty;
+    private boolean anyDirty;
+    /**
+     * How many border pairs include each cell; cells with a positive count are entrances.
+     */
+    private int[] entranceRefs;
+    private int[] entranceIndex;
+
+    private float diagonalCost;
+    private Direction[] moveDirs;
+    private float[] distances;
+    private int[] parents;
+    private byte[] edgeKinds;
+    private int[] seenIDs, closedIDs;
+    private int runID;
+    private IndexedHeap heap;
+    private final IntList nodes = new IntList(64), cells = new IntList(64);
+
+    private float[] localDistances, startDistances, targetDistances, nearDistances;
+    private int[] localParents, startParents, targetParents, nearParents;
+    private IndexedHeap localHeap;
+    private int tx, ty;
+
+    protected HierarchicalSearch() {
+        measurement = Measurement.EUCLIDEAN;
+        clusterSize = DEFAULT_CLUSTER_SIZE;
+    }
+
+    /**
+     * Builds a HierarchicalSearch for a map where {@code '#'} is a wall and every other char is passable, using
+     * clusters of {@link #DEFAULT_CLUSTER_SIZE}.
+     * @param map a 2D char array where {@code '#'} is a wall
+     * @param measurement how to measure distance and which directions can be moved in
+     */
+    public HierarchicalSearch(char[][] map, Measurement measurement) {
+        this(map, measurement, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Builds a HierarchicalSearch for a map where {@code '#'} is a wall and every other char is passable.
+     * @param map a 2D char array where {@code '#'} is a wall
+     * @param measurement how to measure distance and which directions can be moved in
+     * @param clusterSize the width and height of each cluster, in cells; at least 4, and usually 8 to 32
+     */
+    public HierarchicalSearch(char[][] map, Measurement measurement, int clusterSize) {
+        if (map == null)
+            throw new NullPointerException("map should not be null when building a HierarchicalSearch");
+        resize(map.length, map.length == 0 ? 0 : map[0].length, measurement, clusterSize);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0, i = x; y < height; y++, i += width) {
+                passable[i] = map[x][y] != '#';
+            }
+        }
+    }
+
+    /**
+     * Builds a HierarchicalSearch for a map where the "on" cells in {@code passable} can be entered, and all others
+     * are walls, using clusters of {@link #DEFAULT_CLUSTER_SIZE}.
+     * @param passable a Region where "on" cells are passable
+     * @param measurement how to measure distance and which directions can be moved in
+     */
+    public HierarchicalSearch(Region passable, Measurement measurement) {
+        this(passable, measurement, DEFAULT_CLUSTER_SIZE);
+    }
+
+    /**
+     * Builds a HierarchicalSearch for a map where the "on" cells in {@code passable} can be entered, and all others
+     * are walls.
+     * @param passable a Region where "on" cells are passable
+     * @param measurement how to measure distance and which directions can be moved in
+     * @param clusterSize the width and height of each cluster, in cells; at least 4, and usually 8 to 32
+     */
+    public HierarchicalSearch(Region passable, Measurement measurement, int clusterSize) {
+        if (passable == null)
+            throw new NullPointerException("passable should not be null when building a HierarchicalSearch");
+        resize(passable.width, passable.height, measurement, clusterSize);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0, i = x; y < height; y++, i += width) {
+                this.passable[i] = passable.contains(x, y);
+            }
+        }
+    }
+
+    private void resize(int width, int height, Measurement measurement, int clusterSize) {
+        this.width = width;
+        this.height = height;
+        this.measurement = measurement == null ? Measurement.EUCLIDEAN : measurement;
+        this.clusterSize = Math.max(clusterSize, 4);
+        diagonalCost = this.measurement.heuristic(Direction.UP_RIGHT);
+        moveDirs = this.measurement == Measurement.MANHATTAN ? Direction.CARDINALS : Direction.OUTWARDS;
+        Coord.expandPoolTo(width, height);
+        clustersX = (width + this.clusterSize - 1) / this.clusterSize;
+        clustersY = (height + this.clusterSize - 1) / this.clusterSize;
+        final int size = width * height;
+        passable = new boolean[size];
+        distances = new float[size];
+        parents = new int[size];
+        edgeKinds = new byte[size];
+        seenIDs = new int[size];
+        closedIDs = new int[size];
+        entranceRefs = new int[size];
+        entranceIndex = new int[size];
+        heap = new IndexedHeap(size);
+        final int local = this.clusterSize * this.clusterSize;
+        localDistances = new float[local];
+        startDistances = new float[local];
+        targetDistances = new float[local];
+        localParents = new int[local];
+        startParents = new int[local];
+        targetParents = new int[local];
+        nearDistances = new float[local << 2];
+        nearParents = new int[local << 2];
+        localHeap = new IndexedHeap(local << 2);
+        clusters = new Cluster[clustersX * clustersY];
+        for (int cy = 0, i = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++, i++) {
+                Cluster c = clusters[i] = new Cluster();
+                c.x0 = cx * this.clusterSize;
+                c.y0 = cy * this.clusterSize;
+                c.x1 = Math.min(c.x0 + this.clusterSize, width);
+                c.y1 = Math.min(c.y0 + this.clusterSize, height);
+            }
+        }
+        verticalBorders = new IntList[Math.max(clustersX - 1, 0) * clustersY];
+        verticalDirty = new boolean[verticalBorders.length];
+        for (int i = 0; i < verticalBorders.length; i++) {
+            verticalBorders[i] = new IntList(8);
+            verticalDirty[i] = true;
+        }
+        horizontalBorders = new IntList[clustersX * Math.max(clustersY - 1, 0)];
+        horizontalDirty = new boolean[horizontalBorders.length];
+        for (int i = 0; i < horizontalBorders.length; i++) {
+            horizontalBorders[i] = new IntList(8);
+            horizontalDirty[i] = true;
+        }
+        anyDirty = true;
+        runID = 0;
+    }
+
+    /**
+     * Changes whether one cell can be entered, such as when a door opens or closes. This only marks the cluster
+     * holding the cell (and a neighboring cluster, if the cell is on a border) as needing to be rebuilt; that happens
+     * on the next call to {@link #path(Coord, Coord)} or {@link #update()}.
+     * @param x the x-coordinate of the cell to change
+     * @param y the y-coordinate of the cell to change
+     * @param passable true if the cell can be entered, false if it is a wall
+     */
+    public void setPassable(int x, int y, boolean passable) {
+        if (x < 0 || y < 0 || x >= width || y >= height || this.passable[x + y * width] == passable)
+            return;
+        this.passable[x + y * width] = passable;
+        final int cx = x / clusterSize, cy = y / clusterSize, lx = x - cx * clusterSize, ly = y - cy * clusterSize;
+        clusters[cx + cy * clustersX].dirty = true;
+        if (lx == 0 && cx > 0) {
+            verticalDirty[cx - 1 + cy * (clustersX - 1)] = true;
+            clusters[cx - 1 + cy * clustersX].dirty = true;
+        }
+        if (lx == clusterSize - 1 && cx < clustersX - 1) {
+            verticalDirty[cx + cy * (clustersX - 1)] = true;
+            clusters[cx + 1 + cy * clustersX].dirty = true;
+        }
+        if (ly == 0 && cy > 0) {
+            horizontalDirty[cx + (cy - 1) * clustersX] = true;
+            clusters[cx + (cy - 1) * clustersX].dirty = true;
+        }
+        if (ly == clusterSize - 1 && cy < clustersY - 1) {
+            horizontalDirty[cx + cy * clustersX] = true;
+            clusters[cx + (cy + 1) * clustersX].dirty = true;
+        }
+        anyDirty = true;
+    }
+
+    /**
+     * Updates the map to match {@code passable}, where "on" cells can be entered, marking only the clusters with
+     * changed cells as needing to be rebuilt. The Region should have the same size as the map this was built with.
+     * @param passable a Region where "on" cells are passable
+     */
+    public void update(Region passable) {
+        final int w = Math.min(width, passable.width), h = Math.min(height, passable.height);
+        for (int x = 0; x < w; x++) {
+            for (int y = 0; y < h; y++) {
+                setPassable(x, y, passable.contains(x, y));
+            }
+        }
+    }
+
+    /**
+     * Updates the map to match {@code map}, where {@code '#'} is a wall, marking only the clusters with changed cells
+     * as needing to be rebuilt. The map should have the same size as the map this was built with.
+     * @param map a 2D char array where {@code '#'} is a wall
+     */
+    public void update(char[][] map) {
+        final int w = Math.min(width, map.length);
+        for (int x = 0; x < w; x++) {
+            final int h = Math.min(height, map[x].length);
+            for (int y = 0; y < h; y++) {
+                setPassable(x, y, map[x][y] != '#');
+            }
+        }
+    }
+
+    /**
+     * Checks whether a cell can be entered; cells outside the map never can.
+     * @param x the x-coordinate to check
+     * @param y the y-coordinate to check
+     * @return true if x,y is in bounds and passable
+     */
+    public boolean isPassable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && passable[x + y * width];
+    }
+
+    /**
+     * Rebuilds any entrances and cached paths that were invalidated by changes to the map. This is called
+     * automatically by {@link #path(Coord, Coord)}, but can be called ahead of time to avoid a delay later.
+     */
+    public void update() {
+        if (!anyDirty) return;
+        for (int by = 0, i = 0; by < clustersY; by++) {
+            for (int bx = 0; bx < clustersX - 1; bx++, i++) {
+                if (verticalDirty[i]) {
+                    rebuildBorder(verticalBorders[i], (bx + 1) * clusterSize - 1, by * clusterSize, true);
+                    verticalDirty[i] = false;
+                }
+            }
+        }
+        for (int by = 0, i = 0; by < clustersY - 1; by++) {
+            for (int bx = 0; bx < clustersX; bx++, i++) {
+                if (horizontalDirty[i]) {
+                    rebuildBorder(horizontalBorders[i], bx * clusterSize, (by + 1) * clusterSize - 1, false);
+                    horizontalDirty[i] = false;
+                }
+            }
+        }
+        for (int i = 0; i < clusters.length; i++) {
+            if (clusters[i].dirty) {
+                rebuildCluster(clusters[i]);
+                clusters[i].dirty = false;
+            }
+        }
+        anyDirty = false;
+    }
+
+    /**
+     * Finds a path to the target from the start. If no path is possible, returns null. The path includes both start
+     * and target, and every step in it moves to an adjacent cell. This finds a path if and only if one exists, but it
+     * may be somewhat longer than the shortest path. When start and target are in the same or neighboring clusters,
+     * the area covering both clusters is also searched directly, so short paths aren't forced through entrances. Reuses the returned path instead of allocating a new ObjectDeque,
+     * so if you call this again, then the previously-returned ObjectDeque could change.
+     *
+     * @param start the start location
+     * @param target the target location
+     * @return a short path, or null if no path is possible
+     */
+    public ObjectDeque<Coord> path(Coord start, Coord target) {
+        path.clear();
+        pathCost = Float.POSITIVE_INFINITY;
+        this.start = start;
+        this.target = target;
+        if (start == null || target == null || !isPassable(start.x, start.y) || !isPassable(target.x, target.y))
+            return null;
+        update();
+        if (++runID == 0) {
+            Arrays.fill(seenIDs, 0);
+            Arrays.fill(closedIDs, 0);
+            runID = 1;
+        }
+        tx = target.x;
+        ty = target.y;
+        final int s = start.x + start.y * width, t = tx + ty * width;
+        final Cluster startCluster = clusterOf(s), targetCluster = clusterOf(t);
+        searchCluster(startCluster, s, startDistances, startParents);
+        searchCluster(targetCluster, t, targetDistances, targetParents);
+        heap.clear();
+        seenIDs[s] = runID;
+        distances[s] = 0f;
+        parents[s] = -1;
+        heap.add(s, estimate(start.x, start.y, tx, ty));
+        int u, ux, uy, v, vx, vy;
+        Cluster c;
+        boolean found = false;
+        while (!heap.isEmpty()) {
+            u = heap.pop();
+            if (u == t) {
+                found = true;
+                break;
+            }
+            closedIDs[u] = runID;
+            ux = u % width;
+            uy = u / width;
+            c = clusterOf(u);
+            if (u == s) {
+                for (int i = 0; i < c.count; i++) {
+                    v = c.entrances[i];
+                    relax(u, v, startDistances[local(c, v)], START_EDGE);
+                }
+                if (c == targetCluster)
+                    relax(u, t, startDistances[local(c, t)], START_EDGE);
+            }
+            if (entranceRefs[u] > 0) {
+                final int e = entranceIndex[u];
+                for (int i = 0; i < c.count; i++) {
+                    if (i != e)
+                        relax(u, c.entrances[i], c.costs[e * c.count + i], INTRA_EDGE);
+                }
+                for (int d = 0; d < 4; d++) {
+                    vx = ux + Direction.CARDINALS[d].deltaX;
+                    vy = uy + Direction.CARDINALS[d].deltaY;
+                    if (isPassable(vx, vy) && entranceRefs[v = vx + vy * width] > 0 && clusterOf(v) != c)
+                        relax(u, v, 1f, CROSS_EDGE);
+                }
+            }
+            if (c == targetCluster)
+                relax(u, t, targetDistances[local(c, u)], TARGET_EDGE);
+        }
+        if (!found)
+            return null;
+        final int scx = start.x / clusterSize, scy = start.y / clusterSize, tcx = tx / clusterSize, tcy = ty / clusterSize;
+        if (Math.abs(scx - tcx) <= 1 && Math.abs(scy - tcy) <= 1) {
+            final int x0 = Math.min(scx, tcx) * clusterSize, y0 = Math.min(scy, tcy) * clusterSize,
+                    x1 = Math.min((Math.max(scx, tcx) + 1) * clusterSize, width),
+                    y1 = Math.min((Math.max(scy, tcy) + 1) * clusterSize, height),
+                    stride = clusterSize << 1;
+            searchArea(x0, y0, x1, y1, stride, s, t, nearDistances, nearParents);
+            final float near = nearDistances[(tx - x0) + (ty - y0) * stride];
+            if (near < distances[t]) {
+                pathCost = near;
+                cells.clear();
+                for (int cell = t; cell != -1; cell = nearParents[(cell % width - x0) + (cell / width - y0) * stride]) {
+                    cells.add(cell);
+                }
+                for (int j = cells.size() - 1; j >= 0; j--) {
+                    path.add(Coord.get(cells.get(j) % width, cells.get(j) / width));
+                }
+                return path;
+            }
+        }
+        pathCost = distances[t];
+        buildPath(s, t, startCluster, targetCluster);
+        return path;
+    }
+
+    /**
+     * Gets the total cost of the last path found by {@link #path(Coord, Coord)}, or positive infinity if no path was
+     * found.
+     * @return the cost of the last path found
+     */
+    public float getPathCost() {
+        return pathCost;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public Measurement getMeasurement() {
+        return measurement;
+    }
+
+    private Cluster clusterOf(final int cell) {
+        return clusters[(cell % width) / clusterSize + (cell / width) / clusterSize * clustersX];
+    }
+
+    private int local(final Cluster c, final int cell) {
+        return (cell % width - c.x0) + (cell / width - c.y0) * clusterSize;
+    }
+
+    private float estimate(final int x1, final int y1, final int x2, final int y2) {
+        final int dx = Math.abs(x1 - x2), dy = Math.abs(y1 - y2);
+        if (measurement == Measurement.MANHATTAN)
+            return dx + dy;
+        return dx < dy ? dx * diagonalCost + (dy - dx) : dy * diagonalCost + (dx - dy);
+    }
+
+    private void relax(final int u, final int v, final float cost, final byte kind) {
+        if (cost == Float.POSITIVE_INFINITY || closedIDs[v] == runID)
+            return;
+        final float dist = distances[u] + cost;
+        if (seenIDs[v] != runID) {
+            seenIDs[v] = runID;
+            distances[v] = dist;
+            parents[v] = u;
+            edgeKinds[v] = kind;
+            heap.add(v, dist + estimate(v % width, v / width, tx, ty));
+        } else if (dist < distances[v]) {
+            distances[v] = dist;
+            parents[v] = u;
+            edgeKinds[v] = kind;
+            heap.decrease(v, dist + estimate(v % width, v / width, tx, ty));
+        }
+    }
+
+    /**
+     * Finds the cells along a border where paths can cross, and picks one or two pairs of cells from each run of
+     * crossable cells as entrances.
+     */
+    private void rebuildBorder(final IntList pairs, final int x, final int y, final boolean vertical) {
+        for (int i = 0, n = pairs.size(); i < n; i++) {
+            --entranceRefs[pairs.get(i)];
+        }
+        pairs.clear();
+        final int length = vertical ? Math.min(clusterSize, height - y) : Math.min(clusterSize, width - x);
+        final int step = vertical ? width : 1, across = vertical ? 1 : width;
+        final int first = x + y * width;
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            final int a = first + i * step;
+            final boolean open = i < length && passable[a] && passable[a + across];
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                final int runLength = i - runStart;
+                if (runLength < 6) {
+                    addPair(pairs, first + (runStart + runLength / 2) * step, across);
+                } else {
+                    addPair(pairs, first + runStart * step, across);
+                    addPair(pairs, first + (i - 1) * step, across);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    private void addPair(final IntList pairs, final int a, final int across) {
+        pairs.add(a);
+        pairs.add(a + across);
+        ++entranceRefs[a];
+        ++entranceRefs[a + across];
+    }
+
+    /**
+     * Finds the entrances of a cluster and caches the shortest path inside the cluster between each pair of them.
+     */
+    private void rebuildCluster(final Cluster c) {
+        int count = 0;
+        for (int y = c.y0; y < c.y1; y++) {
+            for (int x = c.x0, i = c.x0 + y * width; x < c.x1; x++, i++) {
+                if (entranceRefs[i] > 0) {
+                    if (count == c.entrances.length)
+                        c.entrances = Arrays.copyOf(c.entrances, count << 1);
+                    entranceIndex[i] = count;
+                    c.entrances[count++] = i;
+                }
+            }
+        }
+        c.count = count;
+        if (c.costs.length < count * count) {
+            c.costs = new float[count * count];
+            c.paths = new int[count * count][];
+        }
+        for (int i = 0; i < count; i++) {
+            searchCluster(c, c.entrances[i], localDistances, localParents);
+            for (int j = 0; j < count; j++) {
+                final int end = c.entrances[j], lj = local(c, end);
+                c.costs[i * count + j] = localDistances[lj];
+                if (i == j || localDistances[lj] == Float.POSITIVE_INFINITY) {
+                    c.paths[i * count + j] = null;
+                    continue;
+                }
+                int len = 0;
+                for (int cell = end; cell != c.entrances[i]; cell = localParents[local(c, cell)]) {
+                    ++len;
+                }
+                final int[] p = new int[len];
+                for (int cell = end; cell != c.entrances[i]; cell = localParents[local(c, cell)]) {
+                    p[--len] = cell;
+                }
+                c.paths[i * count + j] = p;
+            }
+        }
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from {@code source}, only within the bounds of cluster c. Distances are stored by
+     * their position in the cluster, and are positive infinity for cells that can't be reached; parents are stored as
+     * cell indices, and are -1 for the source.
+     */
+    private void searchCluster(final Cluster c, final int source, final float[] dist, final int[] parent) {
+        searchArea(c.x0, c.y0, c.x1, c.y1, clusterSize, source, -1, dist, parent);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from {@code source}, only within the rectangle from x0,y0 (inclusive) to x1,y1
+     * (exclusive), stopping early once {@code stop} is reached if it is not -1. Distances are stored at
+     * {@code (x - x0) + (y - y0) * stride}, and are positive infinity for cells that weren't reached; parents are
+     * stored as cell indices, and are -1 for the source.
+     */
+    private void searchArea(final int x0, final int y0, final int x1, final int y1, final int stride,
+                            final int source, final int stop, final float[] dist, final int[] parent) {
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        localHeap.clear();
+        int l = (source % width - x0) + (source / width - y0) * stride;
+        dist[l] = 0f;
+        parent[l] = -1;
+        localHeap.add(l, 0f);
+        int cx, cy, nx, ny, n;
+        float nd;
+        while (!localHeap.isEmpty()) {
+            l = localHeap.pop();
+            cx = x0 + l % stride;
+            cy = y0 + l / stride;
+            if (cx + cy * width == stop)
+                return;
+            for (int d = 0; d < moveDirs.length; d++) {
+                nx = cx + moveDirs[d].deltaX;
+                ny = cy + moveDirs[d].deltaY;
+                if (nx < x0 || ny < y0 || nx >= x1 || ny >= y1 || !passable[nx + ny * width])
+                    continue;
+                if (d >= 4 && !(passable[nx + cy * width] && passable[cx + ny * width]))
+                    continue;
+                n = (nx - x0) + (ny - y0) * stride;
+                nd = dist[l] + (d >= 4 ? diagonalCost : 1f);
+                if (nd < dist[n]) {
+                    if (dist[n] == Float.POSITIVE_INFINITY) localHeap.add(n, nd);
+                    else localHeap.decrease(n, nd);
+                    dist[n] = nd;
+                    parent[n] = cx + cy * width;
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the parents from t back to s, then fills {@link #path} by expanding each edge into the cells it crosses.
+     */
+    private void buildPath(final int s, final int t, final Cluster startCluster, final Cluster targetCluster) {
+        nodes.clear();
+        for (int n = t; n != -1; n = parents[n]) {
+            nodes.add(n);
+        }
+        path.add(Coord.get(s % width, s / width));
+        for (int i = nodes.size() - 2; i >= 0; i--) {
+            final int from = nodes.get(i + 1), to = nodes.get(i);
+            switch (edgeKinds[to]) {
+                case START_EDGE: {
+                    cells.clear();
+                    for (int cell = to; cell != s; cell = startParents[local(startCluster, cell)]) {
+                        cells.add(cell);
+                    }
+                    for (int j = cells.size() - 1; j >= 0; j--) {
+                        path.add(Coord.get(cells.get(j) % width, cells.get(j) / width));
+                    }
+                    break;
+                }
+                case INTRA_EDGE: {
+                    final Cluster c = clusterOf(from);
+                    final int[] p = c.paths[entranceIndex[from] * c.count + entranceIndex[to]];
+                    for (int j = 0; j < p.length; j++) {
+                        path.add(Coord.get(p[j] % width, p[j] / width));
+                    }
+                    break;
+                }
+                case CROSS_EDGE:
+                    path.add(Coord.get(to % width, to / width));
+                    break;
+                default: {
+                    for (int cell = targetParents[local(targetCluster, from)]; cell != -1;
+                         cell = targetParents[local(targetCluster, cell)]) {
+                        path.add(Coord.get(cell % width, cell / width));
+                    }
+                }
+            }
+        }
+    }
+}
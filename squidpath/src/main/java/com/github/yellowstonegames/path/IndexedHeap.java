@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+/**
+ * A binary min-heap of int items in a fixed range, keyed by float priorities, that supports decrease-key. Each item is
+ * typically the index of a cell in a flat grid array, and can be present at most once; the position of each item in
+ * the heap is tracked in an array with one slot per possible item, so nothing is allocated while this is used.
+ * <br>
+ * This is used internally by {@link GridAStarSearch}, {@link JumpPointSearch}, and {@link HierarchicalSearch}.
+ */
+class IndexedHeap {
+    private final int[] items;
+    private final float[] values;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * @param capacity one more than the largest item this can hold
+     */
+    IndexedHeap(int capacity) {
+        items = new int[capacity];
+        values = new float[capacity];
+        positions = new int[capacity];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds an item that is not already in this heap.
+     * @param item   an int from 0 (inclusive) to the capacity (exclusive)
+     * @param value  the priority; lower values are popped first
+     */
+    void add(final int item, final float value) {
+        final int i = size++;
+        items[i] = item;
+        values[i] = value;
+        positions[item] = i;
+        siftUp(i);
+    }
+
+    /**
+     * Lowers the priority of an item that is already in this heap.
+     * @param item  an item currently in this heap
+     * @param value the new priority, which must not be greater than the current one
+     */
+    void decrease(final int item, final float value) {
+        final int i = positions[item];
+        values[i] = value;
+        siftUp(i);
+    }
+
+    /**
+     * Removes and returns the item with the lowest priority. This must not be called when this is empty.
+     * @return the item with the lowest priority
+     */
+    int pop() {
+        final int top = items[0];
+        if (--size > 0) {
+            items[0] = items[size];
+            values[0] = values[size];
+            positions[items[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        final int item = items[i];
+        final float value = values[i];
+        while (i > 0) {
+            final int parent = i - 1 >>> 1;
+            if (values[parent] <= value)
+                break;
+            items[i] = items[parent];
+            values[i] = values[parent];
+            positions[items[i]] = i;
+            i = parent;
+        }
+        items[i] = item;
+        values[i] = value;
+        positions[item] = i;
+    }
+
+    private void siftDown(int i) {
+        final int item = items[i];
+        final float value = values[i];
+        final int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && values[child + 1] < values[child])
+                ++child;
+            if (value <= values[child])
+                break;
+            items[i] = items[child];
+            values[i] = values[child];
+            positions[items[i]] = i;
+            i = child;
+        }
+        items[i] = item;
+        values[i] = value;
+        positions[item] = i;
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.Direction;
+import com.github.yellowstonegames.grid.Measurement;
+import com.github.yellowstonegames.grid.Region;
+
+import java.util.Arrays;
+
+/**
+ * Finds shortest paths on grids where every passable cell costs the same to enter, using Jump Point Search. JPS is an
+ * A* search that skips over the huge number of equally-short paths an open area has, only stopping at "jump points"
+ * where a wall forces a path to turn. On mostly-open maps this expands a tiny fraction of the cells that
+ * {@link AStarSearch} or {@link DijkstraMap} would, while still returning a shortest path.
+ * <br>
+ * This only handles 8-way movement, using either {@link Measurement#CHEBYSHEV} (diagonal moves cost the same as
+ * orthogonal ones) or {@link Measurement#EUCLIDEAN} (diagonal moves cost the square root of 2). Diagonal moves can't
+ * cut corners: both orthogonal cells next to a diagonal move must be passable, which is the same as a DijkstraMap with
+ * {@link DijkstraMap#setBlockingRequirement(int)} set to 1. The map can be given as a char[][] where {@code '#'} is a
+ * wall, like DijkstraMap uses, or as a Region where "on" cells are passable. If terrain varies in cost, use
+ * {@link GridAStarSearch} or DijkstraMap instead.
+ * @see HierarchicalSearch an even faster option for long paths on large maps, which doesn't always find the shortest path
+ */
+public class JumpPointSearch {
+    protected int width, height;
+    protected Measurement measurement;
+    /**
+     * Whether each cell can be entered, indexed by {@code x + y * width}.
+     */
+    protected boolean[] passable;
+    protected Coord start, target;
+    protected ObjectDeque<Coord> path = new ObjectDeque<>();
+    protected float pathCost;
+
+    private float diagonalCost;
+    private float[] distances;
+    private int[] parents;
+    private int[] seenIDs;
+    private int[] closedIDs;
+    private int runID;
+    private IndexedHeap heap;
+    private int tx, ty;
+
+    protected JumpPointSearch() {
+        measurement = Measurement.EUCLIDEAN;
+        diagonalCost = measurement.heuristic(Direction.UP_RIGHT);
+    }
+
+    /**
+     * Builds a JumpPointSearch for a map where {@code '#'} is a wall and every other char is passable.
+     * @param map a 2D char array where {@code '#'} is a wall
+     * @param measurement must be {@link Measurement#CHEBYSHEV} or {@link Measurement#EUCLIDEAN}
+     */
+    public JumpPointSearch(char[][] map, Measurement measurement) {
+        reinitialize(map, measurement);
+    }
+
+    /**
+     * Builds a JumpPointSearch for a map where the "on" cells in {@code passable} can be entered, and all others are
+     * walls.
+     * @param passable a Region where "on" cells are passable
+     * @param measurement must be {@link Measurement#CHEBYSHEV} or {@link Measurement#EUCLIDEAN}
+     */
+    public JumpPointSearch(Region passable, Measurement measurement) {
+        reinitialize(passable, measurement);
+    }
+
+    /**
+     * Resets this to use a different map, where {@code '#'} is a wall and every other char is passable.
+     * @param map a 2D char array where {@code '#'} is a wall
+     * @param measurement must be {@link Measurement#CHEBYSHEV} or {@link Measurement#EUCLIDEAN}
+     * @return this, for chaining
+     */
+    public JumpPointSearch reinitialize(char[][] map, Measurement measurement) {
+        if (map == null)
+            throw new NullPointerException("map should not be null when building a JumpPointSearch");
+        resize(map.length, map.length == 0 ? 0 : map[0].length, measurement);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0, i = x; y < height; y++, i += width) {
+                passable[i] = map[x][y] != '#';
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Resets this to use a different map, where the "on" cells in {@code passable} can be entered, and all others are
+     * walls.
+     * @param passable a Region where "on" cells are passable
+     * @param measurement must be {@link Measurement#CHEBYSHEV} or {@link Measurement#EUCLIDEAN}
+     * @return this, for chaining
+     */
+    public JumpPointSearch reinitialize(Region passable, Measurement measurement) {
+        if (passable == null)
+            throw new NullPointerException("passable should not be null when building a JumpPointSearch");
+        resize(passable.width, passable.height, measurement);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0, i = x; y < height; y++, i += width) {
+                this.passable[i] = passable.contains(x, y);
+            }
+        }
+        return this;
+    }
+
+    private void resize(int width, int height, Measurement measurement) {
+        if (measurement == null || measurement == Measurement.MANHATTAN)
+            throw new IllegalArgumentException("JumpPointSearch requires Measurement.CHEBYSHEV or Measurement.EUCLIDEAN");
+        this.measurement = measurement;
+        diagonalCost = measurement.heuristic(Direction.UP_RIGHT);
+        this.width = width;
+        this.height = height;
+        Coord.expandPoolTo(width, height);
+        final int size = width * height;
+        if (passable == null || passable.length != size) {
+            passable = new boolean[size];
+            distances = new float[size];
+            parents = new int[size];
+            seenIDs = new int[size];
+            closedIDs = new int[size];
+            heap = new IndexedHeap(size);
+            runID = 0;
+        }
+    }
+
+    /**
+     * Changes whether one cell can be entered, such as when a door opens or closes.
+     * @param x the x-coordinate of the cell to change
+     * @param y the y-coordinate of the cell to change
+     * @param passable true if the cell can be entered, false if it is a wall
+     */
+    public void setPassable(int x, int y, boolean passable) {
+        if (x >= 0 && y >= 0 && x < width && y < height)
+            this.passable[x + y * width] = passable;
+    }
+
+    /**
+     * Checks whether a cell can be entered; cells outside the map never can.
+     * @param x the x-coordinate to check
+     * @param y the y-coordinate to check
+     * @return true if x,y is in bounds and passable
+     */
+    public boolean isPassable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height && passable[x + y * width];
+    }
+
+    /**
+     * Finds a shortest path to the target from the start. If no path is possible, returns null. The path includes both
+     * start and target, and every step in it moves to an adjacent cell. Reuses the returned path instead of allocating
+     * a new ObjectDeque, so if you call this again, then the previously-returned ObjectDeque could change.
+     *
+     * @param start the start location
+     * @param target the target location
+     * @return the shortest path, or null if no path is possible
+     */
+    public ObjectDeque<Coord> path(Coord start, Coord target) {
+        path.clear();
+        pathCost = Float.POSITIVE_INFINITY;
+        this.start = start;
+        this.target = target;
+        if (start == null || target == null || !isPassable(start.x, start.y) || !isPassable(target.x, target.y))
+            return null;
+        if (++runID == 0) {
+            Arrays.fill(seenIDs, 0);
+            Arrays.fill(closedIDs, 0);
+            runID = 1;
+        }
+        tx = target.x;
+        ty = target.y;
+        final int s = start.x + start.y * width, t = tx + ty * width;
+        heap.clear();
+        seenIDs[s] = runID;
+        distances[s] = 0f;
+        parents[s] = -1;
+        heap.add(s, estimate(start.x, start.y, tx, ty));
+        int u, ux, uy, px, py, dx, dy, jp;
+        while (!heap.isEmpty()) {
+            u = heap.pop();
+            if (u == t) {
+                pathCost = distances[u];
+                buildPath(u);
+                return path;
+            }
+            closedIDs[u] = runID;
+            ux = u % width;
+            uy = u / width;
+            if (parents[u] == -1) {
+                for (int d = 0; d < 8; d++) {
+                    dx = Direction.OUTWARDS[d].deltaX;
+                    dy = Direction.OUTWARDS[d].deltaY;
+                    if (d < 4 || (isPassable(ux + dx, uy) && isPassable(ux, uy + dy))) {
+                        jp = dx == 0 || dy == 0 ? jumpStraight(ux + dx, uy + dy, dx, dy) : jumpDiagonal(ux + dx, uy + dy, dx, dy);
+                        if (jp >= 0) relax(u, ux, uy, jp);
+                    }
+                }
+                continue;
+            }
+            px = parents[u] % width;
+            py = parents[u] / width;
+            dx = Integer.signum(ux - px);
+            dy = Integer.signum(uy - py);
+            if (dx != 0 && dy != 0) {
+                final boolean openX = isPassable(ux + dx, uy), openY = isPassable(ux, uy + dy);
+                if (openY && (jp = jumpStraight(ux, uy + dy, 0, dy)) >= 0) relax(u, ux, uy, jp);
+                if (openX && (jp = jumpStraight(ux + dx, uy, dx, 0)) >= 0) relax(u, ux, uy, jp);
+                if (openX && openY && (jp = jumpDiagonal(ux + dx, uy + dy, dx, dy)) >= 0) relax(u, ux, uy, jp);
+            } else if (dx != 0) {
+                final boolean openNext = isPassable(ux + dx, uy), openUp = isPassable(ux, uy - 1), openDown = isPassable(ux, uy + 1);
+                if (openNext) {
+                    if ((jp = jumpStraight(ux + dx, uy, dx, 0)) >= 0) relax(u, ux, uy, jp);
+                    if (openUp && (jp = jumpDiagonal(ux + dx, uy - 1, dx, -1)) >= 0) relax(u, ux, uy, jp);
+                    if (openDown && (jp = jumpDiagonal(ux + dx, uy + 1, dx, 1)) >= 0) relax(u, ux, uy, jp);
+                }
+                if (openUp && (jp = jumpStraight(ux, uy - 1, 0, -1)) >= 0) relax(u, ux, uy, jp);
+                if (openDown && (jp = jumpStraight(ux, uy + 1, 0, 1)) >= 0) relax(u, ux, uy, jp);
+            } else {
+                final boolean openNext = isPassable(ux, uy + dy), openLeft = isPassable(ux - 1, uy), openRight = isPassable(ux + 1, uy);
+                if (openNext) {
+                    if ((jp = jumpStraight(ux, uy + dy, 0, dy)) >= 0) relax(u, ux, uy, jp);
+                    if (openLeft && (jp = jumpDiagonal(ux - 1, uy + dy, -1, dy)) >= 0) relax(u, ux, uy, jp);
+                    if (openRight && (jp = jumpDiagonal(ux + 1, uy + dy, 1, dy)) >= 0) relax(u, ux, uy, jp);
+                }
+                if (openLeft && (jp = jumpStraight(ux - 1, uy, -1, 0)) >= 0) relax(u, ux, uy, jp);
+                if (openRight && (jp = jumpStraight(ux + 1, uy, 1, 0)) >= 0) relax(u, ux, uy, jp);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the total cost of the last path found by {@link #path(Coord, Coord)}, or positive infinity if no path was
+     * found. Orthogonal steps cost 1, and diagonal steps cost 1 or the square root of 2, depending on the measurement.
+     * @return the cost of the last path found
+     */
+    public float getPathCost() {
+        return pathCost;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Measurement getMeasurement() {
+        return measurement;
+    }
+
+    private void relax(final int u, final int ux, final int uy, final int v) {
+        if (closedIDs[v] == runID)
+            return;
+        final int vx = v % width, vy = v / width;
+        final float dist = distances[u] + estimate(ux, uy, vx, vy);
+        if (seenIDs[v] != runID) {
+            seenIDs[v] = runID;
+            distances[v] = dist;
+            parents[v] = u;
+            heap.add(v, dist + estimate(vx, vy, tx, ty));
+        } else if (dist < distances[v]) {
+            distances[v] = dist;
+            parents[v] = u;
+            heap.decrease(v, dist + estimate(vx, vy, tx, ty));
+        }
+    }
+
+    /**
+     * The cost of the cheapest path between two cells on an open grid; this is exact when the cells are on the same
+     * row, column, or diagonal, which is always true for consecutive jump points.
+     */
+    private float estimate(final int x1, final int y1, final int x2, final int y2) {
+        final int dx = Math.abs(x1 - x2), dy = Math.abs(y1 - y2);
+        return dx < dy ? dx * diagonalCost + (dy - dx) : dy * diagonalCost + (dx - dy);
+    }
+
+    /**
+     * Moves from x,y in a cardinal direction until reaching the target, a wall, or a cell with a forced neighbor.
+     * @return the index of the jump point found, or -1 if a wall was reached first
+     */
+    private int jumpStraight(int x, int y, final int dx, final int dy) {
+        while (isPassable(x, y)) {
+            if (x == tx && y == ty)
+                return x + y * width;
+            if (dx != 0) {
+                if ((isPassable(x, y - 1) && !isPassable(x - dx, y - 1))
+                        || (isPassable(x, y + 1) && !isPassable(x - dx, y + 1)))
+                    return x + y * width;
+            } else {
+                if ((isPassable(x - 1, y) && !isPassable(x - 1, y - dy))
+                        || (isPassable(x + 1, y) && !isPassable(x + 1, y - dy)))
+                    return x + y * width;
+            }
+            x += dx;
+            y += dy;
+        }
+        return -1;
+    }
+
+    /**
+     * Moves from x,y in a diagonal direction until reaching the target, a cell where a straight jump along either
+     * component of the direction finds a jump point, or a cell where the diagonal is blocked.
+     * @return the index of the jump point found, or -1 if the diagonal ended first
+     */
+    private int jumpDiagonal(int x, int y, final int dx, final int dy) {
+        while (isPassable(x, y)) {
+            if (x == tx && y == ty)
+                return x + y * width;
+            if (jumpStraight(x + dx, y, dx, 0) >= 0 || jumpStraight(x, y + dy, 0, dy) >= 0)
+                return x + y * width;
+            if (!isPassable(x + dx, y) || !isPassable(x, y + dy))
+                return -1;
+            x += dx;
+            y += dy;
+        }
+        return -1;
+    }
+
+    /**
+     * Fills {@link #path} with every cell from the start to the cell at index {@code end}, stepping along the straight
+     * or diagonal lines between consecutive jump points.
+     */
+    private void buildPath(int end) {
+        int x = end % width, y = end / width, parent, px, py, dx, dy;
+        path.addFirst(Coord.get(x, y));
+        while ((parent = parents[end]) != -1) {
+            px = parent % width;
+            py = parent / width;
+            dx = Integer.signum(px - x);
+            dy = Integer.signum(py - y);
+            while (x != px || y != py) {
+                x += dx;
+                y += dy;
+                path.addFirst(Coord.get(x, y));
+            }
+            end = parent;
+        }
+    }
+}
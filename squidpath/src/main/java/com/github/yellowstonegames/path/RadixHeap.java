@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import java.util.Arrays;
+
+/**
+ * A monotone priority queue of int items keyed by non-negative float priorities, using the radix heap technique.
+ * Because non-negative floats compare in the same order as their bits do when those bits are read as ints, this can
+ * bucket entries by the highest bit where their key differs from the last key removed, which makes pushing O(1) and
+ * popping amortized O(log C) where C is the range of int bits used by keys (at most 32 buckets). The catch is that
+ * this is monotone: every key pushed must be greater than or equal to the key most recently popped. That holds for
+ * Dijkstra's algorithm as long as all costs are non-negative, and for A* with a consistent heuristic.
+ * <br>
+ * This doesn't support decrease-key; callers should instead push an item again with its lower key and skip any stale
+ * entries when they are popped, by comparing {@link #lastKey()} with the best-known key for that item.
+ * <br>
+ * This is used internally by {@link DijkstraMap} when its {@link DijkstraMap#scanMode} is
+ * {@link DijkstraMap.ScanMode#RADIX_HEAP}.
+ */
+class RadixHeap {
+    private final int[][] keys = new int[33][];
+    private final int[][] items = new int[33][];
+    private final int[] sizes = new int[33];
+    private int size;
+    private int last;
+
+    RadixHeap() {
+        for (int i = 0; i < 33; i++) {
+            keys[i] = new int[16];
+            items[i] = new int[16];
+        }
+    }
+
+    /**
+     * Removes all entries and resets the minimum key to 0f, so this can be reused for another search.
+     */
+    void clear() {
+        Arrays.fill(sizes, 0);
+        size = 0;
+        last = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the key of the item most recently returned by {@link #pop()}, or 0f if nothing was popped since the last
+     * {@link #clear()}.
+     * @return the float key of the last popped item
+     */
+    float lastKey() {
+        return Float.intBitsToFloat(last);
+    }
+
+    /**
+     * Adds an item with the given key. The key must not be less than {@link #lastKey()}; negative zero is treated as
+     * positive zero, but other negative keys are not allowed.
+     * @param key a non-negative float priority; lower keys are popped first
+     * @param item any int, typically an encoded cell position
+     */
+    void push(float key, int item) {
+        final int k = Float.floatToIntBits(key + 0f);
+        put(32 - Integer.numberOfLeadingZeros(k ^ last), k, item);
+        ++size;
+    }
+
+    /**
+     * Removes and returns the item with the lowest key; the key it had can be obtained with {@link #lastKey()}.
+     * This must not be called when this is {@link #isEmpty() empty}.
+     * @return the item with the lowest key
+     */
+    int pop() {
+        if (sizes[0] == 0) {
+            int b = 1;
+            while (sizes[b] == 0) ++b;
+            final int[] bk = keys[b], bi = items[b];
+            final int n = sizes[b];
+            int min = bk[0];
+            for (int i = 1; i < n; i++) {
+                if (bk[i] < min) min = bk[i];
+            }
+            last = min;
+            sizes[b] = 0;
+            for (int i = 0; i < n; i++) {
+                put(32 - Integer.numberOfLeadingZeros(bk[i] ^ min), bk[i], bi[i]);
+            }
+        }
+        --size;
+        return items[0][--sizes[0]];
+    }
+
+    private void put(final int bucket, final int key, final int item) {
+        final int n = sizes[bucket];
+        if (n == keys[bucket].length) {
+            keys[bucket] = Arrays.copyOf(keys[bucket], n << 1);
+            items[bucket] = Arrays.copyOf(items[bucket], n << 1);
+        }
+        keys[bucket][n] = key;
+        items[bucket][n] = item;
+        sizes[bucket] = n + 1;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.path;
+
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.tommyettinger.random.AceRandom;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.Direction;
+import com.github.yellowstonegames.grid.Measurement;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestAStarSearch {
+    private static float cost(ObjectDeque<Coord> path, float[][] costs) {
+        float total = 0f;
+        for (int i = 1; i < path.size(); i++) {
+            Coord c = path.get(i);
+            total += costs[c.x][c.y];
+        }
+        return total;
+    }
+
+    @Test
+    public void testGridMatchesGraph() {
+        AceRandom random = new AceRandom(0xA57A4L);
+        DungeonProcessor gen = new DungeonProcessor(60, 60, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        float[][] costs = CostlyGraph.generateAStarCostMap(dungeon);
+        for (Coord c : floors) {
+            if (random.nextInt(5) == 0) costs[c.x][c.y] = 2.5f;
+        }
+        for (Heuristic<Coord> h : Heuristic.HEURISTICS) {
+            AStarSearch graph = new AStarSearch(costs, h);
+            GridAStarSearch grid = new GridAStarSearch(costs, h);
+            for (int trial = 0; trial < 50; trial++) {
+                Coord start = floors.singleRandom(random), target = floors.singleRandom(random);
+                ObjectDeque<Coord> expected = graph.path(start, target);
+                ObjectDeque<Coord> actual = grid.path(start, target);
+                if (expected == null) {
+                    Assert.assertNull(actual);
+                    continue;
+                }
+                Assert.assertNotNull(actual);
+                Assert.assertEquals(start, actual.get(0));
+                Assert.assertEquals(target, actual.last());
+                for (int i = 1; i < actual.size(); i++) {
+                    Coord prev = actual.get(i - 1), next = actual.get(i);
+                    Assert.assertTrue(costs[next.x][next.y] >= 0f);
+                    Assert.assertTrue(Math.abs(prev.x - next.x) <= 1 && Math.abs(prev.y - next.y) <= 1);
+                    if (h == Heuristic.MANHATTAN)
+                        Assert.assertEquals(1, Math.abs(prev.x - next.x) + Math.abs(prev.y - next.y));
+                }
+                // EUCLIDEAN overestimates diagonal moves here, so only the admissible heuristics must be optimal.
+                if (h != Heuristic.EUCLIDEAN)
+                    Assert.assertEquals(cost(expected, costs), cost(actual, costs), 0.001f);
+            }
+        }
+    }
+
+    private static float cost(ObjectDeque<Coord> path, char[][] map, Measurement measurement) {
+        float total = 0f;
+        for (int i = 1; i < path.size(); i++) {
+            Coord prev = path.get(i - 1), next = path.get(i);
+            int dx = next.x - prev.x, dy = next.y - prev.y;
+            Assert.assertNotEquals('#', map[next.x][next.y]);
+            Assert.assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1);
+            if (dx != 0 && dy != 0) {
+                // diagonal moves can't cut corners
+                Assert.assertNotEquals('#', map[prev.x + dx][prev.y]);
+                Assert.assertNotEquals('#', map[prev.x][prev.y + dy]);
+                total += measurement == Measurement.EUCLIDEAN ? 1.4142135f : 1f;
+            } else
+                total += 1f;
+        }
+        return total;
+    }
+
+    /**
+     * The most that HierarchicalSearch can add to a shortest path, given as a list of single steps. It can only cross
+     * between clusters at entrances, which are the middle of each short run of crossable cells along a border, or
+     * both ends of a longer run. Each time the shortest path crosses a border, the worst case is walking along the
+     * border to the nearest entrance and back on the other side; a diagonal step across a border also has to be split
+     * into two cardinal steps, because entrances are only joined cardinally.
+     */
+    private static float hierarchicalSlack(ObjectDeque<Coord> shortest, char[][] map, int clusterSize,
+                                           Measurement measurement) {
+        float slack = 0f;
+        for (int i = 1; i < shortest.size(); i++) {
+            Coord prev = shortest.get(i - 1), next = shortest.get(i);
+            if (prev.x / clusterSize == next.x / clusterSize && prev.y / clusterSize == next.y / clusterSize)
+                continue;
+            if (prev.x != next.x && prev.y != next.y) {
+                Coord corner = Coord.get(next.x, prev.y);
+                slack += crossingSlack(map, clusterSize, prev, corner) + crossingSlack(map, clusterSize, corner, next)
+                        + 2f - measurement.heuristic(Direction.UP_RIGHT);
+            } else
+                slack += crossingSlack(map, clusterSize, prev, next);
+        }
+        return slack;
+    }
+
+    private static int crossingSlack(char[][] map, int clusterSize, Coord a, Coord b) {
+        final boolean vertical = a.x / clusterSize != b.x / clusterSize;
+        if (!vertical && a.y / clusterSize == b.y / clusterSize)
+            return 0;
+        final int along = vertical ? a.y : a.x, low = along / clusterSize * clusterSize,
+                high = Math.min(low + clusterSize, vertical ? map[0].length : map.length) - 1;
+        int start = along, end = along;
+        while (start > low && crossable(map, vertical, a, b, start - 1)) start--;
+        while (end < high && crossable(map, vertical, a, b, end + 1)) end++;
+        final int length = end - start + 1;
+        return 2 * (length < 6 ? Math.abs(along - (start + length / 2)) : Math.min(along - start, end - along));
+    }
+
+    private static boolean crossable(char[][] map, boolean vertical, Coord a, Coord b, int along) {
+        return vertical ? map[a.x][along] != '#' && map[b.x][along] != '#'
+                : map[along][a.y] != '#' && map[along][b.y] != '#';
+    }
+
+    @Test
+    public void testJumpPointAndHierarchical() {
+        AceRandom random = new AceRandom(0x1B5L);
+        DungeonProcessor gen = new DungeonProcessor(90, 70, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        for (Measurement m : new Measurement[]{Measurement.CHEBYSHEV, Measurement.EUCLIDEAN}) {
+            DijkstraMap dm = new DijkstraMap(dungeon, m);
+            dm.setBlockingRequirement(1);
+            JumpPointSearch jps = new JumpPointSearch(dungeon, m);
+            HierarchicalSearch hs = new HierarchicalSearch(dungeon, m, 12);
+            for (int trial = 0; trial < 40; trial++) {
+                Coord start = floors.singleRandom(random), target = floors.singleRandom(random);
+                dm.setGoal(target);
+                dm.scan();
+                float best = dm.gradientMap[start.x][start.y];
+                dm.reset();
+                ObjectDeque<Coord> jumped = jps.path(start, target);
+                ObjectDeque<Coord> clustered = hs.path(start, target);
+                if (best >= DijkstraMap.FLOOR) {
+                    Assert.assertNull(jumped);
+                    Assert.assertNull(clustered);
+                    continue;
+                }
+                Assert.assertNotNull(jumped);
+                Assert.assertEquals(start, jumped.get(0));
+                Assert.assertEquals(target, jumped.last());
+                Assert.assertEquals(best, cost(jumped, dungeon, m), 0.001f);
+                Assert.assertNotNull(clustered);
+                Assert.assertEquals(start, clustered.get(0));
+                Assert.assertEquals(target, clustered.last());
+                float clusteredCost = cost(clustered, dungeon, m);
+                Assert.assertTrue(clusteredCost >= best - 0.001f);
+                Assert.assertTrue(clusteredCost <= best + hierarchicalSlack(jumped, dungeon, 12, m) + 0.001f);
+            }
+        }
+        // changing cells should give the same results as building from scratch with the changed map.
+        HierarchicalSearch hs = new HierarchicalSearch(dungeon, Measurement.EUCLIDEAN, 12);
+        hs.update();
+        char[][] changed = new char[dungeon.length][];
+        for (int x = 0; x < dungeon.length; x++) {
+            changed[x] = dungeon[x].clone();
+        }
+        for (int i = 0; i < 30; i++) {
+            int x = random.nextInt(1, 89), y = random.nextInt(1, 69);
+            changed[x][y] = changed[x][y] == '#' ? '.' : '#';
+            hs.setPassable(x, y, changed[x][y] != '#');
+        }
+        HierarchicalSearch fresh = new HierarchicalSearch(changed, Measurement.EUCLIDEAN, 12);
+        Region changedFloors = new Region(changed, '.');
+        for (int trial = 0; trial < 40; trial++) {
+            Coord start = changedFloors.singleRandom(random), target = changedFloors.singleRandom(random);
+            ObjectDeque<Coord> expected = fresh.path(start, target), actual = hs.path(start, target);
+            if (expected == null)
+                Assert.assertNull(actual);
+            else
+                Assert.assertArrayEquals(expected.toArray(), actual.toArray());
+        }
+    }
+}
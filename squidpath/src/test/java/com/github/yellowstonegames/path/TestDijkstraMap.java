@@ -17,11 +17,18 @@
 package com.github.yellowstonegames.path;
 
 import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.tommyettinger.random.AceRandom;
+import com.github.yellowstonegames.grid.BresenhamLine;
 import com.github.yellowstonegames.grid.Coord;
 import com.github.yellowstonegames.grid.Measurement;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.place.DungeonProcessor;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class TestDijkstraMap {
     /**
      * Prints with y pointing down, matching how 2D arrays are entered in source code.
@@ -69,4 +76,251 @@ public class TestDijkstraMap {
         print(map);
         Assert.assertEquals(goal1, path.last());
     }
+
+    @Test
+    public void testRadixHeapMatchesSweep() {
+        AceRandom random = new AceRandom(0xB0BAFE77);
+        DungeonProcessor gen = new DungeonProcessor(60, 60, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        for (Measurement m : Measurement.ALL) {
+            DijkstraMap sweep = new DijkstraMap(dungeon, m), heap = new DijkstraMap(dungeon, m);
+            heap.scanMode = DijkstraMap.ScanMode.RADIX_HEAP;
+            for (Coord c : floors) {
+                float cost = random.nextInt(4) == 0 ? 3.5f : random.nextBoolean() ? 0.5f : 1f;
+                sweep.setCost(c, cost);
+                heap.setCost(c, cost);
+            }
+            for (int trial = 0; trial < 8; trial++) {
+                Coord goal0 = floors.singleRandom(random), goal1 = floors.singleRandom(random);
+                sweep.setGoal(goal0);
+                sweep.setGoal(goal1);
+                heap.setGoal(goal0);
+                heap.setGoal(goal1);
+                float[][] expected = sweep.scan(), actual = heap.scan();
+                for (int x = 0; x < expected.length; x++) {
+                    Assert.assertArrayEquals(expected[x], actual[x], 0.001f);
+                }
+                sweep.reset();
+                heap.reset();
+                sweep.setGoal(goal0);
+                heap.setGoal(goal0);
+                expected = sweep.scan(null, 2);
+                actual = heap.scan(null, 2);
+                for (int x = 0; x < expected.length; x++) {
+                    Assert.assertArrayEquals(expected[x], actual[x], 0.001f);
+                }
+                sweep.reset();
+                heap.reset();
+            }
+        }
+    }
+
+    @Test
+    public void testFlatMatchesDijkstraMap() {
+        AceRandom random = new AceRandom(0xFA7F1A7L);
+        DungeonProcessor gen = new DungeonProcessor(50, 40, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        for (Measurement m : Measurement.ALL) {
+            DijkstraMap dm = new DijkstraMap(dungeon, m);
+            for (Coord c : floors) {
+                if (random.nextInt(3) == 0) dm.setCost(c, 2.5f);
+            }
+            FlatDijkstraMap flat = new FlatDijkstraMap(dm);
+            for (DijkstraMap.ScanMode mode : DijkstraMap.ScanMode.values()) {
+                flat.scanMode = mode;
+                for (int trial = 0; trial < 8; trial++) {
+                    Coord goal = floors.singleRandom(random), target = floors.singleRandom(random);
+                    dm.setGoal(goal);
+                    flat.setGoal(goal);
+                    float[][] expected = dm.scan(), actual = flat.scan();
+                    for (int x = 0; x < expected.length; x++) {
+                        Assert.assertArrayEquals(expected[x], actual[x], 0.001f);
+                    }
+                    // the radix heap can add costs in a different order, so ties may be broken differently.
+                    if (mode == DijkstraMap.ScanMode.SWEEP)
+                        Assert.assertArrayEquals(dm.findPathPreScanned(target).toArray(),
+                                flat.findPathPreScanned(null, target).toArray());
+                    dm.reset();
+                    flat.reset();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharedFlatCosts() {
+        char[][] dungeon = new DungeonProcessor(30, 20, new AceRandom(123L)).generate();
+        Region floors = new Region(dungeon, '.');
+        FlatDijkstraMap level = new FlatDijkstraMap(new DijkstraMap(dungeon));
+        FlatDijkstraMap sharing = new FlatDijkstraMap(level);
+        Assert.assertTrue(sharing.hasStandardCosts());
+        Coord c = floors.first();
+        level.setCost(c.x, c.y, 3f);
+        Assert.assertFalse(level.hasStandardCosts());
+        Assert.assertFalse(sharing.hasStandardCosts());
+        Assert.assertEquals(3f, sharing.costMap[sharing.index(c.x, c.y)], 0f);
+    }
+
+    @Test
+    public void testTransposedReinitialize() {
+        char[][] dungeon = new DungeonProcessor(30, 20, new AceRandom(123L)).generate();
+        char[][] transposed = new char[20][30];
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 20; y++) {
+                transposed[y][x] = dungeon[x][y];
+            }
+        }
+        FlatDijkstraMap level = new FlatDijkstraMap(dungeon);
+        FlatDijkstraMap sharing = new FlatDijkstraMap(level);
+        // same area, different stride; the shared arrays must not be reused
+        level.initialize(transposed);
+        Assert.assertNotSame(level.physicalMap, sharing.physicalMap);
+        Assert.assertNotSame(level.costMap, sharing.costMap);
+        Coord c = new Region(transposed, '.').first();
+        level.setCost(c.x, c.y, 2f);
+        Assert.assertFalse(level.hasStandardCosts());
+        Assert.assertTrue(sharing.hasStandardCosts());
+        for (int x = 0; x < 30; x++) {
+            for (int y = 0; y < 20; y++) {
+                final float expected = dungeon[x][y] == '#' ? DijkstraMap.WALL : DijkstraMap.FLOOR;
+                Assert.assertEquals(expected, sharing.physicalMap[sharing.index(x, y)], 0f);
+                Assert.assertEquals(expected, level.physicalMap[level.index(y, x)], 0f);
+            }
+        }
+    }
+
+    @Test
+    public void testRepairMatchesScan() {
+        AceRandom random = new AceRandom(0x4E9A14L);
+        DungeonProcessor gen = new DungeonProcessor(50, 50, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        for (Measurement m : Measurement.ALL) {
+            DijkstraMap dm = new DijkstraMap(dungeon, m);
+            for (Coord c : floors) {
+                if (random.nextInt(4) == 0) dm.setCost(c, 2.5f);
+            }
+            Coord goal = floors.singleRandom(random);
+            dm.setGoal(goal);
+            dm.setGoal(floors.singleRandom(random));
+            dm.scan();
+            for (int trial = 0; trial < 100; trial++) {
+                switch (random.nextInt(3)) {
+                    case 0: {
+                        // open or close a cell that isn't on the border
+                        int x = random.nextInt(1, 49), y = random.nextInt(1, 49);
+                        dm.updateCell(x, y, dm.physicalMap[x][y] > DijkstraMap.FLOOR ? 1f : DijkstraMap.WALL);
+                        break;
+                    }
+                    case 1: {
+                        Coord c = floors.singleRandom(random);
+                        dm.updateCell(c, random.nextBoolean() ? 0.5f : 3f);
+                        break;
+                    }
+                    default: {
+                        Coord next = floors.singleRandom(random);
+                        dm.moveGoal(goal, next);
+                        goal = next;
+                    }
+                }
+                DijkstraMap full = new DijkstraMap(dm.physicalMap, m);
+                full.initializeCost(dm.costMap);
+                for (int i = 0; i < dm.goals.size(); i++) {
+                    full.setGoal(dm.decode(dm.goals.get(i)));
+                }
+                float[][] expected = full.scan();
+                for (int x = 0; x < expected.length; x++) {
+                    Assert.assertArrayEquals(expected[x], dm.gradientMap[x], 0.001f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBatchMatchesSequential() {
+        AceRandom random = new AceRandom(0xBA7C4L);
+        DungeonProcessor gen = new DungeonProcessor(60, 60, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        DijkstraMap dm = new DijkstraMap(dungeon, Measurement.EUCLIDEAN);
+        DijkstraBatch batch = new DijkstraBatch(dm);
+        List<DijkstraBatch.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            List<Coord> enemies = new ArrayList<>();
+            enemies.add(floors.singleRandom(random));
+            enemies.add(floors.singleRandom(random));
+            requests.add(new DijkstraBatch.Request(random.nextInt(1, 4), -1, enemies, null,
+                    floors.singleRandom(random), floors.singleRandom(random), floors.singleRandom(random)));
+        }
+        batch.findPaths(requests);
+        for (DijkstraBatch.Request r : requests) {
+            dm.reset();
+            ObjectDeque<Coord> expected = dm.findPath(r.length, r.scanLimit, r.impassable, r.onlyPassable, r.start, r.targets);
+            Assert.assertArrayEquals(expected.toArray(), r.path.toArray());
+        }
+    }
+
+    @Test
+    public void testBatchAttackAndFlee() {
+        AceRandom random = new AceRandom(0xA77ACL);
+        DungeonProcessor gen = new DungeonProcessor(60, 60, random);
+        char[][] dungeon = gen.generate();
+        Region floors = new Region(dungeon, '.');
+        float[][] costs = new float[60][60];
+        for (int x = 0; x < 60; x++) {
+            for (int y = 0; y < 60; y++) {
+                costs[x][y] = random.nextInt(5) == 0 ? 2f : 1f;
+            }
+        }
+        DijkstraMap dm = new DijkstraMap(dungeon, Measurement.CHEBYSHEV);
+        dm.initializeCost(costs);
+        DijkstraBatch batch = new DijkstraBatch(dm);
+        batch.setThreshold(1);
+        List<DijkstraBatch.Request> requests = new ArrayList<>();
+        Coord[] sharedFear = {floors.singleRandom(random), floors.singleRandom(random)};
+        for (int i = 0; i < 48; i++) {
+            List<Coord> enemies = new ArrayList<>();
+            enemies.add(floors.singleRandom(random));
+            Coord start = floors.singleRandom(random);
+            switch (i % 3) {
+                case 0:
+                    requests.add(new DijkstraBatch.Request(random.nextInt(1, 4), -1, enemies, null,
+                            start, floors.singleRandom(random)));
+                    break;
+                case 1:
+                    requests.add(DijkstraBatch.Request.attack(random.nextInt(1, 4), 2, 4,
+                            random.nextBoolean() ? new BresenhamLine() : null, enemies, null,
+                            start, floors.singleRandom(random), floors.singleRandom(random)));
+                    break;
+                default:
+                    // the same fear sources with different scan limits must not reuse a cached flee map
+                    requests.add(DijkstraBatch.Request.flee(random.nextInt(1, 4), random.nextBoolean() ? -1 : 8,
+                            1.2f, null, null, start, sharedFear));
+                    break;
+            }
+        }
+        batch.findPaths(requests);
+        for (DijkstraBatch.Request r : requests) {
+            DijkstraMap fresh = new DijkstraMap(dungeon, Measurement.CHEBYSHEV);
+            fresh.initializeCost(costs);
+            ObjectDeque<Coord> expected;
+            switch (r.kind) {
+                case ATTACK:
+                    expected = fresh.findAttackPath(r.length, r.minPreferredRange, r.maxPreferredRange, r.los,
+                            r.impassable, r.onlyPassable, r.start, r.targets);
+                    break;
+                case FLEE:
+                    expected = fresh.findFleePath(r.length, r.scanLimit, r.preferLongerPaths, r.impassable,
+                            r.onlyPassable, r.start, r.targets);
+                    break;
+                default:
+                    expected = fresh.findPath(r.length, r.scanLimit, r.impassable, r.onlyPassable, r.start, r.targets);
+                    break;
+            }
+            Assert.assertEquals(r.kind.toString(), fresh.cutShort, r.cutShort);
+            Assert.assertArrayEquals(r.kind.toString(), expected.toArray(), r.path.toArray());
+        }
+    }
 }
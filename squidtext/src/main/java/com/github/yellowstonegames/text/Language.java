@@ -48,6 +48,12 @@ import java.util.Set;
  * {@link #mix(double, Language, double, Object...)} (when you have a sound in mind that isn't quite met by an
  * existing language).
  * <br>
+ * Generating words and sentences with an {@link EnhancedRandom} you provide doesn't change any shared state, so one
+ * Language can be used by multiple threads at once, as long as each thread has its own EnhancedRandom. The methods that
+ * take a seed or no RNG use the shared {@link #srng}, and can't be used that way. To generate many words at once,
+ * {@link #words(EnhancedRandom, boolean, int, Collection)} and
+ * {@link #appendWords(EnhancedRandom, boolean, int, CharSequence, StringBuilder)} reuse the same buffers for each word.
+ * <br>
  * @see Thesaurus Thesaurus uses this class a lot to generate things like plant names and the titles of nations.
  * @see Translator Translator uses a Language to reversibly translate English text to nonsense.
  * @author <a href="https://github.com/tommyettinger">Tommy Ettinger</a>
@@ -66,9 +72,6 @@ public class Language {
     private static final CaseInsensitiveOrderedMap<Language> registry = new CaseInsensitiveOrderedMap<>(64);
     protected String summary;
     protected String name = "Nameless Language";
-    private static final StringBuilder sb = new StringBuilder(20);
-    private static final StringBuilder ender = new StringBuilder(12);
-    private static final StringBuilder ssb = new StringBuilder(80);
     /**
      * A pattern String that will match any vowel Language can produce out-of-the-box, including Latin, Greek,
      * and Cyrillic; for use when a String will be interpreted as a regex (as in {@link Language.Alteration}).
@@ -182,58 +185,72 @@ public class Language {
                             Pattern.compile("(.)\\1\\1"),
                             Pattern.compile("-[^aeiou](?:[^aeiou]|$)"),
                     };
-    private static final Replacer[]
-            accentFinders = new Replacer[]
-            {
-                    //ǎěǐǒǔ ǍĚǏǑǓ
-                    Pattern.compile("[àáâäăāãåǎąǻ]").replacer("a"),
-                    Pattern.compile("[èéêëĕēėęě]").replacer("e"),
-                    Pattern.compile("[ìíîïĭīĩįǐı]").replacer("i"),
-                    Pattern.compile("[òóôöŏōõøǒőǿ]").replacer("o"),
-                    Pattern.compile("[ùúûüŭūũůǔűų]").replacer("u"),
-                    Pattern.compile("[æǽ]").replacer("ae"),
-                    Pattern.compile("œ").replacer("oe"),
-                    Pattern.compile("[ÀÁÂÄĂĀÃÅǍĄǺ]").replacer("A"),
-                    Pattern.compile("[ÈÉÊËĔĒĖĘĚ]").replacer("E"),
-                    Pattern.compile("[ÌÍÎÏĬĪĨĮǏ]").replacer("I"),
-                    Pattern.compile("[ÒÓÔÖŎŌÕØŐǑǾ]").replacer("O"),
-                    Pattern.compile("[ÙÚÛÜŬŪŨŮŰǓŲ]").replacer("U"),
-                    Pattern.compile("[ÆǼ]").replacer("Ae"),
-                    Pattern.compile("Œ").replacer("Oe"),
-                    Pattern.compile("Ё").replacer("Е"),
-                    Pattern.compile("Й").replacer("И"),
-                    Pattern.compile("[çćĉċč]").replacer("c"),
-                    Pattern.compile("[þðďđ]").replacer("d"),
-                    Pattern.compile("[ĝğġģ]").replacer("g"),
-                    Pattern.compile("[ĥħ]").replacer("h"),
-                    Pattern.compile("[ĵȷ]").replacer("j"),
-                    Pattern.compile("ķ").replacer("k"),
-                    Pattern.compile("[ĺļľŀłļ]").replacer("l"),
-                    Pattern.compile("[ñńņňŋ]").replacer("n"),
-                    Pattern.compile("[ŕŗřŗŕ]").replacer("r"),
-                    Pattern.compile("[śŝşšș]").replacer("s"),
-                    Pattern.compile("[ţťŧț]").replacer("t"),
-                    Pattern.compile("[ŵẁẃẅ]").replacer("w"),
-                    Pattern.compile("[ýÿŷỳ]").replacer("y"),
-                    Pattern.compile("[źżž]").replacer("z"),
-                    Pattern.compile("[ÇĆĈĊČ]").replacer("C"),
-                    Pattern.compile("[ÞÐĎĐḌ]").replacer("D"),
-                    Pattern.compile("[ĜĞĠĢ]").replacer("G"),
-                    Pattern.compile("[ĤĦḤ]").replacer("H"),
-                    Pattern.compile("Ĵ").replacer("J"),
-                    Pattern.compile("Ķ").replacer("K"),
-                    Pattern.compile("[ĹĻĽĿŁḶḸĻ]").replacer("L"),
-                    Pattern.compile("Ṃ").replacer("M"),
-                    Pattern.compile("[ÑŃŅŇŊṄṆ]").replacer("N"),
-                    Pattern.compile("[ŔŖŘṚṜŖŔ]").replacer("R"),
-                    Pattern.compile("[ŚŜŞŠȘṢ]").replacer("S"),
-                    Pattern.compile("[ŢŤŦȚṬ]").replacer("T"),
-                    Pattern.compile("[ŴẀẂẄ]").replacer("W"),
-                    Pattern.compile("[ÝŸŶỲ]").replacer("Y"),
-                    Pattern.compile("[ŹŻŽ]").replacer("Z"),
-                    Pattern.compile("ё").replacer("е"),
-                    Pattern.compile("й").replacer("и"),
-            };
+    /**
+     * Indexed by char, this holds the String that replaces an accented char when accents are removed, or null for
+     * any char that stays the same. Built by {@link #makeAccentReplacements()}.
+     */
+    private static final String[] accentReplacements = makeAccentReplacements();
+
+    private static String[] makeAccentReplacements() {
+        final String[] accents = {
+                //ǎěǐǒǔ ǍĚǏǑǓ
+                "àáâäăāãåǎąǻ", "a",
+                "èéêëĕēėęě", "e",
+                "ìíîïĭīĩįǐı", "i",
+                "òóôöŏōõøǒőǿ", "o",
+                "ùúûüŭūũůǔűų", "u",
+                "æǽ", "ae",
+                "œ", "oe",
+                "ÀÁÂÄĂĀÃÅǍĄǺ", "A",
+                "ÈÉÊËĔĒĖĘĚ", "E",
+                "ÌÍÎÏĬĪĨĮǏ", "I",
+                "ÒÓÔÖŎŌÕØŐǑǾ", "O",
+                "ÙÚÛÜŬŪŨŮŰǓŲ", "U",
+                "ÆǼ", "Ae",
+                "Œ", "Oe",
+                "Ё", "Е",
+                "Й", "И",
+                "çćĉċč", "c",
+                "þðďđ", "d",
+                "ĝğġģ", "g",
+                "ĥħ", "h",
+                "ĵȷ", "j",
+                "ķ", "k",
+                "ĺļľŀłļ", "l",
+                "ñńņňŋ", "n",
+                "ŕŗřŗŕ", "r",
+                "śŝşšș", "s",
+                "ţťŧț", "t",
+                "ŵẁẃẅ", "w",
+                "ýÿŷỳ", "y",
+                "źżž", "z",
+                "ÇĆĈĊČ", "C",
+                "ÞÐĎĐḌ", "D",
+                "ĜĞĠĢ", "G",
+                "ĤĦḤ", "H",
+                "Ĵ", "J",
+                "Ķ", "K",
+                "ĹĻĽĿŁḶḸĻ", "L",
+                "Ṃ", "M",
+                "ÑŃŅŇŊṄṆ", "N",
+                "ŔŖŘṚṜŖŔ", "R",
+                "ŚŜŞŠȘṢ", "S",
+                "ŢŤŦȚṬ", "T",
+                "ŴẀẂẄ", "W",
+                "ÝŸŶỲ", "Y",
+                "ŹŻŽ", "Z",
+                "ё", "е",
+                "й", "и",
+        };
+        final String[] replacements = new String[0x1F00];
+        for (int i = 0; i < accents.length; i += 2) {
+            final String from = accents[i];
+            for (int j = 0; j < from.length(); j++) {
+                replacements[from.charAt(j)] = accents[i + 1];
+            }
+        }
+        return replacements;
+    }
 
     static final char[][] accentedVowels = new char[][]{
             new char[]{'a', 'à', 'á', 'â', 'ä', 'ā', 'ă', 'ã', 'å', 'ǎ', 'ą', 'ǻ'},
@@ -445,11 +462,40 @@ public class Language {
      * @return a string with all accented characters replaced with their (possibly ASCII) counterparts
      */
     public static CharSequence removeAccents(CharSequence str) {
-        CharSequence alteredString = str;
-        for (int i = 0; i < accentFinders.length; i++) {
-            alteredString = accentFinders[i].replace(alteredString);
+        final int len = str.length();
+        for (int i = 0; i < len; i++) {
+            final char c = str.charAt(i);
+            if (c < accentReplacements.length && accentReplacements[c] != null)
+                return removeAccents(str, new StringBuilder(len + 4).append(str, 0, i), i);
         }
-        return alteredString;
+        return str;
+    }
+
+    /**
+     * Removes accented Latin-script characters from a string, appending the result to {@code into} instead of creating
+     * a new String; if the "base" characters are non-English anyway then the appended text won't be ASCII, but
+     * otherwise it probably will be. This replaces characters the same way {@link #removeAccents(CharSequence)} does,
+     * in one pass over {@code str}.
+     *
+     * @param str a string that may contain accented Latin-script characters
+     * @param into a StringBuilder that will have the un-accented version of {@code str} appended
+     * @return {@code into}, for chaining
+     */
+    public static StringBuilder removeAccents(CharSequence str, StringBuilder into) {
+        return removeAccents(str, into, 0);
+    }
+
+    private static StringBuilder removeAccents(CharSequence str, StringBuilder into, int start) {
+        final int len = str.length();
+        for (int i = start; i < len; i++) {
+            final char c = str.charAt(i);
+            final String replacement = c < accentReplacements.length ? accentReplacements[c] : null;
+            if (replacement == null)
+                into.append(c);
+            else
+                into.append(replacement);
+        }
+        return into;
     }
 
     private Language register(String languageName) {
@@ -3899,6 +3945,11 @@ public class Language {
      * @return a word in the fake language as a String
      */
     public String word(EnhancedRandom rng, boolean capitalize) {
+        return buildWord(rng, capitalize, new WordBuffers()).toString();
+    }
+
+    private StringBuilder buildWord(EnhancedRandom rng, boolean capitalize, WordBuffers buffers) {
+        final StringBuilder sb = buffers.word, ender = buffers.ender;
         while (true) {
             sb.setLength(0);
             ender.setLength(0);
@@ -3966,7 +4017,7 @@ public class Language {
                         }
                     }
                 }
-                i += vowelClusters.matcher(ender).findAll().count();
+                i += buffers.countVowelClusters();
 
             }
 
@@ -3981,26 +4032,26 @@ public class Language {
 
             sb.append(ender);
             if (redouble && i <= syllables + 1) {
-                sb.append(close.replaceAll("@", sb.toString()));
+                appendRedoubled(sb, close);
             }
 
-            if (sanityChecks != null && !checkAll(sb, sanityChecks))
+            if (sanityChecks != null && !buffers.passesSanityChecks(sanityChecks))
             {
                 continue;
             }
 
             for (int m = 0; m < modifiers.size(); m++) {
-                modifiers.get(m).modify(rng, sb);
+                modifiers.get(m).modify(rng, sb, buffers.modified);
             }
 
             if (capitalize)
                 sb.setCharAt(0, Category.caseUp(sb.charAt(0)));
 
-            if (clean && !checkAll(sb, vulgarChecks))
+            if (clean && !buffers.passesChecks(true, null))
             {
                 continue;
             }
-            return sb.toString();
+            return sb;
         }
     }
 
@@ -4061,14 +4112,20 @@ public class Language {
      * @return a word in the fake language as a String
      */
     public String word(EnhancedRandom rng, boolean capitalize, int approxSyllables, Pattern[] additionalChecks) {
+        return buildWord(rng, capitalize, approxSyllables, additionalChecks, new WordBuffers()).toString();
+    }
+
+    private StringBuilder buildWord(EnhancedRandom rng, boolean capitalize, int approxSyllables,
+                                    Pattern[] additionalChecks, WordBuffers buffers) {
+        final StringBuilder sb = buffers.word, ender = buffers.ender;
         if (approxSyllables <= 0) {
             sb.setLength(0);
             sb.append(openingVowels[rng.nextInt(openingVowels.length)]);
             for (int m = 0; m < modifiers.size(); m++) {
-                modifiers.get(m).modify(rng, sb);
+                modifiers.get(m).modify(rng, sb, buffers.modified);
             }
             if (capitalize) sb.setCharAt(0, Category.caseUp(sb.charAt(0)));
-            return sb.toString();
+            return sb;
         }
         while (true) {
             sb.setLength(0);
@@ -4125,7 +4182,7 @@ public class Language {
                         }
                     }
                 }
-                i += vowelClusters.matcher(ender).findAll().count();
+                i += buffers.countVowelClusters();
             }
 
             for (; i < approxSyllables; i++) {
@@ -4139,26 +4196,218 @@ public class Language {
 
             sb.append(ender);
             if (redouble && i <= approxSyllables + 1) {
-                sb.append(close.replaceAll("@", sb.toString()));
+                appendRedoubled(sb, close);
             }
 
-            if (sanityChecks != null && !checkAll(sb, sanityChecks))
+            if (sanityChecks != null && !buffers.passesSanityChecks(sanityChecks))
                 continue;
 
             for (int m = 0; m < modifiers.size(); m++) {
-                modifiers.get(m).modify(rng, sb);
+                modifiers.get(m).modify(rng, sb, buffers.modified);
             }
 
-            if (clean && !checkAll(sb, vulgarChecks))
-                continue;
-
-            if (additionalChecks != null && !checkAll(sb, additionalChecks))
+            if ((clean || additionalChecks != null) && !buffers.passesChecks(clean, additionalChecks))
                 continue;
 
             if (capitalize)
                 sb.setCharAt(0, Category.caseUp(sb.charAt(0)));
 
-            return sb.toString();
+            return sb;
+        }
+    }
+
+    /**
+     * Appends {@code close} to {@code sb}, with every '@' in close replaced by the contents sb had before this was
+     * called. This is the same as {@code sb.append(close.replaceAll("@", sb.toString()))}, but doesn't allocate.
+     */
+    private static void appendRedoubled(StringBuilder sb, String close) {
+        final int len = sb.length();
+        for (int i = 0, n = close.length(); i < n; i++) {
+            final char c = close.charAt(i);
+            if (c == '@')
+                sb.append(sb, 0, len);
+            else
+                sb.append(c);
+        }
+    }
+
+    /**
+     * Generates {@code count} words from this Language using the specified RNG, adding each one to {@code into}. This
+     * produces the same words as calling {@link #word(EnhancedRandom, boolean)} {@code count} times, but reuses the
+     * same buffers for every word, so the only things it allocates are the Strings it adds.
+     *
+     * @param rng        the RNG to use for the randomized string building
+     * @param capitalize true if each word should start with a capital letter, false otherwise
+     * @param count      how many words to generate
+     * @param into       a Collection of String (or a supertype) that will have the words added to it
+     * @param <C>        the type of {@code into}
+     * @return {@code into}, after adding words, for chaining
+     */
+    public <C extends Collection<? super String>> C words(EnhancedRandom rng, boolean capitalize, int count, C into) {
+        final WordBuffers buffers = new WordBuffers();
+        for (int i = 0; i < count; i++) {
+            into.add(buildWord(rng, capitalize, buffers).toString());
+        }
+        return into;
+    }
+
+    /**
+     * Generates {@code count} words from this Language using the specified RNG, each with an approximate number of
+     * syllables, adding each one to {@code into}. This produces the same words as calling
+     * {@link #word(EnhancedRandom, boolean, int, Pattern[])} {@code count} times, but reuses the same buffers and
+     * Matchers for every word, so the only things it allocates are the Strings it adds.
+     *
+     * @param rng        the RNG to use for the randomized string building
+     * @param capitalize true if each word should start with a capital letter, false otherwise
+     * @param approxSyllables the approximate number of syllables to produce in each word; there may be more syllables
+     * @param additionalChecks an array of RegExodus Pattern objects that match invalid words (these may be additional vulgarity checks, for example); may be null
+     * @param count      how many words to generate
+     * @param into       a Collection of String (or a supertype) that will have the words added to it
+     * @param <C>        the type of {@code into}
+     * @return {@code into}, after adding words, for chaining
+     */
+    public <C extends Collection<? super String>> C words(EnhancedRandom rng, boolean capitalize, int approxSyllables,
+                                                          Pattern[] additionalChecks, int count, C into) {
+        final WordBuffers buffers = new WordBuffers();
+        for (int i = 0; i < count; i++) {
+            into.add(buildWord(rng, capitalize, approxSyllables, additionalChecks, buffers).toString());
+        }
+        return into;
+    }
+
+    /**
+     * Generates {@code count} words from this Language using the specified RNG, appending them to {@code into} with
+     * {@code separator} between each pair of words. This produces the same words as calling
+     * {@link #word(EnhancedRandom, boolean)} {@code count} times, but doesn't create a String for any word, and reuses
+     * the same buffers for every word.
+     *
+     * @param rng        the RNG to use for the randomized string building
+     * @param capitalize true if each word should start with a capital letter, false otherwise
+     * @param count      how many words to generate
+     * @param separator  a CharSequence, such as {@code " "} or {@code "\n"}, to append between words
+     * @param into       a StringBuilder that will have the words appended to it
+     * @return {@code into}, after appending words, for chaining
+     */
+    public StringBuilder appendWords(EnhancedRandom rng, boolean capitalize, int count, CharSequence separator,
+                                     StringBuilder into) {
+        final WordBuffers buffers = new WordBuffers();
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                into.append(separator);
+            into.append(buildWord(rng, capitalize, buffers));
+        }
+        return into;
+    }
+
+    /**
+     * Generates {@code count} words from this Language using the specified RNG, each with an approximate number of
+     * syllables, appending them to {@code into} with {@code separator} between each pair of words. This produces the
+     * same words as calling {@link #word(EnhancedRandom, boolean, int, Pattern[])} {@code count} times, but doesn't
+     * create a String for any word, and reuses the same buffers and Matchers for every word.
+     *
+     * @param rng        the RNG to use for the randomized string building
+     * @param capitalize true if each word should start with a capital letter, false otherwise
+     * @param approxSyllables the approximate number of syllables to produce in each word; there may be more syllables
+     * @param additionalChecks an array of RegExodus Pattern objects that match invalid words (these may be additional vulgarity checks, for example); may be null
+     * @param count      how many words to generate
+     * @param separator  a CharSequence, such as {@code " "} or {@code "\n"}, to append between words
+     * @param into       a StringBuilder that will have the words appended to it
+     * @return {@code into}, after appending words, for chaining
+     */
+    public StringBuilder appendWords(EnhancedRandom rng, boolean capitalize, int approxSyllables,
+                                     Pattern[] additionalChecks, int count, CharSequence separator,
+                                     StringBuilder into) {
+        final WordBuffers buffers = new WordBuffers();
+        for (int i = 0; i < count; i++) {
+            if (i > 0)
+                into.append(separator);
+            into.append(buildWord(rng, capitalize, approxSyllables, additionalChecks, buffers));
+        }
+        return into;
+    }
+
+    /**
+     * Everything that generating a word changes, other than the RNG. Each word method creates its own WordBuffers (or
+     * reuses one for many words, in {@link #words(EnhancedRandom, boolean, int, Collection)} and similar methods), so
+     * a Language can generate words on multiple threads at once, as long as each thread uses its own RNG.
+     */
+    private static final class WordBuffers {
+        final StringBuilder word = new StringBuilder(20), ender = new StringBuilder(12),
+                plain = new StringBuilder(20), modified = new StringBuilder(32);
+        private final Matcher vowelClusterMatcher = vowelClusters.matcher();
+        private final Matcher[] vulgarMatchers = new Matcher[vulgarChecks.length];
+        private Matcher[] sanityMatchers, additionalMatchers;
+        private Pattern[] sanityPatterns, additionalPatterns;
+
+        WordBuffers() {
+            for (int i = 0; i < vulgarChecks.length; i++) {
+                vulgarMatchers[i] = vulgarChecks[i].matcher();
+            }
+        }
+
+        private static Matcher[] matchers(Pattern[] patterns) {
+            final Matcher[] matchers = new Matcher[patterns.length];
+            for (int i = 0; i < patterns.length; i++) {
+                matchers[i] = patterns[i].matcher();
+            }
+            return matchers;
+        }
+
+        /**
+         * Counts the matches of {@link #vowelClusters} in {@link #ender}.
+         */
+        int countVowelClusters() {
+            vowelClusterMatcher.setTarget(ender);
+            int count = 0;
+            while (vowelClusterMatcher.find())
+                count++;
+            return count;
+        }
+
+        /**
+         * Checks that no Matcher finds anything in {@link #plain}, which must already hold {@link #word} without accents.
+         */
+        private boolean passes(Matcher[] matchers) {
+            for (int i = 0; i < matchers.length; i++) {
+                matchers[i].setTarget(plain);
+                if (matchers[i].find())
+                    return false;
+            }
+            return true;
+        }
+
+        private void removeAccents() {
+            plain.setLength(0);
+            Language.removeAccents(word, plain);
+        }
+
+        /**
+         * Like {@link Language#checkAll(CharSequence, Pattern[])} on {@link #word}, but reusing Matchers.
+         */
+        boolean passesSanityChecks(Pattern[] checks) {
+            if (checks != sanityPatterns) {
+                sanityMatchers = matchers(checks);
+                sanityPatterns = checks;
+            }
+            removeAccents();
+            return passes(sanityMatchers);
+        }
+
+        /**
+         * Checks {@link #word} against {@link #vulgarChecks} if {@code vulgar} is true, and against
+         * {@code additionalChecks} if it isn't null, removing accents only once for both.
+         */
+        boolean passesChecks(boolean vulgar, Pattern[] additionalChecks) {
+            removeAccents();
+            if (vulgar && !passes(vulgarMatchers))
+                return false;
+            if (additionalChecks == null)
+                return true;
+            if (additionalChecks != additionalPatterns) {
+                additionalMatchers = matchers(additionalChecks);
+                additionalPatterns = additionalChecks;
+            }
+            return passes(additionalMatchers);
         }
     }
 
@@ -4276,20 +4525,20 @@ public class Language {
         if (midPunctuationFrequency > 1.0) {
             midPunctuationFrequency = 1.0 / midPunctuationFrequency;
         }
-        ssb.setLength(0);
-        ssb.ensureCapacity(12 * maxWords);
-        ssb.append(word(rng, true));
+        final StringBuilder ssb = new StringBuilder(12 * maxWords);
+        final WordBuffers buffers = new WordBuffers();
+        ssb.append(buildWord(rng, true, buffers));
         for (int i = 1; i < minWords; i++) {
             if (rng.nextDouble() < midPunctuationFrequency) {
                 ssb.append(midPunctuation[rng.nextInt(midPunctuation.length)]);
             }
-            ssb.append(' ').append(word(rng, false));
+            ssb.append(' ').append(buildWord(rng, false, buffers));
         }
         for (int i = minWords; i < maxWords && rng.nextInt(2 * maxWords) > i; i++) {
             if (rng.nextDouble() < midPunctuationFrequency) {
                 ssb.append(midPunctuation[rng.nextInt(midPunctuation.length)]);
             }
-            ssb.append(' ').append(word(rng, false));
+            ssb.append(' ').append(buildWord(rng, false, buffers));
         }
         if (endPunctuation != null && endPunctuation.length > 0)
             ssb.append(endPunctuation[rng.nextInt(endPunctuation.length)]);
@@ -4384,11 +4633,11 @@ public class Language {
         // If maxWords is less than minWords, this sets it to minWords; otherwise, a random value between the two.
         maxWords = minWords + rng.nextInt(maxWords + 1 - minWords);
         int frustration = 0;
-        ssb.setLength(0); 
-        ssb.ensureCapacity(maxChars);
-        String next = word(rng, true);
+        final StringBuilder ssb = new StringBuilder(maxChars);
+        final WordBuffers buffers = new WordBuffers();
+        String next = buildWord(rng, true, buffers).toString();
         while (next.length() >= maxChars - 1 && frustration < 50) {
-            next = word(rng, true);
+            next = buildWord(rng, true, buffers).toString();
             frustration++;
         }
         if (frustration >= 50) return "!";
@@ -4397,9 +4646,9 @@ public class Language {
             if (rng.nextDouble() < midPunctuationFrequency && ssb.length() < maxChars - 3) {
                 ssb.append(midPunctuation[rng.nextInt(midPunctuation.length)]);
             }
-            next = word(rng, false);
+            next = buildWord(rng, false, buffers).toString();
             while (ssb.length() + next.length() >= maxChars - 1 && frustration < 50) {
-                next = word(rng, false);
+                next = buildWord(rng, false, buffers).toString();
                 frustration++;
             }
             if (frustration >= 50) break;
@@ -4409,9 +4658,9 @@ public class Language {
             if (rng.nextDouble() < midPunctuationFrequency && ssb.length() < maxChars - 2) {
                 ssb.append(midPunctuation[rng.nextInt(midPunctuation.length)]);
             }
-            next = word(rng, false);
+            next = buildWord(rng, false, buffers).toString();
             while (ssb.length() + next.length() >= maxChars - 1 && frustration < 50) {
-                next = word(rng, false);
+                next = buildWord(rng, false, buffers).toString();
                 frustration++;
             }
             if (frustration >= 50) break;
@@ -4746,7 +4995,7 @@ public class Language {
                 mixer = mixer.mix(languages[i], weight / total / (current += weight / total));
         }
         if (summarize) {
-            sb.setLength(0);
+            final StringBuilder sb = new StringBuilder(64);
             String c;
             int idx;
             for (int i = 0; i < summaries.length; i++) {
@@ -4901,8 +5150,7 @@ public class Language {
         Language next = copy();
         next.modifiers.addAll(mods);
         if(next.summary != null){
-            sb.setLength(0);
-            sb.append(next.summary);
+            final StringBuilder sb = new StringBuilder(next.summary);
             for (int i = 0; i < mods.size(); i++) {
                 sb.append('℗').append(next.modifiers.get(i).stringSerialize());
             }
@@ -4923,8 +5171,7 @@ public class Language {
         Language next = copy();
         Collections.addAll(next.modifiers, mods);
         if(next.summary != null){
-            sb.setLength(0);
-            sb.append(next.summary);
+            final StringBuilder sb = new StringBuilder(next.summary);
             for (int i = 0; i < mods.length; i++) {
                 sb.append('℗').append(next.modifiers.get(i).stringSerialize());
             }
@@ -5136,7 +5383,6 @@ public class Language {
 
     public static class Modifier {
 
-        private static final StringBuilder modSB = new StringBuilder(32);
         public final Alteration[] alterations;
 
         public Modifier() {
@@ -5156,14 +5402,26 @@ public class Language {
         }
 
         public StringBuilder modify(EnhancedRandom rng, StringBuilder sb) {
+            return modify(rng, sb, new StringBuilder(sb.length() + 16));
+        }
+
+        /**
+         * Applies each {@link Alteration} in this Modifier to {@code sb}, changing it in-place, using {@code scratch} as
+         * working space instead of allocating a new StringBuilder.
+         * @param rng used to decide whether each Alteration applies, when its chance is less than 1
+         * @param sb the StringBuilder to modify in-place
+         * @param scratch a StringBuilder that this can clear and use temporarily; must not be {@code sb}
+         * @return {@code sb}, after modification, for chaining
+         */
+        public StringBuilder modify(EnhancedRandom rng, StringBuilder sb, StringBuilder scratch) {
             Matcher m;
             Replacer.StringBuilderBuffer tb;
             boolean found;
             Alteration alt;
             for (int a = 0; a < alterations.length; a++) {
                 alt = alterations[a];
-                modSB.setLength(0);
-                tb = Replacer.wrap(modSB);
+                scratch.setLength(0);
+                tb = Replacer.wrap(scratch);
                 m = alt.replacer.getPattern().matcher(sb);
 
                 found = false;
@@ -5184,7 +5442,7 @@ public class Language {
                 if (found) {
                     m.getGroup(MatchResult.TARGET, tb);
                     sb.setLength(0);
-                    sb.append(modSB);
+                    sb.append(scratch);
                 }
             }
             return sb;
@@ -5482,7 +5740,7 @@ public class Language {
 
         public String stringSerialize() {
             if (alterations.length == 0) return "\6";
-            modSB.setLength(0);
+            final StringBuilder modSB = new StringBuilder(32);
             modSB.append('\6');
             for (int i = 0; i < alterations.length; i++)
                 modSB.append(alterations[i].stringSerialize()).append('\6');
@@ -22,9 +22,12 @@ import com.github.tommyettinger.random.*;
 import com.github.tommyettinger.digital.Hasher;
 import com.github.yellowstonegames.TextInternals;
 import com.github.yellowstonegames.core.StringTools;
+import org.junit.Assert;
 import org.junit.Test;
+import regexodus.Pattern;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class LanguageTest {
     @Test
@@ -650,4 +653,65 @@ public class LanguageTest {
         }
     }
 
+
+    @Test
+    public void testWords() {
+        Pattern[] checks = {Pattern.compile("[kq]")};
+        for (Language lang : new Language[]{Language.ENGLISH, Language.FRENCH, Language.RUSSIAN_AUTHENTIC, Language.randomLanguage(123L)}) {
+            EnhancedRandom single = new AceRandom(12345L);
+            List<String> expected = new ArrayList<>(200);
+            StringBuilder joined = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                expected.add(lang.word(single, true));
+            }
+            for (int i = 0; i < 100; i++) {
+                expected.add(lang.word(single, false, 3, checks));
+            }
+            for (int i = 0; i < 100; i++) {
+                joined.append(i == 0 ? "" : " ").append(expected.get(i));
+            }
+            EnhancedRandom bulk = new AceRandom(12345L);
+            List<String> actual = lang.words(bulk, true, 100, new ArrayList<String>(200));
+            lang.words(bulk, false, 3, checks, 100, actual);
+            Assert.assertEquals(expected, actual);
+            for (int i = 100; i < 200; i++) {
+                Assert.assertFalse(checks[0].matcher(Language.removeAccents(actual.get(i))).find());
+            }
+            Assert.assertEquals(joined.toString(),
+                    lang.appendWords(new AceRandom(12345L), true, 100, " ", new StringBuilder()).toString());
+        }
+    }
+
+    @Test
+    public void testConcurrentWords() throws InterruptedException {
+        final Language lang = Language.ENGLISH.addModifiers(Language.Modifier.LISP);
+        final List<String> expected = lang.words(new AceRandom(12345L), false, 2000, new ArrayList<String>(2000));
+        final boolean[] matched = new boolean[4];
+        Thread[] threads = new Thread[matched.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int index = t;
+            threads[t] = new Thread(() -> {
+                EnhancedRandom random = new AceRandom(12345L);
+                boolean all = true;
+                for (int i = 0; i < expected.size(); i++) {
+                    all &= expected.get(i).equals(lang.word(random, false));
+                }
+                matched[index] = all;
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (boolean m : matched) {
+            Assert.assertTrue(m);
+        }
+    }
+
+    @Test
+    public void testRemoveAccents() {
+        Assert.assertEquals("AeOe aeoe Aaa Lldz ЕИеи", Language.removeAccents("ÆŒ æœ Ååǻ Łľďž ЁЙёй").toString());
+        Assert.assertEquals("plain", Language.removeAccents("plain").toString());
+        Assert.assertEquals("xaee", Language.removeAccents("àéě", new StringBuilder("x")).toString());
+    }
 }
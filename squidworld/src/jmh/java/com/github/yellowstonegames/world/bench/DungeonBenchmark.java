@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.tommyettinger.random.WhiskerRandom;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DungeonProcessor#generate()} with water, doors, grass, and traps added, at a few map sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class DungeonBenchmark {
+    @Param({"64", "128", "256"})
+    public int size;
+
+    private DungeonProcessor processor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        processor = new DungeonProcessor(size, size, new WhiskerRandom(1234567890L));
+        processor.addWater(DungeonProcessor.ALL, 15);
+        processor.addDoors(15, true);
+        processor.addGrass(DungeonProcessor.ALL, 10);
+        processor.addTraps(DungeonProcessor.ALL, 2);
+    }
+
+    @Benchmark
+    public char[][] generate() {
+        return processor.generate();
+    }
+}
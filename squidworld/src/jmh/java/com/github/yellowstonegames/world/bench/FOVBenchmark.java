@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.tommyettinger.random.WhiskerRandom;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.FOV;
+import com.github.yellowstonegames.grid.Radius;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FOV#reuseFOV(float[][], float[][], int, int, float, Radius)} and
+ * {@link FOV#reuseRippleFOV(float[][], float[][], int, int, float, Radius)} on generated dungeons, from a different
+ * floor cell each call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class FOVBenchmark {
+    @Param({"64", "128", "256"})
+    public int size;
+
+    @Param({"8", "20"})
+    public float radius;
+
+    private float[][] resistances, light;
+    private Coord[] starts;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WhiskerRandom random = new WhiskerRandom(1234567890L);
+        char[][] map = new DungeonProcessor(size, size, random).generate();
+        resistances = FOV.generateResistances(map);
+        light = new float[size][size];
+        starts = new Region(map, '.').randomPortion(random, 256);
+    }
+
+    @Benchmark
+    public float[][] reuseFOV() {
+        Coord start = starts[index++ & 255];
+        return FOV.reuseFOV(resistances, light, start.x, start.y, radius, Radius.CIRCLE);
+    }
+
+    @Benchmark
+    public float[][] reuseRippleFOV() {
+        Coord start = starts[index++ & 255];
+        return FOV.reuseRippleFOV(resistances, light, start.x, start.y, radius, Radius.CIRCLE);
+    }
+}
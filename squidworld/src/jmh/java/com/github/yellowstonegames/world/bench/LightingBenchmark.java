@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.tommyettinger.random.WhiskerRandom;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.FOV;
+import com.github.yellowstonegames.grid.LightingManager;
+import com.github.yellowstonegames.grid.Radiance;
+import com.github.yellowstonegames.grid.Radius;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LightingManager#update()} on generated dungeons with many lights, where one light moves each call
+ * and the rest stay still. This is done both with and without {@link LightingManager#incremental}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class LightingBenchmark {
+    @Param({"64", "128", "256"})
+    public int size;
+
+    @Param({"16", "128"})
+    public int lightCount;
+
+    @Param({"true", "false"})
+    public boolean incremental;
+
+    private LightingManager lighting;
+    private Coord[] moves;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WhiskerRandom random = new WhiskerRandom(1234567890L);
+        char[][] map = new DungeonProcessor(size, size, random).generate();
+        Region floors = new Region(map, '.');
+        lighting = new LightingManager(FOV.generateResistances(map), 0x000000FF, Radius.CIRCLE, 8f);
+        lighting.incremental = incremental;
+        for (Coord c : floors.randomPortion(random, lightCount)) {
+            lighting.addLight(c, new Radiance(random.nextFloat(3f, 9f), random.nextInt() | 0xFE000000));
+        }
+        moves = floors.randomPortion(random, 256);
+        lighting.calculateFOV(moves[0]);
+    }
+
+    @Benchmark
+    public float[][] update() {
+        lighting.lights.get(0).position = moves[index++ & 255];
+        lighting.update();
+        return lighting.lightingStrength;
+    }
+}
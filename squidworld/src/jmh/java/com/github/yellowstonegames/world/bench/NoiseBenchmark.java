@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.yellowstonegames.grid.Noise;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Noise#getConfiguredNoise(float, float)} and {@link Noise#getConfiguredNoise(float, float, float)}
+ * for each fractal noise type and fractal mode in {@link Noise}, using 3 octaves. The noise types are named as they
+ * are in {@link Noise#NOISE_TYPES}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class NoiseBenchmark {
+    @Param({"ValueFractal", "PerlinFractal", "SimplexFractal", "CellularFractal", "CubicFractal", "FoamFractal",
+            "HoneyFractal", "MutantFractal", "TaffyFractal"})
+    public String noiseType;
+
+    @Param({"FBM", "BILLOW", "RIDGED_MULTI", "DOMAIN_WARP"})
+    public String fractalType;
+
+    private Noise noise;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        noise = new Noise(1234567, 0.0625f, Noise.SIMPLEX_FRACTAL, 3);
+        for (int i = 0; i <= Noise.WHITE_NOISE; i++) {
+            if (noiseType.equals(Noise.NOISE_TYPES.get(i))) {
+                noise.setNoiseType(i);
+                break;
+            }
+        }
+        switch (fractalType) {
+            case "BILLOW": noise.setFractalType(Noise.BILLOW);
+                break;
+            case "RIDGED_MULTI": noise.setFractalType(Noise.RIDGED_MULTI);
+                break;
+            case "DOMAIN_WARP": noise.setFractalType(Noise.DOMAIN_WARP);
+                break;
+            default: noise.setFractalType(Noise.FBM);
+        }
+    }
+
+    @Benchmark
+    public float noise2D() {
+        final int i = index++;
+        return noise.getConfiguredNoise(i & 1023, i >>> 10 & 1023);
+    }
+
+    @Benchmark
+    public float noise3D() {
+        final int i = index++;
+        return noise.getConfiguredNoise(i & 1023, i >>> 10 & 1023, i >>> 20);
+    }
+}
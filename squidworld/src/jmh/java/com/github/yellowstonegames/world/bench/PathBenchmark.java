@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.tommyettinger.ds.ObjectDeque;
+import com.github.tommyettinger.random.WhiskerRandom;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.path.AStarSearch;
+import com.github.yellowstonegames.path.DijkstraMap;
+import com.github.yellowstonegames.path.Heuristic;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DijkstraMap#scan()}, {@link DijkstraMap#findPath(int, java.util.Collection, java.util.Collection, Coord, Coord...)},
+ * and {@link AStarSearch#path(Coord, Coord)} on generated dungeons, between different pairs of floor cells each call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class PathBenchmark {
+    @Param({"64", "128", "256"})
+    public int size;
+
+    private DijkstraMap dijkstra;
+    private AStarSearch astar;
+    private Coord[] starts, goals;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WhiskerRandom random = new WhiskerRandom(1234567890L);
+        char[][] map = new DungeonProcessor(size, size, random).generate();
+        dijkstra = new DijkstraMap(map);
+        astar = new AStarSearch(map, Heuristic.EUCLIDEAN);
+        Region floors = new Region(map, '.');
+        starts = floors.randomPortion(random, 256);
+        goals = floors.randomPortion(random, 256);
+    }
+
+    @Benchmark
+    public float[][] dijkstraScan() {
+        dijkstra.clearGoals();
+        dijkstra.setGoal(goals[index++ & 255]);
+        return dijkstra.scan();
+    }
+
+    @Benchmark
+    public ObjectDeque<Coord> dijkstraFindPath() {
+        final int i = index++ & 255;
+        dijkstra.clearGoals();
+        return dijkstra.findPath(size * size, null, null, starts[i], goals[i]);
+    }
+
+    @Benchmark
+    public ObjectDeque<Coord> aStarPath() {
+        final int i = index++ & 255;
+        return astar.path(starts[i], goals[i]);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.tommyettinger.random.WhiskerRandom;
+import com.github.yellowstonegames.grid.Coord;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Region#expand(int)}, {@link Region#expand8way(int)}, {@link Region#surface8way(int)},
+ * {@link Region#flood(Region, int)}, and {@link Region#largestPart()} on the floors of generated dungeons. Each call copies its starting Region into a reused one first, so the copy is included
+ * in the measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class RegionBenchmark {
+    @Param({"64", "128", "256"})
+    public int size;
+
+    private Region floors, seeds, working;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WhiskerRandom random = new WhiskerRandom(1234567890L);
+        char[][] map = new DungeonProcessor(size, size, random).generate();
+        floors = new Region(map, '.');
+        seeds = new Region(size, size);
+        for (Coord c : floors.randomPortion(random, 8)) {
+            seeds.insert(c);
+        }
+        working = new Region(size, size);
+    }
+
+    @Benchmark
+    public Region expand() {
+        return working.remake(floors).expand(3);
+    }
+
+    @Benchmark
+    public Region expand8way() {
+        return working.remake(floors).expand8way(8);
+    }
+
+    @Benchmark
+    public Region surface8way() {
+        return working.remake(floors).surface8way(2);
+    }
+
+    @Benchmark
+    public Region flood() {
+        return working.remake(seeds).flood(floors, size);
+    }
+
+    @Benchmark
+    public Region largestPart() {
+        return floors.largestPart();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.tommyettinger.random.WhiskerRandom;
+import com.github.yellowstonegames.grid.Region;
+import com.github.yellowstonegames.place.DungeonProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Region#toCompressedString()} and {@link Region#decompress(String)} with
+ * {@link Region#toRunLengthBytes()} and {@link Region#decodeRunLength(byte[])}, encoding and round-tripping the floors
+ * of generated dungeons. This only measures time; {@code RegionTest.testRunLengthSize()} checks how small the
+ * run-length form is.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 4, time = 1)
+@Measurement(iterations = 6, time = 1)
+@Fork(1)
+public class RegionEncodingBenchmark {
+    @Param({"64", "128", "256"})
+    public int size;
+
+    private Region floors;
+    private String compressed;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        char[][] map = new DungeonProcessor(size, size, new WhiskerRandom(1234567890L)).generate();
+        floors = new Region(map, '.');
+        compressed = floors.toCompressedString();
+        bytes = floors.toRunLengthBytes();
+    }
+
+    @Benchmark
+    public String encodeString() {
+        return floors.toCompressedString();
+    }
+
+    @Benchmark
+    public byte[] encodeBytes() {
+        return floors.toRunLengthBytes();
+    }
+
+    @Benchmark
+    public Region decodeString() {
+        return Region.decompress(compressed);
+    }
+
+    @Benchmark
+    public Region decodeBytes() {
+        return Region.decodeRunLength(bytes);
+    }
+
+    @Benchmark
+    public Region roundTripString() {
+        return Region.decompress(floors.toCompressedString());
+    }
+
+    @Benchmark
+    public Region roundTripBytes() {
+        return Region.decodeRunLength(floors.toRunLengthBytes());
+    }
+}
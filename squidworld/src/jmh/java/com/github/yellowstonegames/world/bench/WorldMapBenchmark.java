@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world.bench;
+
+import com.github.yellowstonegames.world.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link WorldMapGenerator#generate()} for each projection that doesn't need an existing map to mimic, at a
+ * few map sizes. The seed changes each call, so no cached data is reused.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorldMapBenchmark {
+    @Param({"Stretch", "Globe", "RotatingGlobe", "Elliptical", "Hyperelliptical", "RoundSide", "LatLon",
+            "Hexagonal", "Diagonal", "Tiling", "Local"})
+    public String projection;
+
+    @Param({"128", "256", "512"})
+    public int size;
+
+    private WorldMapGenerator world;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final long seed = 1234567890L;
+        switch (projection) {
+            case "Globe": world = new GlobeMap(seed, size, size);
+                break;
+            case "RotatingGlobe": world = new RotatingGlobeMap(seed, size, size);
+                break;
+            case "Elliptical": world = new EllipticalWorldMap(seed, size, size);
+                break;
+            case "Hyperelliptical": world = new HyperellipticalWorldMap(seed, size, size);
+                break;
+            case "RoundSide": world = new RoundSideWorldMap(seed, size, size);
+                break;
+            case "LatLon": world = new LatLonWorldMap(seed, size, size);
+                break;
+            case "Hexagonal": world = new HexagonalWorldMap(seed, size, size);
+                break;
+            case "Diagonal": world = new DiagonalWorldMap(seed, size);
+                break;
+            case "Tiling": world = new TilingWorldMap(seed, size, size);
+                break;
+            case "Local": world = new LocalMap(seed, size, size);
+                break;
+            default: world = new StretchWorldMap(seed, size, size);
+        }
+    }
+
+    @Benchmark
+    public float[][] generate() {
+        world.generate();
+        return world.heightData;
+    }
+}
@@ -123,6 +123,43 @@ public interface BiomeMapper {
 
     boolean equals(Object o);
 
+    /**
+     * Runs {@code task} over every x from 0 to {@code world.width}, split into stripes by the world's
+     * {@link WorldMapGenerator#getRowRunner() RowRunner} if it has one, or all at once on this thread otherwise.
+     * Biome data is indexed by x first, so each stripe covers a contiguous block of the outer arrays. BiomeMappers
+     * that classify each cell on its own can use this in {@link #makeBiomes(WorldMapGenerator)}, and will get the
+     * same results however the stripes are split.
+     * @param world the WorldMapGenerator being analyzed; its RowRunner, if any, is used to run stripes
+     * @param task classifies every cell in a stripe; must only change the cells in its stripe
+     */
+    static void runStripes(WorldMapGenerator world, StripeTask task) {
+        final WorldMapGenerator.RowRunner runner = world.getRowRunner();
+        final int width = world.width;
+        final int stripes = runner == null ? 1 : Math.min(width, runner.getParallelism() << 2);
+        if (stripes <= 1) {
+            task.run(0, width);
+            return;
+        }
+        final Runnable[] runs = new Runnable[stripes];
+        for (int s = 0; s < stripes; s++) {
+            final int start = width * s / stripes, end = width * (s + 1) / stripes;
+            runs[s] = () -> task.run(start, end);
+        }
+        runner.runAll(runs);
+    }
+
+    /**
+     * Classifies a stripe of cells for {@link #runStripes(WorldMapGenerator, StripeTask)}.
+     */
+    interface StripeTask {
+        /**
+         * Classifies every cell with an x from {@code startX} (inclusive) to {@code endX} (exclusive).
+         * @param startX the first x to classify
+         * @param endX the x after the last one to classify
+         */
+        void run(int startX, int endX);
+    }
+
     /**
      * A way to get biome information for the cells on a map when you only need a single value to describe a biome, such
      * as "Grassland" or "TropicalRainforest".
@@ -215,6 +252,68 @@ public interface BiomeMapper {
                 wetterValueLower = 0.8f,    wetterValueUpper  = 0.9f,  // 4
                 wettestValueLower = 0.9f,   wettestValueUpper = 1.0f;  // 5
 
+        /**
+         * Gets the heat code, from 0 to 5 inclusive, for a heat value that has already been divided by the world's
+         * {@link WorldMapGenerator#maxHeat}.
+         * @param hot a heat value, typically between 0 and 1
+         * @return a heat code from 0 (coldest) to 5 (hottest)
+         */
+        public static int heatCode(float hot) {
+            if (hot > warmerValueUpper) {
+                return 5;
+            } else if (hot > warmValueUpper) {
+                return 4;
+            } else if (hot > coldValueUpper) {
+                return 3;
+            } else if (hot > colderValueUpper) {
+                return 2;
+            } else if (hot > coldestValueUpper) {
+                return 1;
+            } else {
+                return 0;
+            }
+        }
+
+        /**
+         * Gets the moisture code for a moisture value at a cell with the given height code. Water cells (height codes
+         * below 4) always get 9, which is used for oceans; other cells get from 0 to 5 inclusive.
+         * @param heightCode a height code, as produced by {@link WorldMapGenerator#codeHeight(float)}
+         * @param moist a moisture value, typically between 0 and 1
+         * @return a moisture code from 0 (driest) to 5 (wettest), or 9 for water
+         */
+        public static int moistureCode(int heightCode, float moist) {
+            if(heightCode < 4) {
+                return 9;
+            }
+            else if (moist > wetterValueUpper) {
+                return 5;
+            } else if (moist > wetValueUpper) {
+                return 4;
+            } else if (moist > dryValueUpper) {
+                return 3;
+            } else if (moist > drierValueUpper) {
+                return 2;
+            } else if (moist > driestValueUpper) {
+                return 1;
+            } else {
+                return 0;
+            }
+        }
+
+        /**
+         * Combines a height code, heat code, and moisture code into a biome code, the same way
+         * {@link #makeBiomes(WorldMapGenerator)} does. This does not handle the height code 1000, used for space.
+         * @param heightCode a height code, as produced by {@link WorldMapGenerator#codeHeight(float)}
+         * @param heatCode a heat code, as produced by {@link #heatCode(float)}
+         * @param moistureCode a moisture code, as produced by {@link #moistureCode(int, float)}
+         * @return a biome code that can be used as an index into {@link Biome#TABLE}
+         */
+        public static int biomeCode(int heightCode, int heatCode, int moistureCode) {
+            // 54 == 9 * 6, 9 is used for Ocean groups
+            return heightCode == 3 && heatCode == 0 ? 48 : heightCode < 4 ? heatCode + 54
+                    : heightCode == 4 ? heatCode + 36 : heatCode + moistureCode * 6;
+        }
+
         /**
          * The default biome table to use with biome codes from {@link #biomeCodeData}. Biomes are assigned based on
          * heat and moisture for the first 36 of 66 elements (coldest to warmest for each group of 6, with the first
@@ -311,57 +410,29 @@ public interface BiomeMapper {
 //            final float i_hot = (world.maxHeat == world.minHeat) ? 1f : 1f / (world.maxHeat - world.minHeat);
             final float i_hot = 1f / world.maxHeat;
             final float[][] heatData = world.heatData, moistureData = world.moistureData;
-            for (int x = 0; x < world.width; x++) {
-                for (int y = 0; y < world.height; y++) {
-//                    final float hot = (world.heatData[x][y] - world.minHeat) * i_hot, moist = world.moistureData[x][y];
-                    final float hot = heatData[x][y] * i_hot;
-                    final float moist = moistureData[x][y];
-                    final int heightCode = world.heightCodeData[x][y];
-                    if(heightCode == 1000) {
-                        biomeCodeData[x][y] = 60;
-                        continue;
-                    }
-                    int hc, mc;
-                    if(heightCode < 4) {
-                        mc = 9;
-                    }
-                    else if (moist > wetterValueUpper) {
-                        mc = 5;
-                    } else if (moist > wetValueUpper) {
-                        mc = 4;
-                    } else if (moist > dryValueUpper) {
-                        mc = 3;
-                    } else if (moist > drierValueUpper) {
-                        mc = 2;
-                    } else if (moist > driestValueUpper) {
-                        mc = 1;
-                    } else {
-                        mc = 0;
-                    }
+            final int[][] heightCodeData = world.heightCodeData,
+                    heatCodeData = this.heatCodeData, moistureCodeData = this.moistureCodeData,
+                    biomeCodeData = this.biomeCodeData;
+            final int height = world.height;
+            BiomeMapper.runStripes(world, (startX, endX) -> {
+                for (int x = startX; x < endX; x++) {
+                    for (int y = 0; y < height; y++) {
+//                        final float hot = (world.heatData[x][y] - world.minHeat) * i_hot, moist = world.moistureData[x][y];
+                        final float hot = heatData[x][y] * i_hot;
+                        final float moist = moistureData[x][y];
+                        final int heightCode = heightCodeData[x][y];
+                        if(heightCode == 1000) {
+                            biomeCodeData[x][y] = 60;
+                            continue;
+                        }
+                        final int hc = heatCode(hot), mc = moistureCode(heightCode, moist);
+                        heatCodeData[x][y] = hc;
+                        moistureCodeData[x][y] = mc;
+                        biomeCodeData[x][y] = biomeCode(heightCode, hc, mc);
 
-                    if (hot > warmerValueUpper) {
-                        hc = 5;
-                    } else if (hot > warmValueUpper) {
-                        hc = 4;
-                    } else if (hot > coldValueUpper) {
-                        hc = 3;
-                    } else if (hot > colderValueUpper) {
-                        hc = 2;
-                    } else if (hot > coldestValueUpper) {
-                        hc = 1;
-                    } else {
-                        hc = 0;
                     }
-
-                    heatCodeData[x][y] = hc;
-                    moistureCodeData[x][y] = mc;
-                    // 54 == 9 * 6, 9 is used for Ocean groups
-                    biomeCodeData[x][y]
-                            = heightCode == 3 && hc == 0 ? 48 : heightCode < 4 ? hc + 54
-                            : heightCode == 4 ? hc + 36 : hc + mc * 6;
-
                 }
-            }
+            });
         }
 
         @Override
@@ -633,101 +704,107 @@ public interface BiomeMapper {
                 moistureCodeData = new int[world.width][world.height];
             if(biomeCodeData == null || (biomeCodeData.length != world.width || biomeCodeData[0].length != world.height))
                 biomeCodeData = new int[world.width][world.height];
-            final int[][] heightCodeData = world.heightCodeData;
+            final int[][] heightCodeData = world.heightCodeData,
+                    heatCodeData = this.heatCodeData, moistureCodeData = this.moistureCodeData,
+                    biomeCodeData = this.biomeCodeData;
             final float[][] heatData = world.heatData, moistureData = world.moistureData, heightData = world.heightData;
-            int hc, mc, heightCode, bc;
-            float hot, moist, high, i_hot = 1f / world.maxHeat;
-            for (int x = 0; x < world.width; x++) {
-                for (int y = 0; y < world.height; y++) {
-
-                    heightCode = heightCodeData[x][y];
-                    if(heightCode == 1000) {
-                        biomeCodeData[x][y] = 60;
-                        continue;
-                    }
-                    hot = heatData[x][y];
-                    moist = moistureData[x][y];
-                    high = heightData[x][y];
-                    if (moist >= (wettestValueUpper - (wetterValueUpper - wetterValueLower) * 0.2f)) {
-                        mc = 5;
-                    } else if (moist >= (wetterValueUpper - (wetValueUpper - wetValueLower) * 0.2f)) {
-                        mc = 4;
-                    } else if (moist >= (wetValueUpper - (dryValueUpper - dryValueLower) * 0.2f)) {
-                        mc = 3;
-                    } else if (moist >= (dryValueUpper - (drierValueUpper - drierValueLower) * 0.2f)) {
-                        mc = 2;
-                    } else if (moist >= (drierValueUpper - (driestValueUpper) * 0.2f)) {
-                        mc = 1;
-                    } else {
-                        mc = 0;
-                    }
-
-                    if (hot >= (warmestValueUpper - (warmerValueUpper - warmerValueLower) * 0.2f) * i_hot) {
-                        hc = 5;
-                    } else if (hot >= (warmerValueUpper - (warmValueUpper - warmValueLower) * 0.2f) * i_hot) {
-                        hc = 4;
-                    } else if (hot >= (warmValueUpper - (coldValueUpper - coldValueLower) * 0.2f) * i_hot) {
-                        hc = 3;
-                    } else if (hot >= (coldValueUpper - (colderValueUpper - colderValueLower) * 0.2f) * i_hot) {
-                        hc = 2;
-                    } else if (hot >= (colderValueUpper - (coldestValueUpper) * 0.2f) * i_hot) {
-                        hc = 1;
-                    } else {
-                        hc = 0;
-                    }
-
-                    heatCodeData[x][y] = hc;
-                    moistureCodeData[x][y] = mc;
-                    // 54 == 9 * 6, 9 is used for Ocean groups
-                    bc = heightCode == 3 && hc == 0 ? 48 : heightCode < 4 ? hc + 54 // 54 == 9 * 6, 9 is used for Ocean groups
-                            : heightCode == 4 ? hc + 36 : hc + mc * 6;
+            final float i_hot = 1f / world.maxHeat;
+            final int height = world.height;
+            BiomeMapper.runStripes(world, (startX, endX) -> {
+                int hc, mc, heightCode, bc;
+                float hot, moist, high;
+                for (int x = startX; x < endX; x++) {
+                    for (int y = 0; y < height; y++) {
+
+                        heightCode = heightCodeData[x][y];
+                        if(heightCode == 1000) {
+                            biomeCodeData[x][y] = 60;
+                            continue;
+                        }
+                        hot = heatData[x][y];
+                        moist = moistureData[x][y];
+                        high = heightData[x][y];
+                        if (moist >= (wettestValueUpper - (wetterValueUpper - wetterValueLower) * 0.2f)) {
+                            mc = 5;
+                        } else if (moist >= (wetterValueUpper - (wetValueUpper - wetValueLower) * 0.2f)) {
+                            mc = 4;
+                        } else if (moist >= (wetValueUpper - (dryValueUpper - dryValueLower) * 0.2f)) {
+                            mc = 3;
+                        } else if (moist >= (dryValueUpper - (drierValueUpper - drierValueLower) * 0.2f)) {
+                            mc = 2;
+                        } else if (moist >= (drierValueUpper - (driestValueUpper) * 0.2f)) {
+                            mc = 1;
+                        } else {
+                            mc = 0;
+                        }
 
-                    if(heightCode < 4) {
-                        mc = 9;
-                    } else if (moist >= (wetterValueUpper + (wettestValueUpper - wettestValueLower) * 0.2f)) {
-                        mc = 5;
-                    } else if (moist >= (wetValueUpper + (wetterValueUpper - wetterValueLower) * 0.2f)) {
-                        mc = 4;
-                    } else if (moist >= (dryValueUpper + (wetValueUpper - wetValueLower) * 0.2f)) {
-                        mc = 3;
-                    } else if (moist >= (drierValueUpper + (dryValueUpper - dryValueLower) * 0.2f)) {
-                        mc = 2;
-                    } else if (moist >= (driestValueUpper + (drierValueUpper - drierValueLower) * 0.2f)) {
-                        mc = 1;
-                    } else {
-                        mc = 0;
-                    }
+                        if (hot >= (warmestValueUpper - (warmerValueUpper - warmerValueLower) * 0.2f) * i_hot) {
+                            hc = 5;
+                        } else if (hot >= (warmerValueUpper - (warmValueUpper - warmValueLower) * 0.2f) * i_hot) {
+                            hc = 4;
+                        } else if (hot >= (warmValueUpper - (coldValueUpper - coldValueLower) * 0.2f) * i_hot) {
+                            hc = 3;
+                        } else if (hot >= (coldValueUpper - (colderValueUpper - colderValueLower) * 0.2f) * i_hot) {
+                            hc = 2;
+                        } else if (hot >= (colderValueUpper - (coldestValueUpper) * 0.2f) * i_hot) {
+                            hc = 1;
+                        } else {
+                            hc = 0;
+                        }
 
-                    if (hot >= (warmerValueUpper + (warmestValueUpper - warmestValueLower) * 0.2f) * i_hot) {
-                        hc = 5;
-                    } else if (hot >= (warmValueUpper + (warmerValueUpper - warmerValueLower) * 0.2f) * i_hot) {
-                        hc = 4;
-                    } else if (hot >= (coldValueUpper + (warmValueUpper - warmValueLower) * 0.2f) * i_hot) {
-                        hc = 3;
-                    } else if (hot >= (colderValueUpper + (coldValueUpper - coldValueLower) * 0.2f) * i_hot) {
-                        hc = 2;
-                    } else if (hot >= (coldestValueUpper + (colderValueUpper - colderValueLower) * 0.2f) * i_hot) {
-                        hc = 1;
-                    } else {
-                        hc = 0;
-                    }
+                        heatCodeData[x][y] = hc;
+                        moistureCodeData[x][y] = mc;
+                        // 54 == 9 * 6, 9 is used for Ocean groups
+                        bc = heightCode == 3 && hc == 0 ? 48 : heightCode < 4 ? hc + 54 // 54 == 9 * 6, 9 is used for Ocean groups
+                                : heightCode == 4 ? hc + 36 : hc + mc * 6;
+
+                        if(heightCode < 4) {
+                            mc = 9;
+                        } else if (moist >= (wetterValueUpper + (wettestValueUpper - wettestValueLower) * 0.2f)) {
+                            mc = 5;
+                        } else if (moist >= (wetValueUpper + (wetterValueUpper - wetterValueLower) * 0.2f)) {
+                            mc = 4;
+                        } else if (moist >= (dryValueUpper + (wetValueUpper - wetValueLower) * 0.2f)) {
+                            mc = 3;
+                        } else if (moist >= (drierValueUpper + (dryValueUpper - dryValueLower) * 0.2f)) {
+                            mc = 2;
+                        } else if (moist >= (driestValueUpper + (drierValueUpper - drierValueLower) * 0.2f)) {
+                            mc = 1;
+                        } else {
+                            mc = 0;
+                        }
 
-//                    bc |= (hc + mc * 6) << 10;
-                    // 54 == 9 * 6, 9 is used for Ocean groups
-                    bc |= (heightCode == 3 && hc == 0 ? 48 : heightCode < 4 ? hc + 54 // 54 == 9 * 6, 9 is used for Ocean groups
-                           : hc + mc * 6) << 10;
+                        if (hot >= (warmerValueUpper + (warmestValueUpper - warmestValueLower) * 0.2f) * i_hot) {
+                            hc = 5;
+                        } else if (hot >= (warmValueUpper + (warmerValueUpper - warmerValueLower) * 0.2f) * i_hot) {
+                            hc = 4;
+                        } else if (hot >= (coldValueUpper + (warmValueUpper - warmValueLower) * 0.2f) * i_hot) {
+                            hc = 3;
+                        } else if (hot >= (colderValueUpper + (coldValueUpper - coldValueLower) * 0.2f) * i_hot) {
+                            hc = 2;
+                        } else if (hot >= (coldestValueUpper + (colderValueUpper - colderValueLower) * 0.2f) * i_hot) {
+                            hc = 1;
+                        } else {
+                            hc = 0;
+                        }
 
-                    if(heightCode < 4)
-                        biomeCodeData[x][y] = bc | (int)((heightData[x][y] + 1.0f) * 1000.0f) << 20;
-                    else {
-                        biomeCodeData[x][y] = bc | (int) (
-                                (heightCode == 4)
-                                ? 1024.0f - (WorldMapGenerator.sandUpper - high) * 10240.0f
-                                : MathTools.zigzag((high + moist) * (4.1f + high - hot)) * 512.0f + 512.0f
-                        ) << 20;
+//                        bc |= (hc + mc * 6) << 10;
+                        // 54 == 9 * 6, 9 is used for Ocean groups
+                        bc |= (heightCode == 3 && hc == 0 ? 48 : heightCode < 4 ? hc + 54 // 54 == 9 * 6, 9 is used for Ocean groups
+                               : hc + mc * 6) << 10;
+
+                        if(heightCode < 4)
+                            biomeCodeData[x][y] = bc | (int)((heightData[x][y] + 1.0f) * 1000.0f) << 20;
+                        else {
+                            biomeCodeData[x][y] = bc | (int) (
+                                    (heightCode == 4)
+                                    ? 1024.0f - (WorldMapGenerator.sandUpper - high) * 10240.0f
+                                    : MathTools.zigzag((high + moist) * (4.1f + high - hot)) * 512.0f + 512.0f
+                            ) << 20;
+                        }
                     }
                 }
-            }
+            });
         }
 
         @Override
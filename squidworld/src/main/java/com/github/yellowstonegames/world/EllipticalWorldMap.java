@@ -347,8 +347,8 @@ public class EllipticalWorldMap extends WorldMapGenerator {
 
     protected void regenerate(int startX, int startY, int usedWidth, int usedHeight,
                               float landMod, float heatMod, long stateA, long stateB) {
-        boolean fresh = false;
-        if (cacheA != stateA || cacheB != stateB || landMod != landModifier || heatMod != heatModifier) {
+        final boolean fresh = cacheA != stateA || cacheB != stateB || landMod != landModifier || heatMod != heatModifier;
+        if (fresh) {
             minHeight = Float.POSITIVE_INFINITY;
             maxHeight = Float.NEGATIVE_INFINITY;
             minHeat0 = Float.POSITIVE_INFINITY;
@@ -363,132 +363,140 @@ public class EllipticalWorldMap extends WorldMapGenerator {
             maxWet = Float.NEGATIVE_INFINITY;
             cacheA = stateA;
             cacheB = stateB;
-            fresh = true;
         }
         rng.setState(stateA, stateB);
-        long seedA = rng.nextLong(), seedB = rng.nextLong(), seedC = rng.nextLong();
-        int t;
+        final long seedA = rng.nextLong(), seedB = rng.nextLong(), seedC = rng.nextLong();
 
         landModifier = (landMod <= 0) ? rng.nextFloat(0.2f) + 0.91f : landMod;
         heatModifier = (heatMod <= 0) ? rng.nextFloat(0.45f) * (rng.nextFloat() - 0.5f) + 1.1f : heatMod;
 
-        float p,
-                ps, pc,
-                qs, qc,
-                h, temp, yPos, xPos,
-                i_uw = usedWidth / (float) width,
+        final float i_uw = usedWidth / (float) width,
                 i_uh = usedHeight / (float) height,
-                th, thx, thy, lon, lat, ipi = 0.31830984f,/* MathTools.towardsZero(TrigTools.PI_INVERSE) */
+                ipi = 0.31830984f,/* MathTools.towardsZero(TrigTools.PI_INVERSE) */
                 rx = width * 0.25f - 0.5f, irx = 1f / rx, hw = width * 0.5f,
                 ry = height * 0.5f, iry = 1f / ry;
 
-        yPos = startY - ry;
-        for (int y = 0; y < height; y++, yPos += i_uh) {
-            thx = TrigTools.asin((yPos) * iry);
-            lon = (thx == TrigTools.HALF_PI || thx == -TrigTools.HALF_PI) ? thx : TrigTools.HALF_PI * irx / TrigTools.cosSmoother(thx);
-            thy = thx * 2f;
-            lat = TrigTools.asin((thy + TrigTools.sinSmoother(thy)) * ipi);
-
-            qc = TrigTools.cosSmoother(lat);
-            qs = TrigTools.sinSmoother(lat);
-
-            boolean inSpace = true;
-            xPos = startX;
-            for (int x = 0; x < width; x++, xPos += i_uw) {
-                th = lon * (xPos - hw);
-                if (th < -3.141592653589793f || th > 3.141592653589793f) {
-                    heightCodeData[x][y] = 10000;
-                    inSpace = true;
-                    continue;
-                }
-                if (inSpace) {
-                    inSpace = false;
-                    edges[y << 1] = x;
-                }
-                edges[y << 1 | 1] = x;
-                th += centerLongitude;
-                ps = TrigTools.sinSmoother(th) * qc;
-                pc = TrigTools.cosSmoother(th) * qc;
-                xPositions[x][y] = pc;
-                yPositions[x][y] = ps;
-                zPositions[x][y] = qs;
-                heightData[x][y] = (h = terrainBasic.getNoiseWithSeed(pc +
-                                terrainRidged.getNoiseWithSeed(pc, ps, qs, seedB - seedA) * 0.5f,
-                        ps, qs, seedA) + landModifier - 1f);
-                heatData[x][y] = (p = heat.getNoiseWithSeed(pc, ps
-                                + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedB + seedC)
-                        , qs, seedB));
-                moistureData[x][y] = (temp = moisture.getNoiseWithSeed(pc, ps, qs
-                                + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedC + seedA)
-                        , seedC));
-                if (fresh) {
-                    minHeight = Math.min(minHeight, h);
-                    maxHeight = Math.max(maxHeight, h);
-
-                    minHeat0 = Math.min(minHeat0, p);
-                    maxHeat0 = Math.max(maxHeat0, p);
-
-                    minWet0 = Math.min(minWet0, temp);
-                    maxWet0 = Math.max(maxWet0, temp);
+        final float[] rowPos = rowPositions(startY - ry, i_uh);
+        float[] bounds = runRows((startRow, endRow, b, concurrent) -> {
+            // noise generators change their own state while they run, so each concurrent group needs its own copies
+            final NoiseWrapper terrainBasic = concurrent ? this.terrainBasic.copy() : this.terrainBasic,
+                    terrainRidged = concurrent ? this.terrainRidged.copy() : this.terrainRidged,
+                    heat = concurrent ? this.heat.copy() : this.heat,
+                    moisture = concurrent ? this.moisture.copy() : this.moisture,
+                    otherRidged = concurrent ? this.otherRidged.copy() : this.otherRidged;
+            float ps, pc, qs, qc, h, heat0, temp, xPos, th, thx, thy, lon, lat;
+            for (int y = startRow; y < endRow; y++) {
+                thx = TrigTools.asin((rowPos[y]) * iry);
+                lon = (thx == TrigTools.HALF_PI || thx == -TrigTools.HALF_PI) ? thx : TrigTools.HALF_PI * irx / TrigTools.cosSmoother(thx);
+                thy = thx * 2f;
+                lat = TrigTools.asin((thy + TrigTools.sinSmoother(thy)) * ipi);
+
+                qc = TrigTools.cosSmoother(lat);
+                qs = TrigTools.sinSmoother(lat);
+
+                boolean inSpace = true;
+                xPos = startX;
+                for (int x = 0; x < width; x++, xPos += i_uw) {
+                    th = lon * (xPos - hw);
+                    if (th < -3.141592653589793f || th > 3.141592653589793f) {
+                        heightCodeData[x][y] = 10000;
+                        inSpace = true;
+                        continue;
+                    }
+                    if (inSpace) {
+                        inSpace = false;
+                        edges[y << 1] = x;
+                    }
+                    edges[y << 1 | 1] = x;
+                    th += centerLongitude;
+                    ps = TrigTools.sinSmoother(th) * qc;
+                    pc = TrigTools.cosSmoother(th) * qc;
+                    xPositions[x][y] = pc;
+                    yPositions[x][y] = ps;
+                    zPositions[x][y] = qs;
+                    heightData[x][y] = (h = terrainBasic.getNoiseWithSeed(pc +
+                                    terrainRidged.getNoiseWithSeed(pc, ps, qs, seedB - seedA) * 0.5f,
+                            ps, qs, seedA) + landModifier - 1f);
+                    heatData[x][y] = (heat0 = heat.getNoiseWithSeed(pc, ps
+                                    + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedB + seedC)
+                            , qs, seedB));
+                    moistureData[x][y] = (temp = moisture.getNoiseWithSeed(pc, ps, qs
+                                    + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedC + seedA)
+                            , seedC));
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h);
+                        b[1] = Math.max(b[1], h);
+
+                        b[2] = Math.min(b[2], heat0);
+                        b[3] = Math.max(b[3], heat0);
+
+                        b[4] = Math.min(b[4], temp);
+                        b[5] = Math.max(b[5], temp);
+                    }
                 }
             }
-
+        });
+        if (fresh) {
+            minHeight = bounds[0];
+            maxHeight = bounds[1];
+            minHeat0 = bounds[2];
+            maxHeat0 = bounds[3];
+            minWet0 = bounds[4];
+            maxWet0 = bounds[5];
         }
-        float heatDiff = 0.8f / (maxHeat0 - minHeat0),
+        final float heatDiff0 = 0.8f / (maxHeat0 - minHeat0),
                 wetDiff = 1f / (maxWet0 - minWet0),
-                hMod,
                 halfHeight = (height - 1) * 0.5f, i_half = 1f / halfHeight;
-        yPos = startY + i_uh;
-        ps = Float.POSITIVE_INFINITY;
-        pc = Float.NEGATIVE_INFINITY;
-
-        for (int y = 0; y < height; y++, yPos += i_uh) {
-            temp = (yPos - halfHeight) * i_half;
-            temp = RoughMath.expRough(-temp*temp) * 2.2f;
-            for (int x = 0; x < width; x++) {
-                if (heightCodeData[x][y] == 10000) {
-                    heightCodeData[x][y] = 1000;
-                    continue;
-                } else {
-                    heightCodeData[x][y] = codeHeight(th = heightData[x][y]);
-                }
-                hMod = (RoughMath.logisticRough(th*2.75f-1f)+0.18f);
-                h = 0.39f - RoughMath.logisticRough(th*4f) * (th+0.1f) * 0.82f;
-                heatData[x][y] = (h = (((heatData[x][y] - minHeat0) * heatDiff * hMod) + h + 0.6f) * temp);
-                if (fresh) {
-                    ps = Math.min(ps, h); //minHeat0
-                    pc = Math.max(pc, h); //maxHeat0
+        final float[] heatPos = rowPositions(startY + i_uh, i_uh);
+
+        bounds = runRows((startRow, endRow, b, concurrent) -> {
+            float h, th, hMod, temp;
+            for (int y = startRow; y < endRow; y++) {
+                temp = (heatPos[y] - halfHeight) * i_half;
+                temp = RoughMath.expRough(-temp*temp) * 2.2f;
+                for (int x = 0; x < width; x++) {
+                    if (heightCodeData[x][y] == 10000) {
+                        heightCodeData[x][y] = 1000;
+                        continue;
+                    } else {
+                        heightCodeData[x][y] = codeHeight(th = heightData[x][y]);
+                    }
+                    hMod = (RoughMath.logisticRough(th*2.75f-1f)+0.18f);
+                    h = 0.39f - RoughMath.logisticRough(th*4f) * (th+0.1f) * 0.82f;
+                    heatData[x][y] = (h = (((heatData[x][y] - minHeat0) * heatDiff0 * hMod) + h + 0.6f) * temp);
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h); //minHeat0
+                        b[1] = Math.max(b[1], h); //maxHeat0
+                    }
                 }
             }
-        }
+        });
         if (fresh) {
-            minHeat1 = ps;
-            maxHeat1 = pc;
+            minHeat1 = bounds[0];
+            maxHeat1 = bounds[1];
         }
-        heatDiff = heatModifier / (maxHeat1 - minHeat1);
-        qs = Float.POSITIVE_INFINITY;
-        qc = Float.NEGATIVE_INFINITY;
-        ps = Float.POSITIVE_INFINITY;
-        pc = Float.NEGATIVE_INFINITY;
-
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                heatData[x][y] = (h = ((heatData[x][y] - minHeat1) * heatDiff));
-                moistureData[x][y] = (temp = (moistureData[x][y] - minWet0) * wetDiff);
-                if (fresh) {
-                    qs = Math.min(qs, h);
-                    qc = Math.max(qc, h);
-                    ps = Math.min(ps, temp);
-                    pc = Math.max(pc, temp);
+        final float heatDiff = heatModifier / (maxHeat1 - minHeat1);
+
+        bounds = runRows((startRow, endRow, b, concurrent) -> {
+            float h, temp;
+            for (int y = startRow; y < endRow; y++) {
+                for (int x = 0; x < width; x++) {
+                    heatData[x][y] = (h = ((heatData[x][y] - minHeat1) * heatDiff));
+                    moistureData[x][y] = (temp = (moistureData[x][y] - minWet0) * wetDiff);
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h);
+                        b[1] = Math.max(b[1], h);
+                        b[2] = Math.min(b[2], temp);
+                        b[3] = Math.max(b[3], temp);
+                    }
                 }
             }
-        }
+        });
         if (fresh) {
-            minHeat = qs;
-            maxHeat = qc;
-            minWet = ps;
-            maxWet = pc;
+            minHeat = bounds[0];
+            maxHeat = bounds[1];
+            minWet = bounds[2];
+            maxWet = bounds[3];
         }
         landData.refill(heightCodeData, 4, 999);
     }
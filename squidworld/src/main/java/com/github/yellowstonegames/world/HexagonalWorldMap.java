@@ -348,8 +348,8 @@ public class HexagonalWorldMap extends WorldMapGenerator {
 
     protected void regenerate(int startX, int startY, int usedWidth, int usedHeight,
                               float landMod, float heatMod, long stateA, long stateB) {
-        boolean fresh = false;
-        if (cacheA != stateA || cacheB != stateB || landMod != landModifier || heatMod != heatModifier) {
+        final boolean fresh = cacheA != stateA || cacheB != stateB || landMod != landModifier || heatMod != heatModifier;
+        if (fresh) {
             minHeight = Float.POSITIVE_INFINITY;
             maxHeight = Float.NEGATIVE_INFINITY;
             minHeat0 = Float.POSITIVE_INFINITY;
@@ -364,134 +364,143 @@ public class HexagonalWorldMap extends WorldMapGenerator {
             maxWet = Float.NEGATIVE_INFINITY;
             cacheA = stateA;
             cacheB = stateB;
-            fresh = true;
         }
         rng.setState(stateA, stateB);
-        long seedA = rng.nextLong(), seedB = rng.nextLong(), seedC = rng.nextLong();
-        int t;
+        final long seedA = rng.nextLong(), seedB = rng.nextLong(), seedC = rng.nextLong();
 
         landModifier = (landMod <= 0) ? rng.nextFloat(0.2f) + 0.91f : landMod;
         heatModifier = (heatMod <= 0) ? rng.nextFloat(0.45f) * (rng.nextFloat() - 0.5f) + 1.1f : heatMod;
 
-        float p,
-                ps, pc,
-                qs, qc,
-                h, temp, yPos, xPos,
-                i_uw = usedWidth / (float) width,
+        final float i_uw = usedWidth / (float) width,
                 i_uh = usedHeight / (float) height,
-                th, thb, thx, thy, lon, lat,
                 rx = width * (0.25f) - 0.5f, irx = 1.5f / rx, hw = width * 0.5f,
                 ry = height * (0.5f) - 0.5f, iry = 1f / ry;
 
-        yPos = startY - ry;
-        for (int y = 0; y < height; y++, yPos += i_uh) {
-            thy = yPos * iry;
-            thb = 2 - Math.abs(thy) / 1.4472025091165353f;
-            thx = 2 - Math.abs(thy) * (0.75f / 1.4472025091165353f);
-            //1.4472025091165353 == Math.sqrt(2 * 3.14159265358979323846 / 3);
-            lon = 4.3416075273496055f / (thx + thx);
-            //4.3416075273496055 == Math.sqrt(6.0 * 3.14159265358979323846)
-            lat = qs = (Math.signum(thy) * TrigTools.asin((4f - thb * thb) * (1f / 3f))) * (4f/3f);
-
-            qc = TrigTools.cosSmoother(lat);
-
-            boolean inSpace = true;
-            xPos = startX - hw;
-            for (int x = 0/*, xt = 0*/; x < width; x++, xPos += i_uw) {
-                th = lon * xPos * irx;
-                if (th < -3.141592653589793 || th > 3.141592653589793) {
-                    heightCodeData[x][y] = 10000;
-                    inSpace = true;
-                    continue;
-                }
-                if (inSpace) {
-                    inSpace = false;
-                    edges[y << 1] = x;
-                }
-                edges[y << 1 | 1] = x;
-                th += centerLongitude;
-                ps = TrigTools.sinSmoother(th) * qc;
-                pc = TrigTools.cosSmoother(th) * qc;
-                xPositions[x][y] = pc;
-                yPositions[x][y] = ps;
-                zPositions[x][y] = qs;
-                heightData[x][y] = (h = terrainBasic.getNoiseWithSeed(pc +
-                                terrainRidged.getNoiseWithSeed(pc, ps, qs, seedB - seedA) * 0.5f,
-                        ps, qs, seedA) + landModifier - 1f);
-                heatData[x][y] = (p = heat.getNoiseWithSeed(pc, ps
-                                + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedB + seedC)
-                        , qs, seedB));
-                moistureData[x][y] = (temp = moisture.getNoiseWithSeed(pc, ps, qs
-                                + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedC + seedA)
-                        , seedC));
-                if (fresh) {
-                    minHeight = Math.min(minHeight, h);
-                    maxHeight = Math.max(maxHeight, h);
-
-                    minHeat0 = Math.min(minHeat0, p);
-                    maxHeat0 = Math.max(maxHeat0, p);
-
-                    minWet0 = Math.min(minWet0, temp);
-                    maxWet0 = Math.max(maxWet0, temp);
+        final float[] rowPos = rowPositions(startY - ry, i_uh);
+        float[] bounds = runRows((startRow, endRow, b, concurrent) -> {
+            // noise generators change their own state while they run, so each concurrent group needs its own copies
+            final NoiseWrapper terrainBasic = concurrent ? this.terrainBasic.copy() : this.terrainBasic,
+                    terrainRidged = concurrent ? this.terrainRidged.copy() : this.terrainRidged,
+                    heat = concurrent ? this.heat.copy() : this.heat,
+                    moisture = concurrent ? this.moisture.copy() : this.moisture,
+                    otherRidged = concurrent ? this.otherRidged.copy() : this.otherRidged;
+            float p, ps, pc, qs, qc, h, temp, yPos, xPos, th, thb, thx, thy, lon, lat;
+            for (int y = startRow; y < endRow; y++) {
+                yPos = rowPos[y];
+                thy = yPos * iry;
+                thb = 2 - Math.abs(thy) / 1.4472025091165353f;
+                thx = 2 - Math.abs(thy) * (0.75f / 1.4472025091165353f);
+                //1.4472025091165353 == Math.sqrt(2 * 3.14159265358979323846 / 3);
+                lon = 4.3416075273496055f / (thx + thx);
+                //4.3416075273496055 == Math.sqrt(6.0 * 3.14159265358979323846)
+                lat = qs = (Math.signum(thy) * TrigTools.asin((4f - thb * thb) * (1f / 3f))) * (4f/3f);
+
+                qc = TrigTools.cosSmoother(lat);
+
+                boolean inSpace = true;
+                xPos = startX - hw;
+                for (int x = 0/*, xt = 0*/; x < width; x++, xPos += i_uw) {
+                    th = lon * xPos * irx;
+                    if (th < -3.141592653589793 || th > 3.141592653589793) {
+                        heightCodeData[x][y] = 10000;
+                        inSpace = true;
+                        continue;
+                    }
+                    if (inSpace) {
+                        inSpace = false;
+                        edges[y << 1] = x;
+                    }
+                    edges[y << 1 | 1] = x;
+                    th += centerLongitude;
+                    ps = TrigTools.sinSmoother(th) * qc;
+                    pc = TrigTools.cosSmoother(th) * qc;
+                    xPositions[x][y] = pc;
+                    yPositions[x][y] = ps;
+                    zPositions[x][y] = qs;
+                    heightData[x][y] = (h = terrainBasic.getNoiseWithSeed(pc +
+                                    terrainRidged.getNoiseWithSeed(pc, ps, qs, seedB - seedA) * 0.5f,
+                            ps, qs, seedA) + landModifier - 1f);
+                    heatData[x][y] = (p = heat.getNoiseWithSeed(pc, ps
+                                    + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedB + seedC)
+                            , qs, seedB));
+                    moistureData[x][y] = (temp = moisture.getNoiseWithSeed(pc, ps, qs
+                                    + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedC + seedA)
+                            , seedC));
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h);
+                        b[1] = Math.max(b[1], h);
+
+                        b[2] = Math.min(b[2], p);
+                        b[3] = Math.max(b[3], p);
+
+                        b[4] = Math.min(b[4], temp);
+                        b[5] = Math.max(b[5], temp);
+                    }
                 }
-            }
 
+            }
+        });
+        if (fresh) {
+            minHeight = bounds[0];
+            maxHeight = bounds[1];
+            minHeat0 = bounds[2];
+            maxHeat0 = bounds[3];
+            minWet0 = bounds[4];
+            maxWet0 = bounds[5];
         }
-        float heatDiff = 0.8f / (maxHeat0 - minHeat0),
+        final float heatDiff0 = 0.8f / (maxHeat0 - minHeat0),
                 wetDiff = 1f / (maxWet0 - minWet0),
-                hMod,
                 halfHeight = (height - 1) * 0.5f, i_half = 1f / halfHeight;
-        yPos = startY + i_uh;
-        ps = Float.POSITIVE_INFINITY;
-        pc = Float.NEGATIVE_INFINITY;
-
-        for (int y = 0; y < height; y++, yPos += i_uh) {
-            temp = (yPos - halfHeight) * i_half;
-            temp = RoughMath.expRough(-temp*temp) * 2.2f;
-            for (int x = 0; x < width; x++) {
-                if (heightCodeData[x][y] == 10000) {
-                    heightCodeData[x][y] = 1000;
-                    continue;
-                } else {
-                    heightCodeData[x][y] = codeHeight(th = heightData[x][y]);
-                }
-                hMod = (RoughMath.logisticRough(th*2.75f-1f)+0.18f);
-                h = 0.39f - RoughMath.logisticRough(th*4f) * (th+0.1f) * 0.82f;
-                heatData[x][y] = (h = (((heatData[x][y] - minHeat0) * heatDiff * hMod) + h + 0.6f) * temp);
-                if (fresh) {
-                    ps = Math.min(ps, h); //minHeat0
-                    pc = Math.max(pc, h); //maxHeat0
+        final float[] heatPos = rowPositions(startY + i_uh, i_uh);
+
+        bounds = runRows((startRow, endRow, b, concurrent) -> {
+            float h, th, hMod, temp;
+            for (int y = startRow; y < endRow; y++) {
+                temp = (heatPos[y] - halfHeight) * i_half;
+                temp = RoughMath.expRough(-temp*temp) * 2.2f;
+                for (int x = 0; x < width; x++) {
+                    if (heightCodeData[x][y] == 10000) {
+                        heightCodeData[x][y] = 1000;
+                        continue;
+                    } else {
+                        heightCodeData[x][y] = codeHeight(th = heightData[x][y]);
+                    }
+                    hMod = (RoughMath.logisticRough(th*2.75f-1f)+0.18f);
+                    h = 0.39f - RoughMath.logisticRough(th*4f) * (th+0.1f) * 0.82f;
+                    heatData[x][y] = (h = (((heatData[x][y] - minHeat0) * heatDiff0 * hMod) + h + 0.6f) * temp);
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h); //minHeat0
+                        b[1] = Math.max(b[1], h); //maxHeat0
+                    }
                 }
             }
-        }
+        });
         if (fresh) {
-            minHeat1 = ps;
-            maxHeat1 = pc;
+            minHeat1 = bounds[0];
+            maxHeat1 = bounds[1];
         }
-        heatDiff = heatModifier / (maxHeat1 - minHeat1);
-        qs = Float.POSITIVE_INFINITY;
-        qc = Float.NEGATIVE_INFINITY;
-        ps = Float.POSITIVE_INFINITY;
-        pc = Float.NEGATIVE_INFINITY;
-
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                heatData[x][y] = (h = ((heatData[x][y] - minHeat1) * heatDiff));
-                moistureData[x][y] = (temp = (moistureData[x][y] - minWet0) * wetDiff);
-                if (fresh) {
-                    qs = Math.min(qs, h);
-                    qc = Math.max(qc, h);
-                    ps = Math.min(ps, temp);
-                    pc = Math.max(pc, temp);
+        final float heatDiff = heatModifier / (maxHeat1 - minHeat1);
+
+        bounds = runRows((startRow, endRow, b, concurrent) -> {
+            float h, temp;
+            for (int y = startRow; y < endRow; y++) {
+                for (int x = 0; x < width; x++) {
+                    heatData[x][y] = (h = ((heatData[x][y] - minHeat1) * heatDiff));
+                    moistureData[x][y] = (temp = (moistureData[x][y] - minWet0) * wetDiff);
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h);
+                        b[1] = Math.max(b[1], h);
+                        b[2] = Math.min(b[2], temp);
+                        b[3] = Math.max(b[3], temp);
+                    }
                 }
             }
-        }
+        });
         if (fresh) {
-            minHeat = qs;
-            maxHeat = qc;
-            minWet = ps;
-            maxWet = pc;
+            minHeat = bounds[0];
+            maxHeat = bounds[1];
+            minWet = bounds[2];
+            maxWet = bounds[3];
         }
         landData.refill(heightCodeData, 4, 999);
     }
@@ -296,8 +296,8 @@ public class MimicLocalMap extends LocalMap {
 
     protected void regenerate(int startX, int startY, int usedWidth, int usedHeight,
                               float landMod, float heatMod, long stateA, long stateB) {
-        boolean fresh = false;
-        if (cacheA != stateA || cacheB != stateB || landMod != landModifier || heatMod != heatModifier) {
+        final boolean fresh = cacheA != stateA || cacheB != stateB || landMod != landModifier || heatMod != heatModifier;
+        if (fresh) {
             minHeight = Float.POSITIVE_INFINITY;
             maxHeight = Float.NEGATIVE_INFINITY;
             minHeat0 = Float.POSITIVE_INFINITY;
@@ -312,11 +312,9 @@ public class MimicLocalMap extends LocalMap {
             maxWet = Float.NEGATIVE_INFINITY;
             cacheA = stateA;
             cacheB = stateB;
-            fresh = true;
         }
         rng.setState(stateA, stateB);
-        long seedA = rng.nextLong(), seedB = rng.nextLong(), seedC = rng.nextLong();
-        int t;
+        final long seedA = rng.nextLong(), seedB = rng.nextLong(), seedC = rng.nextLong();
 
         landModifier = (landMod <= 0) ? rng.nextFloat(0.29f) + 0.91f : landMod;
         heatModifier = (heatMod <= 0) ? rng.nextFloat(0.45f) * (rng.nextFloat() - 0.5f) + 1.1f : heatMod;
@@ -335,124 +333,138 @@ public class MimicLocalMap extends LocalMap {
             coast.remake(earth).not().expand(2, buffer).and(earth);
             shallow.remake(earth).expand(2, buffer).andNot(earth);
         }
-        float p,
-                ps, pc,
-                qs, qc,
-                h, temp,
-                i_w = 1f / width, i_h = 1f / (height),
-                i_uw = usedWidth * i_w * i_w, i_uh = usedHeight * i_h * i_h, xPos, yPos = startY * i_h;
-        for (int y = 0; y < height; y++, yPos += i_uh) {
-            xPos = startX * i_w;
-            for (int x = 0; x < width; x++, xPos += i_uw) {
-                xPositions[x][y] = (xPos - .5f) * 2f;
-                yPositions[x][y] = (yPos - .5f) * 2f;
-                zPositions[x][y] = 0f;
-
-                if (earth.contains(x, y)) {
-                    h = MathTools.swayTight(terrainBasic.getNoiseWithSeed(xPos +
-                                    terrainRidged.getNoiseWithSeed(xPos, yPos, seedB - seedA) * 0.5f,
-                            yPos, seedA)) * 0.85f;
-                    if (coast.contains(x, y))
-                        h += 0.05f;
-                    else
-                        h += 0.15f;
-                } else {
-                    h = MathTools.swayTight(terrainBasic.getNoiseWithSeed(xPos +
-                                    terrainRidged.getNoiseWithSeed(xPos, yPos, seedB - seedA) * 0.5f,
-                            yPos, seedA)) * -0.9f;
-                    if (shallow.contains(x, y))
-                        h = (h - 0.08f) * 0.375f;
-                    else
-                        h = (h - 0.125f) * 0.75f;
-                }
-                //h += landModifier - 1f;
-                heightData[x][y] = h;
-                heatData[x][y] = (p = heat.getNoiseWithSeed(xPos, yPos
-                                + 0.375f * otherRidged.getNoiseWithSeed(xPos, yPos, seedB + seedC),
-                        seedB));
-                temp = 0.375f * otherRidged.getNoiseWithSeed(xPos, yPos, seedC + seedA);
-                moistureData[x][y] = (temp = moisture.getNoiseWithSeed(xPos - temp, yPos + temp, seedC));
-
-                if (fresh) {
-                    minHeight = Math.min(minHeight, h);
-                    maxHeight = Math.max(maxHeight, h);
-
-                    minHeat0 = Math.min(minHeat0, p);
-                    maxHeat0 = Math.max(maxHeat0, p);
-
-                    minWet0 = Math.min(minWet0, temp);
-                    maxWet0 = Math.max(maxWet0, temp);
+        final float i_w = 1f / width, i_h = 1f / (height),
+                i_uw = usedWidth * i_w * i_w, i_uh = usedHeight * i_h * i_h;
+
+        final float[] rowPos = rowPositions(startY * i_h, i_uh);
+        float[] bounds = runRows((startRow, endRow, b, concurrent) -> {
+            // noise generators change their own state while they run, so each concurrent group needs its own copies
+            final NoiseWrapper terrainBasic = concurrent ? this.terrainBasic.copy() : this.terrainBasic,
+                    terrainRidged = concurrent ? this.terrainRidged.copy() : this.terrainRidged,
+                    heat = concurrent ? this.heat.copy() : this.heat,
+                    moisture = concurrent ? this.moisture.copy() : this.moisture,
+                    otherRidged = concurrent ? this.otherRidged.copy() : this.otherRidged;
+            float p, h, temp, xPos, yPos;
+            for (int y = startRow; y < endRow; y++) {
+                yPos = rowPos[y];
+                xPos = startX * i_w;
+                for (int x = 0; x < width; x++, xPos += i_uw) {
+                    xPositions[x][y] = (xPos - .5f) * 2f;
+                    yPositions[x][y] = (yPos - .5f) * 2f;
+                    zPositions[x][y] = 0f;
+
+                    if (earth.contains(x, y)) {
+                        h = MathTools.swayTight(terrainBasic.getNoiseWithSeed(xPos +
+                                        terrainRidged.getNoiseWithSeed(xPos, yPos, seedB - seedA) * 0.5f,
+                                yPos, seedA)) * 0.85f;
+                        if (coast.contains(x, y))
+                            h += 0.05f;
+                        else
+                            h += 0.15f;
+                    } else {
+                        h = MathTools.swayTight(terrainBasic.getNoiseWithSeed(xPos +
+                                        terrainRidged.getNoiseWithSeed(xPos, yPos, seedB - seedA) * 0.5f,
+                                yPos, seedA)) * -0.9f;
+                        if (shallow.contains(x, y))
+                            h = (h - 0.08f) * 0.375f;
+                        else
+                            h = (h - 0.125f) * 0.75f;
+                    }
+                    //h += landModifier - 1f;
+                    heightData[x][y] = h;
+                    heatData[x][y] = (p = heat.getNoiseWithSeed(xPos, yPos
+                                    + 0.375f * otherRidged.getNoiseWithSeed(xPos, yPos, seedB + seedC),
+                            seedB));
+                    temp = 0.375f * otherRidged.getNoiseWithSeed(xPos, yPos, seedC + seedA);
+                    moistureData[x][y] = (temp = moisture.getNoiseWithSeed(xPos - temp, yPos + temp, seedC));
+
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h);
+                        b[1] = Math.max(b[1], h);
+
+                        b[2] = Math.min(b[2], p);
+                        b[3] = Math.max(b[3], p);
+
+                        b[4] = Math.min(b[4], temp);
+                        b[5] = Math.max(b[5], temp);
+                    }
                 }
-            }
 
+            }
+        });
+        if (fresh) {
+            minHeight = bounds[0];
+            maxHeight = bounds[1];
+            minHeat0 = bounds[2];
+            maxHeat0 = bounds[3];
+            minWet0 = bounds[4];
+            maxWet0 = bounds[5];
         }
-        float heatDiff = 0.8f / (maxHeat0 - minHeat0),
-                wetDiff = 1f / (maxWet0 - minWet0),
-                hMod;
-        yPos = startY * i_h + i_uh;
-        ps = Float.POSITIVE_INFINITY;
-        pc = Float.NEGATIVE_INFINITY;
-
-        for (int y = 0; y < height; y++, yPos += i_uh) {
-            for (int x = 0; x < width; x++) {
-                h = heightData[x][y];
-                heightCodeData[x][y] = (t = codeHeight(h));
-                hMod = 1f;
-                switch (t) {
-                    case 0:
-                    case 1:
-                    case 2:
-                    case 3:
-                        h = 0.4f;
-                        hMod = 0.2f;
-                        break;
-                    case 6:
-                        h = -0.1f * (h - forestLower - 0.08f);
-                        break;
-                    case 7:
-                        h *= -0.25f;
-                        break;
-                    case 8:
-                        h *= -0.4f;
-                        break;
-                    default:
-                        h *= 0.05f;
-                }
-                heatData[x][y] = (h = ((heatData[x][y] - minHeat0) * heatDiff * hMod) + h + 0.6f);
-                if (fresh) {
-                    ps = Math.min(ps, h); //minHeat0
-                    pc = Math.max(pc, h); //maxHeat0
+        final float heatDiff0 = 0.8f / (maxHeat0 - minHeat0),
+                wetDiff = 1f / (maxWet0 - minWet0);
+
+        bounds = runRows((startRow, endRow, b, concurrent) -> {
+            float h, hMod;
+            int t;
+            for (int y = startRow; y < endRow; y++) {
+                for (int x = 0; x < width; x++) {
+                    h = heightData[x][y];
+                    heightCodeData[x][y] = (t = codeHeight(h));
+                    hMod = 1f;
+                    switch (t) {
+                        case 0:
+                        case 1:
+                        case 2:
+                        case 3:
+                            h = 0.4f;
+                            hMod = 0.2f;
+                            break;
+                        case 6:
+                            h = -0.1f * (h - forestLower - 0.08f);
+                            break;
+                        case 7:
+                            h *= -0.25f;
+                            break;
+                        case 8:
+                            h *= -0.4f;
+                            break;
+                        default:
+                            h *= 0.05f;
+                    }
+                    heatData[x][y] = (h = ((heatData[x][y] - minHeat0) * heatDiff0 * hMod) + h + 0.6f);
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h); //minHeat0
+                        b[1] = Math.max(b[1], h); //maxHeat0
+                    }
                 }
             }
-        }
+        });
         if (fresh) {
-            minHeat1 = ps;
-            maxHeat1 = pc;
+            minHeat1 = bounds[0];
+            maxHeat1 = bounds[1];
         }
-        heatDiff = heatModifier / (maxHeat1 - minHeat1);
-        qs = Float.POSITIVE_INFINITY;
-        qc = Float.NEGATIVE_INFINITY;
-        ps = Float.POSITIVE_INFINITY;
-        pc = Float.NEGATIVE_INFINITY;
-
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                heatData[x][y] = (h = ((heatData[x][y] - minHeat1) * heatDiff));
-                moistureData[x][y] = (temp = (moistureData[x][y] - minWet0) * wetDiff);
-                if (fresh) {
-                    qs = Math.min(qs, h);
-                    qc = Math.max(qc, h);
-                    ps = Math.min(ps, temp);
-                    pc = Math.max(pc, temp);
+        final float heatDiff = heatModifier / (maxHeat1 - minHeat1);
+
+        bounds = runRows((startRow, endRow, b, concurrent) -> {
+            float h, temp;
+            for (int y = startRow; y < endRow; y++) {
+                for (int x = 0; x < width; x++) {
+                    heatData[x][y] = (h = ((heatData[x][y] - minHeat1) * heatDiff));
+                    moistureData[x][y] = (temp = (moistureData[x][y] - minWet0) * wetDiff);
+                    if (fresh) {
+                        b[0] = Math.min(b[0], h);
+                        b[1] = Math.max(b[1], h);
+                        b[2] = Math.min(b[2], temp);
+                        b[3] = Math.max(b[3], temp);
+                    }
                 }
             }
-        }
+        });
         if (fresh) {
-            minHeat = qs;
-            maxHeat = qc;
-            minWet = ps;
-            maxWet = pc;
+            minHeat = bounds[0];
+            maxHeat = bounds[1];
+            minWet = bounds[2];
+            maxWet = bounds[3];
         }
         landData.refill(heightCodeData, 4, 999);
     }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A {@link WorldMapGenerator.RowRunner} that generates groups of rows on a {@link ForkJoinPool}, so large maps can use
+ * every core. Pass one to {@link WorldMapGenerator#setRowRunner(WorldMapGenerator.RowRunner)} to use it; maps are
+ * generated exactly the same as they would be on one thread. One ParallelRowRunner can be shared by any number of
+ * generators.
+ * <br>
+ * This class isn't available on GWT, since it needs {@code java.util.concurrent}.
+ */
+public class ParallelRowRunner implements WorldMapGenerator.RowRunner {
+    /**
+     * The ForkJoinPool this runs rows on.
+     */
+    public final ForkJoinPool pool;
+
+    /**
+     * Creates a ParallelRowRunner that uses {@link ForkJoinPool#commonPool()}.
+     */
+    public ParallelRowRunner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a ParallelRowRunner that uses the given ForkJoinPool.
+     * @param pool the ForkJoinPool to run rows on
+     */
+    public ParallelRowRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void runAll(Runnable[] runs) {
+        pool.invoke(new RunTask(runs, 0, runs.length));
+    }
+
+    /**
+     * Splits a range of runs in half until only one is left, then runs it.
+     */
+    private static class RunTask extends RecursiveAction {
+        private final Runnable[] runs;
+        private final int start, end;
+
+        RunTask(Runnable[] runs, int start, int end) {
+            this.runs = runs;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= 1) {
+                if (start < end)
+                    runs[start].run();
+            } else {
+                final int mid = start + end >>> 1;
+                invokeAll(new RunTask(runs, start, mid), new RunTask(runs, mid, end));
+            }
+        }
+    }
+}
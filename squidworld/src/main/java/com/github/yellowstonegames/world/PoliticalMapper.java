@@ -491,7 +491,7 @@ public class PoliticalMapper {
         int controlled = (int) (land.size() * Math.max(0.0, Math.min(1.0, controlledFraction)));
 
         int[] centers = land.copy().randomScatter(rng, (int) (Math.sqrt(width * height) * 0.1 + 0.999), factionCount).asTightEncoded();
-        int cen, cx, cy, cx2, cy2, biome, high, hot, moist, count = centers.length, re;
+        int cen, cx, cy, biome, high, hot, moist, count = centers.length, re;
         String biomeName;
         Biome[] biomeTable = biomeMapper.getBiomeTable();
         int[] reorder = new int[count];
@@ -549,26 +549,48 @@ public class PoliticalMapper {
                 }
             }
         }
-        IntList[] fresh = new IntList[count];
-        int filled = 0;
-        boolean hasFresh = false;
-        int approximateArea = (controlled * 4) / (count * 3);
         char[] keys = new char[count];
         double[] biases = new double[count];
         for (int i = 0; i < count; i++) {
-            fresh[i] = new IntList(approximateArea);
             cen = centers[i];
-            fresh[i].add(cen);
             cx = cen % width;
             cy = cen / width;
             politicalMap[cx][cy] = keys[i] = (char) atlas.keyAt(factionIndices[i] + 2);
             biases[i] = rng.nextDouble() * rng.nextDouble() + rng.nextDouble() + 0.03125;
-            hasFresh = true;
         }
+        spread(land, centers, keys, biases, controlled);
+        zoomedMap = ArrayTools.copy(politicalMap);
+        name = Language.SIMPLISH.word(rng.getSelectedState(0), true);
+        return politicalMap;
+    }
+
+    /**
+     * Grows each faction out from its center in {@code centers}, claiming one random cell from a faction's frontier at
+     * a time (if {@link #rng} passes that faction's bias), until {@code controlled} cells have been claimed or no
+     * faction can grow. Claimed cells are marked in {@link #politicalMap} with that faction's key. This is the last
+     * step of {@link #generate(long, WorldMapGenerator, BiomeMapper, Collection, int, float)} to use {@link #rng}
+     * before the world is named, and is package-private so tests can compare it with the older IntList version.
+     */
+    void spread(Region land, int[] centers, char[] keys, double[] biases, int controlled) {
+        final int width = wmg.width, height = wmg.height, count = centers.length;
+        final int approximateArea = (controlled * 4) / (count * 3);
+        Frontier[] fresh = new Frontier[count];
+        for (int i = 0; i < count; i++) {
+            fresh[i] = new Frontier(approximateArea);
+            fresh[i].add(centers[i]);
+        }
+        boolean hasFresh = count > 0;
+        int filled = 0, cx, cy, cx2, cy2;
         Direction[] dirs = Direction.CARDINALS;
-        IntList currentFresh;
-        Region anySpillMap = new Region(width, height),
-                anyFreshMap = new Region(width, height);
+        Frontier currentFresh;
+        // one state per cell, indexed by x + y * width; land starts OPEN and moves to FRESH, then CLAIMED
+        byte[] state = new byte[width * height];
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++, i++) {
+                if (land.contains(x, y))
+                    state[i] = OPEN;
+            }
+        }
 
         while (hasFresh && filled < controlled) {
             hasFresh = false;
@@ -579,34 +601,107 @@ public class PoliticalMapper {
                 else
                     hasFresh = true;
                 if (rng.nextDouble() < biases[i]) {
-                    int index = rng.nextInt(currentFresh.size()), cell = currentFresh.removeAt(index);
+                    int cell = currentFresh.removeAt(rng.nextInt(currentFresh.size()));
                     cx = cell % width;
                     cy = cell / width;
 
-
                     politicalMap[cx][cy] = keys[i];
                     filled++;
-                    anySpillMap.insert(cx, cy);
+                    state[cell] = CLAIMED;
 
                     for (int d = 0; d < dirs.length; d++) {
                         cx2 = wmg.wrapX(cx + dirs[d].deltaX, cy);
                         cy2 = wmg.wrapY(cx, cy + dirs[d].deltaY);
                         if (cx == cx2 && cy == cy2)
                             continue;
-                        if (land.contains(cx2, cy2) && !anySpillMap.contains(cx2, cy2)) {
-                            if(!anyFreshMap.contains(cx2, cy2)) {
-                                currentFresh.add(cx2 + cy2 * width);
-                                anyFreshMap.insert(cx2, cy2);
-                            }
+                        final int next = cx2 + cy2 * width;
+                        if (state[next] == OPEN) {
+                            currentFresh.add(next);
+                            state[next] = FRESH;
                         }
                     }
-                    anyFreshMap.remove(cx, cy);
                 }
             }
         }
-        zoomedMap = ArrayTools.copy(politicalMap);
-        name = Language.SIMPLISH.word(rng.getSelectedState(0), true);
-        return politicalMap;
+    }
+
+    private static final byte OPEN = 1, FRESH = 2, CLAIMED = 3;
+
+    /**
+     * The cells one faction can claim next, in the order they were found. A Fenwick tree counts which slots are still
+     * present, so removing the cell at any index takes logarithmic time, rather than shifting every later cell like
+     * {@link IntList#removeAt(int)} would, while keeping the same order and indices an IntList would have.
+     */
+    private static final class Frontier {
+        private int[] cells;
+        private int[] tree;
+        private int added, size;
+
+        Frontier(int capacity) {
+            cells = new int[Math.max(capacity, 16)];
+            tree = new int[cells.length + 1];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int cell) {
+            if (added == cells.length)
+                resize();
+            cells[added++] = cell;
+            for (int i = added; i < tree.length; i += i & -i) {
+                tree[i]++;
+            }
+            size++;
+        }
+
+        /**
+         * Removes and returns the cell at {@code index} among the cells still present, in the order they were added.
+         */
+        int removeAt(int index) {
+            int pos = 0, remaining = index + 1;
+            for (int bit = Integer.highestOneBit(tree.length - 1); bit > 0; bit >>>= 1) {
+                final int next = pos + bit;
+                if (next < tree.length && tree[next] < remaining) {
+                    pos = next;
+                    remaining -= tree[next];
+                }
+            }
+            for (int i = pos + 1; i < tree.length; i += i & -i) {
+                tree[i]--;
+            }
+            final int cell = cells[pos];
+            cells[pos] = -1;
+            size--;
+            return cell;
+        }
+
+        /**
+         * Drops removed slots, keeping the order of the rest, then doubles the capacity if it is still over half full.
+         */
+        private void resize() {
+            int kept = 0;
+            for (int i = 0; i < added; i++) {
+                if (cells[i] >= 0)
+                    cells[kept++] = cells[i];
+            }
+            added = kept;
+            if (kept << 1 > cells.length)
+                cells = Arrays.copyOf(cells, cells.length << 1);
+            tree = new int[cells.length + 1];
+            for (int i = 1; i < tree.length; i++) {
+                if (i <= added)
+                    tree[i]++;
+                final int parent = i + (i & -i);
+                if (parent < tree.length)
+                    tree[parent] += tree[i];
+            }
+        }
     }
 
     /**
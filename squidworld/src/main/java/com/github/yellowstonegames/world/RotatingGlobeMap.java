@@ -327,6 +327,17 @@ public class RotatingGlobeMap extends WorldMapGenerator {
         return Math.max(0, Math.min(y, height - 1));
     }
 
+    /**
+     * Sets the RowRunner this and its {@link #storedMap} use to generate groups of rows at the same time; since the
+     * stored map is where all the noise is sampled, that is where splitting up generation helps.
+     * @param rowRunner a RowRunner to split up generation, or null to generate every row on the calling thread
+     */
+    @Override
+    public void setRowRunner(RowRunner rowRunner) {
+        super.setRowRunner(rowRunner);
+        storedMap.setRowRunner(rowRunner);
+    }
+
     @Override
     public void setCenterLongitude(float centerLongitude) {
         super.setCenterLongitude(centerLongitude);
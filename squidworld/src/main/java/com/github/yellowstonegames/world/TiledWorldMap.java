@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.world;
+
+import com.github.tommyettinger.digital.RoughMath;
+import com.github.tommyettinger.digital.TrigTools;
+import com.github.tommyettinger.ds.LongObjectMap;
+import com.github.tommyettinger.random.FlowRandom;
+import com.github.yellowstonegames.grid.NoiseWrapper;
+import com.github.yellowstonegames.place.Biome;
+
+import static com.github.tommyettinger.digital.TrigTools.asin;
+
+/**
+ * Generates a very large world in square tiles, only when each tile is requested, and keeps the most recently used
+ * tiles in a cache with a fixed capacity. This is meant for "slippy map" viewers that only show a small part of a huge
+ * world at a time; memory use depends on how many tiles are cached, not on how big the world is.
+ * <br>
+ * The world uses the same projection as {@link StretchWorldMap}, and gets its noise, seed, and modifiers from a
+ * StretchWorldMap used as an overview. Normalizing heat and moisture needs the minimum and maximum values over the
+ * whole world, which can't be known without generating all of it, so this uses the values the overview found when it
+ * generated its (much smaller) map. Because every tile uses the same values, tiles line up with their neighbors without
+ * seams, and a cell's data doesn't depend on which tile it is in or which tiles were generated first. Since the
+ * overview samples fewer points, a few cells here may have heat or moisture slightly outside the 0 to 1 range.
+ * <br>
+ * The world wraps east-west, so tile x-coordinates can be any int. Tiles north or south of the world are filled with
+ * the height code 1000 and biome code 60, which mean space, like the parts of a {@link EllipticalWorldMap} that are
+ * off the edge of the world. Different zoom levels can be shown by creating one TiledWorldMap per zoom level, all with
+ * the same overview.
+ * <br>
+ * This is not thread-safe, because the noise generators it uses change their state while they run.
+ */
+public class TiledWorldMap {
+    /**
+     * The width and height of each tile, in cells.
+     */
+    public final int tileSize;
+    /**
+     * The width and height of the whole world, in cells.
+     */
+    public final int worldWidth, worldHeight;
+    /**
+     * The most tiles that will be cached at once.
+     */
+    public final int capacity;
+
+    protected final NoiseWrapper terrainRidged, heat, moisture, otherRidged, terrainBasic;
+    protected final long seedA, seedB, seedC;
+    protected final float landModifier, heatModifier, centerLongitude;
+    protected final float minHeat0, heatDiff0, minHeat1, heatDiff, minWet0, wetDiff, i_hot;
+    /**
+     * The overview this was constructed with; only used for {@link WorldMapGenerator#codeHeight(float)}, which doesn't
+     * depend on the overview's state.
+     */
+    protected final StretchWorldMap overview;
+
+    protected final LongObjectMap<Tile> tiles;
+    /**
+     * The most- and least-recently used tiles, which are the ends of a doubly-linked list through every cached Tile.
+     */
+    protected Tile newest, oldest;
+    protected final float[] trigTable;
+
+    /**
+     * One square section of a {@link TiledWorldMap}. All arrays are indexed first by x, then by y, with 0,0 at the
+     * top-left corner of the tile, like the arrays in {@link WorldMapGenerator}.
+     */
+    public static class Tile {
+        /**
+         * The position of this tile, measured in tiles; the top-left cell is at {@code tileX * tileSize} and
+         * {@code tileY * tileSize} in the world.
+         */
+        public final int tileX, tileY;
+        /**
+         * The same kinds of data as in {@link WorldMapGenerator}, after normalization.
+         */
+        public final float[][] heightData, heatData, moistureData;
+        /**
+         * Height codes as produced by {@link WorldMapGenerator#codeHeight(float)}, or 1000 for cells outside the world.
+         */
+        public final int[][] heightCodeData;
+        /**
+         * Biome codes as produced by {@link BiomeMapper.SimpleBiomeMapper}, usable as indices into {@link Biome#TABLE}.
+         */
+        public final int[][] biomeCodeData;
+
+        protected Tile newer, older;
+
+        public Tile(int tileX, int tileY, int tileSize) {
+            this.tileX = tileX;
+            this.tileY = tileY;
+            heightData = new float[tileSize][tileSize];
+            heatData = new float[tileSize][tileSize];
+            moistureData = new float[tileSize][tileSize];
+            heightCodeData = new int[tileSize][tileSize];
+            biomeCodeData = new int[tileSize][tileSize];
+        }
+    }
+
+    /**
+     * Creates a TiledWorldMap that uses the noise, seed, and statistics of {@code overview}. If overview hasn't
+     * generated a map yet, this calls {@link WorldMapGenerator#generate()} on it. Changes to overview after this is
+     * constructed don't affect this TiledWorldMap.
+     *
+     * @param overview    a StretchWorldMap, typically small, that has generated the world this should show in tiles
+     * @param worldWidth  the width of the whole world, in cells; should be a multiple of tileSize
+     * @param worldHeight the height of the whole world, in cells; should be a multiple of tileSize
+     * @param tileSize    the width and height of each tile, in cells
+     * @param capacity    the most tiles that will be cached at once; must be at least 1
+     */
+    public TiledWorldMap(StretchWorldMap overview, int worldWidth, int worldHeight, int tileSize, int capacity) {
+        if (overview.maxHeat0 < overview.minHeat0)
+            overview.generate();
+        this.overview = overview;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.tileSize = tileSize;
+        this.capacity = Math.max(1, capacity);
+        terrainRidged = overview.terrainRidged.copy();
+        heat = overview.heat.copy();
+        moisture = overview.moisture.copy();
+        otherRidged = overview.otherRidged.copy();
+        terrainBasic = overview.terrainBasic.copy();
+        // the same seeds StretchWorldMap.regenerate() draws first for this state
+        FlowRandom rng = overview.rng.copy();
+        rng.setState(overview.cacheA, overview.cacheB);
+        seedA = rng.nextLong();
+        seedB = rng.nextLong();
+        seedC = rng.nextLong();
+        landModifier = overview.landModifier;
+        heatModifier = overview.heatModifier;
+        centerLongitude = overview.centerLongitude;
+        minHeat0 = overview.minHeat0;
+        heatDiff0 = 0.8f / (overview.maxHeat0 - overview.minHeat0);
+        minHeat1 = overview.minHeat1;
+        heatDiff = heatModifier / (overview.maxHeat1 - overview.minHeat1);
+        minWet0 = overview.minWet0;
+        wetDiff = 1f / (overview.maxWet0 - overview.minWet0);
+        i_hot = 1f / overview.maxHeat;
+        tiles = new LongObjectMap<>(this.capacity);
+        trigTable = new float[tileSize << 1];
+    }
+
+    /**
+     * Gets the tile at the given tile position, generating it if it isn't cached. If the cache is full, this removes
+     * the least-recently used tile to make room. The returned Tile is never changed, so it can still be used after it
+     * has been removed from the cache.
+     *
+     * @param tileX the x-position of the tile, measured in tiles; wraps around the world east-west
+     * @param tileY the y-position of the tile, measured in tiles
+     * @return the Tile at that position
+     */
+    public Tile getTile(int tileX, int tileY) {
+        final int tilesAcross = Math.max(1, (worldWidth + tileSize - 1) / tileSize);
+        tileX = (tileX % tilesAcross + tilesAcross) % tilesAcross;
+        final long key = (long) tileY << 32 | (tileX & 0xFFFFFFFFL);
+        Tile tile = tiles.get(key);
+        if (tile != null) {
+            unlink(tile);
+            link(tile);
+            return tile;
+        }
+        if (tiles.size() >= capacity) {
+            Tile old = oldest;
+            unlink(old);
+            tiles.remove((long) old.tileY << 32 | (old.tileX & 0xFFFFFFFFL));
+        }
+        tile = new Tile(tileX, tileY, tileSize);
+        generate(tile);
+        tiles.put(key, tile);
+        link(tile);
+        return tile;
+    }
+
+    /**
+     * Gets the biome code at the given cell position in the whole world, generating its tile if needed.
+     * @param x the x-position in cells; wraps around the world east-west
+     * @param y the y-position in cells
+     * @return the biome code at that cell, usable as an index into {@link Biome#TABLE}
+     */
+    public int getBiomeCode(int x, int y) {
+        final int tx = Math.floorDiv(x, tileSize), ty = Math.floorDiv(y, tileSize);
+        return getTile(tx, ty).biomeCodeData[x - tx * tileSize][y - ty * tileSize];
+    }
+
+    /**
+     * @return how many tiles are currently cached
+     */
+    public int size() {
+        return tiles.size();
+    }
+
+    /**
+     * Removes every tile from the cache.
+     */
+    public void clear() {
+        tiles.clear();
+        newest = oldest = null;
+    }
+
+    private void link(Tile tile) {
+        tile.older = newest;
+        tile.newer = null;
+        if (newest != null)
+            newest.newer = tile;
+        newest = tile;
+        if (oldest == null)
+            oldest = tile;
+    }
+
+    private void unlink(Tile tile) {
+        if (tile.newer != null)
+            tile.newer.older = tile.older;
+        else
+            newest = tile.older;
+        if (tile.older != null)
+            tile.older.newer = tile.newer;
+        else
+            oldest = tile.newer;
+        tile.newer = tile.older = null;
+    }
+
+    /**
+     * Fills every cell of {@code tile}, using the same steps as {@link StretchWorldMap}, but with every position
+     * calculated directly from the cell's place in the world.
+     * @param tile a Tile with its position already set
+     */
+    protected void generate(Tile tile) {
+        final int startX = tile.tileX * tileSize, startY = tile.tileY * tileSize;
+        final double i_w = 6.283185307179586 / worldWidth,
+                i_uh = 2.0 * worldHeight / ((worldHeight + 2.0) * (worldHeight + 2.0));
+        for (int x = 0; x < tileSize; x++) {
+            final float p = (float) ((startX + x) * i_w) + centerLongitude + TrigTools.PI;
+            trigTable[x << 1] = TrigTools.sinSmoother(p);
+            trigTable[x << 1 | 1] = TrigTools.cosSmoother(p);
+        }
+        float ps, pc, qs, qc, yPos, h, heat0, wet0, hMod, temp;
+        int code, hc, mc;
+        for (int y = 0; y < tileSize; y++) {
+            final int wy = startY + y;
+            if (wy < 0 || wy >= worldHeight) {
+                for (int x = 0; x < tileSize; x++) {
+                    tile.heightCodeData[x][y] = 1000;
+                    tile.biomeCodeData[x][y] = 60;
+                }
+                continue;
+            }
+            yPos = (float) ((wy + 1) * i_uh);
+            qs = -1 + yPos;
+            qc = TrigTools.cosSmoother(asin(qs));
+            temp = (yPos - 1f);
+            temp = RoughMath.expRough(-temp * temp) * 2.2f;
+            for (int x = 0, xt = 0; x < tileSize; x++) {
+                ps = trigTable[xt++] * qc;
+                pc = trigTable[xt++] * qc;
+                h = terrainBasic.getNoiseWithSeed(pc +
+                                terrainRidged.getNoiseWithSeed(pc, ps, qs, seedB - seedA) * 0.5f,
+                        ps, qs, seedA) + landModifier - 1f;
+                heat0 = heat.getNoiseWithSeed(pc, ps
+                                + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedB + seedC)
+                        , qs, seedB);
+                wet0 = moisture.getNoiseWithSeed(pc, ps, qs
+                                + 0.375f * otherRidged.getNoiseWithSeed(pc, ps, qs, seedC + seedA)
+                        , seedC);
+                code = overview.codeHeight(h);
+                tile.heightData[x][y] = h;
+                tile.heightCodeData[x][y] = code;
+                hMod = (RoughMath.logisticRough(h * 2.75f - 1f) + 0.18f);
+                h = 0.39f - RoughMath.logisticRough(h * 4f) * (h + 0.1f) * 0.82f;
+                h = (((heat0 - minHeat0) * heatDiff0 * hMod) + h + 0.6f) * temp;
+                tile.heatData[x][y] = h = (h - minHeat1) * heatDiff;
+                tile.moistureData[x][y] = wet0 = (wet0 - minWet0) * wetDiff;
+                hc = BiomeMapper.SimpleBiomeMapper.heatCode(h * i_hot);
+                mc = BiomeMapper.SimpleBiomeMapper.moistureCode(code, wet0);
+                tile.biomeCodeData[x][y] = BiomeMapper.SimpleBiomeMapper.biomeCode(code, hc, mc);
+            }
+        }
+    }
+}
@@ -51,6 +51,11 @@ import com.github.yellowstonegames.grid.Region;
  * <br>
  * This interacts closely with {@link BiomeMapper}, and BiomeMapper can't create a map of what types of ecosystem are
  * present without first having a world generated by a WorldMapGenerator.
+ * <br>
+ * Generating a large map can be split across multiple threads by giving a generator a {@link RowRunner} with
+ * {@link #setRowRunner(RowRunner)}, such as a {@link ParallelRowRunner}. Each group of rows is then generated on its own,
+ * using its own copies of any noise generators, and the minimum and maximum values for each group are combined at the
+ * end. The result is exactly the same as generating every row on one thread, which is what happens by default.
  */
 public abstract class WorldMapGenerator {
 
@@ -77,6 +82,12 @@ public abstract class WorldMapGenerator {
     protected IntList startCacheX = new IntList(8), startCacheY = new IntList(8);
     protected int zoomStartX, zoomStartY;
 
+    /**
+     * Runs the groups of rows that {@link #regenerate(int, int, int, int, float, float, long, long)} splits a map into;
+     * if null (the default), every row is generated in order on the calling thread.
+     */
+    protected RowRunner rowRunner;
+
     /**
      * A Noise that has a higher frequency than that class defaults to, which is useful for maps here. With the
      * default Noise frequency of 1f/32f, the maps this produces are giant blurs. This defaults to using
@@ -124,6 +135,7 @@ public abstract class WorldMapGenerator {
         moistureData = ArrayTools.copy(other.moistureData);
         landData = other.landData.copy();
         heightCodeData = ArrayTools.copy(other.heightCodeData);
+        rowRunner = other.rowRunner;
     }
 
     /**
@@ -143,6 +155,26 @@ public abstract class WorldMapGenerator {
         this.centerLongitude = centerLongitude % 6.283185307179586f;
     }
 
+    /**
+     * Gets the RowRunner this uses to generate groups of rows at the same time, or null if this generates every row on
+     * the calling thread.
+     * @return the RowRunner this uses, or null if generation isn't split up
+     */
+    public RowRunner getRowRunner() {
+        return rowRunner;
+    }
+
+    /**
+     * Sets the RowRunner this uses to generate groups of rows at the same time, such as a {@link ParallelRowRunner};
+     * if null, this will generate every row on the calling thread. Maps are the same either way, but the noise
+     * generators this uses must support {@link com.github.yellowstonegames.grid.INoise#copy()} if rowRunner is
+     * non-null, since each group of rows needs its own copy.
+     * @param rowRunner a RowRunner to split up generation, or null to generate every row on the calling thread
+     */
+    public void setRowRunner(RowRunner rowRunner) {
+        this.rowRunner = rowRunner;
+    }
+
     public static final float
             deepWaterLower = -1f, deepWaterUpper = -0.7f,        // 0
             mediumWaterLower = -0.7f, mediumWaterUpper = -0.3f,    // 1
@@ -400,6 +432,115 @@ public abstract class WorldMapGenerator {
 
     protected abstract void regenerate(int startX, int startY, int usedWidth, int usedHeight,
                                        float landMod, float heatMod, long stateA, long stateB);
+
+    /**
+     * Runs {@code task} over every row from 0 to {@link #height}, split into groups of rows by {@link #rowRunner} if it
+     * is non-null, or all at once on this thread otherwise. Each group of rows gets its own array of 6 bounds to track,
+     * which start as pairs of {@link Float#POSITIVE_INFINITY} (for minimums) and {@link Float#NEGATIVE_INFINITY} (for
+     * maximums); after all groups finish, this returns the minimum of each minimum and the maximum of each maximum.
+     * Because min and max don't depend on order, the result is the same no matter how rows are split up.
+     * @param task generates some rows of the map; must only change the cells in its rows
+     * @return an array of 6 floats, holding each minimum and maximum pair that task tracked
+     */
+    protected float[] runRows(final RowTask task) {
+        return runRows(height, task);
+    }
+
+    /**
+     * Like {@link #runRows(RowTask)}, but runs {@code task} over every row from 0 to {@code rows}; this is only needed
+     * by projections that generate more rows than they store, such as {@link DiagonalWorldMap}.
+     * @param rows how many rows to split up and run
+     * @param task generates some rows of the map; must only change the cells that belong to its rows
+     * @return an array of 6 floats, holding each minimum and maximum pair that task tracked
+     */
+    protected float[] runRows(final int rows, final RowTask task) {
+        final float[] bounds = newBounds();
+        final int groups = rowRunner == null ? 1 : Math.min(rows, rowRunner.getParallelism() << 2);
+        if (groups <= 1) {
+            task.run(0, rows, bounds, false);
+            return bounds;
+        }
+        final float[][] partial = new float[groups][];
+        final Runnable[] runs = new Runnable[groups];
+        for (int g = 0; g < groups; g++) {
+            final float[] b = partial[g] = newBounds();
+            final int start = rows * g / groups, end = rows * (g + 1) / groups;
+            runs[g] = () -> task.run(start, end, b, true);
+        }
+        rowRunner.runAll(runs);
+        for (int g = 0; g < groups; g++) {
+            for (int i = 0; i < 6; i += 2) {
+                bounds[i] = Math.min(bounds[i], partial[g][i]);
+                bounds[i + 1] = Math.max(bounds[i + 1], partial[g][i + 1]);
+            }
+        }
+        return bounds;
+    }
+
+    private static float[] newBounds() {
+        return new float[]{Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+    }
+
+    /**
+     * Gets an array with one position for each row from 0 to {@link #height}, starting at {@code start} and adding
+     * {@code step} for each row after. This adds step repeatedly instead of multiplying, so the positions are exactly
+     * what a loop that adds step once per row would produce, even when groups of rows are generated separately.
+     * @param start the position for row 0
+     * @param step how much to add to the position for each row
+     * @return a new float array with {@link #height} items
+     */
+    protected float[] rowPositions(float start, float step) {
+        return rowPositions(height, start, step);
+    }
+
+    /**
+     * Like {@link #rowPositions(float, float)}, but gets {@code rows} positions instead of {@link #height}.
+     * @param rows how many positions to get
+     * @param start the position for row 0
+     * @param step how much to add to the position for each row
+     * @return a new float array with {@code rows} items
+     */
+    protected float[] rowPositions(int rows, float start, float step) {
+        final float[] positions = new float[rows];
+        for (int y = 0; y < rows; y++, start += step) {
+            positions[y] = start;
+        }
+        return positions;
+    }
+
+    /**
+     * Generates a contiguous group of rows for {@link #runRows(RowTask)}.
+     */
+    protected interface RowTask {
+        /**
+         * Generates the rows from {@code startY} (inclusive) to {@code endY} (exclusive).
+         * @param startY the first row to generate
+         * @param endY the row after the last one to generate
+         * @param bounds 3 pairs of a minimum and a maximum, which this should update for any values it needs bounds for
+         * @param concurrent if true, other groups may be generated at the same time, so noise generators and any other
+         *                   objects that change while generating must be copied
+         */
+        void run(int startY, int endY, float[] bounds, boolean concurrent);
+    }
+
+    /**
+     * Runs groups of rows for a WorldMapGenerator, possibly at the same time on multiple threads. On platforms with
+     * {@code java.util.concurrent}, {@link ParallelRowRunner} is a RowRunner that uses a ForkJoinPool.
+     */
+    public interface RowRunner {
+        /**
+         * Gets how many threads this can use at once; maps will be split into a few times this many groups of rows.
+         * @return how many threads this can use at once; if 1 or less, maps won't be split
+         */
+        int getParallelism();
+
+        /**
+         * Runs every item in {@code runs}, in any order and possibly at the same time, and returns once all are done.
+         * @param runs the groups of rows to generate; each can run independently of the others
+         */
+        void runAll(Runnable[] runs);
+    }
     /**
      * Given a latitude and longitude in radians (the conventional way of describing points on a globe), this gets the
      * (x,y) Coord on the map projection this generator uses that corresponds to the given lat-lon coordinates. If this
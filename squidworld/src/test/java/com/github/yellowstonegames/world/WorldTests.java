@@ -17,10 +17,14 @@
 package com.github.yellowstonegames.world;
 
 import com.github.tommyettinger.digital.Hasher;
+import com.github.tommyettinger.ds.IntList;
+import com.github.yellowstonegames.grid.Direction;
 import com.github.yellowstonegames.grid.Region;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class WorldTests {
     public static final int SIZE = 100;
 
@@ -233,4 +237,172 @@ public class WorldTests {
             Assert.assertEquals(Hasher.intArray2DHashBulk64.hash64(i, cm0), Hasher.intArray2DHashBulk64.hash64(i, cm1));
         }
     }
+
+    private static void assertSameRows(WorldMapGenerator serial, WorldMapGenerator parallel, long seed) {
+        serial.generate(seed, ~seed);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            parallel.setRowRunner(new ParallelRowRunner(pool));
+            parallel.generate(seed, ~seed);
+        } finally {
+            pool.shutdown();
+        }
+        Assert.assertEquals(serial.minHeight, parallel.minHeight, 0f);
+        Assert.assertEquals(serial.maxHeat, parallel.maxHeat, 0f);
+        Assert.assertEquals(serial.maxWet, parallel.maxWet, 0f);
+        for (int x = 0; x < serial.width; x++) {
+            Assert.assertArrayEquals(serial.heightData[x], parallel.heightData[x], 0f);
+            Assert.assertArrayEquals(serial.heatData[x], parallel.heatData[x], 0f);
+            Assert.assertArrayEquals(serial.moistureData[x], parallel.moistureData[x], 0f);
+            Assert.assertArrayEquals(serial.heightCodeData[x], parallel.heightCodeData[x]);
+        }
+    }
+
+    @Test
+    public void testParallelRows() {
+        Region earth = Region.decompress(MimicWorldMap.EARTH_ENCODED);
+        for (int i = 0; i < 3; i++) {
+            assertSameRows(new StretchWorldMap(i, SIZE * 2, SIZE), new StretchWorldMap(i, SIZE * 2, SIZE), i);
+            assertSameRows(new EllipticalWorldMap(i, SIZE * 2, SIZE), new EllipticalWorldMap(i, SIZE * 2, SIZE), i);
+            assertSameRows(new GlobeMap(i, SIZE, SIZE), new GlobeMap(i, SIZE, SIZE), i);
+            assertSameRows(new HexagonalWorldMap(i, SIZE * 2, SIZE), new HexagonalWorldMap(i, SIZE * 2, SIZE), i);
+            assertSameRows(new HyperellipticalWorldMap(i, SIZE * 2, SIZE), new HyperellipticalWorldMap(i, SIZE * 2, SIZE), i);
+            assertSameRows(new LatLonWorldMap(i, SIZE * 2, SIZE), new LatLonWorldMap(i, SIZE * 2, SIZE), i);
+            assertSameRows(new RoundSideWorldMap(i, SIZE * 2, SIZE), new RoundSideWorldMap(i, SIZE * 2, SIZE), i);
+            assertSameRows(new DiagonalWorldMap(i, SIZE), new DiagonalWorldMap(i, SIZE), i);
+            assertSameRows(new TilingWorldMap(i, SIZE, SIZE), new TilingWorldMap(i, SIZE, SIZE), i);
+            assertSameRows(new LocalMap(i, SIZE, SIZE), new LocalMap(i, SIZE, SIZE), i);
+            assertSameRows(new RotatingGlobeMap(i, SIZE, SIZE), new RotatingGlobeMap(i, SIZE, SIZE), i);
+            assertSameRows(new MimicWorldMap(i, earth), new MimicWorldMap(i, earth), i);
+        }
+    }
+
+    @Test
+    public void testParallelBiomesAndPolitics() {
+        for (int i = 0; i < 3; i++) {
+            StretchWorldMap world = new StretchWorldMap(i, SIZE * 2, SIZE);
+            world.generate(i, ~i);
+            BiomeMapper.SimpleBiomeMapper simple = new BiomeMapper.SimpleBiomeMapper();
+            BiomeMapper.DetailedBiomeMapper detailed = new BiomeMapper.DetailedBiomeMapper();
+            simple.makeBiomes(world);
+            detailed.makeBiomes(world);
+            char[][] political = new PoliticalMapper().generate(i, world, detailed, 30, 0.9f);
+
+            ForkJoinPool pool = new ForkJoinPool(4);
+            BiomeMapper.SimpleBiomeMapper simpleParallel = new BiomeMapper.SimpleBiomeMapper();
+            BiomeMapper.DetailedBiomeMapper detailedParallel = new BiomeMapper.DetailedBiomeMapper();
+            char[][] politicalParallel;
+            try {
+                world.setRowRunner(new ParallelRowRunner(pool));
+                simpleParallel.makeBiomes(world);
+                detailedParallel.makeBiomes(world);
+                politicalParallel = new PoliticalMapper().generate(i, world, detailedParallel, 30, 0.9f);
+            } finally {
+                pool.shutdown();
+            }
+            for (int x = 0; x < world.width; x++) {
+                Assert.assertArrayEquals(simple.getBiomeCodeData()[x], simpleParallel.getBiomeCodeData()[x]);
+                Assert.assertArrayEquals(simple.getHeatCodeData()[x], simpleParallel.getHeatCodeData()[x]);
+                Assert.assertArrayEquals(detailed.getBiomeCodeData()[x], detailedParallel.getBiomeCodeData()[x]);
+                Assert.assertArrayEquals(detailed.getMoistureCodeData()[x], detailedParallel.getMoistureCodeData()[x]);
+                Assert.assertArrayEquals(political[x], politicalParallel[x]);
+            }
+        }
+    }
+
+    /**
+     * The spreading step of {@link PoliticalMapper} as it was before it tracked cell state in one byte array; it used
+     * an IntList per faction and two Regions. Kept here as the reference that the current version must match exactly.
+     */
+    private static class BaselinePoliticalMapper extends PoliticalMapper {
+        @Override
+        void spread(Region land, int[] centers, char[] keys, double[] biases, int controlled) {
+            final int width = wmg.width, height = wmg.height, count = centers.length;
+            IntList[] fresh = new IntList[count];
+            Region anySpillMap = new Region(width, height), anyFreshMap = new Region(width, height);
+            int filled = 0, cx, cy, cx2, cy2;
+            boolean hasFresh = false;
+            int approximateArea = (controlled * 4) / (count * 3);
+            for (int i = 0; i < count; i++) {
+                fresh[i] = new IntList(approximateArea);
+                fresh[i].add(centers[i]);
+                hasFresh = true;
+            }
+            Direction[] dirs = Direction.CARDINALS;
+            IntList currentFresh;
+            while (hasFresh && filled < controlled) {
+                hasFresh = false;
+                for (int i = 0; i < count && filled < controlled; i++) {
+                    currentFresh = fresh[i];
+                    if (currentFresh.isEmpty())
+                        continue;
+                    else
+                        hasFresh = true;
+                    if (rng.nextDouble() < biases[i]) {
+                        int index = rng.nextInt(currentFresh.size()), cell = currentFresh.removeAt(index);
+                        cx = cell % width;
+                        cy = cell / width;
+                        politicalMap[cx][cy] = keys[i];
+                        filled++;
+                        anySpillMap.insert(cx, cy);
+                        for (int d = 0; d < dirs.length; d++) {
+                            cx2 = wmg.wrapX(cx + dirs[d].deltaX, cy);
+                            cy2 = wmg.wrapY(cx, cy + dirs[d].deltaY);
+                            if (cx == cx2 && cy == cy2)
+                                continue;
+                            if (land.contains(cx2, cy2) && !anySpillMap.contains(cx2, cy2)) {
+                                if (!anyFreshMap.contains(cx2, cy2)) {
+                                    currentFresh.add(cx2 + cy2 * width);
+                                    anyFreshMap.insert(cx2, cy2);
+                                }
+                            }
+                        }
+                        anyFreshMap.remove(cx, cy);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPoliticalMatchesBaseline() {
+        for (int i = 0; i < 4; i++) {
+            WorldMapGenerator world = (i & 1) == 0
+                    ? new StretchWorldMap(i, SIZE * 2, SIZE)
+                    : new LocalMap(i, SIZE * 2, SIZE);
+            world.generate(i, ~i);
+            BiomeMapper.DetailedBiomeMapper detailed = new BiomeMapper.DetailedBiomeMapper();
+            detailed.makeBiomes(world);
+            for (int factions : new int[]{1, 7, 30}) {
+                PoliticalMapper current = new PoliticalMapper(), baseline = new BaselinePoliticalMapper();
+                char[][] political = current.generate(i * 31L + factions, world, detailed, factions, 0.9f);
+                char[][] expected = baseline.generate(i * 31L + factions, world, detailed, factions, 0.9f);
+                for (int x = 0; x < world.width; x++) {
+                    Assert.assertArrayEquals(expected[x], political[x]);
+                }
+                Assert.assertEquals(baseline.name, current.name);
+            }
+        }
+    }
+
+    @Test
+    public void testTiledWorld() {
+        StretchWorldMap overview = new StretchWorldMap(123L, SIZE * 2, SIZE);
+        overview.generate();
+        TiledWorldMap small = new TiledWorldMap(overview, 1024, 512, 32, 4);
+        TiledWorldMap large = new TiledWorldMap(overview, 1024, 512, 64, 4);
+        for (int y = 0; y < 512; y += 37) {
+            for (int x = -100; x < 1100; x += 53) {
+                int sx = Math.floorMod(x, 1024);
+                TiledWorldMap.Tile a = small.getTile(Math.floorDiv(x, 32), y / 32), b = large.getTile(sx / 64, y / 64);
+                Assert.assertEquals(a.heightData[sx % 32][y % 32], b.heightData[sx % 64][y % 64], 0f);
+                Assert.assertEquals(a.heatData[sx % 32][y % 32], b.heatData[sx % 64][y % 64], 0f);
+                Assert.assertEquals(a.moistureData[sx % 32][y % 32], b.moistureData[sx % 64][y % 64], 0f);
+                Assert.assertEquals(small.getBiomeCode(x, y), large.getBiomeCode(x, y));
+                Assert.assertTrue(small.size() <= 4);
+            }
+        }
+        Assert.assertEquals(60, small.getBiomeCode(0, -1));
+        Assert.assertEquals(60, small.getBiomeCode(0, 512));
+    }
 }
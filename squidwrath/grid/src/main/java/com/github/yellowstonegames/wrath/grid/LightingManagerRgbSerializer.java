@@ -27,22 +27,49 @@ import org.apache.fory.serializer.Serializer;
 /**
  * Needs {@code int[]}, {@code int[][]},  {@code float[]}, {@code float[][]}, {@link Region}, {@link CoordSerializer}
  * for {@link Coord}, {@link ObjectDequeSerializer} for {@link ObjectDeque}, {@link RadianceSerializer} for
- * {@link Radiance}, and {@link LightSourceSerializer} for {@link LightSource} to be registered.
+ * {@link Radiance}, {@link LightSourceSerializer} for {@link LightSource}, and
+ * {@link CoordFloatOrderedMapSerializer} for {@link CoordFloatOrderedMap} to be registered.
  */
 @SuppressWarnings({"unchecked"})
 public class LightingManagerRgbSerializer extends Serializer<LightingManagerRgb> {
+    /**
+     * If true, this only writes the fields that can't be calculated from other fields: the resistances, settings,
+     * lights, and {@link LightingManager#lastViewers} with the area they viewed. A LightingManagerRgb read from that is
+     * {@link LightingManager#stale}, so it calculates its FOV and lighting again the first time
+     * {@link LightingManager#update()} is called. This writes about a sixth as much as when this is false (the
+     * default), which also writes every calculated 2D array. Either kind of output can be read no matter what this is,
+     * and so can output from before this option existed.
+     */
+    public boolean compact;
+
     public LightingManagerRgbSerializer(Fory fory) {
+        this(fory, false);
+    }
+
+    public LightingManagerRgbSerializer(Fory fory, boolean compact) {
         super(fory.getConfig(), LightingManagerRgb.class);
+        this.compact = compact;
     }
 
     @Override
     public void write(WriteContext fory, LightingManagerRgb data) {
+        // the older layout started with the resistances, which are never null
+        fory.writeRef(null);
+        fory.writeVarUInt32(compact ? LightingManagerSerializer.COMPACT_FORMAT : LightingManagerSerializer.FULL_FORMAT);
         fory.writeRef(data.resistances);
         fory.writeInt32(data.backgroundColor);
         fory.writeVarUInt32(data.radiusStrategy.ordinal());
         fory.writeFloat32(data.viewerRange);
-        fory.writeRef(data.noticeable);
+        fory.writeVarUInt32(data.symmetry.ordinal());
         fory.writeRef(data.lights);
+        fory.writeRef(data.lastViewers);
+        fory.writeVarUInt32(data.viewedMinX);
+        fory.writeVarUInt32(data.viewedMinY);
+        fory.writeVarUInt32(data.viewedMaxX);
+        fory.writeVarUInt32(data.viewedMaxY);
+        if (compact)
+            return;
+        fory.writeRef(data.noticeable);
         fory.writeRef(data.colorLighting);
         fory.writeRef(data.lightingStrength);
         fory.writeRef(data.fovResult);
@@ -52,7 +79,39 @@ public class LightingManagerRgbSerializer extends Serializer<LightingManagerRgb>
 
     @Override
     public LightingManagerRgb read(ReadContext fory) {
-        LightingManagerRgb lm = new LightingManagerRgb((float[][]) fory.readRef(), fory.readInt32(), Radius.ALL[fory.readVarUInt32()], fory.readFloat32());
+        final Object first = fory.readRef();
+        if (first != null)
+            return readLegacy(fory, (float[][]) first);
+        final int format = fory.readVarUInt32();
+        if (format != LightingManagerSerializer.FULL_FORMAT && format != LightingManagerSerializer.COMPACT_FORMAT)
+            throw new IllegalStateException("Unknown LightingManagerRgb format: " + format);
+        final boolean compact = format == LightingManagerSerializer.COMPACT_FORMAT;
+        LightingManagerRgb lm = new LightingManagerRgb((float[][]) fory.readRef(), fory.readInt32(), Radius.ALL[fory.readVarUInt32()],
+                fory.readFloat32(), LightingManager.SymmetryMode.values()[fory.readVarUInt32()]);
+        lm.lights = (ObjectDeque<LightSource>) fory.readRef();
+        lm.lastViewers = (CoordFloatOrderedMap) fory.readRef();
+        lm.viewedMinX = fory.readVarUInt32();
+        lm.viewedMinY = fory.readVarUInt32();
+        lm.viewedMaxX = fory.readVarUInt32();
+        lm.viewedMaxY = fory.readVarUInt32();
+        if (compact) {
+            lm.stale = true;
+            return lm;
+        }
+        lm.noticeable = (Region) fory.readRef();
+        lm.colorLighting = (int[][]) fory.readRef();
+        lm.lightingStrength = (float[][]) fory.readRef();
+        lm.fovResult = (float[][]) fory.readRef();
+        lm.lightFromFOV = (float[][]) fory.readRef();
+        lm.losResult = (float[][]) fory.readRef();
+        return lm;
+    }
+
+    /**
+     * Reads the layout written before the {@link #compact} option, which had no format number.
+     */
+    private LightingManagerRgb readLegacy(ReadContext fory, float[][] resistances) {
+        LightingManagerRgb lm = new LightingManagerRgb(resistances, fory.readInt32(), Radius.ALL[fory.readVarUInt32()], fory.readFloat32());
         lm.noticeable = (Region) fory.readRef();
         lm.lights = (ObjectDeque<LightSource>) fory.readRef();
         lm.colorLighting = (int[][]) fory.readRef();
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020-2026; see AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.yellowstonegames.wrath.grid;
+
+import com.github.yellowstonegames.grid.Region;
+import org.apache.fory.Fory;
+import org.apache.fory.context.ReadContext;
+import org.apache.fory.context.WriteContext;
+import org.apache.fory.serializer.Serializer;
+
+/**
+ * Fory {@link Serializer} for {@link Region}s. Uses the binary run-length form from {@link Region#toRunLengthBytes()},
+ * which falls back to the raw data when that would be smaller. The output starts with a format number, so other forms
+ * can be added later without breaking existing data. The bytes are written eight at a time as longs, little-endian,
+ * with the last long padded with zeros.
+ */
+public class RegionSerializer extends Serializer<Region> {
+    /**
+     * The format number written first; this is the only format so far.
+     */
+    public static final int RUN_LENGTH_FORMAT = 1;
+
+    public RegionSerializer(Fory fory) {
+        super(fory.getConfig(), Region.class);
+    }
+
+    @Override
+    public void write(WriteContext output, final Region data) {
+        final byte[] bytes = data.toRunLengthBytes();
+        final int length = bytes.length;
+        output.writeVarUInt32(RUN_LENGTH_FORMAT);
+        output.writeVarUInt32(length);
+        for (int i = 0; i < length; i += 8) {
+            long word = 0L;
+            for (int j = Math.min(length - i, 8) - 1; j >= 0; j--) {
+                word = word << 8 | (bytes[i + j] & 0xFFL);
+            }
+            output.writeInt64(word);
+        }
+    }
+
+    @Override
+    public Region read(ReadContext input) {
+        final int format = input.readVarUInt32();
+        if (format != RUN_LENGTH_FORMAT)
+            throw new IllegalStateException("Unknown Region format: " + format);
+        final int length = input.readVarUInt32();
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i += 8) {
+            long word = input.readInt64();
+            for (int j = i, end = Math.min(length, i + 8); j < end; j++, word >>>= 8) {
+                bytes[j] = (byte) word;
+            }
+        }
+        return Region.decodeRunLength(bytes);
+    }
+}
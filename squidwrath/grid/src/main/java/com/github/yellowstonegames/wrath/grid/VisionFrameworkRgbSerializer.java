@@ -32,16 +32,38 @@ import org.apache.fory.serializer.Serializer;
  * {@link LightSourceSerializer} for {@link LightSource} to be registered.
  */
 public class VisionFrameworkRgbSerializer extends Serializer<VisionFrameworkRgb> {
+    /**
+     * If true, this only writes the fields that can't be calculated from other fields: the place size,
+     * {@link VisionFramework#rememberedColor}, {@link VisionFramework#linePlaceMap}, {@link VisionFramework#seen},
+     * {@link VisionFramework#lighting}, and {@link VisionFramework#viewers}. A VisionFrameworkRgb read from that has
+     * {@link VisionFramework#recalculate()} called on it, so nothing is fading in or out of view after it loads.
+     * If false (the default), this writes every field. Either kind of output can be read no matter what this is,
+     * and so can output from before this option existed.
+     */
+    public boolean compact;
+
     public VisionFrameworkRgbSerializer(Fory fory) {
+        this(fory, false);
+    }
+
+    public VisionFrameworkRgbSerializer(Fory fory, boolean compact) {
         super(fory.getConfig(), VisionFrameworkRgb.class);
+        this.compact = compact;
     }
 
     @Override
     public void write(WriteContext fory, VisionFrameworkRgb data) {
+        // the older layout started with placeWidth, which is never negative
+        fory.writeVarUInt32(-(compact ? LightingManagerSerializer.COMPACT_FORMAT : LightingManagerSerializer.FULL_FORMAT));
         fory.writeVarUInt32(data.placeWidth);
         fory.writeVarUInt32(data.placeHeight);
         fory.writeInt32(data.rememberedColor);
         fory.writeRef(data.linePlaceMap);
+        fory.writeRef(data.seen);
+        fory.writeRef(data.lighting);
+        fory.writeRef(data.viewers);
+        if (compact)
+            return;
         fory.writeRef(data.prunedPlaceMap);
         fory.writeRef(data.backgroundColors);
         fory.writeRef(data.previousLightLevels);
@@ -49,19 +71,49 @@ public class VisionFrameworkRgbSerializer extends Serializer<VisionFrameworkRgb>
         fory.writeRef(data.inView);
         fory.writeRef(data.justHidden);
         fory.writeRef(data.justSeen);
-        fory.writeRef(data.seen);
         fory.writeRef(data.newlyVisible);
-        fory.writeRef(data.lighting);
-        fory.writeRef(data.viewers);
     }
 
     @Override
     public VisionFrameworkRgb read(ReadContext input) {
         VisionFrameworkRgb vf = new VisionFrameworkRgb();
+        final int first = input.readVarUInt32();
+        if (first >= 0)
+            return readLegacy(input, vf, first);
+        final int format = -first;
+        if (format != LightingManagerSerializer.FULL_FORMAT && format != LightingManagerSerializer.COMPACT_FORMAT)
+            throw new IllegalStateException("Unknown VisionFrameworkRgb format: " + format);
+        final boolean compact = format == LightingManagerSerializer.COMPACT_FORMAT;
         vf.placeWidth = input.readVarUInt32();
         vf.placeHeight = input.readVarUInt32();
         vf.rememberedColor = input.readInt32();
         vf.linePlaceMap = (char[][])input.readRef();
+        vf.seen = (Region)input.readRef();
+        vf.lighting = (LightingManagerRgb)input.readRef();
+        vf.viewers = (CoordFloatOrderedMap)input.readRef();
+        if (compact) {
+            vf.recalculate();
+            return vf;
+        }
+        vf.prunedPlaceMap = (char[][])input.readRef();
+        vf.backgroundColors = (int[][])input.readRef();
+        vf.previousLightLevels = (float[][])input.readRef();
+        vf.blockage = (Region)input.readRef();
+        vf.inView = (Region)input.readRef();
+        vf.justHidden = (Region)input.readRef();
+        vf.justSeen = (Region)input.readRef();
+        vf.newlyVisible = (Region)input.readRef();
+        return vf;
+    }
+
+    /**
+     * Reads the layout written before the {@link #compact} option, which had no format number.
+     */
+    private VisionFrameworkRgb readLegacy(ReadContext input, VisionFrameworkRgb vf, int placeWidth) {
+        vf.placeWidth = placeWidth;
+        vf.placeHeight = input.readVarUInt32();
+        vf.rememberedColor = input.readInt32();
+        vf.linePlaceMap = (char[][])input.readRef();
         vf.prunedPlaceMap = (char[][])input.readRef();
         vf.backgroundColors = (int[][])input.readRef();
         vf.previousLightLevels = (float[][])input.readRef();
@@ -33,16 +33,38 @@ import org.apache.fory.serializer.Serializer;
  */
 @SuppressWarnings({"unchecked"})
 public class VisionFrameworkSerializer extends Serializer<VisionFramework> {
+    /**
+     * If true, this only writes the fields that can't be calculated from other fields: the place size,
+     * {@link VisionFramework#rememberedColor}, {@link VisionFramework#linePlaceMap}, {@link VisionFramework#seen},
+     * {@link VisionFramework#lighting}, and {@link VisionFramework#viewers}. A VisionFramework read from that has
+     * {@link VisionFramework#recalculate()} called on it, so nothing is fading in or out of view after it loads.
+     * If false (the default), this writes every field. Either kind of output can be read no matter what this is,
+     * and so can output from before this option existed.
+     */
+    public boolean compact;
+
     public VisionFrameworkSerializer(Fory fory) {
+        this(fory, false);
+    }
+
+    public VisionFrameworkSerializer(Fory fory, boolean compact) {
         super(fory.getConfig(), VisionFramework.class);
+        this.compact = compact;
     }
 
     @Override
     public void write(WriteContext fory, VisionFramework data) {
+        // the older layout started with placeWidth, which is never negative
+        fory.writeVarUInt32(-(compact ? LightingManagerSerializer.COMPACT_FORMAT : LightingManagerSerializer.FULL_FORMAT));
         fory.writeVarUInt32(data.placeWidth);
         fory.writeVarUInt32(data.placeHeight);
         fory.writeInt32(data.rememberedColor);
         fory.writeRef(data.linePlaceMap);
+        fory.writeRef(data.seen);
+        fory.writeRef(data.lighting);
+        fory.writeRef(data.viewers);
+        if (compact)
+            return;
         fory.writeRef(data.prunedPlaceMap);
         fory.writeRef(data.backgroundColors);
         fory.writeRef(data.previousLightLevels);
@@ -50,19 +72,49 @@ public class VisionFrameworkSerializer extends Serializer<VisionFramework> {
         fory.writeRef(data.inView);
         fory.writeRef(data.justHidden);
         fory.writeRef(data.justSeen);
-        fory.writeRef(data.seen);
         fory.writeRef(data.newlyVisible);
-        fory.writeRef(data.lighting);
-        fory.writeRef(data.viewers);
     }
 
     @Override
     public VisionFramework read(ReadContext input) {
         VisionFramework vf = new VisionFramework();
+        final int first = input.readVarUInt32();
+        if (first >= 0)
+            return readLegacy(input, vf, first);
+        final int format = -first;
+        if (format != LightingManagerSerializer.FULL_FORMAT && format != LightingManagerSerializer.COMPACT_FORMAT)
+            throw new IllegalStateException("Unknown VisionFramework format: " + format);
+        final boolean compact = format == LightingManagerSerializer.COMPACT_FORMAT;
         vf.placeWidth = input.readVarUInt32();
         vf.placeHeight = input.readVarUInt32();
         vf.rememberedColor = input.readInt32();
         vf.linePlaceMap = (char[][])input.readRef();
+        vf.seen = (Region)input.readRef();
+        vf.lighting = (LightingManager)input.readRef();
+        vf.viewers = (CoordFloatOrderedMap)input.readRef();
+        if (compact) {
+            vf.recalculate();
+            return vf;
+        }
+        vf.prunedPlaceMap = (char[][])input.readRef();
+        vf.backgroundColors = (int[][])input.readRef();
+        vf.previousLightLevels = (float[][])input.readRef();
+        vf.blockage = (Region)input.readRef();
+        vf.inView = (Region)input.readRef();
+        vf.justHidden = (Region)input.readRef();
+        vf.justSeen = (Region)input.readRef();
+        vf.newlyVisible = (Region)input.readRef();
+        return vf;
+    }
+
+    /**
+     * Reads the layout written before the {@link #compact} option, which had no format number.
+     */
+    private VisionFramework readLegacy(ReadContext input, VisionFramework vf, int placeWidth) {
+        vf.placeWidth = placeWidth;
+        vf.placeHeight = input.readVarUInt32();
+        vf.rememberedColor = input.readInt32();
+        vf.linePlaceMap = (char[][])input.readRef();
         vf.prunedPlaceMap = (char[][])input.readRef();
         vf.backgroundColors = (int[][])input.readRef();
         vf.previousLightLevels = (float[][])input.readRef();
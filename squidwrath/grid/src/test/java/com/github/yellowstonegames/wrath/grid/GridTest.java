@@ -21,6 +21,7 @@ import com.github.tommyettinger.digital.ArrayTools;
 import com.github.tommyettinger.digital.Interpolations;
 import com.github.tommyettinger.ds.ObjectDeque;
 import com.github.tommyettinger.ds.ObjectList;
+import com.github.tommyettinger.random.AceRandom;
 import com.github.tommyettinger.tantrum.jdkgdxds.ObjectDequeSerializer;
 import com.github.tommyettinger.tantrum.jdkgdxds.ObjectListSerializer;
 import com.github.yellowstonegames.core.DescriptiveColor;
@@ -28,7 +29,10 @@ import com.github.yellowstonegames.core.DescriptiveColorRgb;
 import com.github.yellowstonegames.grid.*;
 import org.apache.fory.Fory;
 import org.apache.fory.config.Language;
+import org.apache.fory.context.ReadContext;
+import org.apache.fory.context.WriteContext;
 import org.apache.fory.logging.LoggerFactory;
+import org.apache.fory.serializer.Serializer;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -60,6 +64,23 @@ public class GridTest {
         }
     }
 
+    @Test
+    public void testRegionRunLength() {
+        LoggerFactory.disableLogging();
+        Fory fory = Fory.builder().withLanguage(Language.JAVA).build();
+        fory.registerSerializerAndType(Region.class, new RegionSerializer(fory));
+        // sparse data uses runs, and noisy data falls back to raw longs
+        Region[] regions = {
+                new Region(120, 120, Coord.get(0, 0), Coord.get(1, 1), Coord.get(2, 3), Coord.get(100, 100)),
+                new Region(new AceRandom(123L), 0.5f, 77, 131)
+        };
+        for (Region data : regions) {
+            byte[] bytes = fory.serialize(data);
+            Region data2 = fory.deserialize(bytes, Region.class);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testCoordSet() {        
         LoggerFactory.disableLogging();
@@ -334,6 +355,7 @@ public class GridTest {
         fory.registerSerializerAndType(Radiance.class, new RadianceSerializer(fory));
         fory.registerSerializerAndType(LightSource.class, new LightSourceSerializer(fory));
         fory.registerSerializerAndType(ObjectDeque.class, new ObjectDequeSerializer(fory));
+        fory.registerSerializerAndType(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer(fory));
         fory.registerSerializerAndType(LightingManager.class, new LightingManagerSerializer(fory));
 
         LightingManager data = new LightingManager(new float[10][10], 0x252033FF, Radius.CIRCLE, 4f);
@@ -346,6 +368,40 @@ public class GridTest {
         }
     }
 
+    @Test
+    public void testLightingManagerCompact() {
+        LoggerFactory.disableLogging();
+        Fory fory = Fory.builder().withLanguage(Language.JAVA).build();
+        fory.register(int[].class);
+        fory.register(int[][].class);
+        fory.register(float[].class);
+        fory.register(float[][].class);
+        fory.registerSerializerAndType(Coord.class, new CoordSerializer(fory));
+        fory.register(Region.class);
+        fory.registerSerializerAndType(Radiance.class, new RadianceSerializer(fory));
+        fory.registerSerializerAndType(LightSource.class, new LightSourceSerializer(fory));
+        fory.registerSerializerAndType(ObjectDeque.class, new ObjectDequeSerializer(fory));
+        fory.registerSerializerAndType(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer(fory));
+        fory.registerSerializerAndType(LightingManager.class, new LightingManagerSerializer(fory, true));
+
+        float[][] resistances = new float[10][10];
+        resistances[4][2] = resistances[4][3] = resistances[4][4] = 1f;
+        LightingManager data = new LightingManager(resistances, 0x252033FF, Radius.CIRCLE, 4f);
+        data.addLight(5, 4, new Radiance(2f, 0x99DDFFFF));
+        data.addLight(1, 8, new Radiance(3f, 0x80F0AAFF));
+        data.calculateFOV(2, 3);
+        data.update();
+
+        byte[] bytes = fory.serialize(data);
+        {
+            LightingManager data2 = fory.deserialize(bytes, LightingManager.class);
+            Assert.assertTrue(data2.stale);
+            data2.update();
+            Assert.assertFalse(data2.stale);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testLightingManagerRgb() {        
         LoggerFactory.disableLogging();
@@ -359,6 +415,7 @@ public class GridTest {
         fory.registerSerializerAndType(Radiance.class, new RadianceSerializer(fory));
         fory.registerSerializerAndType(LightSource.class, new LightSourceSerializer(fory));
         fory.registerSerializerAndType(ObjectDeque.class, new ObjectDequeSerializer(fory));
+        fory.registerSerializerAndType(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer(fory));
         fory.registerSerializerAndType(LightingManagerRgb.class, new LightingManagerRgbSerializer(fory));
 
         LightingManagerRgb data = new LightingManagerRgb(new float[10][10], 0xFF858040, Radius.CIRCLE, 4f);
@@ -401,6 +458,45 @@ public class GridTest {
         }
     }
 
+    @Test
+    public void testVisionFrameworkCompact() {
+        LoggerFactory.disableLogging();
+        Fory fory = Fory.builder().withLanguage(Language.JAVA).build();
+        fory.register(int[].class);
+        fory.register(int[][].class);
+        fory.register(float[].class);
+        fory.register(float[][].class);
+        fory.register(char[].class);
+        fory.register(char[][].class);
+        fory.registerSerializerAndType(Coord.class, new CoordSerializer(fory));
+        fory.registerSerializerAndType(Radiance.class, new RadianceSerializer(fory));
+        fory.register(Region.class);
+        fory.registerSerializerAndType(LightSource.class, new LightSourceSerializer(fory));
+        fory.registerSerializerAndType(ObjectDeque.class, new ObjectDequeSerializer(fory));
+        fory.registerSerializerAndType(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer(fory));
+        fory.registerSerializerAndType(LightingManager.class, new LightingManagerSerializer(fory, true));
+        fory.registerSerializerAndType(VisionFramework.class, new VisionFrameworkSerializer(fory, true));
+
+        char[][] place = ArrayTools.fill('.', 10, 10);
+        for (int y = 0; y < 10; y++) {
+            place[0][y] = place[9][y] = place[5][y] = '#';
+        }
+        place[5][7] = '.';
+        VisionFramework data = new VisionFramework();
+        data.restart(place, Coord.get(3, 3), 2f, DescriptiveColor.describeOklab("darker gray 9 yellow"));
+        data.lighting.addLight(3, 3, new Radiance(3f, 0xFF9966AA));
+        data.finishChanges();
+        data.finishChanges();
+        data.update(1000f);
+
+        byte[] bytes = fory.serialize(data);
+        {
+            VisionFramework data2 = fory.deserialize(bytes, VisionFramework.class);
+            data2.update(1000f);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testVisionFrameworkRgb() {        
         LoggerFactory.disableLogging();
@@ -431,6 +527,118 @@ public class GridTest {
         }
     }
 
+    /**
+     * Writes the layout LightingManagerSerializer used before it had a format number, to check it can still be read.
+     */
+    private static class LegacyLightingManagerSerializer extends Serializer<LightingManager> {
+        LegacyLightingManagerSerializer(Fory fory) {
+            super(fory.getConfig(), LightingManager.class);
+        }
+
+        @Override
+        public void write(WriteContext fory, LightingManager data) {
+            fory.writeRef(data.resistances);
+            fory.writeInt32(data.backgroundColor);
+            fory.writeVarUInt32(data.radiusStrategy.ordinal());
+            fory.writeFloat32(data.viewerRange);
+            fory.writeRef(data.noticeable);
+            fory.writeRef(data.lights);
+            fory.writeRef(data.colorLighting);
+            fory.writeRef(data.lightingStrength);
+            fory.writeRef(data.fovResult);
+            fory.writeRef(data.lightFromFOV);
+            fory.writeRef(data.losResult);
+        }
+
+        @Override
+        public LightingManager read(ReadContext fory) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Writes the layout VisionFrameworkSerializer used before it had a format number, to check it can still be read.
+     */
+    private static class LegacyVisionFrameworkSerializer extends Serializer<VisionFramework> {
+        LegacyVisionFrameworkSerializer(Fory fory) {
+            super(fory.getConfig(), VisionFramework.class);
+        }
+
+        @Override
+        public void write(WriteContext fory, VisionFramework data) {
+            fory.writeVarUInt32(data.placeWidth);
+            fory.writeVarUInt32(data.placeHeight);
+            fory.writeInt32(data.rememberedColor);
+            fory.writeRef(data.linePlaceMap);
+            fory.writeRef(data.prunedPlaceMap);
+            fory.writeRef(data.backgroundColors);
+            fory.writeRef(data.previousLightLevels);
+            fory.writeRef(data.blockage);
+            fory.writeRef(data.inView);
+            fory.writeRef(data.justHidden);
+            fory.writeRef(data.justSeen);
+            fory.writeRef(data.seen);
+            fory.writeRef(data.newlyVisible);
+            fory.writeRef(data.lighting);
+            fory.writeRef(data.viewers);
+        }
+
+        @Override
+        public VisionFramework read(ReadContext fory) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static Fory visionFory(boolean legacy) {
+        LoggerFactory.disableLogging();
+        Fory fory = Fory.builder().withLanguage(Language.JAVA).build();
+        fory.register(int[].class);
+        fory.register(int[][].class);
+        fory.register(float[].class);
+        fory.register(float[][].class);
+        fory.register(char[].class);
+        fory.register(char[][].class);
+        fory.registerSerializerAndType(Coord.class, new CoordSerializer(fory));
+        fory.registerSerializerAndType(Radiance.class, new RadianceSerializer(fory));
+        fory.register(Region.class);
+        fory.registerSerializerAndType(LightSource.class, new LightSourceSerializer(fory));
+        fory.registerSerializerAndType(ObjectDeque.class, new ObjectDequeSerializer(fory));
+        fory.registerSerializerAndType(CoordFloatOrderedMap.class, new CoordFloatOrderedMapSerializer(fory));
+        fory.registerSerializerAndType(LightingManager.class,
+                legacy ? new LegacyLightingManagerSerializer(fory) : new LightingManagerSerializer(fory));
+        fory.registerSerializerAndType(VisionFramework.class,
+                legacy ? new LegacyVisionFrameworkSerializer(fory) : new VisionFrameworkSerializer(fory));
+        return fory;
+    }
+
+    @Test
+    public void testLightingManagerLegacy() {
+        LightingManager data = new LightingManager(new float[10][10], 0x252033FF, Radius.CIRCLE, 4f);
+        data.addLight(5, 4, new Radiance(2f, 0x99DDFFFF, 0.2f, 0f, 0f, 0f));
+        data.calculateFOV(4, 4);
+        data.update();
+
+        byte[] bytes = visionFory(true).serialize(data);
+        {
+            LightingManager data2 = visionFory(false).deserialize(bytes, LightingManager.class);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
+    @Test
+    public void testVisionFrameworkLegacy() {
+        VisionFramework data = new VisionFramework();
+        data.restart(ArrayTools.fill('.', 10, 10), Coord.get(3, 3), 2f, DescriptiveColor.describeOklab("darker gray 9 yellow"));
+        data.lighting.addLight(3, 3, new Radiance(3f, 0xFF9966AA, 0.2f, 0f, 0f, 0f));
+        data.finishChanges();
+
+        byte[] bytes = visionFory(true).serialize(data);
+        {
+            VisionFramework data2 = visionFory(false).deserialize(bytes, VisionFramework.class);
+            Assert.assertEquals(data, data2);
+        }
+    }
+
     @Test
     public void testNoise() {        
         LoggerFactory.disableLogging();